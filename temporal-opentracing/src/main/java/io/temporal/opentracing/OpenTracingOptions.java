@@ -23,7 +23,10 @@ import com.google.common.base.MoreObjects;
 import io.opentracing.Tracer;
 import io.opentracing.util.GlobalTracer;
 import io.temporal.opentracing.internal.ActionTypeAndNameSpanBuilderProvider;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Objects;
+import java.util.Set;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -34,6 +37,9 @@ public class OpenTracingOptions {
   private final Tracer tracer;
   private final SpanBuilderProvider spanBuilderProvider;
   private final OpenTracingSpanContextCodec spanContextCodec;
+  private final double samplingRate;
+  private final boolean suppressReplaySpans;
+  private final Set<SpanOperationType> enabledSpanOperationTypes;
 
   public static OpenTracingOptions getDefaultInstance() {
     return DEFAULT_INSTANCE;
@@ -42,11 +48,17 @@ public class OpenTracingOptions {
   private OpenTracingOptions(
       Tracer tracer,
       SpanBuilderProvider spanBuilderProvider,
-      OpenTracingSpanContextCodec spanContextCodec) {
+      OpenTracingSpanContextCodec spanContextCodec,
+      double samplingRate,
+      boolean suppressReplaySpans,
+      Set<SpanOperationType> enabledSpanOperationTypes) {
     if (tracer == null) throw new IllegalArgumentException("tracer shouldn't be null");
     this.tracer = tracer;
     this.spanBuilderProvider = spanBuilderProvider;
     this.spanContextCodec = spanContextCodec;
+    this.samplingRate = samplingRate;
+    this.suppressReplaySpans = suppressReplaySpans;
+    this.enabledSpanOperationTypes = enabledSpanOperationTypes;
   }
 
   @Nonnull
@@ -64,6 +76,19 @@ public class OpenTracingOptions {
     return spanContextCodec;
   }
 
+  public double getSamplingRate() {
+    return samplingRate;
+  }
+
+  public boolean isSuppressReplaySpans() {
+    return suppressReplaySpans;
+  }
+
+  @Nonnull
+  public Set<SpanOperationType> getEnabledSpanOperationTypes() {
+    return enabledSpanOperationTypes;
+  }
+
   public static Builder newBuilder() {
     return new Builder();
   }
@@ -73,6 +98,10 @@ public class OpenTracingOptions {
     private SpanBuilderProvider spanBuilderProvider = ActionTypeAndNameSpanBuilderProvider.INSTANCE;
     private OpenTracingSpanContextCodec spanContextCodec =
         OpenTracingSpanContextCodec.TEXT_MAP_INJECT_EXTRACT_CODEC;
+    private double samplingRate = 1.0;
+    private boolean suppressReplaySpans;
+    private Set<SpanOperationType> enabledSpanOperationTypes =
+        EnumSet.allOf(SpanOperationType.class);
 
     private Builder() {}
 
@@ -103,11 +132,63 @@ public class OpenTracingOptions {
       return this;
     }
 
+    /**
+     * Fraction of traces started by Temporal that are recorded. The decision is made once, where
+     * a trace starts: by the client when there is no active span, or by the workflow or activity
+     * worker when the task carries no span context. It is propagated through the headers, so the
+     * workflow run, its replays, activities and child workflows of the trace agree with it.
+     * Traces that are not sampled carry a small marker header instead of a span context. A trace
+     * continued from an active span of the caller is always recorded and left to the sampling of
+     * the tracer.
+     *
+     * <p>Default is 1.0 which records every trace.
+     *
+     * @param samplingRate value between 0.0 and 1.0
+     * @return this
+     */
+    public Builder setSamplingRate(double samplingRate) {
+      if (samplingRate < 0 || samplingRate > 1) {
+        throw new IllegalArgumentException(
+            "samplingRate should be between 0.0 and 1.0: " + samplingRate);
+      }
+      this.samplingRate = samplingRate;
+      return this;
+    }
+
+    /**
+     * @param suppressReplaySpans when true, a workflow execution that starts in the replay mode,
+     *     for example after being evicted from the workflow cache, doesn't create a duplicate
+     *     RunWorkflow span. Spans of the calls it makes after the replay are parented directly
+     *     to the span context the workflow was started with. Default is false.
+     * @return this
+     */
+    public Builder setSuppressReplaySpans(boolean suppressReplaySpans) {
+      this.suppressReplaySpans = suppressReplaySpans;
+      return this;
+    }
+
+    /**
+     * @param enabledSpanOperationTypes operations that create spans. Operations that are not
+     *     listed don't create a span, but still pass the span context of the trace through the
+     *     headers. Default is all the {@link SpanOperationType}s.
+     * @return this
+     */
+    public Builder setEnabledSpanOperationTypes(
+        @Nonnull Set<SpanOperationType> enabledSpanOperationTypes) {
+      Objects.requireNonNull(enabledSpanOperationTypes, "enabledSpanOperationTypes can't be null");
+      this.enabledSpanOperationTypes = EnumSet.noneOf(SpanOperationType.class);
+      this.enabledSpanOperationTypes.addAll(enabledSpanOperationTypes);
+      return this;
+    }
+
     public OpenTracingOptions build() {
       return new OpenTracingOptions(
           MoreObjects.firstNonNull(tracer, GlobalTracer.get()),
           spanBuilderProvider,
-          spanContextCodec);
+          spanContextCodec,
+          samplingRate,
+          suppressReplaySpans,
+          Collections.unmodifiableSet(EnumSet.copyOf(enabledSpanOperationTypes)));
     }
   }
 }
@@ -34,6 +34,7 @@ import java.util.Optional;
 
 public class ContextAccessor {
   private static final String TRACER_HEADER_KEY = "_tracer-data";
+  private static final String TRACER_UNSAMPLED_HEADER_KEY = "_tracer-unsampled";
   private static final Type HASH_MAP_STRING_STRING_TYPE =
       new TypeToken<HashMap<String, String>>() {}.getType();
 
@@ -59,4 +60,17 @@ public class ContextAccessor {
             .fromPayload(payload, HashMap.class, HASH_MAP_STRING_STRING_TYPE);
     return codec.decode(serializedSpanContext, tracer);
   }
+
+  /**
+   * Marks the trace as not sampled instead of passing a span context, so the receivers of the
+   * header don't start a new trace.
+   */
+  public void writeUnsampledToHeader(Header header) {
+    Optional<Payload> payload = DataConverter.getDefaultInstance().toPayload(true);
+    header.getValues().put(TRACER_UNSAMPLED_HEADER_KEY, payload.get());
+  }
+
+  public boolean isUnsampled(Header header) {
+    return header.getValues().containsKey(TRACER_UNSAMPLED_HEADER_KEY);
+  }
 }
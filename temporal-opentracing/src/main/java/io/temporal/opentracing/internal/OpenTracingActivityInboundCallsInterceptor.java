@@ -27,7 +27,9 @@ import io.temporal.activity.ActivityExecutionContext;
 import io.temporal.activity.ActivityInfo;
 import io.temporal.common.interceptors.ActivityInboundCallsInterceptor;
 import io.temporal.common.interceptors.ActivityInboundCallsInterceptorBase;
+import io.temporal.common.interceptors.Header;
 import io.temporal.opentracing.OpenTracingOptions;
+import io.temporal.opentracing.SpanOperationType;
 
 public class OpenTracingActivityInboundCallsInterceptor
     extends ActivityInboundCallsInterceptorBase {
@@ -61,9 +63,16 @@ public class OpenTracingActivityInboundCallsInterceptor
 
   @Override
   public ActivityOutput execute(ActivityInput input) {
-    SpanContext rootSpanContext =
-        contextAccessor.readSpanContextFromHeader(input.getHeader(), tracer);
+    Header header = input.getHeader();
+    if (contextAccessor.isUnsampled(header)
+        || !spanFactory.isEnabled(SpanOperationType.RUN_ACTIVITY)) {
+      return super.execute(input);
+    }
+    SpanContext rootSpanContext = contextAccessor.readSpanContextFromHeader(header, tracer);
     ActivityInfo activityInfo = activityExecutionContext.getInfo();
+    if (rootSpanContext == null && !spanFactory.isSampled(activityInfo.getWorkflowId())) {
+      return super.execute(input);
+    }
     Span activityRunSpan =
         spanFactory
             .createActivityRunSpan(
@@ -26,6 +26,7 @@ import io.temporal.common.interceptors.WorkflowClientCallsInterceptor;
 import io.temporal.common.interceptors.WorkflowClientCallsInterceptorBase;
 import io.temporal.opentracing.OpenTracingOptions;
 import io.temporal.opentracing.SpanOperationType;
+import javax.annotation.Nullable;
 
 public class OpenTracingWorkflowClientCallsInterceptor extends WorkflowClientCallsInterceptorBase {
   private final SpanFactory spanFactory;
@@ -46,6 +47,9 @@ public class OpenTracingWorkflowClientCallsInterceptor extends WorkflowClientCal
   @Override
   public WorkflowStartOutput start(WorkflowStartInput input) {
     Span span = createAndPassWorkflowStartSpan(input, SpanOperationType.START_WORKFLOW);
+    if (span == null) {
+      return super.start(input);
+    }
     try {
       return super.start(input);
     } finally {
@@ -58,6 +62,9 @@ public class OpenTracingWorkflowClientCallsInterceptor extends WorkflowClientCal
     Span workflowStartSpan =
         createAndPassWorkflowStartSpan(
             input.getWorkflowStartInput(), SpanOperationType.SIGNAL_WITH_START_WORKFLOW);
+    if (workflowStartSpan == null) {
+      return super.signalWithStart(input);
+    }
     try (Scope ignored = tracer.scopeManager().activate(workflowStartSpan)) {
       return super.signalWithStart(input);
     } finally {
@@ -65,8 +72,26 @@ public class OpenTracingWorkflowClientCallsInterceptor extends WorkflowClientCal
     }
   }
 
+  /**
+   * A workflow started outside of an active span starts a new trace, which is where the sampling
+   * decision is made.
+   *
+   * @return null if the trace is not sampled or the operation type is disabled
+   */
+  @Nullable
   private Span createAndPassWorkflowStartSpan(
       WorkflowStartInput input, SpanOperationType operationType) {
+    Span activeSpan = tracer.activeSpan();
+    if (activeSpan == null && !spanFactory.isSampled(input.getWorkflowId())) {
+      contextAccessor.writeUnsampledToHeader(input.getHeader());
+      return null;
+    }
+    if (!spanFactory.isEnabled(operationType)) {
+      if (activeSpan != null) {
+        contextAccessor.writeSpanContextToHeader(activeSpan.context(), input.getHeader(), tracer);
+      }
+      return null;
+    }
     Span span = createWorkflowStartSpanBuilder(input, operationType).start();
     contextAccessor.writeSpanContextToHeader(span.context(), input.getHeader(), tracer);
     return span;
@@ -23,10 +23,12 @@ import io.opentracing.Scope;
 import io.opentracing.Span;
 import io.opentracing.SpanContext;
 import io.opentracing.Tracer;
+import io.temporal.common.interceptors.Header;
 import io.temporal.common.interceptors.WorkflowInboundCallsInterceptor;
 import io.temporal.common.interceptors.WorkflowInboundCallsInterceptorBase;
 import io.temporal.common.interceptors.WorkflowOutboundCallsInterceptor;
 import io.temporal.opentracing.OpenTracingOptions;
+import io.temporal.opentracing.SpanOperationType;
 import io.temporal.workflow.Workflow;
 
 public class OpenTracingWorkflowInboundCallsInterceptor
@@ -34,6 +36,7 @@ public class OpenTracingWorkflowInboundCallsInterceptor
   private final OpenTracingOptions options;
   private final SpanFactory spanFactory;
   private final ContextAccessor contextAccessor;
+  private final WorkflowTracingState tracingState = new WorkflowTracingState();
 
   public OpenTracingWorkflowInboundCallsInterceptor(
       WorkflowInboundCallsInterceptor next,
@@ -50,14 +53,27 @@ public class OpenTracingWorkflowInboundCallsInterceptor
   public void init(WorkflowOutboundCallsInterceptor outboundCalls) {
     super.init(
         new OpenTracingWorkflowOutboundCallsInterceptor(
-            outboundCalls, options, spanFactory, contextAccessor));
+            outboundCalls, options, spanFactory, contextAccessor, tracingState));
   }
 
   @Override
   public WorkflowOutput execute(WorkflowInput input) {
     Tracer tracer = options.getTracer();
-    SpanContext rootSpanContext =
-        contextAccessor.readSpanContextFromHeader(input.getHeader(), tracer);
+    Header header = input.getHeader();
+    if (contextAccessor.isUnsampled(header)) {
+      tracingState.setSampled(false);
+      return super.execute(input);
+    }
+    SpanContext rootSpanContext = contextAccessor.readSpanContextFromHeader(header, tracer);
+    if (rootSpanContext == null && !spanFactory.isSampled(Workflow.getInfo().getWorkflowId())) {
+      tracingState.setSampled(false);
+      return super.execute(input);
+    }
+    if (!spanFactory.isEnabled(SpanOperationType.RUN_WORKFLOW)
+        || (options.isSuppressReplaySpans() && Workflow.isReplaying())) {
+      tracingState.setParentSpanContext(rootSpanContext);
+      return super.execute(input);
+    }
     Span workflowRunSpan =
         spanFactory
             .createWorkflowRunSpan(
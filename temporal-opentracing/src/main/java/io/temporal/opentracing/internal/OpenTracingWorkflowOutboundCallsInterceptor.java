@@ -21,29 +21,35 @@ package io.temporal.opentracing.internal;
 
 import io.opentracing.Scope;
 import io.opentracing.Span;
+import io.opentracing.SpanContext;
 import io.opentracing.Tracer;
 import io.temporal.common.interceptors.Header;
 import io.temporal.common.interceptors.WorkflowOutboundCallsInterceptor;
 import io.temporal.common.interceptors.WorkflowOutboundCallsInterceptorBase;
 import io.temporal.opentracing.OpenTracingOptions;
+import io.temporal.opentracing.SpanOperationType;
 import io.temporal.workflow.Workflow;
 import io.temporal.workflow.WorkflowInfo;
+import javax.annotation.Nullable;
 
 public class OpenTracingWorkflowOutboundCallsInterceptor
     extends WorkflowOutboundCallsInterceptorBase {
   private final SpanFactory spanFactory;
   private final Tracer tracer;
   private final ContextAccessor contextAccessor;
+  private final WorkflowTracingState tracingState;
 
   public OpenTracingWorkflowOutboundCallsInterceptor(
       WorkflowOutboundCallsInterceptor next,
       OpenTracingOptions options,
       SpanFactory spanFactory,
-      ContextAccessor contextAccessor) {
+      ContextAccessor contextAccessor,
+      WorkflowTracingState tracingState) {
     super(next);
     this.spanFactory = spanFactory;
     this.tracer = options.getTracer();
     this.contextAccessor = contextAccessor;
+    this.tracingState = tracingState;
   }
 
   @Override
@@ -51,14 +57,15 @@ public class OpenTracingWorkflowOutboundCallsInterceptor
     if (!Workflow.isReplaying()) {
       Span activityStartSpan =
           createAndPassActivityStartSpan(input.getActivityName(), input.getHeader());
-      try (Scope scope = tracer.scopeManager().activate(activityStartSpan)) {
-        return super.executeActivity(input);
-      } finally {
-        activityStartSpan.finish();
+      if (activityStartSpan != null) {
+        try (Scope scope = tracer.scopeManager().activate(activityStartSpan)) {
+          return super.executeActivity(input);
+        } finally {
+          activityStartSpan.finish();
+        }
       }
-    } else {
-      return super.executeActivity(input);
     }
+    return super.executeActivity(input);
   }
 
   @Override
@@ -66,31 +73,60 @@ public class OpenTracingWorkflowOutboundCallsInterceptor
     if (!Workflow.isReplaying()) {
       Span activityStartSpan =
           createAndPassActivityStartSpan(input.getActivityName(), input.getHeader());
-      try (Scope scope = tracer.scopeManager().activate(activityStartSpan)) {
-        return super.executeLocalActivity(input);
-      } finally {
-        activityStartSpan.finish();
+      if (activityStartSpan != null) {
+        try (Scope scope = tracer.scopeManager().activate(activityStartSpan)) {
+          return super.executeLocalActivity(input);
+        } finally {
+          activityStartSpan.finish();
+        }
       }
-    } else {
-      return super.executeLocalActivity(input);
     }
+    return super.executeLocalActivity(input);
   }
 
   @Override
   public <R> ChildWorkflowOutput<R> executeChildWorkflow(ChildWorkflowInput<R> input) {
     if (!Workflow.isReplaying()) {
       Span childWorkflowStartSpan = createAndPassChildWorkflowStartSpan(input);
-      try (Scope scope = tracer.scopeManager().activate(childWorkflowStartSpan)) {
-        return super.executeChildWorkflow(input);
-      } finally {
-        childWorkflowStartSpan.finish();
+      if (childWorkflowStartSpan != null) {
+        try (Scope scope = tracer.scopeManager().activate(childWorkflowStartSpan)) {
+          return super.executeChildWorkflow(input);
+        } finally {
+          childWorkflowStartSpan.finish();
+        }
       }
-    } else {
-      return super.executeChildWorkflow(input);
     }
+    return super.executeChildWorkflow(input);
   }
 
+  /**
+   * Passes the trace through the header without a new span if the trace is not sampled or the
+   * operation type is disabled.
+   *
+   * @return true if a span should be created for the operation
+   */
+  private boolean shouldCreateSpan(SpanOperationType operationType, Header header) {
+    if (!tracingState.isSampled()) {
+      contextAccessor.writeUnsampledToHeader(header);
+      return false;
+    }
+    if (!spanFactory.isEnabled(operationType)) {
+      Span activeSpan = tracer.activeSpan();
+      SpanContext spanContext =
+          activeSpan != null ? activeSpan.context() : tracingState.getParentSpanContext();
+      if (spanContext != null) {
+        contextAccessor.writeSpanContextToHeader(spanContext, header, tracer);
+      }
+      return false;
+    }
+    return true;
+  }
+
+  @Nullable
   private Span createAndPassActivityStartSpan(String activityName, Header header) {
+    if (!shouldCreateSpan(SpanOperationType.START_ACTIVITY, header)) {
+      return null;
+    }
     Span span = createActivityStartSpanBuilder(activityName).start();
     contextAccessor.writeSpanContextToHeader(span.context(), header, tracer);
     return span;
@@ -103,10 +139,15 @@ public class OpenTracingWorkflowOutboundCallsInterceptor
         activityName,
         Workflow.currentTimeMillis(),
         workflowInfo.getWorkflowId(),
-        workflowInfo.getRunId());
+        workflowInfo.getRunId(),
+        tracingState.getParentSpanContext());
   }
 
+  @Nullable
   private <R> Span createAndPassChildWorkflowStartSpan(ChildWorkflowInput<R> input) {
+    if (!shouldCreateSpan(SpanOperationType.START_CHILD_WORKFLOW, input.getHeader())) {
+      return null;
+    }
     Span span = createChildWorkflowStartSpanBuilder(tracer, input).start();
     contextAccessor.writeSpanContextToHeader(span.context(), input.getHeader(), tracer);
     return span;
@@ -121,6 +162,7 @@ public class OpenTracingWorkflowOutboundCallsInterceptor
         System.currentTimeMillis(),
         input.getWorkflowId(),
         parentWorkflowInfo.getWorkflowId(),
-        parentWorkflowInfo.getRunId());
+        parentWorkflowInfo.getRunId(),
+        tracingState.getParentSpanContext());
   }
 }
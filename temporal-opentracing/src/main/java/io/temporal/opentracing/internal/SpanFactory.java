@@ -44,6 +44,27 @@ public class SpanFactory {
     this.options = options;
   }
 
+  public boolean isEnabled(SpanOperationType operationType) {
+    return options.getEnabledSpanOperationTypes().contains(operationType);
+  }
+
+  /**
+   * Head-based sampling decision for a trace started by Temporal. Derived from the key instead of
+   * a random number, so a workflow that replays or starts on a different worker makes the same
+   * decision.
+   *
+   * @param traceKey id of the execution the trace starts at
+   */
+  public boolean isSampled(String traceKey) {
+    double samplingRate = options.getSamplingRate();
+    if (samplingRate >= 1) {
+      return true;
+    }
+    // Spread String.hashCode over the whole int range before using it as a fraction
+    long hash = Integer.toUnsignedLong(traceKey.hashCode() * 0x9E3779B9);
+    return hash < samplingRate * (1L << 32);
+  }
+
   public Tracer.SpanBuilder createWorkflowStartSpan(
       Tracer tracer,
       SpanOperationType operationType,
@@ -67,7 +88,8 @@ public class SpanFactory {
       long startTimeMs,
       String workflowId,
       String parentWorkflowId,
-      String parentRunId) {
+      String parentRunId,
+      @Nullable SpanContext workflowSpanContext) {
     SpanCreationContext context =
         SpanCreationContext.newBuilder()
             .setSpanOperationType(SpanOperationType.START_CHILD_WORKFLOW)
@@ -76,7 +98,7 @@ public class SpanFactory {
             .setParentWorkflowId(parentWorkflowId)
             .setParentRunId(parentRunId)
             .build();
-    return createSpan(context, tracer, startTimeMs, null, References.FOLLOWS_FROM);
+    return createSpan(context, tracer, startTimeMs, workflowSpanContext, References.FOLLOWS_FROM);
   }
 
   public Tracer.SpanBuilder createWorkflowRunSpan(
@@ -98,7 +120,12 @@ public class SpanFactory {
   }
 
   public Tracer.SpanBuilder createActivityStartSpan(
-      Tracer tracer, String activityType, long startTimeMs, String workflowId, String runId) {
+      Tracer tracer,
+      String activityType,
+      long startTimeMs,
+      String workflowId,
+      String runId,
+      @Nullable SpanContext workflowSpanContext) {
     SpanCreationContext context =
         SpanCreationContext.newBuilder()
             .setSpanOperationType(SpanOperationType.START_ACTIVITY)
@@ -106,7 +133,7 @@ public class SpanFactory {
             .setWorkflowId(workflowId)
             .setRunId(runId)
             .build();
-    return createSpan(context, tracer, startTimeMs, null, References.CHILD_OF);
+    return createSpan(context, tracer, startTimeMs, workflowSpanContext, References.CHILD_OF);
   }
 
   public Tracer.SpanBuilder createActivityRunSpan(
@@ -0,0 +1,52 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+package io.temporal.opentracing.internal;
+
+import io.opentracing.SpanContext;
+import javax.annotation.Nullable;
+
+/**
+ * Tracing decisions made by the workflow inbound interceptor when the workflow starts executing
+ * and shared with the outbound interceptor of the same workflow execution.
+ */
+public final class WorkflowTracingState {
+  private boolean sampled = true;
+  private SpanContext parentSpanContext;
+
+  public boolean isSampled() {
+    return sampled;
+  }
+
+  public void setSampled(boolean sampled) {
+    this.sampled = sampled;
+  }
+
+  /**
+   * @return span context the workflow was started with if the workflow run span wasn't created,
+   *     null otherwise
+   */
+  @Nullable
+  public SpanContext getParentSpanContext() {
+    return parentSpanContext;
+  }
+
+  public void setParentSpanContext(@Nullable SpanContext parentSpanContext) {
+    this.parentSpanContext = parentSpanContext;
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.opentracing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import io.opentracing.Scope;
+import io.opentracing.mock.MockSpan;
+import io.opentracing.mock.MockTracer;
+import io.opentracing.util.ThreadLocalScopeManager;
+import io.temporal.activity.ActivityInterface;
+import io.temporal.activity.ActivityMethod;
+import io.temporal.activity.ActivityOptions;
+import io.temporal.client.WorkflowClientOptions;
+import io.temporal.client.WorkflowOptions;
+import io.temporal.testing.internal.SDKTestWorkflowRule;
+import io.temporal.worker.WorkerFactoryOptions;
+import io.temporal.workflow.Workflow;
+import io.temporal.workflow.WorkflowInterface;
+import io.temporal.workflow.WorkflowMethod;
+import java.time.Duration;
+import java.util.EnumSet;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class EnabledSpanOperationTypesTest {
+
+  private final MockTracer mockTracer =
+      new MockTracer(new ThreadLocalScopeManager(), MockTracer.Propagator.TEXT_MAP);
+
+  private final OpenTracingOptions options =
+      OpenTracingOptions.newBuilder()
+          .setTracer(mockTracer)
+          .setEnabledSpanOperationTypes(
+              EnumSet.complementOf(EnumSet.of(SpanOperationType.START_ACTIVITY)))
+          .build();
+
+  @Rule
+  public SDKTestWorkflowRule testWorkflowRule =
+      SDKTestWorkflowRule.newBuilder()
+          .setWorkflowClientOptions(
+              WorkflowClientOptions.newBuilder()
+                  .setInterceptors(new OpenTracingClientInterceptor(options))
+                  .validateAndBuildWithDefaults())
+          .setWorkerFactoryOptions(
+              WorkerFactoryOptions.newBuilder()
+                  .setWorkerInterceptors(new OpenTracingWorkerInterceptor(options))
+                  .validateAndBuildWithDefaults())
+          .setWorkflowTypes(WorkflowImpl.class)
+          .setActivityImplementations(new ActivityImpl())
+          .build();
+
+  @After
+  public void tearDown() {
+    mockTracer.reset();
+  }
+
+  @ActivityInterface
+  public interface TestActivity {
+    @ActivityMethod
+    String activity(String input);
+  }
+
+  @WorkflowInterface
+  public interface TestWorkflow {
+    @WorkflowMethod
+    String workflow(String input);
+  }
+
+  public static class ActivityImpl implements TestActivity {
+    @Override
+    public String activity(String input) {
+      return "bar";
+    }
+  }
+
+  public static class WorkflowImpl implements TestWorkflow {
+    private final TestActivity activity =
+        Workflow.newActivityStub(
+            TestActivity.class,
+            ActivityOptions.newBuilder()
+                .setStartToCloseTimeout(Duration.ofMinutes(1))
+                .validateAndBuildWithDefaults());
+
+    @Override
+    public String workflow(String input) {
+      return activity.activity(input);
+    }
+  }
+
+  /*
+   * We are checking that the activity is still a part of the trace when StartActivity is disabled:
+   * ClientFunction
+   *       |
+   *     child
+   *       v
+   * StartWorkflow:TestWorkflow
+   *       |
+   *    follow
+   *       |
+   *       l__-> RunWorkflow:TestWorkflow
+   *                        |
+   *                      follow
+   *                        v
+   *              RunActivity:Activity
+   */
+  @Test
+  public void testDisabledOperationPassesSpanContext() {
+    MockSpan span = mockTracer.buildSpan("ClientFunction").start();
+
+    try (Scope scope = mockTracer.scopeManager().activate(span)) {
+      TestWorkflow workflow =
+          testWorkflowRule
+              .getWorkflowClient()
+              .newWorkflowStub(
+                  TestWorkflow.class,
+                  WorkflowOptions.newBuilder()
+                      .setTaskQueue(testWorkflowRule.getTaskQueue())
+                      .validateBuildWithDefaults());
+      assertEquals("bar", workflow.workflow("input"));
+    } finally {
+      span.finish();
+    }
+
+    OpenTracingSpansHelper spansHelper = new OpenTracingSpansHelper(mockTracer.finishedSpans());
+
+    assertNull(spansHelper.getSpanByOperationName("StartActivity:Activity"));
+
+    MockSpan workflowRunSpan = spansHelper.getSpanByOperationName("RunWorkflow:TestWorkflow");
+    MockSpan activityRunSpan = spansHelper.getByParentSpan(workflowRunSpan).get(0);
+    assertEquals("RunActivity:Activity", activityRunSpan.operationName());
+    assertEquals(span.context().traceId(), activityRunSpan.context().traceId());
+  }
+}
@@ -0,0 +1,197 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.opentracing;
+
+import static org.junit.Assert.assertEquals;
+
+import io.opentracing.Scope;
+import io.opentracing.mock.MockSpan;
+import io.opentracing.mock.MockTracer;
+import io.opentracing.util.ThreadLocalScopeManager;
+import io.temporal.activity.ActivityInterface;
+import io.temporal.activity.ActivityMethod;
+import io.temporal.activity.ActivityOptions;
+import io.temporal.client.WorkflowClientOptions;
+import io.temporal.client.WorkflowOptions;
+import io.temporal.testing.internal.SDKTestWorkflowRule;
+import io.temporal.worker.WorkerFactoryOptions;
+import io.temporal.workflow.Workflow;
+import io.temporal.workflow.WorkflowInterface;
+import io.temporal.workflow.WorkflowMethod;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class SuppressReplaySpansTest {
+
+  private final MockTracer mockTracer =
+      new MockTracer(new ThreadLocalScopeManager(), MockTracer.Propagator.TEXT_MAP);
+
+  private final OpenTracingOptions options =
+      OpenTracingOptions.newBuilder().setTracer(mockTracer).setSuppressReplaySpans(true).build();
+
+  @Rule
+  public SDKTestWorkflowRule testWorkflowRule =
+      SDKTestWorkflowRule.newBuilder()
+          .setWorkflowClientOptions(
+              WorkflowClientOptions.newBuilder()
+                  .setInterceptors(new OpenTracingClientInterceptor(options))
+                  .validateAndBuildWithDefaults())
+          .setWorkerFactoryOptions(
+              WorkerFactoryOptions.newBuilder()
+                  .setWorkerInterceptors(new OpenTracingWorkerInterceptor(options))
+                  .validateAndBuildWithDefaults())
+          .setWorkflowTypes(WorkflowImpl.class)
+          .setActivityImplementations(new ActivityImpl())
+          .build();
+
+  @After
+  public void tearDown() {
+    mockTracer.reset();
+  }
+
+  @ActivityInterface
+  public interface TestActivity1 {
+    @ActivityMethod
+    String activity1(String input);
+  }
+
+  @ActivityInterface
+  public interface TestActivity2 {
+    @ActivityMethod
+    String activity2(String input);
+  }
+
+  @WorkflowInterface
+  public interface TestWorkflow {
+    @WorkflowMethod
+    String workflow1(String input);
+  }
+
+  public static class ActivityImpl implements TestActivity1, TestActivity2 {
+    @Override
+    public String activity1(String input) {
+      return "bar";
+    }
+
+    @Override
+    public String activity2(String input) {
+      return "bar";
+    }
+  }
+
+  private static final AtomicInteger failureCounter = new AtomicInteger(1);
+
+  public static class WorkflowImpl implements TestWorkflow {
+    private final TestActivity1 activity1 =
+        Workflow.newActivityStub(
+            TestActivity1.class,
+            ActivityOptions.newBuilder()
+                .setStartToCloseTimeout(Duration.ofMinutes(1))
+                .validateAndBuildWithDefaults());
+
+    private final TestActivity2 activity2 =
+        Workflow.newActivityStub(
+            TestActivity2.class,
+            ActivityOptions.newBuilder()
+                .setStartToCloseTimeout(Duration.ofMinutes(1))
+                .validateAndBuildWithDefaults());
+
+    @Override
+    public String workflow1(String input) {
+      activity1.activity1(input);
+
+      // Fails the workflow task, so the execution is evicted from the cache and replayed
+      if (failureCounter.getAndDecrement() > 0) {
+        throw new OutOfMemoryError();
+      }
+
+      return activity2.activity2(input);
+    }
+  }
+
+  /*
+   * We are checking that the replay doesn't produce a second RunWorkflow span:
+   * ClientFunction
+   *       |
+   *     child
+   *       v
+   * StartWorkflow:TestWorkflow
+   *       |
+   *    follow
+   *       |
+   *       l__-> RunWorkflow:TestWorkflow (Error in workflow; thread is dead; replay needed)
+   *       |                |
+   *       |              child
+   *       |                v
+   *       |     StartActivity:Activity1 -follow> RunActivity:Activity1
+   *       |
+   *       l__-> StartActivity:Activity2 -follow> RunActivity:Activity2
+   */
+  @Test
+  public void testReplayDoesNotCreateWorkflowRunSpan() {
+    MockSpan span = mockTracer.buildSpan("ClientFunction").start();
+
+    try (Scope scope = mockTracer.scopeManager().activate(span)) {
+      TestWorkflow workflow =
+          testWorkflowRule
+              .getWorkflowClient()
+              .newWorkflowStub(
+                  TestWorkflow.class,
+                  WorkflowOptions.newBuilder()
+                      .setWorkflowExecutionTimeout(Duration.ofMinutes(1))
+                      .setTaskQueue(testWorkflowRule.getTaskQueue())
+                      .validateBuildWithDefaults());
+      assertEquals("bar", workflow.workflow1("input"));
+    } finally {
+      span.finish();
+    }
+
+    OpenTracingSpansHelper spansHelper = new OpenTracingSpansHelper(mockTracer.finishedSpans());
+
+    MockSpan clientSpan = spansHelper.getSpanByOperationName("ClientFunction");
+
+    MockSpan workflowStartSpan = spansHelper.getByParentSpan(clientSpan).get(0);
+    assertEquals("StartWorkflow:TestWorkflow", workflowStartSpan.operationName());
+
+    assertEquals(
+        "Replay shouldn't create a RunWorkflow span", 1, countSpans("RunWorkflow:TestWorkflow"));
+    MockSpan workflowRunSpan = spansHelper.getSpanByOperationName("RunWorkflow:TestWorkflow");
+    assertEquals(workflowStartSpan.context().spanId(), workflowRunSpan.parentId());
+    assertEquals(true, workflowRunSpan.tags().get(StandardTagNames.FAILED));
+
+    MockSpan activity1StartSpan = spansHelper.getSpanByOperationName("StartActivity:Activity1");
+    assertEquals(workflowRunSpan.context().spanId(), activity1StartSpan.parentId());
+
+    MockSpan activity2StartSpan = spansHelper.getSpanByOperationName("StartActivity:Activity2");
+    assertEquals(workflowStartSpan.context().spanId(), activity2StartSpan.parentId());
+
+    MockSpan activity2RunSpan = spansHelper.getByParentSpan(activity2StartSpan).get(0);
+    assertEquals("RunActivity:Activity2", activity2RunSpan.operationName());
+  }
+
+  private long countSpans(String operationName) {
+    return mockTracer.finishedSpans().stream()
+        .filter(s -> operationName.equals(s.operationName()))
+        .count();
+  }
+}
@@ -19,9 +19,11 @@
 
 package io.temporal.client;
 
+import com.google.common.base.Preconditions;
 import io.temporal.api.enums.v1.QueryRejectCondition;
 import io.temporal.common.context.ContextPropagator;
 import io.temporal.common.converter.DataConverter;
+import io.temporal.common.converter.PayloadCodec;
 import io.temporal.common.interceptors.WorkflowClientInterceptor;
 import java.lang.management.ManagementFactory;
 import java.util.Arrays;
@@ -59,11 +61,13 @@ public final class WorkflowClientOptions {
 
     private String namespace;
     private DataConverter dataConverter;
+    private PayloadCodec payloadCodec;
     private WorkflowClientInterceptor[] interceptors;
     private String identity;
     private String binaryChecksum;
     private List<ContextPropagator> contextPropagators;
     private QueryRejectCondition queryRejectCondition;
+    private int failureStackTraceMaxDepth = Integer.MAX_VALUE;
 
     private Builder() {}
 
@@ -73,11 +77,13 @@ public final class WorkflowClientOptions {
       }
       namespace = options.namespace;
       dataConverter = options.dataConverter;
+      payloadCodec = options.payloadCodec;
       interceptors = options.interceptors;
       identity = options.identity;
       binaryChecksum = options.binaryChecksum;
       contextPropagators = options.contextPropagators;
       queryRejectCondition = options.queryRejectCondition;
+      failureStackTraceMaxDepth = options.failureStackTraceMaxDepth;
     }
 
     public Builder setNamespace(String namespace) {
@@ -96,6 +102,20 @@ public final class WorkflowClientOptions {
       return this;
     }
 
+    /**
+     * Sets a codec that transforms the serialized payloads before they are sent to the service and
+     * after they are received from it. The codec is applied outside of the workflow threads, with
+     * the payloads of each task or request transformed in parallel on a dedicated codec pool.
+     * Activity threads wait for the codec when the activity task is decoded and when the result or
+     * a heartbeat is encoded.
+     *
+     * <p>Default is null which means no codec.
+     */
+    public Builder setPayloadCodec(PayloadCodec payloadCodec) {
+      this.payloadCodec = payloadCodec;
+      return this;
+    }
+
     /**
      * Interceptor used to intercept workflow client calls.
      *
@@ -143,15 +163,33 @@ public final class WorkflowClientOptions {
       return this;
     }
 
+    /**
+     * Limits the number of stack trace elements serialized into the failures of the exceptions
+     * thrown by workflows and activities, and of the exceptions reported through manual activity
+     * completion. Applies to the workers created with this client as well.
+     *
+     * <p>Default is unlimited. 0 omits stack traces.
+     */
+    public Builder setFailureStackTraceMaxDepth(int failureStackTraceMaxDepth) {
+      Preconditions.checkArgument(
+          failureStackTraceMaxDepth >= 0,
+          "negative failureStackTraceMaxDepth: %s",
+          failureStackTraceMaxDepth);
+      this.failureStackTraceMaxDepth = failureStackTraceMaxDepth;
+      return this;
+    }
+
     public WorkflowClientOptions build() {
       return new WorkflowClientOptions(
           namespace,
           dataConverter,
+          payloadCodec,
           interceptors,
           identity,
           binaryChecksum,
           contextPropagators,
-          queryRejectCondition);
+          queryRejectCondition,
+          failureStackTraceMaxDepth);
     }
 
     public WorkflowClientOptions validateAndBuildWithDefaults() {
@@ -159,13 +197,15 @@ public final class WorkflowClientOptions {
       return new WorkflowClientOptions(
           namespace == null ? DEFAULT_NAMESPACE : namespace,
           dataConverter == null ? DataConverter.getDefaultInstance() : dataConverter,
+          payloadCodec,
           interceptors == null ? EMPTY_INTERCEPTOR_ARRAY : interceptors,
           name,
           binaryChecksum == null ? DEFAULT_BINARY_CHECKSUM : binaryChecksum,
           contextPropagators == null ? EMPTY_CONTEXT_PROPAGATORS : contextPropagators,
           queryRejectCondition == null
               ? QueryRejectCondition.QUERY_REJECT_CONDITION_UNSPECIFIED
-              : queryRejectCondition);
+              : queryRejectCondition,
+          failureStackTraceMaxDepth);
     }
   }
 
@@ -178,6 +218,8 @@ public final class WorkflowClientOptions {
 
   private final DataConverter dataConverter;
 
+  private final PayloadCodec payloadCodec;
+
   private final WorkflowClientInterceptor[] interceptors;
 
   private final String identity;
@@ -188,21 +230,27 @@ public final class WorkflowClientOptions {
 
   private final QueryRejectCondition queryRejectCondition;
 
+  private final int failureStackTraceMaxDepth;
+
   private WorkflowClientOptions(
       String namespace,
       DataConverter dataConverter,
+      PayloadCodec payloadCodec,
       WorkflowClientInterceptor[] interceptors,
       String identity,
       String binaryChecksum,
       List<ContextPropagator> contextPropagators,
-      QueryRejectCondition queryRejectCondition) {
+      QueryRejectCondition queryRejectCondition,
+      int failureStackTraceMaxDepth) {
     this.namespace = namespace;
     this.dataConverter = dataConverter;
+    this.payloadCodec = payloadCodec;
     this.interceptors = interceptors;
     this.identity = identity;
     this.binaryChecksum = binaryChecksum;
     this.contextPropagators = contextPropagators;
     this.queryRejectCondition = queryRejectCondition;
+    this.failureStackTraceMaxDepth = failureStackTraceMaxDepth;
   }
 
   public String getNamespace() {
@@ -213,6 +261,10 @@ public final class WorkflowClientOptions {
     return dataConverter;
   }
 
+  public PayloadCodec getPayloadCodec() {
+    return payloadCodec;
+  }
+
   public WorkflowClientInterceptor[] getInterceptors() {
     return interceptors;
   }
@@ -233,6 +285,10 @@ public final class WorkflowClientOptions {
     return queryRejectCondition;
   }
 
+  public int getFailureStackTraceMaxDepth() {
+    return failureStackTraceMaxDepth;
+  }
+
   @Override
   public String toString() {
     return "WorkflowClientOptions{"
@@ -241,6 +297,8 @@ public final class WorkflowClientOptions {
         + '\''
         + ", dataConverter="
         + dataConverter
+        + ", payloadCodec="
+        + payloadCodec
         + ", interceptors="
         + Arrays.toString(interceptors)
         + ", identity='"
@@ -253,6 +311,8 @@ public final class WorkflowClientOptions {
         + contextPropagators
         + ", queryRejectCondition="
         + queryRejectCondition
+        + ", failureStackTraceMaxDepth="
+        + failureStackTraceMaxDepth
         + '}';
   }
 
@@ -263,11 +323,13 @@ public final class WorkflowClientOptions {
     WorkflowClientOptions that = (WorkflowClientOptions) o;
     return com.google.common.base.Objects.equal(namespace, that.namespace)
         && com.google.common.base.Objects.equal(dataConverter, that.dataConverter)
+        && com.google.common.base.Objects.equal(payloadCodec, that.payloadCodec)
         && Arrays.equals(interceptors, that.interceptors)
         && com.google.common.base.Objects.equal(identity, that.identity)
         && com.google.common.base.Objects.equal(binaryChecksum, that.binaryChecksum)
         && com.google.common.base.Objects.equal(contextPropagators, that.contextPropagators)
-        && queryRejectCondition == that.queryRejectCondition;
+        && queryRejectCondition == that.queryRejectCondition
+        && failureStackTraceMaxDepth == that.failureStackTraceMaxDepth;
   }
 
   @Override
@@ -275,10 +337,12 @@ public final class WorkflowClientOptions {
     return com.google.common.base.Objects.hashCode(
         namespace,
         dataConverter,
+        payloadCodec,
         Arrays.hashCode(interceptors),
         identity,
         binaryChecksum,
         contextPropagators,
-        queryRejectCondition);
+        queryRejectCondition,
+        failureStackTraceMaxDepth);
   }
 }
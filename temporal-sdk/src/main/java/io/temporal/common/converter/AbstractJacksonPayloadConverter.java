@@ -0,0 +1,121 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.converter;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.google.protobuf.ByteString;
+import io.temporal.api.common.v1.Payload;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Base of the payload converters that serialize values with Jackson {@link ObjectMapper}. Values
+ * are written directly into the {@link ByteString} of the payload and read directly from it without
+ * intermediate byte array copies. Readers are resolved once per value type and cached, so the
+ * passed {@link ObjectMapper} shouldn't be reconfigured after the converter is created.
+ */
+abstract class AbstractJacksonPayloadConverter implements PayloadConverter {
+
+  private final ObjectMapper mapper;
+  private final ObjectWriter writer;
+  private final ByteString encoding;
+  private final ConcurrentMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+
+  /**
+   * @param mapper mapper to serialize values with
+   * @param encoding value of the {@link EncodingKeys#METADATA_ENCODING_KEY} metadata of the
+   *     produced payloads
+   */
+  AbstractJacksonPayloadConverter(ObjectMapper mapper, ByteString encoding) {
+    this.mapper = mapper;
+    this.writer = mapper.writer();
+    this.encoding = encoding;
+  }
+
+  /** Applies the default SDK configuration to the mapper. */
+  static ObjectMapper configureDefaults(ObjectMapper mapper) {
+    mapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+    mapper.registerModule(new JavaTimeModule());
+    mapper.setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+    return mapper;
+  }
+
+  @Override
+  public Optional<Payload> toData(Object value) throws DataConverterException {
+    try {
+      ByteString.Output output = ByteString.newOutput();
+      writer.writeValue(output, value);
+      return Optional.of(
+          Payload.newBuilder()
+              .putMetadata(EncodingKeys.METADATA_ENCODING_KEY, encoding)
+              .setData(output.toByteString())
+              .build());
+
+    } catch (IOException e) {
+      throw new DataConverterException(e);
+    }
+  }
+
+  @Override
+  public <T> T fromData(Payload content, Class<T> valueClass, Type valueType)
+      throws DataConverterException {
+    ByteString data = content.getData();
+    if (data.isEmpty()) {
+      return null;
+    }
+    try {
+      return getReader(valueClass, valueType).readValue(data.newInput());
+    } catch (IOException e) {
+      throw new DataConverterException(e);
+    }
+  }
+
+  private ObjectReader getReader(Class<?> valueClass, Type valueType) {
+    // Type variables are resolved against valueClass, so they can't be used as a cache key alone
+    if (valueType == null || valueType instanceof TypeVariable) {
+      return newReader(valueClass, valueType);
+    }
+    ObjectReader result = readers.get(valueType);
+    if (result == null) {
+      result = readers.computeIfAbsent(valueType, t -> newReader(valueClass, t));
+    }
+    return result;
+  }
+
+  private ObjectReader newReader(Class<?> valueClass, Type valueType) {
+    @SuppressWarnings("deprecation")
+    JavaType reference =
+        valueType == null
+            ? mapper.constructType(valueClass)
+            : mapper.getTypeFactory().constructType(valueType, valueClass);
+    return mapper.readerFor(reference);
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.converter;
+
+import com.google.protobuf.ByteString;
+import java.io.IOException;
+
+/**
+ * External storage of the large payloads used by {@link ClaimCheckDataConverter}. Blobs are
+ * immutable and addressed by a key derived from their content, so storing the same blob more than
+ * once is expected and has to be idempotent.
+ *
+ * <p>Implementations have to be thread safe.
+ */
+public interface BlobStore {
+
+  /**
+   * Stores a blob under the given key.
+   *
+   * @param key content hash of the blob consisting of lowercase hex characters
+   * @param blob data to store
+   */
+  void put(String key, ByteString blob) throws IOException;
+
+  /**
+   * @param key key the blob was stored under
+   * @return the stored blob
+   * @throws IOException if the blob is not found or can't be retrieved
+   */
+  ByteString get(String key) throws IOException;
+}
@@ -0,0 +1,188 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.converter;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.temporal.api.common.v1.Payload;
+import io.temporal.api.common.v1.Payloads;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Implements the claim check pattern on top of another {@link DataConverter}. Payloads which
+ * serialized size reaches the configured threshold are stored in a {@link BlobStore} and replaced
+ * with a small reference payload, keeping large values out of the workflow history. References are
+ * resolved transparently when the payloads are converted back.
+ *
+ * <p>Resolved payloads are kept in a bounded LRU cache, so replays of the same workflow and
+ * repeated reads don't hit the blob store again. Stored payloads are cached as well, so arguments
+ * and results serialized again during replay are not written to the blob store more than once.
+ *
+ * <p>The data converter is called on the workflow threads, so the {@link BlobStore} calls made on
+ * a cache miss block workflow code and count towards the workflow task timeout and the deadlock
+ * detection timeout. Blob stores with high latency should be used with a cache large enough to
+ * hold the payloads of the cached workflows.
+ *
+ * <p>All the clients and workers that access the workflows must be configured with a converter
+ * that has access to the same blob store.
+ */
+public final class ClaimCheckDataConverter implements DataConverter {
+
+  public static final int DEFAULT_THRESHOLD = 128 * 1024;
+
+  public static final long DEFAULT_CACHE_MAXIMUM_BYTES = 64L * 1024 * 1024;
+
+  private final DataConverter delegate;
+  private final BlobStore blobStore;
+  private final int threshold;
+  private final Cache<String, Payload> cache;
+
+  public ClaimCheckDataConverter(DataConverter delegate, BlobStore blobStore) {
+    this(delegate, blobStore, DEFAULT_THRESHOLD, DEFAULT_CACHE_MAXIMUM_BYTES);
+  }
+
+  /**
+   * @param delegate converter that serializes the values
+   * @param blobStore storage for the payloads that reach the threshold
+   * @param threshold minimum serialized size in bytes of a payload to be stored externally
+   * @param cacheMaximumBytes maximum total size of the cached resolved payloads, 0 disables the
+   *     cache
+   */
+  public ClaimCheckDataConverter(
+      DataConverter delegate, BlobStore blobStore, int threshold, long cacheMaximumBytes) {
+    Preconditions.checkArgument(threshold > 0, "threshold should be positive: %s", threshold);
+    Preconditions.checkArgument(
+        cacheMaximumBytes >= 0, "negative cacheMaximumBytes: %s", cacheMaximumBytes);
+    this.delegate = Objects.requireNonNull(delegate);
+    this.blobStore = Objects.requireNonNull(blobStore);
+    this.threshold = threshold;
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(cacheMaximumBytes)
+            .weigher((String key, Payload payload) -> payload.getSerializedSize())
+            .build();
+  }
+
+  @Override
+  public <T> Optional<Payload> toPayload(T value) {
+    if (value instanceof RawValue) {
+      // Already a payload or a reference, no need to store it again
+      return delegate.toPayload(value);
+    }
+    return delegate.toPayload(value).map(this::store);
+  }
+
+  @Override
+  public <T> T fromPayload(Payload payload, Class<T> valueClass, Type valueType) {
+    if (valueClass == RawValue.class) {
+      // Passes the reference through, it is resolved when the RawValue is decoded
+      return delegate.fromPayload(payload, valueClass, valueType);
+    }
+    return delegate.fromPayload(resolve(payload), valueClass, valueType);
+  }
+
+  @Override
+  public Optional<Payloads> toPayloads(Object... values) throws DataConverterException {
+    Optional<Payloads> result = delegate.toPayloads(values);
+    if (!result.isPresent()) {
+      return result;
+    }
+    Payloads payloads = result.get();
+    Payloads.Builder builder = null;
+    for (int i = 0; i < payloads.getPayloadsCount(); i++) {
+      if (values != null && i < values.length && values[i] instanceof RawValue) {
+        continue;
+      }
+      Payload payload = payloads.getPayloads(i);
+      Payload stored = store(payload);
+      if (stored != payload) {
+        if (builder == null) {
+          builder = payloads.toBuilder();
+        }
+        builder.setPayloads(i, stored);
+      }
+    }
+    return builder == null ? result : Optional.of(builder.build());
+  }
+
+  @Override
+  public <T> T fromPayloads(
+      int index, Optional<Payloads> content, Class<T> parameterType, Type genericParameterType)
+      throws DataConverterException {
+    if (content.isPresent()
+        && parameterType != RawValue.class
+        && index < content.get().getPayloadsCount()) {
+      Payload payload = content.get().getPayloads(index);
+      Payload resolved = resolve(payload);
+      if (resolved != payload) {
+        content = Optional.of(content.get().toBuilder().setPayloads(index, resolved).build());
+      }
+    }
+    return delegate.fromPayloads(index, content, parameterType, genericParameterType);
+  }
+
+  private Payload store(Payload payload) {
+    if (payload.getSerializedSize() < threshold) {
+      return payload;
+    }
+    ByteString blob = payload.toByteString();
+    String key = Hashing.sha256().hashBytes(blob.asReadOnlyByteBuffer()).toString();
+    // A cached payload has been stored or resolved before, so the blob store already has it.
+    if (cache.getIfPresent(key) == null) {
+      try {
+        blobStore.put(key, blob);
+      } catch (IOException e) {
+        throw new DataConverterException("Failure storing payload in the blob store", e);
+      }
+      cache.put(key, payload);
+    }
+    return Payload.newBuilder()
+        .putMetadata(EncodingKeys.METADATA_ENCODING_KEY, EncodingKeys.METADATA_ENCODING_CLAIM_CHECK)
+        .setData(ByteString.copyFrom(key, StandardCharsets.UTF_8))
+        .build();
+  }
+
+  private Payload resolve(Payload payload) {
+    ByteString encoding = payload.getMetadataOrDefault(EncodingKeys.METADATA_ENCODING_KEY, null);
+    if (!EncodingKeys.METADATA_ENCODING_CLAIM_CHECK.equals(encoding)) {
+      return payload;
+    }
+    String key = payload.getData().toStringUtf8();
+    try {
+      return cache.get(key, () -> Payload.parseFrom(blobStore.get(key)));
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof InvalidProtocolBufferException) {
+        throw new DataConverterException("Corrupted blob for payload " + key, cause);
+      }
+      throw new DataConverterException("Failure retrieving payload " + key, cause);
+    }
+  }
+}
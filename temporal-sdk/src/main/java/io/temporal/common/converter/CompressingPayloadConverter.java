@@ -0,0 +1,147 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.converter;
+
+import com.google.common.base.Preconditions;
+import com.google.protobuf.ByteString;
+import io.temporal.api.common.v1.Payload;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Wraps another {@link PayloadConverter} and gzip-compresses data of the payloads it produces when
+ * the data is larger than a threshold. Compressed payloads keep the encoding of the wrapped
+ * converter and are marked with {@link EncodingKeys#METADATA_COMPRESSION_KEY} metadata, so this
+ * converter replaces the wrapped one in {@link DefaultDataConverter} and keeps decoding payloads
+ * that were written without compression:
+ *
+ * <pre>{@code
+ * DataConverter converter =
+ *     DefaultDataConverter.newDefaultInstance()
+ *         .withPayloadConverterOverrides(
+ *             new CompressingPayloadConverter(new JacksonJsonPayloadConverter(), 64 * 1024));
+ * }</pre>
+ *
+ * <p>Compression reduces both the size of the RPCs and of the workflow history, which is replayed
+ * by workers. Note that compressed payloads can be decoded only by data converters that are aware
+ * of the compression metadata.
+ */
+public class CompressingPayloadConverter implements PayloadConverter {
+
+  public static final int DEFAULT_COMPRESSION_THRESHOLD = 32 * 1024;
+
+  private final PayloadConverter delegate;
+  private final int compressionThreshold;
+
+  /**
+   * Creates a converter that compresses payloads larger than {@link
+   * #DEFAULT_COMPRESSION_THRESHOLD}.
+   */
+  public CompressingPayloadConverter(PayloadConverter delegate) {
+    this(delegate, DEFAULT_COMPRESSION_THRESHOLD);
+  }
+
+  /**
+   * @param delegate converter that encodes values to payloads and decodes them back
+   * @param compressionThreshold payloads with data of this size in bytes or larger are compressed
+   */
+  public CompressingPayloadConverter(PayloadConverter delegate, int compressionThreshold) {
+    Preconditions.checkArgument(
+        compressionThreshold >= 0, "compressionThreshold must be non-negative");
+    this.delegate = Objects.requireNonNull(delegate);
+    this.compressionThreshold = compressionThreshold;
+  }
+
+  @Override
+  public String getEncodingType() {
+    return delegate.getEncodingType();
+  }
+
+  @Override
+  public Optional<Payload> toData(Object value) throws DataConverterException {
+    Optional<Payload> result = delegate.toData(value);
+    if (!result.isPresent()) {
+      return result;
+    }
+    Payload payload = result.get();
+    ByteString data = payload.getData();
+    if (data.size() < compressionThreshold
+        || payload.containsMetadata(EncodingKeys.METADATA_COMPRESSION_KEY)) {
+      return result;
+    }
+    ByteString compressed = compress(data);
+    // Not worth it for poorly compressible data like already compressed images or archives
+    if (compressed.size() >= data.size()) {
+      return result;
+    }
+    return Optional.of(
+        payload
+            .toBuilder()
+            .putMetadata(
+                EncodingKeys.METADATA_COMPRESSION_KEY, EncodingKeys.METADATA_COMPRESSION_GZIP)
+            .setData(compressed)
+            .build());
+  }
+
+  @Override
+  public <T> T fromData(Payload content, Class<T> valueClass, Type valueType)
+      throws DataConverterException {
+    ByteString compression =
+        content.getMetadataOrDefault(EncodingKeys.METADATA_COMPRESSION_KEY, null);
+    if (compression == null) {
+      return delegate.fromData(content, valueClass, valueType);
+    }
+    if (!EncodingKeys.METADATA_COMPRESSION_GZIP.equals(compression)) {
+      throw new DataConverterException(
+          "Unknown compression: " + compression.toStringUtf8(), content, new Type[] {valueType});
+    }
+    Payload decompressed =
+        content
+            .toBuilder()
+            .removeMetadata(EncodingKeys.METADATA_COMPRESSION_KEY)
+            .setData(decompress(content.getData()))
+            .build();
+    return delegate.fromData(decompressed, valueClass, valueType);
+  }
+
+  private static ByteString compress(ByteString data) {
+    ByteString.Output output = ByteString.newOutput(data.size() / 4);
+    try (OutputStream gzip = new GZIPOutputStream(output)) {
+      data.writeTo(gzip);
+    } catch (IOException e) {
+      throw new DataConverterException(e);
+    }
+    return output.toByteString();
+  }
+
+  private static ByteString decompress(ByteString data) {
+    try (InputStream gzip = new GZIPInputStream(data.newInput())) {
+      return ByteString.readFrom(gzip);
+    } catch (IOException e) {
+      throw new DataConverterException(e);
+    }
+  }
+}
@@ -22,6 +22,8 @@ package io.temporal.common.converter;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import com.google.common.base.Defaults;
+import com.google.common.collect.ImmutableSet;
+import com.google.protobuf.ByteString;
 import io.temporal.api.common.v1.Payload;
 import io.temporal.api.common.v1.Payloads;
 import java.lang.reflect.Type;
@@ -30,7 +32,9 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -48,11 +52,46 @@ public class DefaultDataConverter implements DataConverter {
     new JacksonJsonPayloadConverter()
   };
 
+  // Binary protobuf converter goes first to take over all the protobuf messages, protobuf json
+  // converter is kept to decode payloads written in protobuf json encoding.
+  private static final PayloadConverter[] PROTOBUF_BINARY_PAYLOAD_CONVERTERS = {
+    new NullPayloadConverter(),
+    new ByteArrayPayloadConverter(),
+    new ProtobufPayloadConverter(),
+    new ProtobufJsonPayloadConverter(),
+    new JacksonJsonPayloadConverter()
+  };
+
+  /**
+   * Converters that accept or reject a value based only on its class. Classes rejected by such
+   * converters can safely skip them.
+   */
+  private static final Set<Class<?>> TYPE_BASED_PAYLOAD_CONVERTERS =
+      ImmutableSet.of(
+          NullPayloadConverter.class,
+          ByteArrayPayloadConverter.class,
+          ProtobufJsonPayloadConverter.class,
+          ProtobufPayloadConverter.class);
+
   private static final AtomicReference<DataConverter> defaultDataConverterInstance =
       new AtomicReference<>(newDefaultInstance());
 
   private final Map<String, PayloadConverter> converterMap = new ConcurrentHashMap<>();
 
+  /** Same as converterMap, but keyed by the raw encoding metadata to avoid its decoding. */
+  private final Map<ByteString, PayloadConverter> converterByEncoding = new ConcurrentHashMap<>();
+
+  /**
+   * Index of the converter that accepted values of a class last time. Only classes for which all
+   * the preceding converters are {@link #TYPE_BASED_PAYLOAD_CONVERTERS} are cached. Zero means
+   * that nothing is cached. {@link ClassValue} doesn't prevent unloading of the classes and their
+   * class loaders.
+   */
+  private ClassValue<AtomicInteger> converterIndexByClass = newConverterIndexByClass();
+
+  /** Number of leading converters that are {@link #TYPE_BASED_PAYLOAD_CONVERTERS}. */
+  private int typeBasedConvertersCount;
+
   private final List<PayloadConverter> converters = new ArrayList<>();
 
   static DataConverter getDefaultInstance() {
@@ -77,6 +116,16 @@ public class DefaultDataConverter implements DataConverter {
     return new DefaultDataConverter(DEFAULT_PAYLOAD_CONVERTERS);
   }
 
+  /**
+   * Creates a new instance of {@code DefaultDataConverter} populated with the default list of
+   * payload converters, but which serializes protobuf messages using binary protobuf encoding
+   * instead of protobuf json. Binary encoding is more compact and considerably faster to serialize
+   * and parse. Payloads written in protobuf json encoding are still decoded.
+   */
+  public static DefaultDataConverter newProtobufBinaryInstance() {
+    return new DefaultDataConverter(PROTOBUF_BINARY_PAYLOAD_CONVERTERS);
+  }
+
   /**
    * Creates instance from ordered array of converters. When converting an object to payload the
    * array of converters is iterated from the beginning until one of the converters successfully
@@ -111,9 +160,17 @@ public class DefaultDataConverter implements DataConverter {
 
   @Override
   public <T> Optional<Payload> toPayload(T value) {
-    for (PayloadConverter converter : converters) {
-      Optional<Payload> result = converter.toData(value);
+    if (value instanceof RawValue) {
+      return Optional.of(((RawValue) value).getPayload());
+    }
+    AtomicInteger cachedIndex = value == null ? null : converterIndexByClass.get(value.getClass());
+    int start = cachedIndex == null ? 0 : cachedIndex.get();
+    for (int i = start; i < converters.size(); i++) {
+      Optional<Payload> result = converters.get(i).toData(value);
       if (result.isPresent()) {
+        if (cachedIndex != null && i != start && i <= typeBasedConvertersCount) {
+          cachedIndex.set(i);
+        }
         return result;
       }
     }
@@ -121,13 +178,16 @@ public class DefaultDataConverter implements DataConverter {
   }
 
   @Override
+  @SuppressWarnings("unchecked")
   public <T> T fromPayload(Payload payload, Class<T> valueClass, Type valueType) {
+    if (valueClass == RawValue.class) {
+      return (T) new RawValue(payload);
+    }
     try {
-      String encoding =
-          payload.getMetadataOrThrow(EncodingKeys.METADATA_ENCODING_KEY).toString(UTF_8);
-      PayloadConverter converter = converterMap.get(encoding);
+      ByteString encoding = payload.getMetadataOrThrow(EncodingKeys.METADATA_ENCODING_KEY);
+      PayloadConverter converter = converterByEncoding.get(encoding);
       if (converter == null) {
-        throw new IllegalArgumentException("Unknown encoding: " + encoding);
+        throw new IllegalArgumentException("Unknown encoding: " + encoding.toString(UTF_8));
       }
       return converter.fromData(payload, valueClass, valueType);
     } catch (DataConverterException e) {
@@ -184,8 +244,26 @@ public class DefaultDataConverter implements DataConverter {
 
   private void updateConverterMap() {
     converterMap.clear();
+    converterByEncoding.clear();
+    converterIndexByClass = newConverterIndexByClass();
     for (PayloadConverter converter : converters) {
       converterMap.put(converter.getEncodingType(), converter);
+      converterByEncoding.put(ByteString.copyFromUtf8(converter.getEncodingType()), converter);
+    }
+    typeBasedConvertersCount = 0;
+    while (typeBasedConvertersCount < converters.size()
+        && TYPE_BASED_PAYLOAD_CONVERTERS.contains(
+            converters.get(typeBasedConvertersCount).getClass())) {
+      typeBasedConvertersCount++;
     }
   }
+
+  private static ClassValue<AtomicInteger> newConverterIndexByClass() {
+    return new ClassValue<AtomicInteger>() {
+      @Override
+      protected AtomicInteger computeValue(Class<?> type) {
+        return new AtomicInteger();
+      }
+    };
+  }
 }
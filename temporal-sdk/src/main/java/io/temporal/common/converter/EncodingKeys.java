@@ -25,6 +25,16 @@ import java.nio.charset.StandardCharsets;
 public class EncodingKeys {
   public static final String METADATA_ENCODING_KEY = "encoding";
 
+  /**
+   * Metadata key of the compression applied to the payload data on top of its encoding. Absent if
+   * the data is not compressed.
+   */
+  public static final String METADATA_COMPRESSION_KEY = "compression";
+
+  static final String METADATA_COMPRESSION_GZIP_NAME = "gzip";
+  static final ByteString METADATA_COMPRESSION_GZIP =
+      ByteString.copyFrom(METADATA_COMPRESSION_GZIP_NAME, StandardCharsets.UTF_8);
+
   static final String METADATA_ENCODING_NULL_NAME = "binary/null";
   static final ByteString METADATA_ENCODING_NULL =
       ByteString.copyFrom(METADATA_ENCODING_NULL_NAME, StandardCharsets.UTF_8);
@@ -41,6 +51,14 @@ public class EncodingKeys {
   static final ByteString METADATA_ENCODING_PROTOBUF_JSON =
       ByteString.copyFrom(METADATA_ENCODING_PROTOBUF_JSON_NAME, StandardCharsets.UTF_8);
 
+  static final String METADATA_ENCODING_CBOR_NAME = "binary/cbor";
+  static final ByteString METADATA_ENCODING_CBOR =
+      ByteString.copyFrom(METADATA_ENCODING_CBOR_NAME, StandardCharsets.UTF_8);
+
+  static final String METADATA_ENCODING_CLAIM_CHECK_NAME = "binary/claim-check";
+  static final ByteString METADATA_ENCODING_CLAIM_CHECK =
+      ByteString.copyFrom(METADATA_ENCODING_CLAIM_CHECK_NAME, StandardCharsets.UTF_8);
+
   static final String METADATA_ENCODING_PROTOBUF_NAME = "binary/protobuf";
   static final ByteString METADATA_ENCODING_PROTOBUF =
       ByteString.copyFrom(METADATA_ENCODING_PROTOBUF_NAME, StandardCharsets.UTF_8);
@@ -0,0 +1,74 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.converter;
+
+import com.google.common.base.Preconditions;
+import com.google.protobuf.ByteString;
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * {@link BlobStore} that keeps blobs as files in a local directory. Useful for tests and for the
+ * setups where all the workers and clients share a file system.
+ */
+public final class FileSystemBlobStore implements BlobStore {
+
+  private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]+");
+
+  private final Path directory;
+
+  public FileSystemBlobStore(Path directory) throws IOException {
+    this.directory = Objects.requireNonNull(directory);
+    Files.createDirectories(directory);
+  }
+
+  @Override
+  public void put(String key, ByteString blob) throws IOException {
+    Path target = resolve(key);
+    if (Files.exists(target)) {
+      return;
+    }
+    // Write to a temporary file first to never expose a partially written blob
+    Path temp = Files.createTempFile(directory, key, ".tmp");
+    try {
+      Files.write(temp, blob.toByteArray());
+      Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+    } catch (FileAlreadyExistsException e) {
+      // Stored concurrently with the same content
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  @Override
+  public ByteString get(String key) throws IOException {
+    return ByteString.copyFrom(Files.readAllBytes(resolve(key)));
+  }
+
+  private Path resolve(String key) {
+    Preconditions.checkArgument(KEY_PATTERN.matcher(key).matches(), "Invalid key: %s", key);
+    return directory.resolve(key);
+  }
+}
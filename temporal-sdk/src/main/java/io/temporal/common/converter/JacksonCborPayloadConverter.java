@@ -0,0 +1,117 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.google.common.base.Preconditions;
+
+/**
+ * Serializes values to <a href="https://cbor.io">CBOR</a> using Jackson. CBOR is a compact binary
+ * encoding of the JSON data model, which is considerably smaller and faster to process than JSON
+ * text for numeric-heavy payloads, while Jackson annotations and modules work the same way.
+ *
+ * <p>This converter isn't a part of the default converters list. To make CBOR the encoding of the
+ * values that would be otherwise serialized to JSON, add it to the end of the list of converters,
+ * keeping {@link JacksonJsonPayloadConverter} to decode payloads written before:
+ *
+ * <pre>{@code
+ * DataConverter converter =
+ *     new DefaultDataConverter(
+ *         new NullPayloadConverter(),
+ *         new ByteArrayPayloadConverter(),
+ *         new ProtobufJsonPayloadConverter(),
+ *         new JacksonCborPayloadConverter(),
+ *         new JacksonJsonPayloadConverter());
+ * }</pre>
+ *
+ * <p>The SDK doesn't depend on {@code com.fasterxml.jackson.dataformat:jackson-dataformat-cbor} at
+ * runtime. It has to be added to the classpath of the application that uses this converter.
+ */
+public class JacksonCborPayloadConverter extends AbstractJacksonPayloadConverter {
+
+  private static final String CBOR_FACTORY_CLASS_NAME =
+      "com.fasterxml.jackson.dataformat.cbor.CBORFactory";
+
+  private static final boolean CBOR_PRESENT = isCborPresent();
+
+  /**
+   * Creates a converter with the mapper configured the same way as the one of the default {@link
+   * JacksonJsonPayloadConverter}.
+   */
+  public JacksonCborPayloadConverter() {
+    this(configureDefaults(newCborObjectMapper()));
+  }
+
+  /** @param mapper mapper created with {@code CBORFactory} */
+  public JacksonCborPayloadConverter(ObjectMapper mapper) {
+    super(checkCborMapper(mapper), EncodingKeys.METADATA_ENCODING_CBOR);
+  }
+
+  private static ObjectMapper newCborObjectMapper() {
+    checkCborPresent();
+    return Cbor.newObjectMapper();
+  }
+
+  private static ObjectMapper checkCborMapper(ObjectMapper mapper) {
+    checkCborPresent();
+    Preconditions.checkArgument(
+        Cbor.isCborMapper(mapper), "mapper has to be created with CBORFactory");
+    return mapper;
+  }
+
+  private static boolean isCborPresent() {
+    try {
+      Class.forName(
+          CBOR_FACTORY_CLASS_NAME, false, JacksonCborPayloadConverter.class.getClassLoader());
+      return true;
+    } catch (ClassNotFoundException e) {
+      return false;
+    }
+  }
+
+  private static void checkCborPresent() {
+    if (!CBOR_PRESENT) {
+      throw new IllegalStateException(
+          "JacksonCborPayloadConverter requires "
+              + "com.fasterxml.jackson.dataformat:jackson-dataformat-cbor in the classpath");
+    }
+  }
+
+  @Override
+  public String getEncodingType() {
+    return EncodingKeys.METADATA_ENCODING_CBOR_NAME;
+  }
+
+  /**
+   * Isolates the references to the optional CBOR classes, so they are loaded only after {@link
+   * #checkCborPresent()} passes. Verification of a class that references them fails if they are
+   * missing.
+   */
+  private static final class Cbor {
+    static ObjectMapper newObjectMapper() {
+      return new ObjectMapper(new CBORFactory());
+    }
+
+    static boolean isCborMapper(ObjectMapper mapper) {
+      return mapper.getFactory() instanceof CBORFactory;
+    }
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.converter;
+
+import io.temporal.api.common.v1.Payload;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Transforms serialized payloads on their way to and from the service. Unlike {@link
+ * PayloadConverter} a codec works with already serialized data and is asynchronous, which makes it
+ * suitable for heavyweight transformations like compression or encryption that call out to a key
+ * management service.
+ *
+ * <p>Codecs are applied by the workers and the client to all the payloads exchanged with the
+ * service, including activity heartbeat details and the requests of {@link
+ * io.temporal.activity.ManualActivityCompletionClient}. The codec methods are called on a dedicated
+ * codec pool. All the payloads of a single task or request are submitted concurrently, so the codec
+ * methods can be called from multiple threads at the same time.
+ *
+ * <p>The thread that needs the result waits for the returned futures. This includes the activity
+ * task executor threads, which decode the activity task before running the activity and encode its
+ * result, and the threads that send heartbeats or complete activities manually. Slow codecs
+ * increase the latency of these operations, so long remote calls should be avoided or cached.
+ *
+ * @see io.temporal.client.WorkflowClientOptions.Builder#setPayloadCodec(PayloadCodec)
+ */
+public interface PayloadCodec {
+
+  /**
+   * @param payloads payloads of a single field to encode
+   * @return future of the encoded payloads, in the same order and of the same size
+   */
+  CompletableFuture<List<Payload>> encode(List<Payload> payloads);
+
+  /**
+   * Decodes payloads produced by {@link #encode(List)}. Payloads that weren't encoded by this
+   * codec, for example the ones sent by a client that doesn't use the codec, must be returned
+   * unchanged.
+   *
+   * @param payloads payloads of a single field to decode
+   * @return future of the decoded payloads, in the same order and of the same size
+   */
+  CompletableFuture<List<Payload>> decode(List<Payload> payloads);
+}
@@ -0,0 +1,51 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.converter;
+
+import com.google.protobuf.MessageLite;
+import java.lang.reflect.Method;
+
+/**
+ * Caches default instances of generated protobuf message classes. Default instances give access to
+ * the message parser and builder without reflective calls on every deserialization.
+ */
+final class ProtobufDefaultInstances {
+
+  private static final ClassValue<MessageLite> DEFAULT_INSTANCES =
+      new ClassValue<MessageLite>() {
+        @Override
+        protected MessageLite computeValue(Class<?> type) {
+          try {
+            Method getDefaultInstance = type.getMethod("getDefaultInstance");
+            return (MessageLite) getDefaultInstance.invoke(null);
+          } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException(
+                "Not a generated protobuf message. valueClass=" + type.getName(), e);
+          }
+        }
+      };
+
+  /** @return default instance of the generated protobuf message class. */
+  static MessageLite get(Class<?> messageClass) {
+    return DEFAULT_INSTANCES.get(messageClass);
+  }
+
+  private ProtobufDefaultInstances() {}
+}
@@ -27,7 +27,8 @@ import com.google.protobuf.Message;
 import com.google.protobuf.MessageOrBuilder;
 import com.google.protobuf.util.JsonFormat;
 import io.temporal.api.common.v1.Payload;
-import java.lang.reflect.Method;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.lang.reflect.Type;
 import java.util.Objects;
 import java.util.Optional;
@@ -80,9 +81,11 @@ public final class ProtobufJsonPayloadConverter implements PayloadConverter {
       throw new IllegalArgumentException("Not a protobuf. valueClass=" + valueClass.getName());
     }
     try {
-      Method toBuilder = valueClass.getMethod("newBuilder");
-      Message.Builder builder = (Message.Builder) toBuilder.invoke(null);
-      parser.merge(data.toString(UTF_8), builder);
+      Message.Builder builder =
+          ((Message) ProtobufDefaultInstances.get(valueClass)).newBuilderForType();
+      try (Reader reader = new InputStreamReader(data.newInput(), UTF_8)) {
+        parser.merge(reader, builder);
+      }
 
       return (T) builder.build();
     } catch (Exception e) {
@@ -21,9 +21,7 @@ package io.temporal.common.converter;
 
 import com.google.protobuf.MessageLite;
 import io.temporal.api.common.v1.Payload;
-import java.lang.reflect.Method;
 import java.lang.reflect.Type;
-import java.nio.ByteBuffer;
 import java.util.Optional;
 
 public final class ProtobufPayloadConverter implements PayloadConverter {
@@ -58,8 +56,8 @@ public final class ProtobufPayloadConverter implements PayloadConverter {
       throw new IllegalArgumentException("Not a protobuf. valueClass=" + valueClass.getName());
     }
     try {
-      Method parseFrom = valueClass.getMethod("parseFrom", ByteBuffer.class);
-      return (T) parseFrom.invoke(null, content.getData().asReadOnlyByteBuffer());
+      return (T)
+          ProtobufDefaultInstances.get(valueClass).getParserForType().parseFrom(content.getData());
     } catch (Exception e) {
       throw new DataConverterException(e);
     }
@@ -0,0 +1,63 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.converter;
+
+import io.temporal.api.common.v1.Payload;
+import java.util.Objects;
+
+/**
+ * Raw, not decoded payload. Can be used as a type of workflow or activity parameters and results
+ * to avoid decoding of the values that are not inspected by the code, for example large blobs that
+ * are passed through to other activities or child workflows. {@link DefaultDataConverter} passes
+ * the payload of a {@code RawValue} argument as is, without re-encoding it, and produces {@code
+ * RawValue} without decoding when it's the requested type.
+ *
+ * <p>The value can be decoded on demand using {@link DataConverter#fromPayload(Payload, Class,
+ * java.lang.reflect.Type)} of the data converter configured for the client.
+ */
+public final class RawValue {
+  private final Payload payload;
+
+  public RawValue(Payload payload) {
+    this.payload = Objects.requireNonNull(payload);
+  }
+
+  public Payload getPayload() {
+    return payload;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    RawValue rawValue = (RawValue) o;
+    return payload.equals(rawValue.payload);
+  }
+
+  @Override
+  public int hashCode() {
+    return payload.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return "RawValue{" + "payload=" + payload + '}';
+  }
+}
@@ -31,6 +31,10 @@ import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+/**
+ * Bridges a Tally root scope to a Micrometer registry. Prefer {@link MicrometerScope}, which
+ * records into the registry directly without the Tally reporting loop.
+ */
 public class MicrometerClientStatsReporter implements StatsReporter {
 
   private final MeterRegistry registry;
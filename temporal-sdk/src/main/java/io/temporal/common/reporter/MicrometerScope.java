@@ -0,0 +1,359 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.reporter;
+
+import com.google.common.util.concurrent.AtomicDouble;
+import com.uber.m3.tally.Capabilities;
+import com.uber.m3.tally.CapableOf;
+import com.uber.m3.tally.Counter;
+import com.uber.m3.tally.Gauge;
+import com.uber.m3.tally.Histogram;
+import com.uber.m3.tally.Scope;
+import com.uber.m3.tally.Stopwatch;
+import com.uber.m3.tally.Timer;
+import com.uber.m3.util.Duration;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * {@link Scope} that records directly into a Micrometer {@link MeterRegistry}. Unlike {@link
+ * MicrometerClientStatsReporter} it doesn't go through the Tally reporting loop, so values are not
+ * aggregated twice and timers keep their full distribution.
+ *
+ * <p>Meters are registered once per name and tag combination and reused afterwards. Timers publish
+ * a percentile histogram. Its upper bound is taken from the maximum expected values passed to the
+ * scope, {@code io.temporal.internal.metrics.MetricsType.TIMER_MAXIMUM_EXPECTED_VALUES} lists the
+ * ones suggested for the SDK timers. Timers can be further adjusted per metric through {@link
+ * Builder#setTimerConfiguration(String, Consumer)}.
+ *
+ * <p>Pass an instance to {@code WorkflowServiceStubsOptions.Builder#setMetricsScope}. Closing the
+ * scope doesn't close the registry.
+ */
+public final class MicrometerScope implements Scope {
+
+  public static Builder newBuilder(MeterRegistry registry) {
+    return new Builder(registry);
+  }
+
+  /**
+   * Values of the gauges by registry. A registry keeps the state object of the first registration
+   * of a gauge, so the gauges with the same name and tags of all the scopes on the registry have
+   * to update the same holder.
+   */
+  private static final Map<MeterRegistry, ConcurrentMap<Object, AtomicDouble>> GAUGE_VALUES =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
+  public static final class Builder {
+
+    private final MeterRegistry registry;
+    private final Map<String, Consumer<io.micrometer.core.instrument.Timer.Builder>>
+        timerConfigurations = new HashMap<>();
+    private Map<String, java.time.Duration> timerMaximumExpectedValues = Collections.emptyMap();
+    private String separator = ".";
+
+    private Builder(MeterRegistry registry) {
+      this.registry = Objects.requireNonNull(registry);
+    }
+
+    /**
+     * Customizes the timer registered for the metric with the given name. Applied after the
+     * defaults, so it can override the histogram configuration or add percentiles and service
+     * level objectives.
+     */
+    public Builder setTimerConfiguration(
+        String name, Consumer<io.micrometer.core.instrument.Timer.Builder> configuration) {
+      timerConfigurations.put(Objects.requireNonNull(name), Objects.requireNonNull(configuration));
+      return this;
+    }
+
+    /**
+     * Largest latencies expected per timer name, used as the upper bound of the timer histograms.
+     * Timers that are not listed use the registry default. Default is empty.
+     */
+    public Builder setTimerMaximumExpectedValues(
+        Map<String, java.time.Duration> timerMaximumExpectedValues) {
+      this.timerMaximumExpectedValues = new HashMap<>(timerMaximumExpectedValues);
+      return this;
+    }
+
+    /** Separator used to join {@link Scope#subScope(String)} prefixes. Default is ".". */
+    public Builder setSeparator(String separator) {
+      this.separator = Objects.requireNonNull(separator);
+      return this;
+    }
+
+    public MicrometerScope build() {
+      return new MicrometerScope(
+          new Root(
+              registry,
+              timerMaximumExpectedValues,
+              new HashMap<>(timerConfigurations),
+              separator),
+          "",
+          Collections.emptyMap());
+    }
+  }
+
+  /** State shared by all scopes derived from the same root. */
+  private static final class Root {
+    private final MeterRegistry registry;
+    private final Map<String, java.time.Duration> timerMaximumExpectedValues;
+    private final Map<String, Consumer<io.micrometer.core.instrument.Timer.Builder>>
+        timerConfigurations;
+    private final String separator;
+    private final ConcurrentMap<Object, MicrometerScope> scopes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Object, AtomicDouble> gaugeValues;
+
+    private Root(
+        MeterRegistry registry,
+        Map<String, java.time.Duration> timerMaximumExpectedValues,
+        Map<String, Consumer<io.micrometer.core.instrument.Timer.Builder>> timerConfigurations,
+        String separator) {
+      this.registry = registry;
+      this.timerMaximumExpectedValues = timerMaximumExpectedValues;
+      this.timerConfigurations = timerConfigurations;
+      this.separator = separator;
+      this.gaugeValues = GAUGE_VALUES.computeIfAbsent(registry, r -> new ConcurrentHashMap<>());
+    }
+  }
+
+  private final Root root;
+  private final String prefix;
+  private final Map<String, String> tags;
+  private final Tags micrometerTags;
+  private final ConcurrentMap<String, MicrometerCounter> counters = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, MicrometerGauge> gauges = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, MicrometerTimer> timers = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, MicrometerHistogram> histograms = new ConcurrentHashMap<>();
+
+  public MicrometerScope(MeterRegistry registry) {
+    this(registry, Collections.emptyMap());
+  }
+
+  /**
+   * @param timerMaximumExpectedValues largest latencies expected per timer name, used as the upper
+   *     bound of the timer histograms
+   */
+  public MicrometerScope(
+      MeterRegistry registry, Map<String, java.time.Duration> timerMaximumExpectedValues) {
+    this(
+        new Root(
+            Objects.requireNonNull(registry),
+            new HashMap<>(timerMaximumExpectedValues),
+            Collections.emptyMap(),
+            "."),
+        "",
+        Collections.emptyMap());
+  }
+
+  private MicrometerScope(Root root, String prefix, Map<String, String> tags) {
+    this.root = root;
+    this.prefix = prefix;
+    this.tags = tags;
+    Tags micrometerTags = Tags.empty();
+    for (Map.Entry<String, String> tag : tags.entrySet()) {
+      micrometerTags = micrometerTags.and(tag.getKey(), tag.getValue());
+    }
+    this.micrometerTags = micrometerTags;
+  }
+
+  @Override
+  public Counter counter(String name) {
+    return counters.computeIfAbsent(name, n -> new MicrometerCounter(fullyQualifiedName(n)));
+  }
+
+  @Override
+  public Gauge gauge(String name) {
+    return gauges.computeIfAbsent(name, n -> new MicrometerGauge(fullyQualifiedName(n)));
+  }
+
+  @Override
+  public Timer timer(String name) {
+    return timers.computeIfAbsent(name, n -> new MicrometerTimer(fullyQualifiedName(n)));
+  }
+
+  @Override
+  @SuppressWarnings("deprecation")
+  public Histogram histogram(String name, com.uber.m3.tally.Buckets buckets) {
+    return histograms.computeIfAbsent(name, n -> new MicrometerHistogram(fullyQualifiedName(n)));
+  }
+
+  @Override
+  public Scope tagged(Map<String, String> tags) {
+    if (tags == null || tags.isEmpty()) {
+      return this;
+    }
+    Map<String, String> merged = new TreeMap<>(this.tags);
+    merged.putAll(tags);
+    return scope(prefix, Collections.unmodifiableMap(merged));
+  }
+
+  @Override
+  public Scope subScope(String name) {
+    return scope(fullyQualifiedName(name), tags);
+  }
+
+  @Override
+  public Capabilities capabilities() {
+    return CapableOf.REPORTING;
+  }
+
+  @Override
+  public void close() {
+    // The registry is owned by the caller
+  }
+
+  private MicrometerScope scope(String prefix, Map<String, String> tags) {
+    return root.scopes.computeIfAbsent(
+        Arrays.asList(prefix, tags), k -> new MicrometerScope(root, prefix, tags));
+  }
+
+  private String fullyQualifiedName(String name) {
+    return prefix.isEmpty() ? name : prefix + root.separator + name;
+  }
+
+  private io.micrometer.core.instrument.Timer registerTimer(String name) {
+    io.micrometer.core.instrument.Timer.Builder builder =
+        io.micrometer.core.instrument.Timer.builder(name)
+            .tags(micrometerTags)
+            .publishPercentileHistogram(true);
+    java.time.Duration maximum = root.timerMaximumExpectedValues.get(name);
+    if (maximum != null) {
+      builder.maximumExpectedValue(maximum);
+    }
+    Consumer<io.micrometer.core.instrument.Timer.Builder> configuration =
+        root.timerConfigurations.get(name);
+    if (configuration != null) {
+      configuration.accept(builder);
+    }
+    return builder.register(root.registry);
+  }
+
+  private final class MicrometerCounter implements Counter {
+    private final io.micrometer.core.instrument.Counter counter;
+
+    private MicrometerCounter(String name) {
+      this.counter = root.registry.counter(name, micrometerTags);
+    }
+
+    @Override
+    public void inc(long delta) {
+      counter.increment(delta);
+    }
+  }
+
+  private final class MicrometerGauge implements Gauge {
+    private final AtomicDouble value;
+
+    private MicrometerGauge(String name) {
+      this.value =
+          root.gaugeValues.computeIfAbsent(
+              Arrays.asList(name, micrometerTags),
+              k -> root.registry.gauge(name, micrometerTags, new AtomicDouble()));
+    }
+
+    @Override
+    public void update(double value) {
+      this.value.set(value);
+    }
+  }
+
+  private final class MicrometerTimer implements Timer {
+    private final io.micrometer.core.instrument.Timer timer;
+
+    private MicrometerTimer(String name) {
+      this.timer = registerTimer(name);
+    }
+
+    @Override
+    public void record(Duration interval) {
+      timer.record(interval.getNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public Stopwatch start() {
+      return new Stopwatch(
+          System.nanoTime(),
+          startNanos -> timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS));
+    }
+  }
+
+  /**
+   * Tally histograms record either values or durations. The matching Micrometer meter is
+   * registered on first use.
+   */
+  private final class MicrometerHistogram implements Histogram {
+    private final String name;
+    private volatile DistributionSummary summary;
+    private volatile io.micrometer.core.instrument.Timer timer;
+
+    private MicrometerHistogram(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public void recordValue(double value) {
+      DistributionSummary result = summary;
+      if (result == null) {
+        result =
+            DistributionSummary.builder(name)
+                .tags(micrometerTags)
+                .publishPercentileHistogram(true)
+                .register(root.registry);
+        summary = result;
+      }
+      result.record(value);
+    }
+
+    @Override
+    public void recordDuration(Duration value) {
+      durationTimer().record(value.getNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public Stopwatch start() {
+      return new Stopwatch(
+          System.nanoTime(),
+          startNanos ->
+              durationTimer().record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS));
+    }
+
+    private io.micrometer.core.instrument.Timer durationTimer() {
+      io.micrometer.core.instrument.Timer result = timer;
+      if (result == null) {
+        result = registerTimer(name);
+        timer = result;
+      }
+      return result;
+    }
+  }
+}
@@ -19,7 +19,10 @@
 
 package io.temporal.failure;
 
+import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableSet;
 import io.temporal.api.common.v1.ActivityType;
 import io.temporal.api.common.v1.Payloads;
@@ -37,11 +40,9 @@ import io.temporal.client.ActivityCanceledException;
 import io.temporal.common.converter.DataConverter;
 import io.temporal.common.converter.EncodedValues;
 import io.temporal.serviceclient.CheckedExceptionWrapper;
-import java.io.PrintWriter;
-import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -59,11 +60,23 @@ public class FailureConverter {
           "io.temporal.internal.worker.POJOActivityImplementationFactory$POJOActivityImplementation.execute",
           "io.temporal.internal.sync.POJOWorkflowTaskHandler$POJOWorkflowImplementation.execute");
 
-  /** Used to parse a stack trace line. */
-  private static final String TRACE_ELEMENT_REGEXP =
-      "((?<className>.*)\\.(?<methodName>.*))\\(((?<fileName>.*?)(:(?<lineNumber>\\d+))?)\\)";
+  private static final String LINE_SEPARATOR = System.lineSeparator();
 
-  private static final Pattern TRACE_ELEMENT_PATTERN = Pattern.compile(TRACE_ELEMENT_REGEXP);
+  private static final StackTraceElement[] EMPTY_STACK_TRACE = new StackTraceElement[0];
+
+  /** Maximum total length in characters of the serialized stack traces kept by the cache. */
+  private static final long PARSED_STACK_TRACES_MAXIMUM_WEIGHT = 4 * 1024 * 1024;
+
+  /**
+   * Parsed stack traces by their serialized form. Replay and retries of the same failing code
+   * convert identical stack traces over and over again. Weighted by the length of the serialized
+   * form as a few very deep traces can be as large as thousands of shallow ones.
+   */
+  private static final Cache<String, StackTraceElement[]> PARSED_STACK_TRACES =
+      CacheBuilder.newBuilder()
+          .maximumWeight(PARSED_STACK_TRACES_MAXIMUM_WEIGHT)
+          .weigher((String stackTrace, StackTraceElement[] parsed) -> stackTrace.length())
+          .build();
 
   public static RuntimeException failureToException(Failure failure, DataConverter dataConverter) {
     if (failure == null) {
@@ -179,8 +192,17 @@ public class FailureConverter {
   }
 
   public static Failure exceptionToFailure(Throwable e) {
+    return exceptionToFailure(e, Integer.MAX_VALUE);
+  }
+
+  /**
+   * @param stackTraceMaxDepth maximum number of stack trace elements serialized for each exception
+   *     in the cause chain, usually {@link
+   *     io.temporal.client.WorkflowClientOptions#getFailureStackTraceMaxDepth()}
+   */
+  public static Failure exceptionToFailure(Throwable e, int stackTraceMaxDepth) {
     if (e instanceof CheckedExceptionWrapper) {
-      return exceptionToFailure(e.getCause());
+      return exceptionToFailure(e.getCause(), stackTraceMaxDepth);
     }
     String message;
     if (e instanceof TemporalFailure) {
@@ -192,11 +214,11 @@ public class FailureConverter {
     } else {
       message = e.getMessage() == null ? "" : e.getMessage();
     }
-    String stackTrace = serializeStackTrace(e);
+    String stackTrace = serializeStackTrace(e, stackTraceMaxDepth);
     Failure.Builder failure =
         Failure.newBuilder().setMessage(message).setSource(JAVA_SDK).setStackTrace(stackTrace);
     if (e.getCause() != null) {
-      failure.setCause(exceptionToFailure(e.getCause()));
+      failure.setCause(exceptionToFailure(e.getCause(), stackTraceMaxDepth));
     }
     if (e instanceof ApplicationFailure) {
       ApplicationFailure ae = (ApplicationFailure) e;
@@ -271,61 +293,118 @@ public class FailureConverter {
   /** Parses stack trace serialized using {@link #serializeStackTrace(Throwable)}. */
   public static StackTraceElement[] parseStackTrace(String stackTrace) {
     if (Strings.isNullOrEmpty(stackTrace)) {
-      return new StackTraceElement[0];
+      return EMPTY_STACK_TRACE;
     }
+    StackTraceElement[] result = PARSED_STACK_TRACES.getIfPresent(stackTrace);
+    if (result == null) {
+      result = parseStackTraceImpl(stackTrace);
+      PARSED_STACK_TRACES.put(stackTrace, result);
+    }
+    return result.length == 0 ? result : result.clone();
+  }
+
+  private static StackTraceElement[] parseStackTraceImpl(String stackTrace) {
     try {
-      @SuppressWarnings("StringSplitter")
-      String[] lines = stackTrace.split("\r\n|\n");
-      StackTraceElement[] result = new StackTraceElement[lines.length];
-      for (int i = 0; i < lines.length; i++) {
-        result[i] = parseStackTraceElement(lines[i]);
+      List<StackTraceElement> result = new ArrayList<>();
+      int start = 0;
+      int length = stackTrace.length();
+      while (start < length) {
+        int end = stackTrace.indexOf('\n', start);
+        if (end < 0) {
+          end = length;
+        }
+        int lineEnd = end > start && stackTrace.charAt(end - 1) == '\r' ? end - 1 : end;
+        result.add(parseStackTraceElement(stackTrace, start, lineEnd));
+        start = end + 1;
       }
-      return result;
+      return result.toArray(EMPTY_STACK_TRACE);
     } catch (Exception e) {
       if (log.isWarnEnabled()) {
         log.warn("Failed to parse stack trace: " + stackTrace);
       }
-      return new StackTraceElement[0];
+      return EMPTY_STACK_TRACE;
     }
   }
 
   /**
    * See {@link StackTraceElement#toString()} for input specification.
    *
-   * @param line line of stack trace.
+   * @param stackTrace serialized stack trace
+   * @param start index of the first character of the line
+   * @param end index after the last character of the line
    * @return StackTraceElement that contains data from that line.
    */
-  private static StackTraceElement parseStackTraceElement(String line) {
-    Matcher matcher = TRACE_ELEMENT_PATTERN.matcher(line);
-    if (!matcher.matches()) {
+  private static StackTraceElement parseStackTraceElement(String stackTrace, int start, int end) {
+    int openParen = stackTrace.lastIndexOf('(', end - 1);
+    if (openParen < start || end - start < 2 || stackTrace.charAt(end - 1) != ')') {
       return null;
     }
-    String declaringClass = matcher.group("className");
-    String methodName = matcher.group("methodName");
-    String fileName = matcher.group("fileName");
+    int dot = stackTrace.lastIndexOf('.', openParen - 1);
+    if (dot < start) {
+      return null;
+    }
+    String declaringClass = stackTrace.substring(start, dot);
+    String methodName = stackTrace.substring(dot + 1, openParen);
+    int fileEnd = end - 1;
     int lineNumber = 0;
-    String lns = matcher.group("lineNumber");
-    if (lns != null && lns.length() > 0) {
+    int colon = stackTrace.lastIndexOf(':', fileEnd - 1);
+    if (colon > openParen && colon < fileEnd - 1 && isDigits(stackTrace, colon + 1, fileEnd)) {
       try {
-        lineNumber = Integer.parseInt(matcher.group("lineNumber"));
+        lineNumber = Integer.parseInt(stackTrace.substring(colon + 1, fileEnd));
       } catch (NumberFormatException e) {
       }
+      fileEnd = colon;
     }
+    String fileName = stackTrace.substring(openParen + 1, fileEnd);
     return new StackTraceElement(declaringClass, methodName, fileName, lineNumber);
   }
 
+  private static boolean isDigits(String s, int start, int end) {
+    for (int i = start; i < end; i++) {
+      char c = s.charAt(i);
+      if (c < '0' || c > '9') {
+        return false;
+      }
+    }
+    return true;
+  }
+
   public static String serializeStackTrace(Throwable e) {
-    StringWriter sw = new StringWriter();
-    PrintWriter pw = new PrintWriter(sw);
+    return serializeStackTrace(e, Integer.MAX_VALUE);
+  }
+
+  /**
+   * @param maxDepth maximum number of stack trace elements to serialize. 0 returns an empty string.
+   */
+  public static String serializeStackTrace(Throwable e, int maxDepth) {
+    Preconditions.checkArgument(maxDepth >= 0, "negative maxDepth: %s", maxDepth);
+    if (maxDepth == 0) {
+      return "";
+    }
     StackTraceElement[] trace = e.getStackTrace();
-    for (StackTraceElement element : trace) {
-      pw.println(element);
-      String fullMethodName = element.getClassName() + "." + element.getMethodName();
-      if (CUTOFF_METHOD_NAMES.contains(fullMethodName)) {
+    StringBuilder result = new StringBuilder(Math.min(trace.length, maxDepth) * 80);
+    for (int i = 0; i < trace.length && i < maxDepth; i++) {
+      StackTraceElement element = trace[i];
+      result.append(element).append(LINE_SEPARATOR);
+      if (isCutoffMethod(element)) {
         break;
       }
     }
-    return sw.toString();
+    return result.toString();
+  }
+
+  private static boolean isCutoffMethod(StackTraceElement element) {
+    String className = element.getClassName();
+    String methodName = element.getMethodName();
+    for (String cutoff : CUTOFF_METHOD_NAMES) {
+      if (cutoff.length() == className.length() + 1 + methodName.length()
+          && cutoff.startsWith(className)
+          && cutoff.charAt(className.length()) == '.'
+          && cutoff.endsWith(methodName)) {
+        return true;
+      }
+    }
+    return false;
   }
 
   public static boolean isCanceledCause(Throwable exception) {
@@ -31,6 +31,7 @@ import io.temporal.api.workflowservice.v1.RecordActivityTaskHeartbeatByIdRespons
 import io.temporal.api.workflowservice.v1.RecordActivityTaskHeartbeatRequest;
 import io.temporal.api.workflowservice.v1.RecordActivityTaskHeartbeatResponse;
 import io.temporal.common.converter.DataConverter;
+import io.temporal.internal.common.MessagePayloadCodec;
 import io.temporal.serviceclient.WorkflowServiceStubs;
 import java.util.Optional;
 
@@ -46,6 +47,7 @@ public class ActivityClientHelper {
       String identity,
       byte[] taskToken,
       DataConverter dataConverter,
+      MessagePayloadCodec payloadCodec,
       Scope metricsScope,
       Object details) {
     RecordActivityTaskHeartbeatRequest.Builder request =
@@ -58,7 +60,7 @@ public class ActivityClientHelper {
     return service
         .blockingStub()
         .withOption(METRICS_TAGS_CALL_OPTIONS_KEY, metricsScope)
-        .recordActivityTaskHeartbeat(request.build());
+        .recordActivityTaskHeartbeat(payloadCodec.encodeBlocking(request.build()));
   }
 
   public static RecordActivityTaskHeartbeatByIdResponse recordActivityTaskHeartbeatById(
@@ -68,6 +70,7 @@ public class ActivityClientHelper {
       WorkflowExecution execution,
       String activityId,
       DataConverter dataConverter,
+      MessagePayloadCodec payloadCodec,
       Scope metricsScope,
       Object details) {
     if (activityId == null) {
@@ -85,6 +88,6 @@ public class ActivityClientHelper {
     return service
         .blockingStub()
         .withOption(METRICS_TAGS_CALL_OPTIONS_KEY, metricsScope)
-        .recordActivityTaskHeartbeatById(request.build());
+        .recordActivityTaskHeartbeatById(payloadCodec.encodeBlocking(request.build()));
   }
 }
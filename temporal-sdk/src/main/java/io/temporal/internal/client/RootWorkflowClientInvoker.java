@@ -26,6 +26,7 @@ import io.temporal.api.query.v1.WorkflowQuery;
 import io.temporal.api.workflowservice.v1.*;
 import io.temporal.client.WorkflowClientOptions;
 import io.temporal.common.interceptors.WorkflowClientCallsInterceptor;
+import io.temporal.internal.common.MessagePayloadCodec;
 import io.temporal.internal.common.SignalWithStartWorkflowExecutionParameters;
 import io.temporal.internal.external.GenericWorkflowClientExternal;
 import java.lang.reflect.Type;
@@ -38,6 +39,7 @@ public class RootWorkflowClientInvoker implements WorkflowClientCallsInterceptor
   private final WorkflowClientOptions clientOptions;
   private final Scope metricsScope;
   private final RootWorkflowClientHelper requestsHelper;
+  private final MessagePayloadCodec payloadCodec;
 
   public RootWorkflowClientInvoker(
       GenericWorkflowClientExternal genericClient,
@@ -47,12 +49,13 @@ public class RootWorkflowClientInvoker implements WorkflowClientCallsInterceptor
     this.clientOptions = clientOptions;
     this.metricsScope = metricsScope;
     this.requestsHelper = new RootWorkflowClientHelper(clientOptions);
+    this.payloadCodec = MessagePayloadCodec.newInstance(clientOptions.getPayloadCodec());
   }
 
   @Override
   public WorkflowStartOutput start(WorkflowStartInput input) {
     StartWorkflowExecutionRequest request = requestsHelper.newStartWorkflowExecutionRequest(input);
-    return new WorkflowStartOutput(genericClient.start(request));
+    return new WorkflowStartOutput(genericClient.start(payloadCodec.encodeBlocking(request)));
   }
 
   @Override
@@ -71,16 +74,20 @@ public class RootWorkflowClientInvoker implements WorkflowClientCallsInterceptor
     Optional<Payloads> inputArgs =
         clientOptions.getDataConverter().toPayloads(input.getArguments());
     inputArgs.ifPresent(request::setInput);
-    genericClient.signal(request.build());
+    genericClient.signal(payloadCodec.encodeBlocking(request.build()));
     return new WorkflowSignalOutput();
   }
 
   @Override
   public WorkflowSignalWithStartOutput signalWithStart(WorkflowSignalWithStartInput input) {
     StartWorkflowExecutionRequest request =
-        requestsHelper.newStartWorkflowExecutionRequest(input.getWorkflowStartInput());
+        payloadCodec.encodeBlocking(
+            requestsHelper.newStartWorkflowExecutionRequest(input.getWorkflowStartInput()));
     Optional<Payloads> signalInput =
-        clientOptions.getDataConverter().toPayloads(input.getSignalArguments());
+        clientOptions
+            .getDataConverter()
+            .toPayloads(input.getSignalArguments())
+            .map(payloadCodec::encodeBlocking);
     SignalWithStartWorkflowExecutionParameters p =
         new SignalWithStartWorkflowExecutionParameters(request, input.getSignalName(), signalInput);
     return new WorkflowSignalWithStartOutput(
@@ -97,6 +104,7 @@ public class RootWorkflowClientInvoker implements WorkflowClientCallsInterceptor
             input.getWorkflowType(),
             metricsScope,
             clientOptions.getDataConverter(),
+            payloadCodec,
             input.getTimeout(),
             input.getTimeoutUnit());
     return new GetResultOutput<>(
@@ -113,7 +121,8 @@ public class RootWorkflowClientInvoker implements WorkflowClientCallsInterceptor
             input.getWorkflowType(),
             input.getTimeout(),
             input.getTimeoutUnit(),
-            clientOptions.getDataConverter());
+            clientOptions.getDataConverter(),
+            payloadCodec);
     return new GetResultAsyncOutput<>(
         resultValue.thenApply(
             payloads ->
@@ -127,18 +136,19 @@ public class RootWorkflowClientInvoker implements WorkflowClientCallsInterceptor
         clientOptions.getDataConverter().toPayloads(input.getArguments());
     inputArgs.ifPresent(query::setQueryArgs);
     QueryWorkflowRequest request =
-        QueryWorkflowRequest.newBuilder()
-            .setNamespace(clientOptions.getNamespace())
-            .setExecution(
-                WorkflowExecution.newBuilder()
-                    .setWorkflowId(input.getWorkflowExecution().getWorkflowId())
-                    .setRunId(input.getWorkflowExecution().getRunId()))
-            .setQuery(query)
-            .setQueryRejectCondition(clientOptions.getQueryRejectCondition())
-            .build();
+        payloadCodec.encodeBlocking(
+            QueryWorkflowRequest.newBuilder()
+                .setNamespace(clientOptions.getNamespace())
+                .setExecution(
+                    WorkflowExecution.newBuilder()
+                        .setWorkflowId(input.getWorkflowExecution().getWorkflowId())
+                        .setRunId(input.getWorkflowExecution().getRunId()))
+                .setQuery(query)
+                .setQueryRejectCondition(clientOptions.getQueryRejectCondition())
+                .build());
 
     QueryWorkflowResponse result;
-    result = genericClient.query(request);
+    result = payloadCodec.decodeBlocking(genericClient.query(request));
 
     boolean queryRejected = result.hasQueryRejected();
     WorkflowExecutionStatus rejectStatus =
@@ -171,7 +181,7 @@ public class RootWorkflowClientInvoker implements WorkflowClientCallsInterceptor
             .setReason(input.getReason());
     Optional<Payloads> payloads = clientOptions.getDataConverter().toPayloads(input.getDetails());
     payloads.ifPresent(request::setDetails);
-    genericClient.terminate(request.build());
+    genericClient.terminate(payloadCodec.encodeBlocking(request.build()));
     return new TerminateOutput();
   }
 
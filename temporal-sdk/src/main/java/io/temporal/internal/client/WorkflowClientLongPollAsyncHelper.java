@@ -32,6 +32,7 @@ import io.temporal.api.history.v1.HistoryEvent;
 import io.temporal.api.workflowservice.v1.GetWorkflowExecutionHistoryRequest;
 import io.temporal.api.workflowservice.v1.GetWorkflowExecutionHistoryResponse;
 import io.temporal.common.converter.DataConverter;
+import io.temporal.internal.common.MessagePayloadCodec;
 import io.temporal.internal.common.WorkflowExecutionUtils;
 import io.temporal.internal.retryer.GrpcRetryer;
 import io.temporal.serviceclient.CheckedExceptionWrapper;
@@ -52,9 +53,11 @@ final class WorkflowClientLongPollAsyncHelper {
       Optional<String> workflowType,
       long timeout,
       TimeUnit unit,
-      DataConverter converter) {
+      DataConverter converter,
+      MessagePayloadCodec payloadCodec) {
     return getInstanceCloseEventAsync(
             service, workflowClientHelper, workflowExecution, ByteString.EMPTY, timeout, unit)
+        .thenCompose(payloadCodec::decode)
         .thenApply(
             (closeEvent) ->
                 getResultFromCloseEvent(workflowExecution, workflowType, closeEvent, converter));
@@ -33,6 +33,7 @@ import io.temporal.api.workflowservice.v1.GetWorkflowExecutionHistoryRequest;
 import io.temporal.api.workflowservice.v1.GetWorkflowExecutionHistoryResponse;
 import io.temporal.common.converter.DataConverter;
 import io.temporal.failure.CanceledFailure;
+import io.temporal.internal.common.MessagePayloadCodec;
 import io.temporal.internal.common.WorkflowExecutionFailedException;
 import io.temporal.internal.common.WorkflowExecutionUtils;
 import io.temporal.internal.retryer.GrpcRetryer;
@@ -53,6 +54,7 @@ final class WorkflowClientLongPollHelper {
    *
    * @param workflowType is optional.
    * @param metricsScope metrics with NAMESPACE tag populated
+   * @param payloadCodec decodes the close event, including the failure of a failed workflow
    * @throws TimeoutException if workflow didn't complete within specified timeout
    * @throws CanceledFailure if workflow was canceled
    * @throws WorkflowExecutionFailedException if workflow execution failed
@@ -64,6 +66,7 @@ final class WorkflowClientLongPollHelper {
       Optional<String> workflowType,
       Scope metricsScope,
       DataConverter converter,
+      MessagePayloadCodec payloadCodec,
       long timeout,
       TimeUnit unit)
       throws TimeoutException {
@@ -71,6 +74,7 @@ final class WorkflowClientLongPollHelper {
     HistoryEvent closeEvent =
         getInstanceCloseEvent(
             service, workflowClientHelper, workflowExecution, metricsScope, timeout, unit);
+    closeEvent = payloadCodec.decodeBlocking(closeEvent);
     return WorkflowExecutionUtils.getResultFromCloseEvent(
         workflowExecution, workflowType, closeEvent, converter);
   }
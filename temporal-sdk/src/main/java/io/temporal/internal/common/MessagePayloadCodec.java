@@ -0,0 +1,321 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.common;
+
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Message;
+import io.temporal.api.common.v1.Payload;
+import io.temporal.api.common.v1.Payloads;
+import io.temporal.api.common.v1.SearchAttributes;
+import io.temporal.common.converter.DataConverterException;
+import io.temporal.common.converter.PayloadCodec;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Applies a {@link PayloadCodec} to all the payloads contained in a protobuf message, for example a
+ * poll response or a respond request. Codec calls for the individual payload fields are submitted
+ * to a dedicated codec pool all at once, so the payloads of a message are transformed in parallel.
+ *
+ * <p>Search attributes are never transformed as they have to stay readable by the service.
+ */
+public final class MessagePayloadCodec {
+
+  private static final MessagePayloadCodec NOOP = new MessagePayloadCodec(null, null);
+
+  private static final Map<Descriptor, Boolean> CONTAINS_PAYLOADS = new ConcurrentHashMap<>();
+
+  private static final AtomicInteger threadIndex = new AtomicInteger();
+
+  private static volatile ExecutorService defaultExecutor;
+
+  private static volatile ForkJoinPool replayExecutor;
+
+  private final PayloadCodec codec;
+  private final ExecutorService executor;
+
+  /**
+   * @param codec codec to apply, null means that messages are returned without changes
+   * @return an instance that uses the default codec pool
+   */
+  public static MessagePayloadCodec newInstance(PayloadCodec codec) {
+    if (codec == null) {
+      return NOOP;
+    }
+    return new MessagePayloadCodec(codec, getDefaultExecutor());
+  }
+
+  /**
+   * @param codec codec to apply, null means that messages are returned without changes
+   * @return an instance for decoding history pages ahead of the replay. It uses a fork-join pool
+   *     separate from the default codec pool, so that decoding of large histories doesn't delay
+   *     the codec calls of the other tasks.
+   */
+  public static MessagePayloadCodec newReplayInstance(PayloadCodec codec) {
+    if (codec == null) {
+      return NOOP;
+    }
+    return new MessagePayloadCodec(codec, getReplayExecutor());
+  }
+
+  public static MessagePayloadCodec newInstance(PayloadCodec codec, ExecutorService executor) {
+    if (codec == null) {
+      return NOOP;
+    }
+    return new MessagePayloadCodec(codec, executor);
+  }
+
+  private MessagePayloadCodec(PayloadCodec codec, ExecutorService executor) {
+    this.codec = codec;
+    this.executor = executor;
+  }
+
+  public boolean isNoop() {
+    return codec == null;
+  }
+
+  public <T extends Message> CompletableFuture<T> encode(T message) {
+    if (codec == null) {
+      return CompletableFuture.completedFuture(message);
+    }
+    return transform(message, codec::encode);
+  }
+
+  public <T extends Message> CompletableFuture<T> decode(T message) {
+    if (codec == null) {
+      return CompletableFuture.completedFuture(message);
+    }
+    return transform(message, codec::decode);
+  }
+
+  /** Encodes the message blocking the calling thread until all the payloads are encoded. */
+  public <T extends Message> T encodeBlocking(T message) {
+    if (codec == null) {
+      return message;
+    }
+    return join(encode(message));
+  }
+
+  /** Decodes the message blocking the calling thread until all the payloads are decoded. */
+  public <T extends Message> T decodeBlocking(T message) {
+    if (codec == null) {
+      return message;
+    }
+    return join(decode(message));
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T extends Message> CompletableFuture<T> transform(
+      T message, Function<List<Payload>, CompletableFuture<List<Payload>>> function) {
+    if (!containsPayloads(message.getDescriptorForType())) {
+      return CompletableFuture.completedFuture(message);
+    }
+    return (CompletableFuture<T>) transformMessage(message, function);
+  }
+
+  private CompletableFuture<Message> transformMessage(
+      Message message, Function<List<Payload>, CompletableFuture<List<Payload>>> function) {
+    if (message instanceof Payloads) {
+      List<Payload> payloads = ((Payloads) message).getPayloadsList();
+      return apply(function, payloads)
+          .thenApply(result -> Payloads.newBuilder().addAllPayloads(result).build());
+    }
+    if (message instanceof Payload) {
+      return apply(function, Collections.singletonList((Payload) message))
+          .thenApply(result -> result.get(0));
+    }
+    List<FieldUpdate> updates = new ArrayList<>();
+    for (Map.Entry<FieldDescriptor, Object> field : message.getAllFields().entrySet()) {
+      FieldDescriptor descriptor = field.getKey();
+      if (descriptor.getJavaType() != FieldDescriptor.JavaType.MESSAGE
+          || !containsPayloads(descriptor.getMessageType())) {
+        continue;
+      }
+      if (descriptor.isRepeated()) {
+        List<?> values = (List<?>) field.getValue();
+        for (int i = 0; i < values.size(); i++) {
+          updates.add(
+              new FieldUpdate(descriptor, i, transformMessage((Message) values.get(i), function)));
+        }
+      } else {
+        Message value = (Message) field.getValue();
+        updates.add(new FieldUpdate(descriptor, -1, transformMessage(value, function)));
+      }
+    }
+    if (updates.isEmpty()) {
+      return CompletableFuture.completedFuture(message);
+    }
+    CompletableFuture<?>[] futures = new CompletableFuture<?>[updates.size()];
+    for (int i = 0; i < futures.length; i++) {
+      futures[i] = updates.get(i).value;
+    }
+    return CompletableFuture.allOf(futures)
+        .thenApply(
+            (ignored) -> {
+              Message.Builder builder = message.toBuilder();
+              for (FieldUpdate update : updates) {
+                Message value = update.value.join();
+                if (update.index < 0) {
+                  builder.setField(update.field, value);
+                } else {
+                  builder.setRepeatedField(update.field, update.index, value);
+                }
+              }
+              return builder.build();
+            });
+  }
+
+  private CompletableFuture<List<Payload>> apply(
+      Function<List<Payload>, CompletableFuture<List<Payload>>> function, List<Payload> payloads) {
+    return CompletableFuture.supplyAsync(() -> function.apply(payloads), executor)
+        .thenCompose(Function.identity())
+        .thenApply(
+            (result) -> {
+              if (result == null || result.size() != payloads.size()) {
+                throw new DataConverterException(
+                    "PayloadCodec returned "
+                        + (result == null ? "null" : result.size() + " payloads")
+                        + " for "
+                        + payloads.size()
+                        + " payloads",
+                    null);
+              }
+              return result;
+            });
+  }
+
+  /**
+   * Waits for a future returned by {@link #encode(Message)} or {@link #decode(Message)}.
+   *
+   * @throws DataConverterException if the codec failed with a checked exception
+   */
+  public static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new DataConverterException(cause);
+    }
+  }
+
+  /**
+   * @return true if messages of the given type can contain payloads that have to be transformed
+   */
+  static boolean containsPayloads(Descriptor type) {
+    Boolean result = CONTAINS_PAYLOADS.get(type);
+    if (result == null) {
+      result = computeContainsPayloads(type);
+      CONTAINS_PAYLOADS.put(type, result);
+    }
+    return result;
+  }
+
+  private static boolean computeContainsPayloads(Descriptor type) {
+    Set<Descriptor> visited = new HashSet<>();
+    Deque<Descriptor> toVisit = new ArrayDeque<>();
+    toVisit.push(type);
+    while (!toVisit.isEmpty()) {
+      Descriptor current = toVisit.pop();
+      if (current.equals(SearchAttributes.getDescriptor()) || !visited.add(current)) {
+        continue;
+      }
+      if (current.equals(Payload.getDescriptor()) || current.equals(Payloads.getDescriptor())) {
+        return true;
+      }
+      for (FieldDescriptor field : current.getFields()) {
+        if (field.getJavaType() == FieldDescriptor.JavaType.MESSAGE) {
+          toVisit.push(field.getMessageType());
+        }
+      }
+    }
+    return false;
+  }
+
+  private static ExecutorService getDefaultExecutor() {
+    if (defaultExecutor == null) {
+      synchronized (MessagePayloadCodec.class) {
+        if (defaultExecutor == null) {
+          defaultExecutor =
+              Executors.newFixedThreadPool(
+                  Runtime.getRuntime().availableProcessors(),
+                  (r) -> {
+                    Thread thread = new Thread(r);
+                    thread.setName("Payload Codec: " + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                  });
+        }
+      }
+    }
+    return defaultExecutor;
+  }
+
+  private static ForkJoinPool getReplayExecutor() {
+    if (replayExecutor == null) {
+      synchronized (MessagePayloadCodec.class) {
+        if (replayExecutor == null) {
+          replayExecutor =
+              new ForkJoinPool(
+                  Runtime.getRuntime().availableProcessors(),
+                  (pool) -> {
+                    ForkJoinWorkerThread thread =
+                        ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setName("Payload Codec Replay: " + threadIndex.incrementAndGet());
+                    return thread;
+                  },
+                  null,
+                  true);
+        }
+      }
+    }
+    return replayExecutor;
+  }
+
+  private static final class FieldUpdate {
+    private final FieldDescriptor field;
+    private final int index;
+    private final CompletableFuture<Message> value;
+
+    private FieldUpdate(FieldDescriptor field, int index, CompletableFuture<Message> value) {
+      this.field = field;
+      this.index = index;
+      this.value = value;
+    }
+  }
+}
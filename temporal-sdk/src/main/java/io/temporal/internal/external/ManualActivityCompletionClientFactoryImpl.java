@@ -24,6 +24,7 @@ import com.uber.m3.util.ImmutableMap;
 import io.temporal.activity.ManualActivityCompletionClient;
 import io.temporal.api.common.v1.WorkflowExecution;
 import io.temporal.common.converter.DataConverter;
+import io.temporal.internal.common.MessagePayloadCodec;
 import io.temporal.serviceclient.MetricsTag;
 import io.temporal.serviceclient.WorkflowServiceStubs;
 import java.util.Map;
@@ -34,6 +35,8 @@ public class ManualActivityCompletionClientFactoryImpl
 
   private final WorkflowServiceStubs service;
   private final DataConverter dataConverter;
+  private final MessagePayloadCodec payloadCodec;
+  private final int failureStackTraceMaxDepth;
   private final String namespace;
   private final String identity;
   private final Scope metricsScope;
@@ -43,11 +46,15 @@ public class ManualActivityCompletionClientFactoryImpl
       String namespace,
       String identity,
       DataConverter dataConverter,
+      MessagePayloadCodec payloadCodec,
+      int failureStackTraceMaxDepth,
       Scope metricsScope) {
     this.service = Objects.requireNonNull(service);
     this.namespace = Objects.requireNonNull(namespace);
     this.identity = Objects.requireNonNull(identity);
     this.dataConverter = Objects.requireNonNull(dataConverter);
+    this.payloadCodec = Objects.requireNonNull(payloadCodec);
+    this.failureStackTraceMaxDepth = failureStackTraceMaxDepth;
 
     Map<String, String> tags =
         new ImmutableMap.Builder<String, String>(1).put(MetricsTag.NAMESPACE, namespace).build();
@@ -74,7 +81,14 @@ public class ManualActivityCompletionClientFactoryImpl
       throw new IllegalArgumentException("null or empty task token");
     }
     return new ManualActivityCompletionClientImpl(
-        service, namespace, identity, taskToken, dataConverter, metricsScope);
+        service,
+        namespace,
+        identity,
+        taskToken,
+        dataConverter,
+        payloadCodec,
+        failureStackTraceMaxDepth,
+        metricsScope);
   }
 
   @Override
@@ -86,6 +100,14 @@ public class ManualActivityCompletionClientFactoryImpl
       throw new IllegalArgumentException("null activityId");
     }
     return new ManualActivityCompletionClientImpl(
-        service, namespace, identity, execution, activityId, dataConverter, metricsScope);
+        service,
+        namespace,
+        identity,
+        execution,
+        activityId,
+        dataConverter,
+        payloadCodec,
+        failureStackTraceMaxDepth,
+        metricsScope);
   }
 }
@@ -37,6 +37,7 @@ import io.temporal.failure.CanceledFailure;
 import io.temporal.failure.FailureConverter;
 import io.temporal.failure.TemporalFailure;
 import io.temporal.internal.client.ActivityClientHelper;
+import io.temporal.internal.common.MessagePayloadCodec;
 import io.temporal.internal.common.OptionsUtils;
 import io.temporal.internal.retryer.GrpcRetryer;
 import io.temporal.serviceclient.RpcRetryOptions;
@@ -54,6 +55,8 @@ class ManualActivityCompletionClientImpl implements ManualActivityCompletionClie
   private final WorkflowServiceStubs service;
   private final WorkflowExecution execution;
   private final DataConverter dataConverter;
+  private final MessagePayloadCodec payloadCodec;
+  private final int failureStackTraceMaxDepth;
   private final String namespace;
   private final String identity;
   private final String activityId;
@@ -66,10 +69,14 @@ class ManualActivityCompletionClientImpl implements ManualActivityCompletionClie
       String identity,
       byte[] taskToken,
       DataConverter dataConverter,
+      MessagePayloadCodec payloadCodec,
+      int failureStackTraceMaxDepth,
       Scope metricsScope) {
     this.service = service;
     this.execution = null;
     this.dataConverter = dataConverter;
+    this.payloadCodec = payloadCodec;
+    this.failureStackTraceMaxDepth = failureStackTraceMaxDepth;
     this.namespace = namespace;
     this.identity = identity;
     this.activityId = null;
@@ -84,6 +91,8 @@ class ManualActivityCompletionClientImpl implements ManualActivityCompletionClie
       WorkflowExecution execution,
       String activityId,
       DataConverter dataConverter,
+      MessagePayloadCodec payloadCodec,
+      int failureStackTraceMaxDepth,
       Scope metricsScope) {
     this.service = service;
     this.taskToken = null;
@@ -92,6 +101,8 @@ class ManualActivityCompletionClientImpl implements ManualActivityCompletionClie
     this.execution = execution;
     this.activityId = activityId;
     this.dataConverter = dataConverter;
+    this.payloadCodec = payloadCodec;
+    this.failureStackTraceMaxDepth = failureStackTraceMaxDepth;
     this.metricsScope = metricsScope;
   }
 
@@ -105,6 +116,8 @@ class ManualActivityCompletionClientImpl implements ManualActivityCompletionClie
               .setIdentity(identity)
               .setTaskToken(ByteString.copyFrom(taskToken));
       payloads.ifPresent(request::setResult);
+      RespondActivityTaskCompletedRequest encodedRequest =
+          payloadCodec.encodeBlocking(request.build());
       try {
         GrpcRetryer.retry(
             RpcRetryOptions.newBuilder()
@@ -113,7 +126,7 @@ class ManualActivityCompletionClientImpl implements ManualActivityCompletionClie
                 service
                     .blockingStub()
                     .withOption(METRICS_TAGS_CALL_OPTIONS_KEY, metricsScope)
-                    .respondActivityTaskCompleted(request.build()));
+                    .respondActivityTaskCompleted(encodedRequest));
       } catch (Exception e) {
         processException(e);
       }
@@ -128,11 +141,13 @@ class ManualActivityCompletionClientImpl implements ManualActivityCompletionClie
               .setWorkflowId(execution.getWorkflowId())
               .setRunId(execution.getRunId());
       payloads.ifPresent(request::setResult);
+      RespondActivityTaskCompletedByIdRequest encodedRequest =
+          payloadCodec.encodeBlocking(request.build());
       try {
         service
             .blockingStub()
             .withOption(METRICS_TAGS_CALL_OPTIONS_KEY, metricsScope)
-            .respondActivityTaskCompletedById(request.build());
+            .respondActivityTaskCompletedById(encodedRequest);
       } catch (Exception e) {
         processException(e);
       }
@@ -149,12 +164,13 @@ class ManualActivityCompletionClientImpl implements ManualActivityCompletionClie
     }
     // When converting failures reason is class name, details are serialized exception.
     if (taskToken != null) {
-      RespondActivityTaskFailedRequest request =
+      RespondActivityTaskFailedRequest.Builder request =
           RespondActivityTaskFailedRequest.newBuilder()
-              .setFailure(FailureConverter.exceptionToFailure(exception))
+              .setFailure(FailureConverter.exceptionToFailure(exception, failureStackTraceMaxDepth))
               .setNamespace(namespace)
-              .setTaskToken(ByteString.copyFrom(taskToken))
-              .build();
+              .setTaskToken(ByteString.copyFrom(taskToken));
+      RespondActivityTaskFailedRequest encodedRequest =
+          payloadCodec.encodeBlocking(request.build());
       try {
         GrpcRetryer.retry(
             RpcRetryOptions.newBuilder()
@@ -163,7 +179,7 @@ class ManualActivityCompletionClientImpl implements ManualActivityCompletionClie
                 service
                     .blockingStub()
                     .withOption(METRICS_TAGS_CALL_OPTIONS_KEY, metricsScope)
-                    .respondActivityTaskFailed(request));
+                    .respondActivityTaskFailed(encodedRequest));
       } catch (StatusRuntimeException e) {
         if (e.getStatus().getCode() == Status.Code.NOT_FOUND) {
           throw new ActivityNotExistsException(e);
@@ -176,14 +192,15 @@ class ManualActivityCompletionClientImpl implements ManualActivityCompletionClie
       if (activityId == null) {
         throw new IllegalArgumentException("Either activity id or task token are required");
       }
-      RespondActivityTaskFailedByIdRequest request =
+      RespondActivityTaskFailedByIdRequest.Builder request =
           RespondActivityTaskFailedByIdRequest.newBuilder()
-              .setFailure(FailureConverter.exceptionToFailure(exception))
+              .setFailure(FailureConverter.exceptionToFailure(exception, failureStackTraceMaxDepth))
               .setNamespace(namespace)
               .setWorkflowId(execution.getWorkflowId())
               .setRunId(execution.getRunId())
-              .setActivityId(activityId)
-              .build();
+              .setActivityId(activityId);
+      RespondActivityTaskFailedByIdRequest encodedRequest =
+          payloadCodec.encodeBlocking(request.build());
       try {
         GrpcRetryer.retry(
             RpcRetryOptions.newBuilder()
@@ -192,7 +209,7 @@ class ManualActivityCompletionClientImpl implements ManualActivityCompletionClie
                 service
                     .blockingStub()
                     .withOption(METRICS_TAGS_CALL_OPTIONS_KEY, metricsScope)
-                    .respondActivityTaskFailedById(request));
+                    .respondActivityTaskFailedById(encodedRequest));
       } catch (Exception e) {
         processException(e);
       }
@@ -205,7 +222,14 @@ class ManualActivityCompletionClientImpl implements ManualActivityCompletionClie
       if (taskToken != null) {
         RecordActivityTaskHeartbeatResponse status =
             ActivityClientHelper.sendHeartbeatRequest(
-                service, namespace, identity, taskToken, dataConverter, metricsScope, details);
+                service,
+                namespace,
+                identity,
+                taskToken,
+                dataConverter,
+                payloadCodec,
+                metricsScope,
+                details);
         if (status.getCancelRequested()) {
           throw new ActivityCanceledException();
         }
@@ -218,6 +242,7 @@ class ManualActivityCompletionClientImpl implements ManualActivityCompletionClie
                 execution,
                 activityId,
                 dataConverter,
+                payloadCodec,
                 metricsScope,
                 details);
         if (status.getCancelRequested()) {
@@ -240,6 +265,8 @@ class ManualActivityCompletionClientImpl implements ManualActivityCompletionClie
       if (convertedDetails.isPresent()) {
         request.setDetails(convertedDetails.get());
       }
+      RespondActivityTaskCanceledRequest encodedRequest =
+          payloadCodec.encodeBlocking(request.build());
       try {
         GrpcRetryer.retry(
             RpcRetryOptions.newBuilder()
@@ -248,7 +275,7 @@ class ManualActivityCompletionClientImpl implements ManualActivityCompletionClie
                 service
                     .blockingStub()
                     .withOption(METRICS_TAGS_CALL_OPTIONS_KEY, metricsScope)
-                    .respondActivityTaskCanceled(request.build()));
+                    .respondActivityTaskCanceled(encodedRequest));
       } catch (Exception e) {
         // There is nothing that can be done at this point.
         // so let's just ignore.
@@ -267,6 +294,8 @@ class ManualActivityCompletionClientImpl implements ManualActivityCompletionClie
       if (convertedDetails.isPresent()) {
         request.setDetails(convertedDetails.get());
       }
+      RespondActivityTaskCanceledByIdRequest encodedRequest =
+          payloadCodec.encodeBlocking(request.build());
       try {
         GrpcRetryer.retry(
             RpcRetryOptions.newBuilder()
@@ -275,7 +304,7 @@ class ManualActivityCompletionClientImpl implements ManualActivityCompletionClie
                 service
                     .blockingStub()
                     .withOption(METRICS_TAGS_CALL_OPTIONS_KEY, metricsScope)
-                    .respondActivityTaskCanceledById(request.build()));
+                    .respondActivityTaskCanceledById(encodedRequest));
       } catch (Exception e) {
         // There is nothing that can be done at this point.
         // so let's just ignore.
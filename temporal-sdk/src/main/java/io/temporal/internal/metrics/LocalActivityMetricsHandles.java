@@ -0,0 +1,51 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.metrics;
+
+import com.uber.m3.tally.Counter;
+import com.uber.m3.tally.Scope;
+import com.uber.m3.tally.Timer;
+
+/** Metric handles of an activity type used by the local activity processing. */
+public final class LocalActivityMetricsHandles {
+
+  private final Scope scope;
+  private final Counter totalCounter;
+  private final Timer executionLatency;
+
+  public LocalActivityMetricsHandles(Scope scope) {
+    this.scope = scope;
+    this.totalCounter = scope.counter(MetricsType.LOCAL_ACTIVITY_TOTAL_COUNTER);
+    this.executionLatency = scope.timer(MetricsType.LOCAL_ACTIVITY_EXECUTION_LATENCY);
+  }
+
+  /** @return scope tagged with the activity and workflow types */
+  public Scope getScope() {
+    return scope;
+  }
+
+  public Counter getTotalCounter() {
+    return totalCounter;
+  }
+
+  public Timer getExecutionLatency() {
+    return executionLatency;
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.metrics;
+
+import com.uber.m3.tally.Scope;
+import com.uber.m3.util.ImmutableMap;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Caches bundles of metric handles per value of one or two tags, like workflow or activity type.
+ * The handles are created from a scope tagged on the first use, so the per task cost of metrics
+ * becomes a map lookup instead of building a tags map and resolving the tagged scope, counters and
+ * timers by name.
+ *
+ * <p>Namespace and task queue are not part of the key as they are already tagged on the worker
+ * scope the registry is created with.
+ *
+ * @param <T> type of the handles bundle
+ */
+public final class MetricsHandleRegistry<T> {
+
+  private final Scope scope;
+  private final String tag;
+  private final String secondaryTag;
+  private final Function<Scope, T> factory;
+  private final ConcurrentMap<String, ConcurrentMap<String, T>> handles =
+      new ConcurrentHashMap<>();
+
+  /**
+   * @param scope scope to tag
+   * @param tag name of the tag which value is passed to {@link #get(String)}
+   * @param factory creates handles bundle from a tagged scope
+   */
+  public MetricsHandleRegistry(Scope scope, String tag, Function<Scope, T> factory) {
+    this(scope, tag, null, factory);
+  }
+
+  /**
+   * @param scope scope to tag
+   * @param tag name of the tag which value is passed as the first argument of {@link #get(String,
+   *     String)}
+   * @param secondaryTag name of the tag which value is passed as the second argument of {@link
+   *     #get(String, String)}
+   * @param factory creates handles bundle from a tagged scope
+   */
+  public MetricsHandleRegistry(
+      Scope scope, String tag, String secondaryTag, Function<Scope, T> factory) {
+    this.scope = Objects.requireNonNull(scope);
+    this.tag = Objects.requireNonNull(tag);
+    this.secondaryTag = secondaryTag;
+    this.factory = Objects.requireNonNull(factory);
+  }
+
+  public T get(String value) {
+    return get(value, "");
+  }
+
+  public T get(String value, String secondaryValue) {
+    // get before computeIfAbsent, as the latter locks on JDK 8 even when the key is present
+    ConcurrentMap<String, T> bySecondaryValue = handles.get(value);
+    if (bySecondaryValue == null) {
+      bySecondaryValue = handles.computeIfAbsent(value, (k) -> new ConcurrentHashMap<>());
+    }
+    T result = bySecondaryValue.get(secondaryValue);
+    if (result == null) {
+      result =
+          bySecondaryValue.computeIfAbsent(
+              secondaryValue, (k) -> factory.apply(scope.tagged(tags(value, k))));
+    }
+    return result;
+  }
+
+  private ImmutableMap<String, String> tags(String value, String secondaryValue) {
+    if (secondaryTag == null) {
+      return ImmutableMap.of(tag, value);
+    }
+    return ImmutableMap.of(tag, value, secondaryTag, secondaryValue);
+  }
+}
@@ -19,6 +19,10 @@
 
 package io.temporal.internal.metrics;
 
+import com.google.common.collect.ImmutableMap;
+import java.time.Duration;
+import java.util.Map;
+
 public class MetricsType {
   public static final String TEMPORAL_METRICS_PREFIX = "temporal_";
   public static final String WORKFLOW_COMPLETED_COUNTER =
@@ -32,11 +36,29 @@ public class MetricsType {
   public static final String WORKFLOW_E2E_LATENCY =
       TEMPORAL_METRICS_PREFIX + "workflow_endtoend_latency";
 
+  public static final String WORKFLOW_TASK_HISTORY_DECODE_LATENCY =
+      TEMPORAL_METRICS_PREFIX + "workflow_task_history_decode_latency";
   public static final String WORKFLOW_TASK_REPLAY_LATENCY =
       TEMPORAL_METRICS_PREFIX + "workflow_task_replay_latency";
+  /** Time spent fetching history pages that didn't come with the workflow task */
+  public static final String WORKFLOW_TASK_HISTORY_FETCH_LATENCY =
+      TEMPORAL_METRICS_PREFIX + "workflow_task_history_fetch_latency";
+  /** Time spent processing new history events after the replay has caught up */
+  public static final String WORKFLOW_TASK_NEW_EVENTS_LATENCY =
+      TEMPORAL_METRICS_PREFIX + "workflow_task_new_events_latency";
+  /** Time a workflow task spent waiting for the local activities it scheduled */
+  public static final String WORKFLOW_TASK_LOCAL_ACTIVITY_WAIT_LATENCY =
+      TEMPORAL_METRICS_PREFIX + "workflow_task_local_activity_wait_latency";
+  /** Time to respond to the service, including payload encoding and RPC retries */
+  public static final String WORKFLOW_TASK_RESPOND_LATENCY =
+      TEMPORAL_METRICS_PREFIX + "workflow_task_respond_latency";
 
   public static final String WORKFLOW_TASK_QUEUE_POLL_EMPTY_COUNTER =
       TEMPORAL_METRICS_PREFIX + "workflow_task_queue_poll_empty";
+  /**
+   * Workflow task polled by a worker's own poller. The factory wide sticky poller reports it with
+   * the "sticky" task queue tag.
+   */
   public static final String WORKFLOW_TASK_QUEUE_POLL_SUCCEED_COUNTER =
       TEMPORAL_METRICS_PREFIX + "workflow_task_queue_poll_succeed";
   public static final String WORKFLOW_TASK_SCHEDULE_TO_START_LATENCY =
@@ -53,6 +75,14 @@ public class MetricsType {
   public static final String WORKFLOW_TASK_NO_COMPLETION_COUNTER =
       TEMPORAL_METRICS_PREFIX + "workflow_task_no_completion";
 
+  /**
+   * Workflow task polled from the sticky task queue, reported on the task queue of the worker it is
+   * dispatched to. Together with {@link #WORKFLOW_TASK_QUEUE_POLL_SUCCEED_COUNTER} on the same tags
+   * it gives the sticky vs normal split of the tasks a worker processes.
+   */
+  public static final String WORKFLOW_TASK_QUEUE_STICKY_POLL_SUCCEED_COUNTER =
+      TEMPORAL_METRICS_PREFIX + "workflow_task_queue_sticky_poll_succeed";
+
   public static final String WORKFLOW_TASK_HEARTBEAT_COUNTER =
       TEMPORAL_METRICS_PREFIX + "workflow_task_heartbeat";
 
@@ -68,6 +98,12 @@ public class MetricsType {
       TEMPORAL_METRICS_PREFIX + "activity_execution_latency";
   public static final String ACTIVITY_E2E_LATENCY =
       TEMPORAL_METRICS_PREFIX + "activity_endtoend_latency";
+  /** Time spent converting an activity result into payloads */
+  public static final String ACTIVITY_RESULT_SERIALIZATION_LATENCY =
+      TEMPORAL_METRICS_PREFIX + "activity_result_serialization_latency";
+  /** Time to respond to the service, including payload encoding and RPC retries */
+  public static final String ACTIVITY_RESPOND_LATENCY =
+      TEMPORAL_METRICS_PREFIX + "activity_respond_latency";
   public static final String LOCAL_ACTIVITY_TOTAL_COUNTER =
       TEMPORAL_METRICS_PREFIX + "local_activity_total";
   public static final String LOCAL_ACTIVITY_CANCELED_COUNTER =
@@ -76,11 +112,31 @@ public class MetricsType {
       TEMPORAL_METRICS_PREFIX + "local_activity_failed";
   public static final String LOCAL_ACTIVITY_EXECUTION_LATENCY =
       TEMPORAL_METRICS_PREFIX + "local_activity_execution_latency";
+  public static final String LOCAL_ACTIVITY_QUEUE_DEPTH =
+      TEMPORAL_METRICS_PREFIX + "local_activity_queue_depth";
+  public static final String ACTIVITY_POLL_PERMITS_AVAILABLE =
+      TEMPORAL_METRICS_PREFIX + "activity_poll_permits_available";
+  public static final String PAYLOAD_CACHE_HIT_COUNTER =
+      TEMPORAL_METRICS_PREFIX + "payload_cache_hit";
+  public static final String PAYLOAD_CACHE_BYTES_SAVED_COUNTER =
+      TEMPORAL_METRICS_PREFIX + "payload_cache_bytes_saved";
   public static final String CORRUPTED_SIGNALS_COUNTER =
       TEMPORAL_METRICS_PREFIX + "corrupted_signals";
 
   public static final String WORKER_START_COUNTER = TEMPORAL_METRICS_PREFIX + "worker_start";
   public static final String POLLER_START_COUNTER = TEMPORAL_METRICS_PREFIX + "poller_start";
+  /** Task executor slots that can accept a new task, tagged with the worker type */
+  public static final String WORKER_TASK_SLOTS_AVAILABLE =
+      TEMPORAL_METRICS_PREFIX + "worker_task_slots_available";
+  /** Task executor slots that are running a task, tagged with the worker type */
+  public static final String WORKER_TASK_SLOTS_USED =
+      TEMPORAL_METRICS_PREFIX + "worker_task_slots_used";
+  /** Time a poller spent waiting for a free task executor slot */
+  public static final String WORKER_TASK_DISPATCH_BLOCKED_LATENCY =
+      TEMPORAL_METRICS_PREFIX + "worker_task_dispatch_blocked_latency";
+  /** Time from a poll returning a task until an executor thread starts processing it */
+  public static final String WORKER_TASK_DISPATCH_LATENCY =
+      TEMPORAL_METRICS_PREFIX + "worker_task_dispatch_latency";
 
   public static final String STICKY_CACHE_HIT = TEMPORAL_METRICS_PREFIX + "sticky_cache_hit";
   public static final String STICKY_CACHE_MISS = TEMPORAL_METRICS_PREFIX + "sticky_cache_miss";
@@ -91,4 +147,41 @@ public class MetricsType {
   public static final String STICKY_CACHE_SIZE = TEMPORAL_METRICS_PREFIX + "sticky_cache_size";
   public static final String WORKFLOW_ACTIVE_THREAD_COUNT =
       TEMPORAL_METRICS_PREFIX + "workflow_active_thread_count";
+  /** Duration of a single DeterministicRunner pass over all workflow threads */
+  public static final String WORKFLOW_RUNNER_LOOP_LATENCY =
+      TEMPORAL_METRICS_PREFIX + "workflow_runner_loop_latency";
+  /** Number of workflow threads owned by a runner at the end of a pass */
+  public static final String WORKFLOW_RUNNER_THREADS =
+      TEMPORAL_METRICS_PREFIX + "workflow_runner_threads";
+  /** Number of times control was handed to a workflow thread during a runner pass */
+  public static final String WORKFLOW_RUNNER_THREAD_SWITCHES =
+      TEMPORAL_METRICS_PREFIX + "workflow_runner_thread_switches";
+  /** Workflow thread ran for more than half of the deadlock detection timeout without yielding */
+  public static final String WORKFLOW_RUNNER_NEAR_DEADLOCK_COUNTER =
+      TEMPORAL_METRICS_PREFIX + "workflow_runner_near_deadlock";
+
+  /**
+   * Largest latency expected for a timer. Used by native metrics backends to bound timer
+   * histograms. Timers that are not listed use the backend default.
+   */
+  public static final Map<String, Duration> TIMER_MAXIMUM_EXPECTED_VALUES =
+      ImmutableMap.<String, Duration>builder()
+          .put(WORKFLOW_E2E_LATENCY, Duration.ofDays(7))
+          .put(WORKFLOW_TASK_SCHEDULE_TO_START_LATENCY, Duration.ofMinutes(5))
+          .put(WORKFLOW_TASK_EXECUTION_LATENCY, Duration.ofSeconds(10))
+          .put(WORKFLOW_TASK_EXECUTION_TOTAL_LATENCY, Duration.ofMinutes(1))
+          .put(WORKFLOW_TASK_REPLAY_LATENCY, Duration.ofMinutes(1))
+          .put(WORKFLOW_TASK_HISTORY_DECODE_LATENCY, Duration.ofMinutes(1))
+          .put(WORKFLOW_TASK_HISTORY_FETCH_LATENCY, Duration.ofMinutes(1))
+          .put(WORKFLOW_TASK_NEW_EVENTS_LATENCY, Duration.ofSeconds(10))
+          .put(WORKFLOW_TASK_LOCAL_ACTIVITY_WAIT_LATENCY, Duration.ofMinutes(1))
+          .put(WORKFLOW_TASK_RESPOND_LATENCY, Duration.ofMinutes(1))
+          .put(ACTIVITY_SCHEDULE_TO_START_LATENCY, Duration.ofHours(1))
+          .put(ACTIVITY_EXEC_LATENCY, Duration.ofHours(1))
+          .put(ACTIVITY_E2E_LATENCY, Duration.ofDays(1))
+          .put(ACTIVITY_RESULT_SERIALIZATION_LATENCY, Duration.ofSeconds(10))
+          .put(ACTIVITY_RESPOND_LATENCY, Duration.ofMinutes(1))
+          .put(WORKER_TASK_DISPATCH_LATENCY, Duration.ofSeconds(10))
+          .put(LOCAL_ACTIVITY_EXECUTION_LATENCY, Duration.ofMinutes(5))
+          .build();
 }
@@ -30,15 +30,35 @@ import com.uber.m3.tally.StopwatchRecorder;
 import com.uber.m3.tally.Timer;
 import com.uber.m3.util.Duration;
 import io.temporal.internal.replay.ReplayAware;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
+/**
+ * Scope that drops the metrics recorded while the workflow is replaying. The wrapped instruments
+ * are cached per name and the child scopes per tags or name, so workflow code looking up a metric
+ * or a tagged scope on every call doesn't allocate.
+ *
+ * <p>The caches are not bounded. A scope is created for each workflow run context and is released
+ * with it, so they only grow with the distinct names and tags a single run uses. The wrapped tally
+ * scope keeps its own child scopes and instruments for the lifetime of the root scope, so tags with
+ * unbounded values are a problem for the reporter before they are one for this cache.
+ */
 public class ReplayAwareScope implements Scope {
   private final Scope scope;
   private final ReplayAware context;
   private final Supplier<Long> clock;
+  private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Gauge> gauges = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Map<String, String>, Scope> taggedScopes = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Scope> subScopes = new ConcurrentHashMap<>();
 
   public ReplayAwareScope(Scope scope, ReplayAware context, Supplier<Long> clock) {
     this.scope = Objects.requireNonNull(scope);
@@ -82,6 +102,7 @@ public class ReplayAwareScope implements Scope {
 
   private class ReplayAwareTimer implements Timer, DurationRecorder {
     Timer timer;
+    StopwatchRecorder stopwatchRecorder = new ReplayAwareStopwatchRecorder(this);
 
     ReplayAwareTimer(Timer timer) {
       this.timer = Objects.requireNonNull(timer);
@@ -99,7 +120,7 @@ public class ReplayAwareScope implements Scope {
     @Override
     public Stopwatch start() {
       long startNanos = TimeUnit.MILLISECONDS.toNanos(clock.get());
-      return new Stopwatch(startNanos, new ReplayAwareStopwatchRecorder(this));
+      return new Stopwatch(startNanos, stopwatchRecorder);
     }
 
     @Override
@@ -128,6 +149,7 @@ public class ReplayAwareScope implements Scope {
 
   private class ReplayAwareHistogram implements Histogram, DurationRecorder {
     Histogram histogram;
+    StopwatchRecorder stopwatchRecorder = new ReplayAwareStopwatchRecorder(this);
 
     ReplayAwareHistogram(Histogram histogram) {
       this.histogram = Objects.requireNonNull(histogram);
@@ -154,39 +176,73 @@ public class ReplayAwareScope implements Scope {
     @Override
     public Stopwatch start() {
       long startNanos = TimeUnit.MILLISECONDS.toNanos(clock.get());
-      return new Stopwatch(startNanos, new ReplayAwareStopwatchRecorder(this));
+      return new Stopwatch(startNanos, stopwatchRecorder);
     }
   }
 
   @Override
   public Counter counter(String name) {
-    return new ReplayAwareCounter(scope.counter(name));
+    // get before computeIfAbsent, as the latter locks on JDK 8 even when the key is present
+    Counter counter = counters.get(name);
+    if (counter == null) {
+      counter = counters.computeIfAbsent(name, n -> new ReplayAwareCounter(scope.counter(n)));
+    }
+    return counter;
   }
 
   @Override
   public Gauge gauge(String name) {
-    return new ReplayAwareGauge(scope.gauge(name));
+    Gauge gauge = gauges.get(name);
+    if (gauge == null) {
+      gauge = gauges.computeIfAbsent(name, n -> new ReplayAwareGauge(scope.gauge(n)));
+    }
+    return gauge;
   }
 
   @Override
   public Timer timer(String name) {
-    return new ReplayAwareTimer(scope.timer(name));
+    Timer timer = timers.get(name);
+    if (timer == null) {
+      timer = timers.computeIfAbsent(name, n -> new ReplayAwareTimer(scope.timer(n)));
+    }
+    return timer;
   }
 
+  /** Histograms are cached by name only, so the buckets of the first lookup are used. */
   @Override
   @SuppressWarnings("deprecation")
   public Histogram histogram(String name, com.uber.m3.tally.Buckets buckets) {
-    return new ReplayAwareHistogram(scope.histogram(name, buckets));
+    Histogram histogram = histograms.get(name);
+    if (histogram == null) {
+      histogram =
+          histograms.computeIfAbsent(
+              name, n -> new ReplayAwareHistogram(scope.histogram(n, buckets)));
+    }
+    return histogram;
   }
 
   @Override
   public Scope tagged(Map<String, String> tags) {
-    return new ReplayAwareScope(scope.tagged(tags), context, clock);
+    Scope tagged = taggedScopes.get(tags);
+    if (tagged == null) {
+      // copy the key, as the map passed by the caller can be modified after the call
+      tagged =
+          taggedScopes.computeIfAbsent(
+              Collections.unmodifiableMap(new HashMap<>(tags)),
+              t -> new ReplayAwareScope(scope.tagged(t), context, clock));
+    }
+    return tagged;
   }
 
   @Override
   public Scope subScope(String name) {
-    return new ReplayAwareScope(scope.subScope(name), context, clock);
+    Scope subScope = subScopes.get(name);
+    if (subScope == null) {
+      subScope =
+          subScopes.computeIfAbsent(
+              name, n -> new ReplayAwareScope(scope.subScope(n), context, clock));
+    }
+    return subScope;
   }
 
   @Override
@@ -0,0 +1,97 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+package io.temporal.internal.metrics;
+
+import com.uber.m3.tally.Scope;
+import com.uber.m3.tally.Timer;
+import com.uber.m3.util.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Splits the processing latency of a task into phases. Every phase is recorded into its own timer
+ * as soon as it is measured. When debug logging of this class is enabled the phases of the task
+ * processed by the current thread are also collected and logged as a single line when the task
+ * completes, so a slow task can be attributed to a phase without correlating the histograms.
+ */
+public final class TaskLatencyBreakdown {
+
+  private static final Logger log = LoggerFactory.getLogger(TaskLatencyBreakdown.class);
+
+  private static final ThreadLocal<TaskLatencyBreakdown> current = new ThreadLocal<>();
+
+  private final Map<String, Long> phases = new LinkedHashMap<>();
+
+  private TaskLatencyBreakdown() {}
+
+  /** Starts collecting the phases of a task processed by the calling thread. */
+  public static void begin() {
+    if (log.isDebugEnabled()) {
+      current.set(new TaskLatencyBreakdown());
+    }
+  }
+
+  /**
+   * Records a phase into the timer of the scope and into the breakdown of the current task.
+   *
+   * @param name timer name from {@link MetricsType}
+   */
+  public static void record(Scope scope, String name, long nanos) {
+    record(scope.timer(name), name, nanos);
+  }
+
+  /**
+   * Records a phase into an already resolved timer and into the breakdown of the current task.
+   * Phases recorded several times for the same task are summed in the breakdown.
+   *
+   * @param name timer name from {@link MetricsType} the timer was created with
+   */
+  public static void record(Timer timer, String name, long nanos) {
+    timer.record(Duration.ofNanos(nanos));
+    TaskLatencyBreakdown breakdown = current.get();
+    if (breakdown != null) {
+      breakdown.phases.merge(name, nanos, Long::sum);
+    }
+  }
+
+  /**
+   * Logs the breakdown of the current task and stops collecting. Called while the task logging
+   * context is still in the MDC. Does nothing if the breakdown was already logged.
+   *
+   * @param task description of the task used in the log message
+   */
+  public static void end(String task) {
+    TaskLatencyBreakdown breakdown = current.get();
+    if (breakdown == null) {
+      return;
+    }
+    current.remove();
+    StringBuilder message = new StringBuilder(task).append(" latency breakdown:");
+    for (Map.Entry<String, Long> phase : breakdown.phases.entrySet()) {
+      String name = phase.getKey();
+      if (name.startsWith(MetricsType.TEMPORAL_METRICS_PREFIX)) {
+        name = name.substring(MetricsType.TEMPORAL_METRICS_PREFIX.length());
+      }
+      message.append(' ').append(name).append('=').append(phase.getValue() / 1_000).append("us");
+    }
+    log.debug(message.toString());
+  }
+}
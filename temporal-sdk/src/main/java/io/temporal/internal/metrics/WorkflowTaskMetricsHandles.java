@@ -0,0 +1,70 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.metrics;
+
+import com.uber.m3.tally.Counter;
+import com.uber.m3.tally.Scope;
+import com.uber.m3.tally.Timer;
+
+/** Metric handles of a workflow type used by the workflow task processing. */
+public final class WorkflowTaskMetricsHandles {
+
+  private final Scope scope;
+  private final Timer executionLatency;
+  private final Timer executionTotalLatency;
+  private final Timer respondLatency;
+  private final Counter heartbeatCounter;
+  private final Counter executionFailureCounter;
+
+  public WorkflowTaskMetricsHandles(Scope scope) {
+    this.scope = scope;
+    this.executionLatency = scope.timer(MetricsType.WORKFLOW_TASK_EXECUTION_LATENCY);
+    this.executionTotalLatency = scope.timer(MetricsType.WORKFLOW_TASK_EXECUTION_TOTAL_LATENCY);
+    this.respondLatency = scope.timer(MetricsType.WORKFLOW_TASK_RESPOND_LATENCY);
+    this.heartbeatCounter = scope.counter(MetricsType.WORKFLOW_TASK_HEARTBEAT_COUNTER);
+    this.executionFailureCounter =
+        scope.counter(MetricsType.WORKFLOW_TASK_EXECUTION_FAILURE_COUNTER);
+  }
+
+  /** @return scope tagged with the workflow type */
+  public Scope getScope() {
+    return scope;
+  }
+
+  public Timer getExecutionLatency() {
+    return executionLatency;
+  }
+
+  public Timer getExecutionTotalLatency() {
+    return executionTotalLatency;
+  }
+
+  public Timer getRespondLatency() {
+    return respondLatency;
+  }
+
+  public Counter getHeartbeatCounter() {
+    return heartbeatCounter;
+  }
+
+  public Counter getExecutionFailureCounter() {
+    return executionFailureCounter;
+  }
+}
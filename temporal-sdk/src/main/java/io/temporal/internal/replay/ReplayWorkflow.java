@@ -24,7 +24,10 @@ import io.temporal.api.history.v1.HistoryEvent;
 import io.temporal.api.query.v1.WorkflowQuery;
 import io.temporal.internal.worker.WorkflowExecutionException;
 import io.temporal.worker.WorkflowImplementationOptions;
+import io.temporal.worker.introspection.WorkflowThreadSnapshot;
+import java.util.List;
 import java.util.Optional;
+import javax.annotation.Nullable;
 
 public interface ReplayWorkflow {
 
@@ -62,4 +65,11 @@ public interface ReplayWorkflow {
   WorkflowExecutionException mapUnexpectedException(Throwable failure);
 
   WorkflowImplementationOptions getWorkflowImplementationOptions();
+
+  /**
+   * @return state of the workflow threads or null if they can't be inspected without blocking, for
+   *     example while the workflow is in the middle of an event loop.
+   */
+  @Nullable
+  List<WorkflowThreadSnapshot> getThreadSnapshots();
 }
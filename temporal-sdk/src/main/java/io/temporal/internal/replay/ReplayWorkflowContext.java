@@ -249,9 +249,18 @@ public interface ReplayWorkflowContext extends ReplayAware {
   /** @return scope to be used for metrics reporting. */
   Scope getMetricsScope();
 
+  /**
+   * @return scope for metrics that describe the worker itself rather than the workflow code. Unlike
+   *     {@link #getMetricsScope()} it keeps reporting during replay.
+   */
+  Scope getWorkerMetricsScope();
+
   /** @return whether we do logging during workflow code replay. */
   boolean getEnableLoggingInReplay();
 
+  /** @return true if workflow threads shouldn't put the workflow tags into the logging MDC */
+  boolean getDisableLoggingContext();
+
   /** @return replay safe UUID */
   UUID randomUUID();
 
@@ -59,7 +59,9 @@ final class ReplayWorkflowContextImpl implements ReplayWorkflowContext {
 
   private final WorkflowContext workflowContext;
   private final Scope metricsScope;
+  private final Scope workerMetricsScope;
   private final boolean enableLoggingInReplay;
+  private final boolean disableLoggingContext;
   private final WorkflowStateMachines workflowStateMachines;
 
   ReplayWorkflowContextImpl(
@@ -79,8 +81,10 @@ final class ReplayWorkflowContextImpl implements ReplayWorkflowContext {
             runStartedTimestampMillis,
             options.getContextPropagators());
     this.enableLoggingInReplay = options.getEnableLoggingInReplay();
+    this.disableLoggingContext = options.getDisableLoggingContext();
     this.metricsScope =
         new ReplayAwareScope(metricsScope, this, workflowStateMachines::currentTimeMillis);
+    this.workerMetricsScope = metricsScope;
   }
 
   @Override
@@ -88,6 +92,11 @@ final class ReplayWorkflowContextImpl implements ReplayWorkflowContext {
     return enableLoggingInReplay;
   }
 
+  @Override
+  public boolean getDisableLoggingContext() {
+    return disableLoggingContext;
+  }
+
   @Override
   public UUID randomUUID() {
     return workflowStateMachines.randomUUID();
@@ -103,6 +112,11 @@ final class ReplayWorkflowContextImpl implements ReplayWorkflowContext {
     return metricsScope;
   }
 
+  @Override
+  public Scope getWorkerMetricsScope() {
+    return workerMetricsScope;
+  }
+
   @Override
   public WorkflowExecution getWorkflowExecution() {
     return workflowContext.getWorkflowExecution();
@@ -33,7 +33,10 @@ import io.temporal.internal.metrics.MetricsType;
 import io.temporal.internal.statemachines.WorkflowStateMachines;
 import io.temporal.internal.worker.WorkflowExecutionException;
 import io.temporal.worker.WorkflowImplementationOptions;
+import io.temporal.worker.introspection.WorkflowThreadSnapshot;
+import java.util.List;
 import java.util.Optional;
+import javax.annotation.Nullable;
 
 final class ReplayWorkflowExecutor {
 
@@ -149,6 +152,11 @@ final class ReplayWorkflowExecutor {
     return workflow.getWorkflowImplementationOptions();
   }
 
+  @Nullable
+  public List<WorkflowThreadSnapshot> getThreadSnapshots() {
+    return workflow.getThreadSnapshots();
+  }
+
   public void close() {
     workflow.close();
   }
@@ -26,9 +26,9 @@ import com.google.common.base.Throwables;
 import com.google.protobuf.util.Durations;
 import com.google.protobuf.util.Timestamps;
 import com.uber.m3.tally.Scope;
-import com.uber.m3.tally.Stopwatch;
 import io.temporal.api.command.v1.Command;
 import io.temporal.api.common.v1.Payloads;
+import io.temporal.api.common.v1.WorkflowExecution;
 import io.temporal.api.enums.v1.QueryResultType;
 import io.temporal.api.history.v1.HistoryEvent;
 import io.temporal.api.history.v1.WorkflowExecutionStartedEventAttributes;
@@ -36,7 +36,11 @@ import io.temporal.api.query.v1.WorkflowQuery;
 import io.temporal.api.query.v1.WorkflowQueryResult;
 import io.temporal.api.workflowservice.v1.PollWorkflowTaskQueueResponseOrBuilder;
 import io.temporal.common.converter.DataConverter;
+import io.temporal.internal.common.MessagePayloadCodec;
+import io.temporal.internal.jfr.TaskEvent;
+import io.temporal.internal.jfr.TaskEvents;
 import io.temporal.internal.metrics.MetricsType;
+import io.temporal.internal.metrics.TaskLatencyBreakdown;
 import io.temporal.internal.statemachines.EntityManagerListener;
 import io.temporal.internal.statemachines.WorkflowStateMachines;
 import io.temporal.internal.worker.ActivityTaskHandler;
@@ -44,6 +48,8 @@ import io.temporal.internal.worker.LocalActivityWorker;
 import io.temporal.internal.worker.SingleWorkerOptions;
 import io.temporal.serviceclient.WorkflowServiceStubs;
 import io.temporal.worker.WorkflowImplementationOptions;
+import io.temporal.worker.introspection.CachedWorkflowRunSnapshot;
+import io.temporal.worker.introspection.WorkflowThreadSnapshot;
 import io.temporal.workflow.Functions;
 import java.time.Duration;
 import java.util.HashMap;
@@ -54,6 +60,7 @@ import java.util.Optional;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -89,12 +96,23 @@ class ReplayWorkflowRunTaskHandler implements WorkflowRunTaskHandler {
 
   private final DataConverter converter;
 
+  private final MessagePayloadCodec historyPayloadCodec;
+
   private final WorkflowStateMachines workflowStateMachines;
 
   private final HistoryEvent firstEvent;
 
   /** Number of non completed local activity tasks */
-  private int localActivityTaskCount;
+  private final AtomicInteger localActivityTaskCount = new AtomicInteger();
+
+  private final WorkflowExecution execution;
+
+  private final String workflowType;
+
+  private final long createdNanos = System.nanoTime();
+
+  /** Id of the last applied history event. Written under the lock, read by {@link #getSnapshot}. */
+  private volatile long lastEventId;
 
   private final ReplayWorkflowExecutor replayWorkflowExecutor;
 
@@ -115,9 +133,12 @@ class ReplayWorkflowRunTaskHandler implements WorkflowRunTaskHandler {
           "First event in the history is not WorkflowExecutionStarted");
     }
     startedEvent = firstEvent.getWorkflowExecutionStartedEventAttributes();
+    this.execution = workflowTask.getWorkflowExecution();
+    this.workflowType = workflowTask.getWorkflowType().getName();
     this.workflowStateMachines = new WorkflowStateMachines(new EntityManagerListenerImpl());
     this.metricsScope = metricsScope;
     this.converter = options.getDataConverter();
+    this.historyPayloadCodec = MessagePayloadCodec.newReplayInstance(options.getPayloadCodec());
     this.localActivityTaskPoller = localActivityTaskPoller;
 
     ReplayWorkflowContextImpl context =
@@ -138,11 +159,18 @@ class ReplayWorkflowRunTaskHandler implements WorkflowRunTaskHandler {
 
   private void handleEvent(HistoryEvent event, boolean hasNextEvent) {
     workflowStateMachines.handleEvent(event, hasNextEvent);
+    lastEventId = event.getEventId();
   }
 
   @Override
   public WorkflowTaskResult handleWorkflowTask(
       PollWorkflowTaskQueueResponseOrBuilder workflowTask) {
+    TaskEvent workflowTaskEvent =
+        TaskEvents.workflowTask(
+            namespace,
+            workflowTask.getWorkflowType().getName(),
+            workflowTask.getWorkflowExecution().getWorkflowId(),
+            workflowTask.getWorkflowExecution().getRunId());
     lock.lock();
     try {
       queryResults.clear();
@@ -155,16 +183,19 @@ class ReplayWorkflowRunTaskHandler implements WorkflowRunTaskHandler {
           .setCommands(commands)
           .setQueryResults(queryResults)
           .setFinalCommand(replayWorkflowExecutor.isCompleted())
-          .setForceWorkflowTask(localActivityTaskCount > 0 && !replayWorkflowExecutor.isCompleted())
+          .setForceWorkflowTask(
+              localActivityTaskCount.get() > 0 && !replayWorkflowExecutor.isCompleted())
           .build();
     } finally {
       lock.unlock();
+      workflowTaskEvent.commit();
     }
   }
 
   private void handleWorkflowTaskImpl(PollWorkflowTaskQueueResponseOrBuilder workflowTask) {
-    Stopwatch sw = metricsScope.timer(MetricsType.WORKFLOW_TASK_REPLAY_LATENCY).start();
-    boolean timerStopped = false;
+    long replayStart = System.nanoTime();
+    boolean replayed = false;
+    long newEventsStart = 0;
     try {
       workflowStateMachines.setStartedIds(
           workflowTask.getPreviousStartedEventId(), workflowTask.getStartedEventId());
@@ -174,13 +205,16 @@ class ReplayWorkflowRunTaskHandler implements WorkflowRunTaskHandler {
               namespace,
               workflowTask,
               toJavaDuration(startedEvent.getWorkflowTaskTimeout()),
-              metricsScope);
+              metricsScope,
+              historyPayloadCodec);
       while (historyEvents.hasNext()) {
         HistoryEvent event = historyEvents.next();
         handleEvent(event, historyEvents.hasNext());
-        if (!timerStopped && !workflowStateMachines.isReplaying()) {
-          sw.stop();
-          timerStopped = true;
+        if (!replayed && !workflowStateMachines.isReplaying()) {
+          replayed = true;
+          newEventsStart = System.nanoTime();
+          TaskLatencyBreakdown.record(
+              metricsScope, MetricsType.WORKFLOW_TASK_REPLAY_LATENCY, newEventsStart - replayStart);
         }
       }
     } catch (Throwable e) {
@@ -202,8 +236,16 @@ class ReplayWorkflowRunTaskHandler implements WorkflowRunTaskHandler {
       metricsScope.counter(MetricsType.WORKFLOW_TASK_NO_COMPLETION_COUNTER).inc(1);
       throw wrap(e);
     } finally {
-      if (!timerStopped) {
-        sw.stop();
+      if (!replayed) {
+        TaskLatencyBreakdown.record(
+            metricsScope,
+            MetricsType.WORKFLOW_TASK_REPLAY_LATENCY,
+            System.nanoTime() - replayStart);
+      } else {
+        TaskLatencyBreakdown.record(
+            metricsScope,
+            MetricsType.WORKFLOW_TASK_NEW_EVENTS_LATENCY,
+            System.nanoTime() - newEventsStart);
       }
       if (replayWorkflowExecutor.isCompleted()) {
         close();
@@ -245,6 +287,28 @@ class ReplayWorkflowRunTaskHandler implements WorkflowRunTaskHandler {
     }
   }
 
+  @Override
+  public CachedWorkflowRunSnapshot getSnapshot(boolean inProcessing) {
+    List<WorkflowThreadSnapshot> threads = null;
+    // Workflow threads are only inspected while they are parked between workflow tasks.
+    if (!inProcessing && lock.tryLock()) {
+      try {
+        threads = replayWorkflowExecutor.getThreadSnapshots();
+      } finally {
+        lock.unlock();
+      }
+    }
+    return new CachedWorkflowRunSnapshot(
+        execution.getWorkflowId(),
+        execution.getRunId(),
+        workflowType,
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - createdNanos),
+        lastEventId,
+        inProcessing,
+        localActivityTaskCount.get(),
+        threads);
+  }
+
   @Override
   public Optional<Payloads> handleQueryWorkflowTask(
       PollWorkflowTaskQueueResponseOrBuilder workflowTask, WorkflowQuery query) {
@@ -265,6 +329,7 @@ class ReplayWorkflowRunTaskHandler implements WorkflowRunTaskHandler {
             (Durations.toMillis(startedEvent.getWorkflowTaskTimeout())
                 * FORCED_DECISION_TIME_COEFFICIENT);
     long nextForcedDecisionTime = startTime + forcedDecisionTimeout;
+    long waited = 0;
     while (true) {
       List<ExecuteLocalActivityParameters> laRequests =
           workflowStateMachines.takeLocalActivityRequests();
@@ -280,20 +345,26 @@ class ReplayWorkflowRunTaskHandler implements WorkflowRunTaskHandler {
         boolean accepted =
             localActivityTaskPoller.apply(
                 new LocalActivityWorker.Task(laRequest, localActivityCompletionSink), maxWaitTime);
-        localActivityTaskCount++;
+        localActivityTaskCount.incrementAndGet();
         if (!accepted) {
           throw new Error("Unable to schedule local activity for execution");
         }
       }
-      if (localActivityTaskCount == 0) {
+      if (localActivityTaskCount.get() == 0) {
         // No outstanding local activity requests
         break;
       }
+      long waitStart = System.nanoTime();
       waitAndProcessLocalActivityCompletion(nextForcedDecisionTime);
+      waited += System.nanoTime() - waitStart;
       if (nextForcedDecisionTime <= System.currentTimeMillis()) {
         break;
       }
     }
+    if (waited > 0) {
+      TaskLatencyBreakdown.record(
+          metricsScope, MetricsType.WORKFLOW_TASK_LOCAL_ACTIVITY_WAIT_LATENCY, waited);
+    }
   }
 
   private void waitAndProcessLocalActivityCompletion(long nextForcedDecisionTime) {
@@ -313,7 +384,7 @@ class ReplayWorkflowRunTaskHandler implements WorkflowRunTaskHandler {
       // Need to force a new task as nextForcedDecisionTime has passed.
       return;
     }
-    localActivityTaskCount--;
+    localActivityTaskCount.decrementAndGet();
     workflowStateMachines.handleLocalActivityCompletion(laCompletion);
   }
 
@@ -24,7 +24,6 @@ import static io.temporal.internal.common.WorkflowExecutionUtils.isFullHistory;
 import static io.temporal.serviceclient.MetricsTag.METRICS_TAGS_CALL_OPTIONS_KEY;
 
 import com.uber.m3.tally.Scope;
-import com.uber.m3.util.ImmutableMap;
 import io.temporal.api.command.v1.Command;
 import io.temporal.api.command.v1.FailWorkflowExecutionCommandAttributes;
 import io.temporal.api.common.v1.Payloads;
@@ -44,9 +43,11 @@ import io.temporal.api.workflowservice.v1.RespondQueryTaskCompletedRequest;
 import io.temporal.api.workflowservice.v1.RespondWorkflowTaskCompletedRequest;
 import io.temporal.api.workflowservice.v1.RespondWorkflowTaskFailedRequest;
 import io.temporal.failure.FailureConverter;
+import io.temporal.internal.common.MessagePayloadCodec;
 import io.temporal.internal.common.ProtobufTimeUtils;
 import io.temporal.internal.common.WorkflowExecutionUtils;
-import io.temporal.internal.metrics.MetricsType;
+import io.temporal.internal.metrics.MetricsHandleRegistry;
+import io.temporal.internal.metrics.WorkflowTaskMetricsHandles;
 import io.temporal.internal.worker.LocalActivityWorker;
 import io.temporal.internal.worker.SingleWorkerOptions;
 import io.temporal.internal.worker.WorkflowExecutionException;
@@ -78,6 +79,8 @@ public final class ReplayWorkflowTaskHandler implements WorkflowTaskHandler {
   private final WorkflowServiceStubs service;
   private final String stickyTaskQueueName;
   private final BiFunction<LocalActivityWorker.Task, Duration, Boolean> localActivityTaskPoller;
+  private final MessagePayloadCodec historyPayloadCodec;
+  private final MetricsHandleRegistry<WorkflowTaskMetricsHandles> metricsHandles;
 
   public ReplayWorkflowTaskHandler(
       String namespace,
@@ -98,14 +101,18 @@ public final class ReplayWorkflowTaskHandler implements WorkflowTaskHandler {
     this.shutdownFn = shutdownFn;
     this.service = Objects.requireNonNull(service);
     this.localActivityTaskPoller = localActivityTaskPoller;
+    this.historyPayloadCodec = MessagePayloadCodec.newReplayInstance(options.getPayloadCodec());
+    this.metricsHandles =
+        new MetricsHandleRegistry<>(
+            options.getMetricsScope(), MetricsTag.WORKFLOW_TYPE, WorkflowTaskMetricsHandles::new);
   }
 
   @Override
   public WorkflowTaskHandler.Result handleWorkflowTask(PollWorkflowTaskQueueResponse workflowTask)
       throws Exception {
-    String workflowType = workflowTask.getWorkflowType().getName();
-    Scope metricsScope =
-        options.getMetricsScope().tagged(ImmutableMap.of(MetricsTag.WORKFLOW_TYPE, workflowType));
+    WorkflowTaskMetricsHandles metrics =
+        metricsHandles.get(workflowTask.getWorkflowType().getName());
+    Scope metricsScope = metrics.getScope();
     try {
       if (workflowTask.hasQuery()) {
         // Legacy query codepath
@@ -114,7 +121,7 @@ public final class ReplayWorkflowTaskHandler implements WorkflowTaskHandler {
         return handleWorkflowTaskWithEmbeddedQuery(workflowTask.toBuilder(), metricsScope);
       }
     } catch (Throwable e) {
-      metricsScope.counter(MetricsType.WORKFLOW_TASK_EXECUTION_FAILURE_COUNTER).inc(1);
+      metrics.getExecutionFailureCounter().inc(1);
       return failureToResult(workflowTask, e);
     }
   }
@@ -160,7 +167,8 @@ public final class ReplayWorkflowTaskHandler implements WorkflowTaskHandler {
               + ". If seen continuously the workflow might be stuck.",
           e);
     }
-    Failure failure = FailureConverter.exceptionToFailure(e);
+    Failure failure =
+        FailureConverter.exceptionToFailure(e, options.getFailureStackTraceMaxDepth());
     RespondWorkflowTaskFailedRequest failedRequest =
         RespondWorkflowTaskFailedRequest.newBuilder()
             .setTaskToken(workflowTask.getTaskToken())
@@ -359,7 +367,7 @@ public final class ReplayWorkflowTaskHandler implements WorkflowTaskHandler {
               .withOption(METRICS_TAGS_CALL_OPTIONS_KEY, metricsScope)
               .getWorkflowExecutionHistory(getHistoryRequest);
       workflowTask
-          .setHistory(getHistoryResponse.getHistory())
+          .setHistory(historyPayloadCodec.decodeBlocking(getHistoryResponse.getHistory()))
           .setNextPageToken(getHistoryResponse.getNextPageToken());
     }
     ReplayWorkflow workflow = workflowFactory.getWorkflow(workflowType);
@@ -25,15 +25,21 @@ import com.google.common.base.Preconditions;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.uber.m3.tally.Gauge;
 import com.uber.m3.tally.Scope;
 import io.temporal.api.common.v1.WorkflowExecution;
 import io.temporal.api.workflowservice.v1.PollWorkflowTaskQueueResponseOrBuilder;
 import io.temporal.internal.metrics.MetricsType;
+import io.temporal.worker.introspection.CachedWorkflowRunSnapshot;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -42,10 +48,16 @@ public final class WorkflowExecutorCache {
   private final LoadingCache<String, WorkflowRunTaskHandler> cache;
   private final Lock cacheLock = new ReentrantLock();
   private final Set<String> inProcessing = new HashSet<>();
+  // The cache is created together with the workflow thread pool of its worker factory, so this
+  // counts the threads of that pool only.
+  private final AtomicInteger activeWorkflowThreads = new AtomicInteger();
+  private final Object activeWorkflowThreadsGaugeLock = new Object();
+  private final Gauge activeWorkflowThreadsGauge;
 
   public WorkflowExecutorCache(int workflowCacheSize, Scope scope) {
     Preconditions.checkArgument(workflowCacheSize > 0, "Max cache size must be greater than 0");
     this.metricsScope = Objects.requireNonNull(scope);
+    this.activeWorkflowThreadsGauge = metricsScope.gauge(MetricsType.WORKFLOW_ACTIVE_THREAD_COUNT);
     this.cache =
         CacheBuilder.newBuilder()
             .maximumSize(workflowCacheSize)
@@ -145,10 +157,48 @@ public final class WorkflowExecutorCache {
     }
   }
 
+  public List<CachedWorkflowRunSnapshot> snapshot() {
+    Set<String> processing;
+    cacheLock.lock();
+    try {
+      processing = new HashSet<>(inProcessing);
+    } finally {
+      cacheLock.unlock();
+    }
+    List<CachedWorkflowRunSnapshot> result = new ArrayList<>();
+    for (Map.Entry<String, WorkflowRunTaskHandler> entry : cache.asMap().entrySet()) {
+      result.add(entry.getValue().getSnapshot(processing.contains(entry.getKey())));
+    }
+    return result;
+  }
+
   public long size() {
     return cache.size();
   }
 
+  /** Called by a workflow thread when it starts running on a thread of the workflow pool. */
+  public void workflowThreadStarted() {
+    activeWorkflowThreads.incrementAndGet();
+    updateActiveWorkflowThreadsGauge();
+  }
+
+  /** Called by a workflow thread when it releases its thread of the workflow pool. */
+  public void workflowThreadFinished() {
+    activeWorkflowThreads.decrementAndGet();
+    updateActiveWorkflowThreadsGauge();
+  }
+
+  int getActiveWorkflowThreadCount() {
+    return activeWorkflowThreads.get();
+  }
+
+  // The count is read under the lock so that concurrent starts and finishes publish it in order.
+  private void updateActiveWorkflowThreadsGauge() {
+    synchronized (activeWorkflowThreadsGaugeLock) {
+      activeWorkflowThreadsGauge.update(activeWorkflowThreads.get());
+    }
+  }
+
   public void invalidateAll() {
     cache.invalidateAll();
   }
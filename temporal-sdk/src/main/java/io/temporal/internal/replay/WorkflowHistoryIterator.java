@@ -22,6 +22,7 @@ package io.temporal.internal.replay;
 import static io.temporal.serviceclient.MetricsTag.METRICS_TAGS_CALL_OPTIONS_KEY;
 
 import com.google.protobuf.ByteString;
+import com.uber.m3.tally.NoopScope;
 import com.uber.m3.tally.Scope;
 import io.grpc.Status;
 import io.temporal.api.history.v1.History;
@@ -29,13 +30,19 @@ import io.temporal.api.history.v1.HistoryEvent;
 import io.temporal.api.workflowservice.v1.GetWorkflowExecutionHistoryRequest;
 import io.temporal.api.workflowservice.v1.GetWorkflowExecutionHistoryResponse;
 import io.temporal.api.workflowservice.v1.PollWorkflowTaskQueueResponseOrBuilder;
+import io.temporal.internal.common.MessagePayloadCodec;
+import io.temporal.internal.metrics.MetricsType;
+import io.temporal.internal.metrics.TaskLatencyBreakdown;
 import io.temporal.internal.retryer.GrpcRetryer;
 import io.temporal.serviceclient.RpcRetryOptions;
 import io.temporal.serviceclient.WorkflowServiceStubs;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /** Supports iteration over history while loading new pages through calls to the service. */
 class WorkflowHistoryIterator implements Iterator<HistoryEvent> {
@@ -48,6 +55,7 @@ class WorkflowHistoryIterator implements Iterator<HistoryEvent> {
   private final String namespace;
   private final Scope metricsScope;
   private final PollWorkflowTaskQueueResponseOrBuilder task;
+  private final MessagePayloadCodec payloadCodec;
   private Iterator<HistoryEvent> current;
   ByteString nextPageToken;
 
@@ -57,11 +65,33 @@ class WorkflowHistoryIterator implements Iterator<HistoryEvent> {
       PollWorkflowTaskQueueResponseOrBuilder task,
       Duration workflowTaskTimeout,
       Scope metricsScope) {
+    this(
+        service,
+        namespace,
+        task,
+        workflowTaskTimeout,
+        metricsScope,
+        MessagePayloadCodec.newInstance(null));
+  }
+
+  /**
+   * @param metricsScope receives the history fetch timer, nothing is reported if null
+   * @param payloadCodec decodes the payloads of the pages loaded from the service. The first page
+   *     that comes with the task is expected to be already decoded.
+   */
+  WorkflowHistoryIterator(
+      WorkflowServiceStubs service,
+      String namespace,
+      PollWorkflowTaskQueueResponseOrBuilder task,
+      Duration workflowTaskTimeout,
+      Scope metricsScope,
+      MessagePayloadCodec payloadCodec) {
     this.service = service;
     this.namespace = namespace;
     this.task = task;
     this.workflowTaskTimeout = Objects.requireNonNull(workflowTaskTimeout);
-    this.metricsScope = metricsScope;
+    this.metricsScope = metricsScope == null ? new NoopScope() : metricsScope;
+    this.payloadCodec = Objects.requireNonNull(payloadCodec);
     History history = task.getHistory();
     current = history.getEventsList().iterator();
     nextPageToken = task.getNextPageToken();
@@ -80,9 +110,14 @@ class WorkflowHistoryIterator implements Iterator<HistoryEvent> {
       return false;
     }
 
+    long fetchStart = System.nanoTime();
     GetWorkflowExecutionHistoryResponse response = queryWorkflowExecutionHistory();
+    TaskLatencyBreakdown.record(
+        metricsScope,
+        MetricsType.WORKFLOW_TASK_HISTORY_FETCH_LATENCY,
+        System.nanoTime() - fetchStart);
 
-    current = response.getHistory().getEventsList().iterator();
+    current = decode(response.getHistory());
     nextPageToken = response.getNextPageToken();
 
     return current.hasNext();
@@ -96,6 +131,53 @@ class WorkflowHistoryIterator implements Iterator<HistoryEvent> {
     throw new NoSuchElementException();
   }
 
+  // Submits the decoding of all the events of the page at once and returns them in order, waiting
+  // for each event only when the replay reaches it. So the replay of the first events of a page
+  // runs concurrently with the decoding of the rest of it.
+  private Iterator<HistoryEvent> decode(History history) {
+    if (payloadCodec.isNoop()) {
+      return history.getEventsList().iterator();
+    }
+    List<CompletableFuture<HistoryEvent>> events = new ArrayList<>(history.getEventsCount());
+    for (HistoryEvent event : history.getEventsList()) {
+      events.add(payloadCodec.decode(event));
+    }
+    return new DecodedPageIterator(events.iterator());
+  }
+
+  /**
+   * Iterates over the events of a page being decoded. The time the replay waits for the decoding
+   * is summed over the page and recorded when the last event of the page is returned.
+   */
+  private final class DecodedPageIterator implements Iterator<HistoryEvent> {
+    private final Iterator<CompletableFuture<HistoryEvent>> events;
+    private long waitNanos;
+
+    DecodedPageIterator(Iterator<CompletableFuture<HistoryEvent>> events) {
+      this.events = events;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return events.hasNext();
+    }
+
+    @Override
+    public HistoryEvent next() {
+      CompletableFuture<HistoryEvent> event = events.next();
+      long start = System.nanoTime();
+      try {
+        return MessagePayloadCodec.join(event);
+      } finally {
+        waitNanos += System.nanoTime() - start;
+        if (!events.hasNext()) {
+          TaskLatencyBreakdown.record(
+              metricsScope, MetricsType.WORKFLOW_TASK_HISTORY_DECODE_LATENCY, waitNanos);
+        }
+      }
+    }
+  }
+
   GetWorkflowExecutionHistoryResponse queryWorkflowExecutionHistory() {
     Duration passed = Duration.ofMillis(System.currentTimeMillis()).minus(paginationStart);
     Duration expiration = workflowTaskTimeout.minus(passed);
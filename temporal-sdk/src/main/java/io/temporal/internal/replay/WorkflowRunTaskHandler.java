@@ -22,6 +22,7 @@ package io.temporal.internal.replay;
 import io.temporal.api.common.v1.Payloads;
 import io.temporal.api.query.v1.WorkflowQuery;
 import io.temporal.api.workflowservice.v1.PollWorkflowTaskQueueResponseOrBuilder;
+import io.temporal.worker.introspection.CachedWorkflowRunSnapshot;
 import java.util.Optional;
 
 /**
@@ -44,5 +45,13 @@ public interface WorkflowRunTaskHandler {
   Optional<Payloads> handleQueryWorkflowTask(
       PollWorkflowTaskQueueResponseOrBuilder workflowTask, WorkflowQuery query);
 
+  /**
+   * Captures the live state of the cached run without blocking the thread that processes its
+   * workflow tasks.
+   *
+   * @param inProcessing true if a workflow task of the run is being handled
+   */
+  CachedWorkflowRunSnapshot getSnapshot(boolean inProcessing);
+
   void close();
 }
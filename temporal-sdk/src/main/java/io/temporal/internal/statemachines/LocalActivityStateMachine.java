@@ -34,7 +34,6 @@ import io.temporal.api.workflowservice.v1.PollActivityTaskQueueResponse;
 import io.temporal.api.workflowservice.v1.RespondActivityTaskCanceledRequest;
 import io.temporal.api.workflowservice.v1.RespondActivityTaskCompletedRequest;
 import io.temporal.common.converter.DataConverter;
-import io.temporal.failure.FailureConverter;
 import io.temporal.internal.replay.ExecuteLocalActivityParameters;
 import io.temporal.internal.worker.ActivityTaskHandler;
 import io.temporal.workflow.Functions;
@@ -272,7 +271,8 @@ final class LocalActivityStateMachine
                         .setRetryState(retryState)
                         .setActivityId(activityId)
                         .setActivityType(activityType))
-                .setCause(FailureConverter.exceptionToFailure(failed.getFailure()))
+                // Already converted by the activity task handler with the worker stack trace depth
+                .setCause(failed.getTaskFailedRequest().getFailure())
                 .build();
         markerAttributes.setFailure(failure);
       } else if (result.getTaskCanceled() != null) {
@@ -34,6 +34,7 @@ import io.temporal.client.ActivityNotExistsException;
 import io.temporal.client.ActivityWorkerShutdownException;
 import io.temporal.common.converter.DataConverter;
 import io.temporal.internal.client.ActivityClientHelper;
+import io.temporal.internal.common.MessagePayloadCodec;
 import io.temporal.internal.external.ManualActivityCompletionClientFactory;
 import io.temporal.internal.external.ManualActivityCompletionClientFactoryImpl;
 import io.temporal.serviceclient.WorkflowServiceStubs;
@@ -67,6 +68,7 @@ class ActivityExecutionContextImpl implements ActivityExecutionContext {
   private final ScheduledExecutorService heartbeatExecutor;
   private final long heartbeatIntervalMillis;
   private final DataConverter dataConverter;
+  private final MessagePayloadCodec payloadCodec;
   private final String namespace;
   private final String identity;
   private final Scope metricsScope;
@@ -84,12 +86,15 @@ class ActivityExecutionContextImpl implements ActivityExecutionContext {
       String namespace,
       ActivityInfo info,
       DataConverter dataConverter,
+      MessagePayloadCodec payloadCodec,
+      int failureStackTraceMaxDepth,
       ScheduledExecutorService heartbeatExecutor,
       Functions.Proc completionHandle,
       Scope metricsScope,
       String identity) {
     this.service = service;
     this.dataConverter = dataConverter;
+    this.payloadCodec = payloadCodec;
     this.namespace = namespace;
     this.identity = identity;
     this.metricsScope = metricsScope;
@@ -101,7 +106,13 @@ class ActivityExecutionContextImpl implements ActivityExecutionContext {
     this.completionHandle = completionHandle;
     this.manualCompletionClientFactory =
         new ManualActivityCompletionClientFactoryImpl(
-            service, namespace, identity, dataConverter, metricsScope);
+            service,
+            namespace,
+            identity,
+            dataConverter,
+            payloadCodec,
+            failureStackTraceMaxDepth,
+            metricsScope);
   }
 
   /** @see ActivityExecutionContext#heartbeat(Object) */
@@ -207,6 +218,7 @@ class ActivityExecutionContextImpl implements ActivityExecutionContext {
               identity,
               info.getTaskToken(),
               dataConverter,
+              payloadCodec,
               metricsScope,
               details);
       if (status.getCancelRequested()) {
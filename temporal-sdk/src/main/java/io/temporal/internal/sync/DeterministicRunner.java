@@ -20,7 +20,9 @@
 package io.temporal.internal.sync;
 
 import io.temporal.internal.replay.WorkflowExecutorCache;
+import io.temporal.worker.introspection.WorkflowThreadSnapshot;
 import io.temporal.workflow.CancellationScope;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import javax.annotation.Nullable;
 
@@ -93,6 +95,13 @@ interface DeterministicRunner {
   /** Stack trace of all threads owned by the DeterministicRunner instance */
   String stackTrace();
 
+  /**
+   * @return names and yield reasons of all threads owned by the DeterministicRunner instance or
+   *     null if the threads are being executed.
+   */
+  @Nullable
+  List<WorkflowThreadSnapshot> threadSnapshots();
+
   /**
    * Executes a runnable in a specially created workflow thread. This newly created thread is given
    * chance to run before any other existing threads. This is used to ensure that some operations
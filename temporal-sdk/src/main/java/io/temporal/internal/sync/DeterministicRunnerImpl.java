@@ -20,11 +20,23 @@
 package io.temporal.internal.sync;
 
 import com.google.common.primitives.Ints;
+import com.uber.m3.tally.Counter;
+import com.uber.m3.tally.Histogram;
+import com.uber.m3.tally.Scope;
+import com.uber.m3.tally.Timer;
+import com.uber.m3.tally.ValueBuckets;
+import com.uber.m3.util.Duration;
 import io.temporal.common.context.ContextPropagator;
 import io.temporal.internal.WorkflowThreadMarker;
+import io.temporal.internal.common.DebugModeUtils;
 import io.temporal.internal.context.ContextThreadLocal;
+import io.temporal.internal.jfr.TaskEvent;
+import io.temporal.internal.jfr.TaskEvents;
+import io.temporal.internal.metrics.MetricsType;
+import io.temporal.internal.replay.ReplayWorkflowContext;
 import io.temporal.internal.replay.WorkflowExecutorCache;
 import io.temporal.serviceclient.CheckedExceptionWrapper;
+import io.temporal.worker.introspection.WorkflowThreadSnapshot;
 import io.temporal.workflow.Promise;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -39,6 +51,7 @@ import java.util.TreeSet;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import javax.annotation.Nonnull;
@@ -58,6 +71,10 @@ class DeterministicRunnerImpl implements DeterministicRunner {
   static final String WORKFLOW_ROOT_THREAD_NAME = "workflow-root";
   static final String WORKFLOW_MAIN_THREAD_NAME = "workflow-method";
 
+  @SuppressWarnings("deprecation")
+  private static final com.uber.m3.tally.Buckets COUNT_BUCKETS =
+      ValueBuckets.exponential(1, 2, 12);
+
   private static final Logger log = LoggerFactory.getLogger(DeterministicRunnerImpl.class);
   private static final ThreadLocal<WorkflowThread> currentThreadThreadLocal = new ThreadLocal<>();
   // Note that threads field is a set. So we need to make sure that getPriority never returns the
@@ -76,6 +93,10 @@ class DeterministicRunnerImpl implements DeterministicRunner {
   private final ExecutorService threadPool;
   private final SyncWorkflowContext workflowContext;
   private final WorkflowExecutorCache cache;
+  private final Timer loopLatency;
+  private final Histogram threadCount;
+  private final Histogram threadSwitches;
+  private final Counter nearDeadlockCounter;
   private boolean inRunUntilAllBlocked;
   private boolean closeRequested;
   private boolean closed;
@@ -147,6 +168,13 @@ class DeterministicRunnerImpl implements DeterministicRunner {
     this.cache = cache;
     this.runnerCancellationScope = new CancellationScopeImpl(true, null, null);
     this.rootRunnable = root;
+    Scope metricsScope = workflowContext.getContext().getWorkerMetricsScope();
+    this.loopLatency = metricsScope.timer(MetricsType.WORKFLOW_RUNNER_LOOP_LATENCY);
+    this.threadCount = metricsScope.histogram(MetricsType.WORKFLOW_RUNNER_THREADS, COUNT_BUCKETS);
+    this.threadSwitches =
+        metricsScope.histogram(MetricsType.WORKFLOW_RUNNER_THREAD_SWITCHES, COUNT_BUCKETS);
+    this.nearDeadlockCounter =
+        metricsScope.counter(MetricsType.WORKFLOW_RUNNER_NEAR_DEADLOCK_COUNTER);
   }
 
   SyncWorkflowContext getWorkflowContext() {
@@ -163,6 +191,12 @@ class DeterministicRunnerImpl implements DeterministicRunner {
     if (!rootWorkflowThread.isStarted()) {
       throw new IllegalStateException("start not called");
     }
+    ReplayWorkflowContext context = workflowContext.getContext();
+    TaskEvent passEvent =
+        TaskEvents.workflowRunnerPass(
+            context.getWorkflowType().getName(), context.getWorkflowId(), context.getRunId());
+    long passStartNanos = System.nanoTime();
+    int switches = 0;
     lock.lock();
     try {
       checkClosed();
@@ -193,7 +227,10 @@ class DeterministicRunnerImpl implements DeterministicRunner {
         Iterator<WorkflowThread> ci = threads.iterator();
         while (ci.hasNext()) {
           WorkflowThread c = ci.next();
+          long runStartNanos = System.nanoTime();
           progress = c.runUntilBlocked(deadlockDetectionTimeout) || progress;
+          switches++;
+          checkNearDeadlock(c, System.nanoTime() - runStartNanos, deadlockDetectionTimeout);
           if (exitRequested) {
             close();
             break outerLoop;
@@ -227,7 +264,9 @@ class DeterministicRunnerImpl implements DeterministicRunner {
       throw e;
     } finally {
       inRunUntilAllBlocked = false;
+      reportPass(passStartNanos, switches);
       lock.unlock();
+      passEvent.commit();
       // Close was requested while running
       if (closeRequested) {
         close();
@@ -235,6 +274,31 @@ class DeterministicRunnerImpl implements DeterministicRunner {
     }
   }
 
+  /**
+   * Reports a thread that ran for more than half of the deadlock detection timeout without
+   * yielding. Such a thread fails the workflow task with {@link PotentialDeadlockException} once it
+   * gets slightly slower.
+   */
+  private void checkNearDeadlock(WorkflowThread thread, long runNanos, long deadlockTimeoutMs) {
+    long runMs = TimeUnit.NANOSECONDS.toMillis(runNanos);
+    if (runMs > deadlockTimeoutMs / 2 && !DebugModeUtils.isTemporalDebugModeOn()) {
+      nearDeadlockCounter.inc(1);
+      log.warn(
+          "Workflow thread \"{}\" ran for {}ms without yielding. "
+              + "Deadlock detection timeout is {}ms",
+          thread.getName(),
+          runMs,
+          deadlockTimeoutMs);
+    }
+  }
+
+  /** Should be called under the lock. */
+  private void reportPass(long passStartNanos, int switches) {
+    loopLatency.record(Duration.between(passStartNanos, System.nanoTime()));
+    threadCount.recordValue(threads.size());
+    threadSwitches.recordValue(switches);
+  }
+
   @Override
   public boolean isDone() {
     lock.lock();
@@ -346,6 +410,30 @@ class DeterministicRunnerImpl implements DeterministicRunner {
     return result.toString();
   }
 
+  @Override
+  @Nullable
+  public List<WorkflowThreadSnapshot> threadSnapshots() {
+    if (!lock.tryLock()) {
+      return null;
+    }
+    try {
+      List<WorkflowThreadSnapshot> result = new ArrayList<>(threads.size());
+      if (closed) {
+        return result;
+      }
+      for (WorkflowThread thread : threads) {
+        result.add(
+            new WorkflowThreadSnapshot(
+                thread.getName(),
+                thread.getWorkflowThreadContext().getYieldReason(),
+                thread.isDone()));
+      }
+      return result;
+    } finally {
+      lock.unlock();
+    }
+  }
+
   private void checkClosed() {
     if (closed) {
       throw new Error("closed");
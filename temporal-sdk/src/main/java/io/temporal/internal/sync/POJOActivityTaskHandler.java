@@ -45,7 +45,11 @@ import io.temporal.failure.FailureConverter;
 import io.temporal.failure.SimulatedTimeoutFailure;
 import io.temporal.failure.TemporalFailure;
 import io.temporal.failure.TimeoutFailure;
+import io.temporal.internal.common.MessagePayloadCodec;
+import io.temporal.internal.jfr.TaskEvent;
+import io.temporal.internal.jfr.TaskEvents;
 import io.temporal.internal.metrics.MetricsType;
+import io.temporal.internal.metrics.TaskLatencyBreakdown;
 import io.temporal.internal.replay.FailureWrapperException;
 import io.temporal.internal.worker.ActivityTask;
 import io.temporal.internal.worker.ActivityTaskHandler;
@@ -70,6 +74,8 @@ public final class POJOActivityTaskHandler implements ActivityTaskHandler {
   private static final Logger log = LoggerFactory.getLogger(POJOActivityTaskHandler.class);
 
   private final DataConverter dataConverter;
+  private final MessagePayloadCodec payloadCodec;
+  private final int failureStackTraceMaxDepth;
   private final ScheduledExecutorService heartbeatExecutor;
   private final WorkflowServiceStubs service;
   private final String identity;
@@ -85,12 +91,16 @@ public final class POJOActivityTaskHandler implements ActivityTaskHandler {
       String identity,
       String namespace,
       DataConverter dataConverter,
+      MessagePayloadCodec payloadCodec,
+      int failureStackTraceMaxDepth,
       ScheduledExecutorService heartbeatExecutor,
       WorkerInterceptor[] interceptors) {
     this.service = Objects.requireNonNull(service);
     this.identity = identity;
     this.namespace = Objects.requireNonNull(namespace);
     this.dataConverter = Objects.requireNonNull(dataConverter);
+    this.payloadCodec = Objects.requireNonNull(payloadCodec);
+    this.failureStackTraceMaxDepth = failureStackTraceMaxDepth;
     this.heartbeatExecutor = Objects.requireNonNull(heartbeatExecutor);
     this.interceptors = Objects.requireNonNull(interceptors);
   }
@@ -133,7 +143,8 @@ public final class POJOActivityTaskHandler implements ActivityTaskHandler {
       } else {
         metricsScope.counter(MetricsType.ACTIVITY_CANCELED_COUNTER).inc(1);
       }
-      String stackTrace = FailureConverter.serializeStackTrace(exception);
+      String stackTrace =
+          FailureConverter.serializeStackTrace(exception, failureStackTraceMaxDepth);
       throw new FailureWrapperException(
           Failure.newBuilder()
               .setStackTrace(stackTrace)
@@ -154,7 +165,7 @@ public final class POJOActivityTaskHandler implements ActivityTaskHandler {
     if (exception instanceof TimeoutFailure) {
       exception = new SimulatedTimeoutFailure((TimeoutFailure) exception);
     }
-    Failure failure = FailureConverter.exceptionToFailure(exception);
+    Failure failure = FailureConverter.exceptionToFailure(exception, failureStackTraceMaxDepth);
     RespondActivityTaskFailedRequest.Builder result =
         RespondActivityTaskFailedRequest.newBuilder().setFailure(failure);
     return new ActivityTaskHandler.Result(
@@ -186,6 +197,26 @@ public final class POJOActivityTaskHandler implements ActivityTaskHandler {
   @Override
   public Result handle(ActivityTask activityTask, Scope metricsScope, boolean localActivity) {
     PollActivityTaskQueueResponse pollResponse = activityTask.getResponse();
+    TaskEvent activityTaskEvent =
+        TaskEvents.activityTask(
+            namespace,
+            pollResponse.getActivityType().getName(),
+            pollResponse.getActivityId(),
+            pollResponse.getWorkflowExecution().getWorkflowId(),
+            pollResponse.getWorkflowExecution().getRunId(),
+            localActivity);
+    try {
+      return handleActivity(pollResponse, activityTask, metricsScope, localActivity);
+    } finally {
+      activityTaskEvent.commit();
+    }
+  }
+
+  private Result handleActivity(
+      PollActivityTaskQueueResponse pollResponse,
+      ActivityTask activityTask,
+      Scope metricsScope,
+      boolean localActivity) {
     String activityType = pollResponse.getActivityType().getName();
     ActivityInfoInternal activityInfo =
         new ActivityInfoImpl(
@@ -230,6 +261,8 @@ public final class POJOActivityTaskHandler implements ActivityTaskHandler {
               namespace,
               info,
               dataConverter,
+              payloadCodec,
+              failureStackTraceMaxDepth,
               heartbeatExecutor,
               info.getCompletionHandle(),
               metricsScope,
@@ -256,7 +289,7 @@ public final class POJOActivityTaskHandler implements ActivityTaskHandler {
           return new ActivityTaskHandler.Result(
               info.getActivityId(), null, null, null, null, context.isUseLocalManualCompletion());
         }
-        return constructActivityResultValue(info, result, method);
+        return constructActivityResultValue(info, result, method, metricsScope);
       } catch (Throwable e) {
         return activityFailureToResult(info, metricsScope, e);
       }
@@ -311,6 +344,8 @@ public final class POJOActivityTaskHandler implements ActivityTaskHandler {
               namespace,
               info,
               dataConverter,
+              payloadCodec,
+              failureStackTraceMaxDepth,
               heartbeatExecutor,
               info.getCompletionHandle(),
               metricsScope,
@@ -336,7 +371,7 @@ public final class POJOActivityTaskHandler implements ActivityTaskHandler {
         }
         RespondActivityTaskCompletedRequest.Builder request =
             RespondActivityTaskCompletedRequest.newBuilder();
-        Optional<Payloads> serialized = dataConverter.toPayloads(result.getResult());
+        Optional<Payloads> serialized = serializeResult(result, metricsScope);
         serialized.ifPresent(request::setResult);
         return new ActivityTaskHandler.Result(
             info.getActivityId(), request.build(), null, null, null, false);
@@ -430,7 +465,7 @@ public final class POJOActivityTaskHandler implements ActivityTaskHandler {
             inboundCallsInterceptor.execute(
                 new ActivityInboundCallsInterceptor.ActivityInput(
                     new Header(info.getHeader()), args));
-        return constructActivityResultValue(info, result, method);
+        return constructActivityResultValue(info, result, method, metricsScope);
       } catch (Throwable e) {
         Throwable unwrappedException = CheckedExceptionWrapper.unwrap(e);
         if (log.isWarnEnabled()) {
@@ -452,13 +487,27 @@ public final class POJOActivityTaskHandler implements ActivityTaskHandler {
   private ActivityTaskHandler.Result constructActivityResultValue(
       ActivityInfoInternal info,
       ActivityInboundCallsInterceptor.ActivityOutput result,
-      Method method) {
+      Method method,
+      Scope metricsScope) {
     RespondActivityTaskCompletedRequest.Builder request =
         RespondActivityTaskCompletedRequest.newBuilder();
     if (method.getReturnType() != Void.TYPE) {
-      Optional<Payloads> serialized = dataConverter.toPayloads(result.getResult());
+      Optional<Payloads> serialized = serializeResult(result, metricsScope);
       serialized.ifPresent(request::setResult);
     }
     return new Result(info.getActivityId(), request.build(), null, null, null, false);
   }
+
+  private Optional<Payloads> serializeResult(
+      ActivityInboundCallsInterceptor.ActivityOutput result, Scope metricsScope) {
+    long start = System.nanoTime();
+    try {
+      return dataConverter.toPayloads(result.getResult());
+    } finally {
+      TaskLatencyBreakdown.record(
+          metricsScope,
+          MetricsType.ACTIVITY_RESULT_SERIALIZATION_LATENCY,
+          System.nanoTime() - start);
+    }
+  }
 }
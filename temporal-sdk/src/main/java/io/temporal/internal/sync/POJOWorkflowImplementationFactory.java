@@ -65,6 +65,7 @@ final class POJOWorkflowImplementationFactory implements ReplayWorkflowFactory {
   private final WorkerInterceptor[] workerInterceptors;
 
   private DataConverter dataConverter;
+  private final int failureStackTraceMaxDepth;
   private final List<ContextPropagator> contextPropagators;
   private final long defaultDeadlockDetectionTimeout;
 
@@ -91,6 +92,7 @@ final class POJOWorkflowImplementationFactory implements ReplayWorkflowFactory {
       WorkflowExecutorCache cache) {
     Objects.requireNonNull(singleWorkerOptions);
     this.dataConverter = singleWorkerOptions.getDataConverter();
+    this.failureStackTraceMaxDepth = singleWorkerOptions.getFailureStackTraceMaxDepth();
     this.threadPool = Objects.requireNonNull(threadPool);
     this.workerInterceptors = Objects.requireNonNull(workerInterceptors);
     this.cache = cache;
@@ -242,6 +244,7 @@ final class POJOWorkflowImplementationFactory implements ReplayWorkflowFactory {
         workflow,
         options,
         dataConverter,
+        failureStackTraceMaxDepth,
         threadPool,
         cache,
         contextPropagators,
@@ -347,7 +350,7 @@ final class POJOWorkflowImplementationFactory implements ReplayWorkflowFactory {
   }
 
   static WorkflowExecutionException mapToWorkflowExecutionException(
-      Throwable exception, DataConverter dataConverter) {
+      Throwable exception, DataConverter dataConverter, int failureStackTraceMaxDepth) {
     Throwable e = exception;
     while (e != null) {
       if (e instanceof TemporalFailure) {
@@ -355,7 +358,7 @@ final class POJOWorkflowImplementationFactory implements ReplayWorkflowFactory {
       }
       e = e.getCause();
     }
-    Failure failure = FailureConverter.exceptionToFailure(exception);
+    Failure failure = FailureConverter.exceptionToFailure(exception, failureStackTraceMaxDepth);
     return new WorkflowExecutionException(failure);
   }
 
@@ -0,0 +1,128 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.sync;
+
+import com.uber.m3.tally.Scope;
+import io.temporal.api.common.v1.Payload;
+import io.temporal.api.common.v1.Payloads;
+import io.temporal.common.converter.DataConverter;
+import io.temporal.common.converter.DataConverterException;
+import io.temporal.internal.metrics.MetricsType;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Caches serialized activity arguments for the duration of a workflow run. Values are keyed by
+ * identity, so passing the same instance to multiple activities serializes it only once. Payloads
+ * with equal content are interned, so the commands of a run share a single copy of their bytes.
+ *
+ * <p>Not thread safe. Accessed only from the workflow threads which never run concurrently.
+ */
+final class PayloadCache {
+
+  private final DataConverter converter;
+  private final Supplier<Scope> metricsScope;
+  private final Map<IdentityKey, Payload> byIdentity;
+  private final Map<Payload, Payload> byContent;
+
+  PayloadCache(DataConverter converter, int maximumSize, Supplier<Scope> metricsScope) {
+    this.converter = converter;
+    this.metricsScope = metricsScope;
+    this.byIdentity = new LruMap<>(maximumSize);
+    this.byContent = new LruMap<>(maximumSize);
+  }
+
+  Optional<Payloads> toPayloads(Object... values) throws DataConverterException {
+    if (values == null || values.length == 0) {
+      return Optional.empty();
+    }
+    Payloads.Builder result = Payloads.newBuilder();
+    int hits = 0;
+    long bytesSaved = 0;
+    for (Object value : values) {
+      if (value == null) {
+        result.addPayloads(toPayload(null));
+        continue;
+      }
+      IdentityKey key = new IdentityKey(value);
+      Payload payload = byIdentity.get(key);
+      if (payload == null) {
+        payload = toPayload(value);
+        byIdentity.put(key, payload);
+      } else {
+        hits++;
+        bytesSaved += payload.getSerializedSize();
+      }
+      result.addPayloads(payload);
+    }
+    if (hits > 0) {
+      Scope scope = metricsScope.get();
+      scope.counter(MetricsType.PAYLOAD_CACHE_HIT_COUNTER).inc(hits);
+      scope.counter(MetricsType.PAYLOAD_CACHE_BYTES_SAVED_COUNTER).inc(bytesSaved);
+    }
+    return Optional.of(result.build());
+  }
+
+  private Payload toPayload(Object value) {
+    // Converts through toPayloads as activity arguments are converted without the cache, so
+    // converters that only override toPayloads (ClaimCheckDataConverter) stay authoritative.
+    Optional<Payloads> converted = converter.toPayloads(new Object[] {value});
+    Payload payload =
+        converted.isPresent() && converted.get().getPayloadsCount() > 0
+            ? converted.get().getPayloads(0)
+            : Payload.getDefaultInstance();
+    Payload interned = byContent.putIfAbsent(payload, payload);
+    return interned == null ? payload : interned;
+  }
+
+  private static final class IdentityKey {
+    private final Object value;
+
+    IdentityKey(Object value) {
+      this.value = value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof IdentityKey && ((IdentityKey) o).value == value;
+    }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(value);
+    }
+  }
+
+  private static final class LruMap<K, V> extends LinkedHashMap<K, V> {
+    private final int maximumSize;
+
+    LruMap(int maximumSize) {
+      super(16, 0.75f, true);
+      this.maximumSize = maximumSize;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+      return size() > maximumSize;
+    }
+  }
+}
@@ -21,10 +21,12 @@ package io.temporal.internal.sync;
 
 import io.temporal.common.interceptors.WorkerInterceptor;
 import io.temporal.internal.common.InternalUtils;
+import io.temporal.internal.common.MessagePayloadCodec;
 import io.temporal.internal.worker.ActivityWorker;
 import io.temporal.internal.worker.SingleWorkerOptions;
 import io.temporal.internal.worker.SuspendableWorker;
 import io.temporal.serviceclient.WorkflowServiceStubs;
+import io.temporal.worker.introspection.PollerSnapshot;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -49,6 +51,8 @@ public class SyncActivityWorker implements SuspendableWorker {
             options.getIdentity(),
             namespace,
             options.getDataConverter(),
+            MessagePayloadCodec.newInstance(options.getPayloadCodec()),
+            options.getFailureStackTraceMaxDepth(),
             heartbeatExecutor,
             workerInterceptors);
     worker =
@@ -113,4 +117,8 @@ public class SyncActivityWorker implements SuspendableWorker {
   public boolean isSuspended() {
     return worker.isSuspended();
   }
+
+  public PollerSnapshot getSnapshot() {
+    return worker.getSnapshot();
+  }
 }
@@ -34,10 +34,12 @@ import io.temporal.internal.replay.ReplayWorkflowContext;
 import io.temporal.internal.replay.WorkflowExecutorCache;
 import io.temporal.internal.worker.WorkflowExecutionException;
 import io.temporal.worker.WorkflowImplementationOptions;
+import io.temporal.worker.introspection.WorkflowThreadSnapshot;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
+import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -55,6 +57,7 @@ class SyncWorkflow implements ReplayWorkflow {
   private final SyncWorkflowDefinition workflow;
   WorkflowImplementationOptions workflowImplementationOptions;
   private final WorkflowExecutorCache cache;
+  private final int failureStackTraceMaxDepth;
   private final long defaultDeadlockDetectionTimeout;
   private WorkflowExecuteRunnable workflowProc;
   private DeterministicRunner runner;
@@ -63,6 +66,7 @@ class SyncWorkflow implements ReplayWorkflow {
       SyncWorkflowDefinition workflow,
       WorkflowImplementationOptions workflowImplementationOptions,
       DataConverter dataConverter,
+      int failureStackTraceMaxDepth,
       ExecutorService threadPool,
       WorkflowExecutorCache cache,
       List<ContextPropagator> contextPropagators,
@@ -73,6 +77,7 @@ class SyncWorkflow implements ReplayWorkflow {
             ? WorkflowImplementationOptions.newBuilder().build()
             : workflowImplementationOptions;
     this.dataConverter = Objects.requireNonNull(dataConverter);
+    this.failureStackTraceMaxDepth = failureStackTraceMaxDepth;
     this.threadPool = Objects.requireNonNull(threadPool);
     this.cache = cache;
     this.contextPropagators = contextPropagators;
@@ -84,6 +89,15 @@ class SyncWorkflow implements ReplayWorkflow {
     return workflowImplementationOptions;
   }
 
+  @Override
+  @Nullable
+  public List<WorkflowThreadSnapshot> getThreadSnapshots() {
+    if (runner == null) {
+      return null;
+    }
+    return runner.threadSnapshots();
+  }
+
   @Override
   public void start(HistoryEvent event, ReplayWorkflowContext context) {
     if (event.getEventType() != EventType.EVENT_TYPE_WORKFLOW_EXECUTION_STARTED
@@ -118,7 +132,11 @@ class SyncWorkflow implements ReplayWorkflow {
 
     workflowProc =
         new WorkflowExecuteRunnable(
-            syncContext, workflow, startEvent, workflowImplementationOptions);
+            syncContext,
+            workflow,
+            startEvent,
+            workflowImplementationOptions,
+            failureStackTraceMaxDepth);
     // The following order is ensured by this code and DeterministicRunner implementation:
     // 1. workflow.initialize
     // 2. signal handler (if signalWithStart was called)
@@ -184,6 +202,6 @@ class SyncWorkflow implements ReplayWorkflow {
   @Override
   public WorkflowExecutionException mapUnexpectedException(Throwable failure) {
     return POJOWorkflowImplementationFactory.mapToWorkflowExecutionException(
-        failure, dataConverter);
+        failure, dataConverter, failureStackTraceMaxDepth);
   }
 }
@@ -94,6 +94,7 @@ final class SyncWorkflowContext implements WorkflowOutboundCallsInterceptor {
   private final QueryDispatcher queryDispatcher;
   private final Optional<Payloads> lastCompletionResult;
   private final Optional<Failure> lastFailure;
+  private final PayloadCache payloadCache;
   private WorkflowInboundCallsInterceptor headInboundInterceptor;
   private WorkflowOutboundCallsInterceptor headOutboundInterceptor;
   private DeterministicRunner runner;
@@ -128,6 +129,14 @@ final class SyncWorkflowContext implements WorkflowOutboundCallsInterceptor {
       this.defaultActivityOptions = workflowImplementationOptions.getDefaultActivityOptions();
       this.activityOptionsMap = workflowImplementationOptions.getActivityOptions();
     }
+    int payloadCacheMaximumSize =
+        workflowImplementationOptions == null
+            ? 0
+            : workflowImplementationOptions.getPayloadCacheMaximumSize();
+    this.payloadCache =
+        payloadCacheMaximumSize > 0
+            ? new PayloadCache(converter, payloadCacheMaximumSize, context::getMetricsScope)
+            : null;
     // initial values for headInboundInterceptor and headOutboundInterceptor until they initialized
     // with actual interceptors through #initHeadInboundCallsInterceptor and
     // #initHeadOutboundCallsInterceptor during initialization phase.
@@ -199,7 +208,7 @@ final class SyncWorkflowContext implements WorkflowOutboundCallsInterceptor {
 
   @Override
   public <T> ActivityOutput<T> executeActivity(ActivityInput<T> input) {
-    Optional<Payloads> args = converter.toPayloads(input.getArgs());
+    Optional<Payloads> args = activityArgsToPayloads(input.getArgs());
     Promise<Optional<Payloads>> binaryResult =
         executeActivityOnce(input.getActivityName(), input.getOptions(), input.getHeader(), args);
     if (input.getResultType() == Void.TYPE) {
@@ -210,6 +219,13 @@ final class SyncWorkflowContext implements WorkflowOutboundCallsInterceptor {
             (r) -> converter.fromPayloads(0, r, input.getResultClass(), input.getResultType())));
   }
 
+  private Optional<Payloads> activityArgsToPayloads(Object[] args) {
+    if (payloadCache == null) {
+      return converter.toPayloads(args);
+    }
+    return payloadCache.toPayloads(args);
+  }
+
   private Promise<Optional<Payloads>> executeActivityOnce(
       String name, ActivityOptions options, Header header, Optional<Payloads> input) {
     ActivityCallback callback = new ActivityCallback();
@@ -270,7 +286,7 @@ final class SyncWorkflowContext implements WorkflowOutboundCallsInterceptor {
   }
 
   private <T> Promise<T> executeLocalActivityOnce(LocalActivityInput<T> input, int attempt) {
-    Optional<Payloads> payloads = converter.toPayloads(input.getArgs());
+    Optional<Payloads> payloads = activityArgsToPayloads(input.getArgs());
     Promise<Optional<Payloads>> binaryResult =
         executeLocalActivityOnce(
             input.getActivityName(), input.getOptions(), input.getHeader(), payloads, attempt);
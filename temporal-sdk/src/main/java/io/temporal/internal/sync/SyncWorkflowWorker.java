@@ -24,6 +24,7 @@ import io.temporal.api.workflowservice.v1.PollWorkflowTaskQueueResponse;
 import io.temporal.common.converter.DataConverter;
 import io.temporal.common.interceptors.WorkerInterceptor;
 import io.temporal.internal.common.InternalUtils;
+import io.temporal.internal.common.MessagePayloadCodec;
 import io.temporal.internal.common.WorkflowExecutionHistory;
 import io.temporal.internal.replay.ReplayWorkflowTaskHandler;
 import io.temporal.internal.replay.WorkflowExecutorCache;
@@ -34,10 +35,13 @@ import io.temporal.internal.worker.WorkflowTaskHandler;
 import io.temporal.internal.worker.WorkflowWorker;
 import io.temporal.serviceclient.WorkflowServiceStubs;
 import io.temporal.worker.WorkflowImplementationOptions;
+import io.temporal.worker.introspection.PollerSnapshot;
 import io.temporal.workflow.Functions;
 import io.temporal.workflow.Functions.Func;
 import java.lang.reflect.Type;
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.Executors;
@@ -80,6 +84,8 @@ public class SyncWorkflowWorker
             localActivityOptions.getIdentity(),
             namespace,
             localActivityOptions.getDataConverter(),
+            MessagePayloadCodec.newInstance(localActivityOptions.getPayloadCodec()),
+            localActivityOptions.getFailureStackTraceMaxDepth(),
             heartbeatExecutor,
             workerInterceptors);
     laWorker = new LocalActivityWorker(namespace, taskQueue, localActivityOptions, laTaskHandler);
@@ -178,6 +184,10 @@ public class SyncWorkflowWorker
     return workflowWorker.isSuspended() && laWorker.isSuspended();
   }
 
+  public List<PollerSnapshot> getPollerSnapshots() {
+    return Arrays.asList(workflowWorker.getSnapshot(), laWorker.getSnapshot());
+  }
+
   public <R> R queryWorkflowExecution(
       WorkflowExecutionHistory history,
       String queryType,
@@ -36,6 +36,7 @@ import io.temporal.common.interceptors.WorkflowClientCallsInterceptor;
 import io.temporal.common.interceptors.WorkflowClientInterceptor;
 import io.temporal.internal.WorkflowThreadMarker;
 import io.temporal.internal.client.RootWorkflowClientInvoker;
+import io.temporal.internal.common.MessagePayloadCodec;
 import io.temporal.internal.external.GenericWorkflowClientExternalImpl;
 import io.temporal.internal.external.ManualActivityCompletionClientFactory;
 import io.temporal.internal.external.ManualActivityCompletionClientFactoryImpl;
@@ -102,6 +103,8 @@ public final class WorkflowClientInternal implements WorkflowClient {
             options.getNamespace(),
             options.getIdentity(),
             dataConverter,
+            MessagePayloadCodec.newInstance(options.getPayloadCodec()),
+            options.getFailureStackTraceMaxDepth(),
             metricsScope);
   }
 
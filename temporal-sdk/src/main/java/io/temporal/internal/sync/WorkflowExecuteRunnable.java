@@ -46,6 +46,7 @@ class WorkflowExecuteRunnable implements Runnable {
   private final SyncWorkflowDefinition workflow;
   private final WorkflowExecutionStartedEventAttributes attributes;
   private final WorkflowImplementationOptions implementationOptions;
+  private final int failureStackTraceMaxDepth;
 
   private Optional<Payloads> output = Optional.empty();
   private boolean done;
@@ -54,8 +55,10 @@ class WorkflowExecuteRunnable implements Runnable {
       SyncWorkflowContext context,
       SyncWorkflowDefinition workflow,
       WorkflowExecutionStartedEventAttributes attributes,
-      WorkflowImplementationOptions options) {
+      WorkflowImplementationOptions options,
+      int failureStackTraceMaxDepth) {
     this.implementationOptions = options;
+    this.failureStackTraceMaxDepth = failureStackTraceMaxDepth;
     Objects.requireNonNull(context);
     Objects.requireNonNull(workflow);
     Objects.requireNonNull(attributes);
@@ -80,7 +83,8 @@ class WorkflowExecuteRunnable implements Runnable {
           implementationOptions.getFailWorkflowExceptionTypes();
       if (exception instanceof TemporalFailure) {
         logWorkflowExecutionException(Workflow.getInfo(), exception);
-        throw mapToWorkflowExecutionException(exception, context.getDataConverter());
+        throw mapToWorkflowExecutionException(
+            exception, context.getDataConverter(), failureStackTraceMaxDepth);
       }
       for (Class<? extends Throwable> failType : failTypes) {
         if (failType.isAssignableFrom(exception.getClass())) {
@@ -92,7 +96,8 @@ class WorkflowExecuteRunnable implements Runnable {
               logWorkflowExecutionException(Workflow.getInfo(), exception);
             }
           }
-          throw mapToWorkflowExecutionException(exception, context.getDataConverter());
+          throw mapToWorkflowExecutionException(
+              exception, context.getDataConverter(), failureStackTraceMaxDepth);
         }
       }
       throw wrap(exception);
@@ -134,7 +139,7 @@ class WorkflowExecuteRunnable implements Runnable {
   }
 
   static WorkflowExecutionException mapToWorkflowExecutionException(
-      Throwable exception, DataConverter dataConverter) {
+      Throwable exception, DataConverter dataConverter, int failureStackTraceMaxDepth) {
     Throwable e = exception;
     while (e != null) {
       if (e instanceof TemporalFailure) {
@@ -142,7 +147,7 @@ class WorkflowExecuteRunnable implements Runnable {
       }
       e = e.getCause();
     }
-    Failure failure = FailureConverter.exceptionToFailure(exception);
+    Failure failure = FailureConverter.exceptionToFailure(exception, failureStackTraceMaxDepth);
     return new WorkflowExecutionException(failure);
   }
 }
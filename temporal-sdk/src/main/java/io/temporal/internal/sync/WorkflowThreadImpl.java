@@ -19,7 +19,6 @@
 
 package io.temporal.internal.sync;
 
-import com.google.common.util.concurrent.RateLimiter;
 import io.temporal.common.context.ContextPropagator;
 import io.temporal.failure.CanceledFailure;
 import io.temporal.internal.context.ContextThreadLocal;
@@ -39,7 +38,6 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
 import org.slf4j.Logger;
@@ -47,7 +45,6 @@ import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
 class WorkflowThreadImpl implements WorkflowThread {
-  private static final RateLimiter metricsRateLimiter = RateLimiter.create(1);
 
   /**
    * Runnable passed to the thread that wraps a runnable passed to the WorkflowThreadImpl
@@ -87,6 +84,9 @@ class WorkflowThreadImpl implements WorkflowThread {
 
     @Override
     public void run() {
+      if (cache != null) {
+        cache.workflowThreadStarted();
+      }
       Thread thread = Thread.currentThread();
       originalName = thread.getName();
       thread.setName(name);
@@ -94,11 +94,17 @@ class WorkflowThreadImpl implements WorkflowThread {
       threadContext.initializeCurrentThread(thread);
       DeterministicRunnerImpl.setCurrentThreadInternal(WorkflowThreadImpl.this);
 
-      MDC.put(LoggerTag.WORKFLOW_ID, replayWorkflowContext.getWorkflowId());
-      MDC.put(LoggerTag.WORKFLOW_TYPE, replayWorkflowContext.getWorkflowType().getName());
-      MDC.put(LoggerTag.RUN_ID, replayWorkflowContext.getRunId());
-      MDC.put(LoggerTag.TASK_QUEUE, replayWorkflowContext.getTaskQueue());
-      MDC.put(LoggerTag.NAMESPACE, replayWorkflowContext.getNamespace());
+      if (!replayWorkflowContext.getDisableLoggingContext()) {
+        // A single setContextMap copies the map once instead of a copy per MDC put.
+        Map<String, String> loggingContext = new HashMap<>();
+        loggingContext.put(LoggerTag.WORKFLOW_ID, replayWorkflowContext.getWorkflowId());
+        loggingContext.put(
+            LoggerTag.WORKFLOW_TYPE, replayWorkflowContext.getWorkflowType().getName());
+        loggingContext.put(LoggerTag.RUN_ID, replayWorkflowContext.getRunId());
+        loggingContext.put(LoggerTag.TASK_QUEUE, replayWorkflowContext.getTaskQueue());
+        loggingContext.put(LoggerTag.NAMESPACE, replayWorkflowContext.getNamespace());
+        MDC.setContextMap(loggingContext);
+      }
 
       // Repopulate the context(s)
       ContextThreadLocal.setContextPropagators(this.contextPropagators);
@@ -127,7 +133,11 @@ class WorkflowThreadImpl implements WorkflowThread {
         DeterministicRunnerImpl.setCurrentThreadInternal(null);
         threadContext.setStatus(Status.DONE);
         thread.setName(originalName);
+        // Cleared even without the logging context as context propagators can populate the MDC
         MDC.clear();
+        if (cache != null) {
+          cache.workflowThreadFinished();
+        }
       }
     }
 
@@ -237,13 +247,6 @@ class WorkflowThreadImpl implements WorkflowThread {
     }
     context.setStatus(Status.RUNNING);
 
-    if (metricsRateLimiter.tryAcquire(1)) {
-      getWorkflowContext()
-          .getMetricsScope()
-          .gauge(MetricsType.WORKFLOW_ACTIVE_THREAD_COUNT)
-          .update(((ThreadPoolExecutor) threadPool).getActiveCount());
-    }
-
     while (true) {
       try {
         taskFuture = threadPool.submit(task);
@@ -22,6 +22,7 @@ package io.temporal.internal.worker;
 import static io.temporal.serviceclient.MetricsTag.METRICS_TAGS_CALL_OPTIONS_KEY;
 
 import com.google.protobuf.DoubleValue;
+import com.uber.m3.tally.Gauge;
 import com.uber.m3.tally.Scope;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
@@ -46,6 +47,8 @@ final class ActivityPollTask implements Poller.PollTask<ActivityTask> {
   private final double taskQueueActivitiesPerSecond;
   private final Scope metricsScope;
   private final Semaphore pollSemaphore;
+  private final Object pollPermitsGaugeLock = new Object();
+  private final Gauge pollPermitsGauge;
 
   public ActivityPollTask(
       WorkflowServiceStubs service,
@@ -61,6 +64,8 @@ final class ActivityPollTask implements Poller.PollTask<ActivityTask> {
     this.metricsScope = options.getMetricsScope();
     this.taskQueueActivitiesPerSecond = taskQueueActivitiesPerSecond;
     this.pollSemaphore = new Semaphore(options.getTaskExecutorThreadPoolSize());
+    this.pollPermitsGauge = metricsScope.gauge(MetricsType.ACTIVITY_POLL_PERMITS_AVAILABLE);
+    updatePollPermitsGauge();
   }
 
   @Override
@@ -86,6 +91,7 @@ final class ActivityPollTask implements Poller.PollTask<ActivityTask> {
 
     try {
       pollSemaphore.acquire();
+      updatePollPermitsGauge();
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
       return null;
@@ -115,8 +121,21 @@ final class ActivityPollTask implements Poller.PollTask<ActivityTask> {
       }
       throw e;
     } finally {
-      if (!isSuccessful) pollSemaphore.release();
+      if (!isSuccessful) releasePermit();
+    }
+    return new ActivityTask(response, this::releasePermit);
+  }
+
+  private void releasePermit() {
+    pollSemaphore.release();
+    updatePollPermitsGauge();
+  }
+
+  // Same as the slot gauges of PollTaskExecutor: the permits are read inside the lock, otherwise a
+  // poller could publish a count that a concurrent acquire or release has already replaced.
+  private void updatePollPermitsGauge() {
+    synchronized (pollPermitsGaugeLock) {
+      pollPermitsGauge.update(pollSemaphore.availablePermits());
     }
-    return new ActivityTask(response, pollSemaphore::release);
   }
 }
@@ -22,9 +22,7 @@ package io.temporal.internal.worker;
 import static io.temporal.serviceclient.MetricsTag.METRICS_TAGS_CALL_OPTIONS_KEY;
 
 import com.uber.m3.tally.Scope;
-import com.uber.m3.tally.Stopwatch;
 import com.uber.m3.util.Duration;
-import com.uber.m3.util.ImmutableMap;
 import io.temporal.api.common.v1.WorkflowExecution;
 import io.temporal.api.failure.v1.CanceledFailureInfo;
 import io.temporal.api.failure.v1.Failure;
@@ -32,9 +30,13 @@ import io.temporal.api.workflowservice.v1.PollActivityTaskQueueResponse;
 import io.temporal.api.workflowservice.v1.RespondActivityTaskCanceledRequest;
 import io.temporal.api.workflowservice.v1.RespondActivityTaskCompletedRequest;
 import io.temporal.api.workflowservice.v1.RespondActivityTaskFailedRequest;
+import io.temporal.internal.common.MessagePayloadCodec;
 import io.temporal.internal.common.ProtobufTimeUtils;
 import io.temporal.internal.logging.LoggerTag;
+import io.temporal.internal.metrics.ActivityMetricsHandles;
+import io.temporal.internal.metrics.MetricsHandleRegistry;
 import io.temporal.internal.metrics.MetricsType;
+import io.temporal.internal.metrics.TaskLatencyBreakdown;
 import io.temporal.internal.replay.FailureWrapperException;
 import io.temporal.internal.retryer.GrpcRetryer;
 import io.temporal.internal.worker.ActivityTaskHandler.Result;
@@ -42,21 +44,26 @@ import io.temporal.internal.worker.activity.ActivityWorkerHelper;
 import io.temporal.serviceclient.MetricsTag;
 import io.temporal.serviceclient.RpcRetryOptions;
 import io.temporal.serviceclient.WorkflowServiceStubs;
+import io.temporal.worker.introspection.PollerSnapshot;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
-import org.slf4j.MDC;
 
 public final class ActivityWorker implements SuspendableWorker {
 
   private static final String POLL_THREAD_NAME_PREFIX = "Activity Poller taskQueue=";
+  private static final String WORKER_TYPE = "ActivityWorker";
 
   private SuspendableWorker poller = new NoopSuspendableWorker();
+  private PollTaskExecutor<ActivityTask> pollTaskExecutor;
   private final ActivityTaskHandler handler;
   private final WorkflowServiceStubs service;
   private final String namespace;
   private final String taskQueue;
   private final SingleWorkerOptions options;
   private final double taskQueueActivitiesPerSecond;
+  private final MessagePayloadCodec payloadCodec;
+  private final MetricsHandleRegistry<ActivityMetricsHandles> metricsHandles;
 
   public ActivityWorker(
       WorkflowServiceStubs service,
@@ -85,17 +92,27 @@ public final class ActivityWorker implements SuspendableWorker {
               .build();
     }
     this.options = SingleWorkerOptions.newBuilder(options).setPollerOptions(pollerOptions).build();
+    this.payloadCodec = MessagePayloadCodec.newInstance(options.getPayloadCodec());
+    this.metricsHandles =
+        new MetricsHandleRegistry<>(
+            this.options.getMetricsScope(),
+            MetricsTag.ACTIVITY_TYPE,
+            MetricsTag.WORKFLOW_TYPE,
+            ActivityMetricsHandles::new);
   }
 
   @Override
   public void start() {
     if (handler.isAnyTypeSupported()) {
+      pollTaskExecutor =
+          new PollTaskExecutor<>(
+              namespace, taskQueue, WORKER_TYPE, options, new TaskHandlerImpl(handler));
       poller =
           new Poller<>(
               options.getIdentity(),
               new ActivityPollTask(
                   service, namespace, taskQueue, options, taskQueueActivitiesPerSecond),
-              new PollTaskExecutor<>(namespace, taskQueue, options, new TaskHandlerImpl(handler)),
+              pollTaskExecutor,
               options.getPollerOptions(),
               options.getMetricsScope());
       poller.start();
@@ -148,6 +165,10 @@ public final class ActivityWorker implements SuspendableWorker {
     return poller.isSuspended();
   }
 
+  public PollerSnapshot getSnapshot() {
+    return PollerSnapshots.of(WORKER_TYPE, poller, pollTaskExecutor);
+  }
+
   private class TaskHandlerImpl implements PollTaskExecutor.TaskHandler<ActivityTask> {
 
     final ActivityTaskHandler handler;
@@ -159,45 +180,50 @@ public final class ActivityWorker implements SuspendableWorker {
     @Override
     public void handle(ActivityTask task) throws Exception {
       PollActivityTaskQueueResponse r = task.getResponse();
-      Scope metricsScope =
-          options
-              .getMetricsScope()
-              .tagged(
-                  ImmutableMap.of(
-                      MetricsTag.ACTIVITY_TYPE,
-                      r.getActivityType().getName(),
-                      MetricsTag.WORKFLOW_TYPE,
-                      r.getWorkflowType().getName()));
+      ActivityMetricsHandles metrics =
+          metricsHandles.get(r.getActivityType().getName(), r.getWorkflowType().getName());
+      Scope metricsScope = metrics.getScope();
       ActivityTaskHandler.Result response = null;
       try {
-        metricsScope
-            .timer(MetricsType.ACTIVITY_SCHEDULE_TO_START_LATENCY)
+        metrics
+            .getScheduleToStartLatency()
             .record(
                 ProtobufTimeUtils.toM3Duration(
                     r.getStartedTime(), r.getCurrentAttemptScheduledTime()));
 
-        // The following tags are for logging.
-        MDC.put(LoggerTag.ACTIVITY_ID, r.getActivityId());
-        MDC.put(LoggerTag.ACTIVITY_TYPE, r.getActivityType().getName());
-        MDC.put(LoggerTag.WORKFLOW_ID, r.getWorkflowExecution().getWorkflowId());
-        MDC.put(LoggerTag.RUN_ID, r.getWorkflowExecution().getRunId());
-
         if (r.hasHeader()) {
           ActivityWorkerHelper.deserializeAndPopulateContext(
               r.getHeader(), options.getContextPropagators());
         }
 
-        Stopwatch sw = metricsScope.timer(MetricsType.ACTIVITY_EXEC_LATENCY).start();
+        ActivityTask decodedTask = task;
+        if (!payloadCodec.isNoop()) {
+          decodedTask =
+              new ActivityTask(payloadCodec.decodeBlocking(r), task.getCompletionHandle());
+        }
+
+        long executionStart = System.nanoTime();
         try {
-          response = handler.handle(task, metricsScope, false);
+          response = handler.handle(decodedTask, metricsScope, false);
         } finally {
-          sw.stop();
+          TaskLatencyBreakdown.record(
+              metrics.getExecutionLatency(),
+              MetricsType.ACTIVITY_EXEC_LATENCY,
+              System.nanoTime() - executionStart);
+        }
+        long respondStart = System.nanoTime();
+        try {
+          sendReply(r, response, metricsScope);
+        } finally {
+          TaskLatencyBreakdown.record(
+              metrics.getRespondLatency(),
+              MetricsType.ACTIVITY_RESPOND_LATENCY,
+              System.nanoTime() - respondStart);
         }
-        sendReply(r, response, metricsScope);
 
         Duration duration =
             ProtobufTimeUtils.toM3DurationSinceNow(r.getCurrentAttemptScheduledTime());
-        metricsScope.timer(MetricsType.ACTIVITY_E2E_LATENCY).record(duration);
+        metrics.getEndToEndLatency().record(duration);
       } catch (FailureWrapperException e) {
         Failure failure = e.getFailure();
         if (failure.hasCanceledFailureInfo()) {
@@ -214,10 +240,7 @@ public final class ActivityWorker implements SuspendableWorker {
           sendReply(r, response, metricsScope);
         }
       } finally {
-        MDC.remove(LoggerTag.ACTIVITY_ID);
-        MDC.remove(LoggerTag.ACTIVITY_TYPE);
-        MDC.remove(LoggerTag.WORKFLOW_ID);
-        MDC.remove(LoggerTag.RUN_ID);
+        TaskLatencyBreakdown.end("Activity task");
         // Apply completion handle if task has been completed synchronously or is async and manual
         // completion hasn't been requested.
         if (response != null && !response.isManualCompletion()) {
@@ -226,6 +249,15 @@ public final class ActivityWorker implements SuspendableWorker {
       }
     }
 
+    @Override
+    public void putLoggingContext(ActivityTask task, Map<String, String> context) {
+      PollActivityTaskQueueResponse r = task.getResponse();
+      context.put(LoggerTag.ACTIVITY_ID, r.getActivityId());
+      context.put(LoggerTag.ACTIVITY_TYPE, r.getActivityType().getName());
+      context.put(LoggerTag.WORKFLOW_ID, r.getWorkflowExecution().getWorkflowId());
+      context.put(LoggerTag.RUN_ID, r.getWorkflowExecution().getRunId());
+    }
+
     @Override
     public Throwable wrapFailure(ActivityTask t, Throwable failure) {
       PollActivityTaskQueueResponse response = t.getResponse();
@@ -249,15 +281,20 @@ public final class ActivityWorker implements SuspendableWorker {
       RpcRetryOptions ro = response.getRequestRetryOptions();
       RespondActivityTaskCompletedRequest taskCompleted = response.getTaskCompleted();
       if (taskCompleted != null) {
-        ro = RpcRetryOptions.newBuilder().buildWithDefaultsFrom(ro);
+        // RespondActivityTaskCompleted is idempotent, so its attempts can be hedged
+        ro =
+            RpcRetryOptions.newBuilder(service.getOptions().getRpcRetryOptions())
+                .setRetryOptions(ro)
+                .validateBuildWithDefaults();
         RespondActivityTaskCompletedRequest request =
-            taskCompleted
-                .toBuilder()
-                .setTaskToken(task.getTaskToken())
-                .setIdentity(options.getIdentity())
-                .setNamespace(namespace)
-                .build();
-        GrpcRetryer.retry(
+            payloadCodec.encodeBlocking(
+                taskCompleted
+                    .toBuilder()
+                    .setTaskToken(task.getTaskToken())
+                    .setIdentity(options.getIdentity())
+                    .setNamespace(namespace)
+                    .build());
+        GrpcRetryer.retryHedged(
             ro,
             () ->
                 service
@@ -269,13 +306,14 @@ public final class ActivityWorker implements SuspendableWorker {
 
         if (taskFailed != null) {
           RespondActivityTaskFailedRequest request =
-              taskFailed
-                  .getTaskFailedRequest()
-                  .toBuilder()
-                  .setTaskToken(task.getTaskToken())
-                  .setIdentity(options.getIdentity())
-                  .setNamespace(namespace)
-                  .build();
+              payloadCodec.encodeBlocking(
+                  taskFailed
+                      .getTaskFailedRequest()
+                      .toBuilder()
+                      .setTaskToken(task.getTaskToken())
+                      .setIdentity(options.getIdentity())
+                      .setNamespace(namespace)
+                      .build());
           ro = RpcRetryOptions.newBuilder().buildWithDefaultsFrom(ro);
 
           GrpcRetryer.retry(
@@ -289,12 +327,13 @@ public final class ActivityWorker implements SuspendableWorker {
           RespondActivityTaskCanceledRequest taskCanceled = response.getTaskCanceled();
           if (taskCanceled != null) {
             RespondActivityTaskCanceledRequest request =
-                taskCanceled
-                    .toBuilder()
-                    .setTaskToken(task.getTaskToken())
-                    .setIdentity(options.getIdentity())
-                    .setNamespace(namespace)
-                    .build();
+                payloadCodec.encodeBlocking(
+                    taskCanceled
+                        .toBuilder()
+                        .setTaskToken(task.getTaskToken())
+                        .setIdentity(options.getIdentity())
+                        .setNamespace(namespace)
+                        .build());
             ro = RpcRetryOptions.newBuilder().buildWithDefaultsFrom(ro);
 
             GrpcRetryer.retry(
@@ -19,21 +19,33 @@
 
 package io.temporal.internal.worker;
 
+import com.uber.m3.tally.Scope;
+import com.uber.m3.tally.Stopwatch;
+import io.temporal.internal.metrics.MetricsType;
+import java.util.Objects;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
 
 class BlockCallerPolicy implements RejectedExecutionHandler {
 
+  private final Scope metricsScope;
+
+  BlockCallerPolicy(Scope metricsScope) {
+    this.metricsScope = Objects.requireNonNull(metricsScope);
+  }
+
   @Override
   public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
     // Without this check the call hangs forever on the queue put.
     if (executor.isShutdown()) {
       throw new RejectedExecutionException("Executor is shutdown");
     }
+    Stopwatch sw = metricsScope.timer(MetricsType.WORKER_TASK_DISPATCH_BLOCKED_LATENCY).start();
     try {
       // block until there's room
       executor.getQueue().put(r);
+      sw.stop();
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
       throw new RejectedExecutionException("Unexpected InterruptedException", e);
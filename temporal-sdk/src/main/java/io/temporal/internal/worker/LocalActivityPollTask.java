@@ -19,6 +19,11 @@
 
 package io.temporal.internal.worker;
 
+import com.uber.m3.tally.Gauge;
+import com.uber.m3.tally.Scope;
+import io.temporal.api.workflowservice.v1.PollActivityTaskQueueResponseOrBuilder;
+import io.temporal.internal.jfr.TaskEvents;
+import io.temporal.internal.metrics.MetricsType;
 import java.time.Duration;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
@@ -35,11 +40,18 @@ final class LocalActivityPollTask
   private static final int QUEUE_SIZE = 1000;
   private final BlockingQueue<LocalActivityWorker.Task> pendingTasks =
       new ArrayBlockingQueue<>(QUEUE_SIZE);
+  private final Gauge queueDepthGauge;
+
+  LocalActivityPollTask(Scope metricsScope) {
+    this.queueDepthGauge = metricsScope.gauge(MetricsType.LOCAL_ACTIVITY_QUEUE_DEPTH);
+  }
 
   @Override
   public LocalActivityWorker.Task poll() {
     try {
       LocalActivityWorker.Task task = pendingTasks.take();
+      queueDepthGauge.update(pendingTasks.size());
+      task.queueWaitEvent.commit();
       if (log.isTraceEnabled()) {
         log.trace("LocalActivity Task poll returned: " + task.getActivityId());
       }
@@ -52,8 +64,19 @@ final class LocalActivityPollTask
 
   @Override
   public Boolean apply(LocalActivityWorker.Task task, Duration maxWaitAllowed) {
+    PollActivityTaskQueueResponseOrBuilder activityTask = task.getActivityTask();
+    task.queueWaitEvent =
+        TaskEvents.localActivityQueueWait(
+            activityTask.getActivityType().getName(),
+            activityTask.getActivityId(),
+            activityTask.getWorkflowExecution().getWorkflowId(),
+            activityTask.getWorkflowExecution().getRunId());
     try {
       boolean accepted = pendingTasks.offer(task, maxWaitAllowed.toMillis(), TimeUnit.MILLISECONDS);
+      queueDepthGauge.update(pendingTasks.size());
+      if (!accepted) {
+        task.queueWaitEvent.setStatus("rejected").commit();
+      }
       if (log.isTraceEnabled()) {
         if (accepted) {
           log.trace("LocalActivity queued: " + task.getActivityId());
@@ -67,6 +90,7 @@ final class LocalActivityPollTask
       }
       return accepted;
     } catch (InterruptedException e) {
+      task.queueWaitEvent.setStatus("interrupted").commit();
       Thread.currentThread().interrupt();
       return false;
     }
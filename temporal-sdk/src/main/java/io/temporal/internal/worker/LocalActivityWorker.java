@@ -22,19 +22,22 @@ package io.temporal.internal.worker;
 import com.google.protobuf.util.Timestamps;
 import com.uber.m3.tally.Scope;
 import com.uber.m3.tally.Stopwatch;
-import com.uber.m3.util.ImmutableMap;
 import io.temporal.api.common.v1.RetryPolicy;
 import io.temporal.api.workflowservice.v1.PollActivityTaskQueueResponse;
+import io.temporal.api.workflowservice.v1.PollActivityTaskQueueResponseOrBuilder;
 import io.temporal.common.RetryOptions;
 import io.temporal.failure.ApplicationFailure;
 import io.temporal.internal.common.ProtobufTimeUtils;
+import io.temporal.internal.jfr.TaskEvent;
+import io.temporal.internal.metrics.LocalActivityMetricsHandles;
+import io.temporal.internal.metrics.MetricsHandleRegistry;
 import io.temporal.internal.metrics.MetricsType;
 import io.temporal.internal.replay.ExecuteLocalActivityParameters;
 import io.temporal.internal.worker.activity.ActivityWorkerHelper;
 import io.temporal.serviceclient.MetricsTag;
+import io.temporal.worker.introspection.PollerSnapshot;
 import io.temporal.workflow.Functions;
 import java.time.Duration;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
@@ -43,13 +46,16 @@ import java.util.function.BiFunction;
 public final class LocalActivityWorker implements SuspendableWorker {
 
   private static final String POLL_THREAD_NAME_PREFIX = "Local Activity Poller taskQueue=";
+  private static final String WORKER_TYPE = "LocalActivityWorker";
 
   private SuspendableWorker poller = new NoopSuspendableWorker();
+  private PollTaskExecutor<Task> pollTaskExecutor;
   private final ActivityTaskHandler handler;
   private final String namespace;
   private final String taskQueue;
   private final SingleWorkerOptions options;
   private final LocalActivityPollTask laPollTask;
+  private final MetricsHandleRegistry<LocalActivityMetricsHandles> metricsHandles;
 
   public LocalActivityWorker(
       String namespace,
@@ -59,7 +65,7 @@ public final class LocalActivityWorker implements SuspendableWorker {
     this.namespace = Objects.requireNonNull(namespace);
     this.taskQueue = Objects.requireNonNull(taskQueue);
     this.handler = handler;
-    this.laPollTask = new LocalActivityPollTask();
+    this.laPollTask = new LocalActivityPollTask(options.getMetricsScope());
 
     PollerOptions pollerOptions = options.getPollerOptions();
     if (pollerOptions.getPollThreadNamePrefix() == null) {
@@ -75,16 +81,25 @@ public final class LocalActivityWorker implements SuspendableWorker {
               .build();
     }
     this.options = SingleWorkerOptions.newBuilder(options).setPollerOptions(pollerOptions).build();
+    this.metricsHandles =
+        new MetricsHandleRegistry<>(
+            this.options.getMetricsScope(),
+            MetricsTag.ACTIVITY_TYPE,
+            MetricsTag.WORKFLOW_TYPE,
+            LocalActivityMetricsHandles::new);
   }
 
   @Override
   public void start() {
     if (handler.isAnyTypeSupported()) {
+      pollTaskExecutor =
+          new PollTaskExecutor<>(
+              namespace, taskQueue, WORKER_TYPE, options, new TaskHandlerImpl(handler));
       poller =
           new Poller<>(
               options.getIdentity(),
               laPollTask,
-              new PollTaskExecutor<>(namespace, taskQueue, options, new TaskHandlerImpl(handler)),
+              pollTaskExecutor,
               options.getPollerOptions(),
               options.getMetricsScope());
       poller.start();
@@ -165,10 +180,15 @@ public final class LocalActivityWorker implements SuspendableWorker {
     return poller.isSuspended();
   }
 
+  public PollerSnapshot getSnapshot() {
+    return PollerSnapshots.of(WORKER_TYPE, poller, pollTaskExecutor);
+  }
+
   public static class Task {
     private final ExecuteLocalActivityParameters params;
     private final Functions.Proc1<ActivityTaskHandler.Result> eventConsumer;
     long taskStartTime;
+    TaskEvent queueWaitEvent = TaskEvent.NOOP;
 
     public Task(
         ExecuteLocalActivityParameters params,
@@ -180,6 +200,10 @@ public final class LocalActivityWorker implements SuspendableWorker {
     public String getActivityId() {
       return params.getActivityTask().getActivityId();
     }
+
+    PollActivityTaskQueueResponseOrBuilder getActivityTask() {
+      return params.getActivityTask();
+    }
   }
 
   public BiFunction<Task, Duration, Boolean> getLocalActivityTaskPoller() {
@@ -209,21 +233,18 @@ public final class LocalActivityWorker implements SuspendableWorker {
     private ActivityTaskHandler.Result handleLocalActivity(Task task) throws InterruptedException {
       ExecuteLocalActivityParameters params = task.params;
       PollActivityTaskQueueResponse.Builder activityTask = params.getActivityTask();
-      Map<String, String> activityTypeTag =
-          new ImmutableMap.Builder<String, String>(1)
-              .put(MetricsTag.ACTIVITY_TYPE, activityTask.getActivityType().getName())
-              .put(MetricsTag.WORKFLOW_TYPE, activityTask.getWorkflowType().getName())
-              .build();
-
-      Scope metricsScope = options.getMetricsScope().tagged(activityTypeTag);
-      metricsScope.counter(MetricsType.LOCAL_ACTIVITY_TOTAL_COUNTER).inc(1);
+      LocalActivityMetricsHandles metrics =
+          metricsHandles.get(
+              activityTask.getActivityType().getName(), activityTask.getWorkflowType().getName());
+      Scope metricsScope = metrics.getScope();
+      metrics.getTotalCounter().inc(1);
 
       if (activityTask.hasHeader()) {
         ActivityWorkerHelper.deserializeAndPopulateContext(
             activityTask.getHeader(), options.getContextPropagators());
       }
 
-      Stopwatch sw = metricsScope.timer(MetricsType.LOCAL_ACTIVITY_EXECUTION_LATENCY).start();
+      Stopwatch sw = metrics.getExecutionLatency().start();
       ActivityTaskHandler.Result result =
           handler.handle(new ActivityTask(activityTask.build(), () -> {}), metricsScope, true);
       sw.stop();
@@ -20,11 +20,26 @@
 package io.temporal.internal.worker;
 
 import com.google.common.base.Preconditions;
+import com.uber.m3.tally.Gauge;
+import com.uber.m3.tally.Scope;
+import com.uber.m3.tally.Timer;
+import com.uber.m3.util.ImmutableMap;
+import io.temporal.common.context.ContextPropagator;
 import io.temporal.internal.common.InternalUtils;
+import io.temporal.internal.jfr.TaskEvent;
+import io.temporal.internal.jfr.TaskEvents;
 import io.temporal.internal.logging.LoggerTag;
+import io.temporal.internal.metrics.MetricsType;
+import io.temporal.internal.metrics.TaskLatencyBreakdown;
+import io.temporal.serviceclient.MetricsTag;
+import io.temporal.worker.introspection.PollerSnapshot;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.MDC;
 
 final class PollTaskExecutor<T> implements ShutdownableTaskExecutor<T> {
@@ -33,22 +48,59 @@ final class PollTaskExecutor<T> implements ShutdownableTaskExecutor<T> {
     void handle(TT task) throws Exception;
 
     Throwable wrapFailure(TT task, Throwable failure);
+
+    /**
+     * Adds the task specific logging tags to the context that is put into the {@link MDC} for the
+     * duration of {@link #handle(Object)}.
+     */
+    default void putLoggingContext(TT task, Map<String, String> context) {}
   }
 
   private final ThreadPoolExecutor taskExecutor;
   private final SingleWorkerOptions options;
   private final String namespace;
   private final String taskQueue;
+  private final String workerType;
   private final TaskHandler<T> handler;
+  private final int slots;
+  private final AtomicInteger usedSlots = new AtomicInteger();
+  private final Object slotGaugesLock = new Object();
+  private final Gauge availableSlotsGauge;
+  private final Gauge usedSlotsGauge;
+  private final Timer dispatchLatency;
+  private final boolean clearLoggingContext;
+  private final RecentTaskLatencies recentTaskLatencies = new RecentTaskLatencies();
 
   PollTaskExecutor(
-      String namespace, String taskQueue, SingleWorkerOptions options, TaskHandler<T> handler) {
+      String namespace,
+      String taskQueue,
+      String workerType,
+      SingleWorkerOptions options,
+      TaskHandler<T> handler) {
     this.namespace = namespace;
     this.taskQueue = taskQueue;
+    this.workerType = workerType;
     this.handler = handler;
     Preconditions.checkNotNull(options, "options should not be null");
 
     this.options = options;
+    List<ContextPropagator> contextPropagators = options.getContextPropagators();
+    // Context propagators can put entries into the MDC even when the logging context is disabled
+    this.clearLoggingContext =
+        !options.getDisableLoggingContext()
+            || (contextPropagators != null && !contextPropagators.isEmpty());
+    this.slots = options.getTaskExecutorThreadPoolSize();
+    Scope metricsScope =
+        options
+            .getMetricsScope()
+            .tagged(
+                new ImmutableMap.Builder<String, String>(1)
+                    .put(MetricsTag.WORKER_TYPE, workerType)
+                    .build());
+    this.availableSlotsGauge = metricsScope.gauge(MetricsType.WORKER_TASK_SLOTS_AVAILABLE);
+    this.usedSlotsGauge = metricsScope.gauge(MetricsType.WORKER_TASK_SLOTS_USED);
+    this.dispatchLatency = metricsScope.timer(MetricsType.WORKER_TASK_DISPATCH_LATENCY);
+    updateSlotGauges();
     taskExecutor =
         new ThreadPoolExecutor(
             0,
@@ -60,15 +112,32 @@ final class PollTaskExecutor<T> implements ShutdownableTaskExecutor<T> {
         new ExecutorThreadFactory(
             options.getPollerOptions().getPollThreadNamePrefix().replaceFirst("Poller", "Executor"),
             options.getPollerOptions().getUncaughtExceptionHandler()));
-    taskExecutor.setRejectedExecutionHandler(new BlockCallerPolicy());
+    taskExecutor.setRejectedExecutionHandler(new BlockCallerPolicy(metricsScope));
   }
 
   @Override
   public void process(T task) {
+    TaskEvent dispatchEvent = TaskEvents.dispatch(namespace, taskQueue);
+    long dispatchStart = System.nanoTime();
     taskExecutor.execute(
         () -> {
-          MDC.put(LoggerTag.NAMESPACE, namespace);
-          MDC.put(LoggerTag.TASK_QUEUE, taskQueue);
+          usedSlots.incrementAndGet();
+          updateSlotGauges();
+          TaskLatencyBreakdown.begin();
+          TaskLatencyBreakdown.record(
+              dispatchLatency,
+              MetricsType.WORKER_TASK_DISPATCH_LATENCY,
+              System.nanoTime() - dispatchStart);
+          boolean loggingContext = !options.getDisableLoggingContext();
+          if (loggingContext) {
+            // A single setContextMap copies the map once instead of a copy per MDC put and remove.
+            Map<String, String> context = new HashMap<>();
+            context.put(LoggerTag.NAMESPACE, namespace);
+            context.put(LoggerTag.TASK_QUEUE, taskQueue);
+            handler.putLoggingContext(task, context);
+            MDC.setContextMap(context);
+          }
+          long handleStart = System.nanoTime();
           try {
             handler.handle(task);
           } catch (Throwable ee) {
@@ -79,10 +148,36 @@ final class PollTaskExecutor<T> implements ShutdownableTaskExecutor<T> {
                   .uncaughtException(Thread.currentThread(), handler.wrapFailure(task, ee));
             }
           } finally {
-            MDC.remove(LoggerTag.NAMESPACE);
-            MDC.remove(LoggerTag.TASK_QUEUE);
+            recentTaskLatencies.record(System.nanoTime() - handleStart);
+            // No-op if the handler has already logged the breakdown of the task
+            TaskLatencyBreakdown.end(workerType + " task");
+            if (clearLoggingContext) {
+              MDC.clear();
+            }
+            usedSlots.decrementAndGet();
+            updateSlotGauges();
           }
         });
+    dispatchEvent.commit();
+  }
+
+  PollerSnapshot snapshot(SuspendableWorker poller) {
+    return new PollerSnapshot(
+        workerType,
+        PollerSnapshots.state(poller),
+        slots,
+        usedSlots.get(),
+        recentTaskLatencies.snapshot());
+  }
+
+  // Reads the counter under the lock, so a thread that publishes an older value can't overwrite
+  // the value published by a thread that changed the counter later.
+  private void updateSlotGauges() {
+    synchronized (slotGaugesLock) {
+      int used = usedSlots.get();
+      usedSlotsGauge.update(used);
+      availableSlotsGauge.update(slots - used);
+    }
   }
 
   @Override
@@ -46,15 +46,25 @@ public final class PollWorkflowTaskDispatcher
   private String namespace;
   private final Scope metricsScope;
   private final WorkflowServiceStubs service;
+  private final int failureStackTraceMaxDepth;
   private Thread.UncaughtExceptionHandler uncaughtExceptionHandler =
       (t, e) -> log.error("uncaught exception", e);
   private final AtomicBoolean shutdown = new AtomicBoolean();
 
   public PollWorkflowTaskDispatcher(
       WorkflowServiceStubs service, String namespace, Scope metricsScope) {
+    this(service, namespace, metricsScope, Integer.MAX_VALUE);
+  }
+
+  public PollWorkflowTaskDispatcher(
+      WorkflowServiceStubs service,
+      String namespace,
+      Scope metricsScope,
+      int failureStackTraceMaxDepth) {
     this.service = Objects.requireNonNull(service);
     this.namespace = namespace;
     this.metricsScope = Objects.requireNonNull(metricsScope);
+    this.failureStackTraceMaxDepth = failureStackTraceMaxDepth;
   }
 
   @Override
@@ -76,7 +86,8 @@ public final class PollWorkflowTaskDispatcher
               .setNamespace(namespace)
               .setTaskToken(task.getTaskToken())
               .setCause(WorkflowTaskFailedCause.WORKFLOW_TASK_FAILED_CAUSE_RESET_STICKY_TASK_QUEUE)
-              .setFailure(FailureConverter.exceptionToFailure(exception))
+              .setFailure(
+                  FailureConverter.exceptionToFailure(exception, failureStackTraceMaxDepth))
               .build();
       log.warn("unexpected", exception);
 
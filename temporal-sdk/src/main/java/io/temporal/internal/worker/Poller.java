@@ -24,6 +24,8 @@ import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import io.temporal.internal.BackoffThrottler;
 import io.temporal.internal.common.InternalUtils;
+import io.temporal.internal.jfr.TaskEvent;
+import io.temporal.internal.jfr.TaskEvents;
 import io.temporal.internal.metrics.MetricsType;
 import java.util.Objects;
 import java.util.concurrent.ArrayBlockingQueue;
@@ -267,7 +269,15 @@ public final class Poller<T> implements SuspendableWorker {
 
     @Override
     public void run() throws Exception {
-      T task = pollTask.poll();
+      TaskEvent pollEvent = TaskEvents.poll(identity);
+      T task;
+      String pollStatus = "failed";
+      try {
+        task = pollTask.poll();
+        pollStatus = task == null ? "empty" : "task";
+      } finally {
+        pollEvent.setStatus(pollStatus).commit();
+      }
       if (task == null) {
         return;
       }
@@ -0,0 +1,51 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+package io.temporal.internal.worker;
+
+import io.temporal.worker.introspection.PollerSnapshot;
+import io.temporal.worker.introspection.TaskLatencySnapshot;
+import javax.annotation.Nullable;
+
+public final class PollerSnapshots {
+
+  /** Snapshot of a poller that dispatches its tasks to the executor of another poller. */
+  public static PollerSnapshot of(String workerType, SuspendableWorker poller) {
+    return new PollerSnapshot(workerType, state(poller), 0, 0, TaskLatencySnapshot.EMPTY);
+  }
+
+  static PollerSnapshot of(
+      String workerType, SuspendableWorker poller, @Nullable PollTaskExecutor<?> pollTaskExecutor) {
+    if (pollTaskExecutor == null) {
+      return of(workerType, poller);
+    }
+    return pollTaskExecutor.snapshot(poller);
+  }
+
+  static String state(SuspendableWorker poller) {
+    if (poller.isShutdown()) {
+      return "Shutdown";
+    }
+    if (poller.isSuspended()) {
+      return "Suspended";
+    }
+    return poller.isStarted() ? "Started" : "NotStarted";
+  }
+
+  private PollerSnapshots() {}
+}
@@ -0,0 +1,77 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+package io.temporal.internal.worker;
+
+import io.temporal.worker.introspection.TaskLatencySnapshot;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps the processing time of the last tasks in a ring buffer. Recording is a counter increment
+ * and an array store, the percentiles are computed only when a snapshot is requested.
+ */
+final class RecentTaskLatencies {
+
+  private static final int DEFAULT_CAPACITY = 1024;
+
+  private final AtomicLongArray nanos;
+  private final AtomicLong recorded = new AtomicLong();
+
+  RecentTaskLatencies() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  RecentTaskLatencies(int capacity) {
+    this.nanos = new AtomicLongArray(capacity);
+  }
+
+  void record(long taskNanos) {
+    long index = recorded.getAndIncrement();
+    nanos.lazySet((int) (index % nanos.length()), taskNanos);
+  }
+
+  TaskLatencySnapshot snapshot() {
+    int count = (int) Math.min(recorded.get(), nanos.length());
+    if (count == 0) {
+      return TaskLatencySnapshot.EMPTY;
+    }
+    long[] sorted = new long[count];
+    for (int i = 0; i < count; i++) {
+      sorted[i] = nanos.get(i);
+    }
+    Arrays.sort(sorted);
+    return new TaskLatencySnapshot(
+        count,
+        percentileMillis(sorted, 0.5),
+        percentileMillis(sorted, 0.9),
+        percentileMillis(sorted, 0.99),
+        toMillis(sorted[count - 1]));
+  }
+
+  private static double percentileMillis(long[] sorted, double percentile) {
+    int rank = (int) Math.ceil(percentile * sorted.length);
+    return toMillis(sorted[Math.max(rank, 1) - 1]);
+  }
+
+  private static double toMillis(long value) {
+    return (double) value / TimeUnit.MILLISECONDS.toNanos(1);
+  }
+}
@@ -23,6 +23,7 @@ import com.uber.m3.tally.NoopScope;
 import com.uber.m3.tally.Scope;
 import io.temporal.common.context.ContextPropagator;
 import io.temporal.common.converter.DataConverter;
+import io.temporal.common.converter.PayloadCodec;
 import java.time.Duration;
 import java.util.List;
 
@@ -41,10 +42,13 @@ public final class SingleWorkerOptions {
     private String identity;
     private String binaryChecksum;
     private DataConverter dataConverter;
+    private PayloadCodec payloadCodec;
+    private int failureStackTraceMaxDepth = Integer.MAX_VALUE;
     private int taskExecutorThreadPoolSize = 100;
     private PollerOptions pollerOptions;
     private Scope metricsScope;
     private boolean enableLoggingInReplay;
+    private boolean disableLoggingContext;
     private List<ContextPropagator> contextPropagators;
     private long defaultDeadlockDetectionTimeout;
 
@@ -57,10 +61,13 @@ public final class SingleWorkerOptions {
       this.identity = options.getIdentity();
       this.binaryChecksum = options.getBinaryChecksum();
       this.dataConverter = options.getDataConverter();
+      this.payloadCodec = options.getPayloadCodec();
+      this.failureStackTraceMaxDepth = options.getFailureStackTraceMaxDepth();
       this.pollerOptions = options.getPollerOptions();
       this.taskExecutorThreadPoolSize = options.getTaskExecutorThreadPoolSize();
       this.metricsScope = options.getMetricsScope();
       this.enableLoggingInReplay = options.getEnableLoggingInReplay();
+      this.disableLoggingContext = options.getDisableLoggingContext();
       this.contextPropagators = options.getContextPropagators();
       this.defaultDeadlockDetectionTimeout = options.getDefaultDeadlockDetectionTimeout();
     }
@@ -80,6 +87,16 @@ public final class SingleWorkerOptions {
       return this;
     }
 
+    public Builder setPayloadCodec(PayloadCodec payloadCodec) {
+      this.payloadCodec = payloadCodec;
+      return this;
+    }
+
+    public Builder setFailureStackTraceMaxDepth(int failureStackTraceMaxDepth) {
+      this.failureStackTraceMaxDepth = failureStackTraceMaxDepth;
+      return this;
+    }
+
     public Builder setTaskExecutorThreadPoolSize(int taskExecutorThreadPoolSize) {
       this.taskExecutorThreadPoolSize = taskExecutorThreadPoolSize;
       return this;
@@ -100,6 +117,11 @@ public final class SingleWorkerOptions {
       return this;
     }
 
+    public Builder setDisableLoggingContext(boolean disableLoggingContext) {
+      this.disableLoggingContext = disableLoggingContext;
+      return this;
+    }
+
     /** Specifies the list of context propagators to use during this workflow. */
     public Builder setContextPropagators(List<ContextPropagator> contextPropagators) {
       this.contextPropagators = contextPropagators;
@@ -133,10 +155,13 @@ public final class SingleWorkerOptions {
           identity,
           binaryChecksum,
           dataConverter,
+          payloadCodec,
+          failureStackTraceMaxDepth,
           taskExecutorThreadPoolSize,
           pollerOptions,
           metricsScope,
           enableLoggingInReplay,
+          disableLoggingContext,
           contextPropagators,
           defaultDeadlockDetectionTimeout);
     }
@@ -145,10 +170,13 @@ public final class SingleWorkerOptions {
   private final String identity;
   private final String binaryChecksum;
   private final DataConverter dataConverter;
+  private final PayloadCodec payloadCodec;
+  private final int failureStackTraceMaxDepth;
   private final int taskExecutorThreadPoolSize;
   private final PollerOptions pollerOptions;
   private final Scope metricsScope;
   private final boolean enableLoggingInReplay;
+  private final boolean disableLoggingContext;
   private final List<ContextPropagator> contextPropagators;
   private final long defaultDeadlockDetectionTimeout;
 
@@ -156,19 +184,25 @@ public final class SingleWorkerOptions {
       String identity,
       String binaryChecksum,
       DataConverter dataConverter,
+      PayloadCodec payloadCodec,
+      int failureStackTraceMaxDepth,
       int taskExecutorThreadPoolSize,
       PollerOptions pollerOptions,
       Scope metricsScope,
       boolean enableLoggingInReplay,
+      boolean disableLoggingContext,
       List<ContextPropagator> contextPropagators,
       long defaultDeadlockDetectionTimeout) {
     this.identity = identity;
     this.binaryChecksum = binaryChecksum;
     this.dataConverter = dataConverter;
+    this.payloadCodec = payloadCodec;
+    this.failureStackTraceMaxDepth = failureStackTraceMaxDepth;
     this.taskExecutorThreadPoolSize = taskExecutorThreadPoolSize;
     this.pollerOptions = pollerOptions;
     this.metricsScope = metricsScope;
     this.enableLoggingInReplay = enableLoggingInReplay;
+    this.disableLoggingContext = disableLoggingContext;
     this.contextPropagators = contextPropagators;
     this.defaultDeadlockDetectionTimeout = defaultDeadlockDetectionTimeout;
   }
@@ -185,6 +219,16 @@ public final class SingleWorkerOptions {
     return dataConverter;
   }
 
+  /** @return codec applied to the payloads of the tasks, null if none */
+  public PayloadCodec getPayloadCodec() {
+    return payloadCodec;
+  }
+
+  /** @return maximum number of stack trace elements serialized for each exception of a failure */
+  public int getFailureStackTraceMaxDepth() {
+    return failureStackTraceMaxDepth;
+  }
+
   int getTaskExecutorThreadPoolSize() {
     return taskExecutorThreadPoolSize;
   }
@@ -201,6 +245,11 @@ public final class SingleWorkerOptions {
     return enableLoggingInReplay;
   }
 
+  /** @return true if task handling shouldn't populate the logging {@link org.slf4j.MDC} */
+  public boolean getDisableLoggingContext() {
+    return disableLoggingContext;
+  }
+
   public List<ContextPropagator> getContextPropagators() {
     return contextPropagators;
   }
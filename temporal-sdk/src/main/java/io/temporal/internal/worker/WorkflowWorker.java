@@ -25,7 +25,6 @@ import com.google.common.base.Strings;
 import com.google.protobuf.ByteString;
 import com.uber.m3.tally.Scope;
 import com.uber.m3.tally.Stopwatch;
-import com.uber.m3.util.ImmutableMap;
 import io.temporal.api.common.v1.Payloads;
 import io.temporal.api.common.v1.WorkflowExecution;
 import io.temporal.api.common.v1.WorkflowType;
@@ -40,13 +39,18 @@ import io.temporal.api.workflowservice.v1.RespondWorkflowTaskCompletedRequest;
 import io.temporal.api.workflowservice.v1.RespondWorkflowTaskCompletedResponse;
 import io.temporal.api.workflowservice.v1.RespondWorkflowTaskFailedRequest;
 import io.temporal.internal.client.WorkflowClientHelper;
+import io.temporal.internal.common.MessagePayloadCodec;
 import io.temporal.internal.common.WorkflowExecutionHistory;
 import io.temporal.internal.logging.LoggerTag;
+import io.temporal.internal.metrics.MetricsHandleRegistry;
 import io.temporal.internal.metrics.MetricsType;
+import io.temporal.internal.metrics.TaskLatencyBreakdown;
+import io.temporal.internal.metrics.WorkflowTaskMetricsHandles;
 import io.temporal.internal.retryer.GrpcRetryer;
 import io.temporal.serviceclient.MetricsTag;
 import io.temporal.serviceclient.RpcRetryOptions;
 import io.temporal.serviceclient.WorkflowServiceStubs;
+import io.temporal.worker.introspection.PollerSnapshot;
 import io.temporal.workflow.Functions;
 import java.util.List;
 import java.util.Map;
@@ -55,12 +59,12 @@ import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
-import org.slf4j.MDC;
 
 public final class WorkflowWorker
     implements SuspendableWorker, Functions.Proc1<PollWorkflowTaskQueueResponse> {
 
   private static final String POLL_THREAD_NAME_PREFIX = "Workflow Poller taskQueue=";
+  private static final String WORKER_TYPE = "WorkflowWorker";
 
   private SuspendableWorker poller = new NoopSuspendableWorker();
   private PollTaskExecutor<PollWorkflowTaskQueueResponse> pollTaskExecutor;
@@ -70,6 +74,8 @@ public final class WorkflowWorker
   private final String taskQueue;
   private final SingleWorkerOptions options;
   private final String stickyTaskQueueName;
+  private final MessagePayloadCodec payloadCodec;
+  private final MetricsHandleRegistry<WorkflowTaskMetricsHandles> metricsHandles;
   private final WorkflowRunLockManager runLocks = new WorkflowRunLockManager();
 
   public WorkflowWorker(
@@ -99,13 +105,20 @@ public final class WorkflowWorker
               .build();
     }
     this.options = SingleWorkerOptions.newBuilder(options).setPollerOptions(pollerOptions).build();
+    this.payloadCodec = MessagePayloadCodec.newInstance(options.getPayloadCodec());
+    this.metricsHandles =
+        new MetricsHandleRegistry<>(
+            this.options.getMetricsScope(),
+            MetricsTag.WORKFLOW_TYPE,
+            WorkflowTaskMetricsHandles::new);
   }
 
   @Override
   public void start() {
     if (handler.isAnyTypeSupported()) {
       pollTaskExecutor =
-          new PollTaskExecutor<>(namespace, taskQueue, options, new TaskHandlerImpl(handler));
+          new PollTaskExecutor<>(
+              namespace, taskQueue, WORKER_TYPE, options, new TaskHandlerImpl(handler));
       poller =
           new Poller<>(
               options.getIdentity(),
@@ -199,7 +212,8 @@ public final class WorkflowWorker
     WorkflowType workflowType = started.getWorkflowType();
     task.setWorkflowType(workflowType);
     task.setHistory(History.newBuilder().addAllEvents(events));
-    WorkflowTaskHandler.Result result = handler.handleWorkflowTask(task.build());
+    WorkflowTaskHandler.Result result =
+        handler.handleWorkflowTask(payloadCodec.decodeBlocking(task.build()));
     if (result.getQueryCompleted() != null) {
       RespondQueryTaskCompletedRequest r = result.getQueryCompleted();
       if (!r.getErrorMessage().isEmpty()) {
@@ -271,8 +285,17 @@ public final class WorkflowWorker
     return poller.isSuspended();
   }
 
+  public PollerSnapshot getSnapshot() {
+    return PollerSnapshots.of(WORKER_TYPE, poller, pollTaskExecutor);
+  }
+
   @Override
   public void apply(PollWorkflowTaskQueueResponse pollWorkflowTaskQueueResponse) {
+    // Only tasks polled from the sticky task queue are dispatched here
+    options
+        .getMetricsScope()
+        .counter(MetricsType.WORKFLOW_TASK_QUEUE_STICKY_POLL_SUCCEED_COUNTER)
+        .inc(1);
     pollTaskExecutor.process(pollWorkflowTaskQueueResponse);
   }
 
@@ -287,14 +310,7 @@ public final class WorkflowWorker
 
     @Override
     public void handle(PollWorkflowTaskQueueResponse task) throws Exception {
-      Scope metricsScope =
-          options
-              .getMetricsScope()
-              .tagged(ImmutableMap.of(MetricsTag.WORKFLOW_TYPE, task.getWorkflowType().getName()));
-
-      MDC.put(LoggerTag.WORKFLOW_ID, task.getWorkflowExecution().getWorkflowId());
-      MDC.put(LoggerTag.WORKFLOW_TYPE, task.getWorkflowType().getName());
-      MDC.put(LoggerTag.RUN_ID, task.getWorkflowExecution().getRunId());
+      WorkflowTaskMetricsHandles metrics = metricsHandles.get(task.getWorkflowType().getName());
 
       Lock runLock = null;
       if (!Strings.isNullOrEmpty(stickyTaskQueueName)) {
@@ -308,35 +324,50 @@ public final class WorkflowWorker
         }
       }
 
-      Stopwatch swTotal =
-          metricsScope.timer(MetricsType.WORKFLOW_TASK_EXECUTION_TOTAL_LATENCY).start();
+      Stopwatch swTotal = metrics.getExecutionTotalLatency().start();
       try {
         Optional<PollWorkflowTaskQueueResponse> nextTask = Optional.of(task);
         do {
-          Stopwatch sw = metricsScope.timer(MetricsType.WORKFLOW_TASK_EXECUTION_LATENCY).start();
+          long executionStart = System.nanoTime();
           WorkflowTaskHandler.Result response;
           try {
-            response = handler.handleWorkflowTask(nextTask.get());
+            response = handler.handleWorkflowTask(payloadCodec.decodeBlocking(nextTask.get()));
+          } finally {
+            TaskLatencyBreakdown.record(
+                metrics.getExecutionLatency(),
+                MetricsType.WORKFLOW_TASK_EXECUTION_LATENCY,
+                System.nanoTime() - executionStart);
+          }
+          long respondStart = System.nanoTime();
+          try {
+            nextTask =
+                sendReply(service, metrics.getScope(), nextTask.get().getTaskToken(), response);
           } finally {
-            sw.stop();
+            TaskLatencyBreakdown.record(
+                metrics.getRespondLatency(),
+                MetricsType.WORKFLOW_TASK_RESPOND_LATENCY,
+                System.nanoTime() - respondStart);
           }
-          nextTask = sendReply(service, metricsScope, nextTask.get().getTaskToken(), response);
           if (nextTask.isPresent()) {
-            metricsScope.counter(MetricsType.WORKFLOW_TASK_HEARTBEAT_COUNTER).inc(1);
+            metrics.getHeartbeatCounter().inc(1);
           }
         } while (nextTask.isPresent());
       } finally {
         swTotal.stop();
-        MDC.remove(LoggerTag.WORKFLOW_ID);
-        MDC.remove(LoggerTag.WORKFLOW_TYPE);
-        MDC.remove(LoggerTag.RUN_ID);
-
+        TaskLatencyBreakdown.end("Workflow task");
         if (runLock != null) {
           runLocks.unlock(task.getWorkflowExecution().getRunId());
         }
       }
     }
 
+    @Override
+    public void putLoggingContext(PollWorkflowTaskQueueResponse task, Map<String, String> context) {
+      context.put(LoggerTag.WORKFLOW_ID, task.getWorkflowExecution().getWorkflowId());
+      context.put(LoggerTag.WORKFLOW_TYPE, task.getWorkflowType().getName());
+      context.put(LoggerTag.RUN_ID, task.getWorkflowExecution().getRunId());
+    }
+
     @Override
     public Throwable wrapFailure(PollWorkflowTaskQueueResponse task, Throwable failure) {
       WorkflowExecution execution = task.getWorkflowExecution();
@@ -358,28 +389,29 @@ public final class WorkflowWorker
       RpcRetryOptions ro = response.getRequestRetryOptions();
       RespondWorkflowTaskCompletedRequest taskCompleted = response.getTaskCompleted();
       if (taskCompleted != null) {
-        ro = RpcRetryOptions.newBuilder().buildWithDefaultsFrom(ro);
+        // RespondWorkflowTaskCompleted is idempotent, so its attempts can be hedged
+        ro =
+            RpcRetryOptions.newBuilder(service.getOptions().getRpcRetryOptions())
+                .setRetryOptions(ro)
+                .validateBuildWithDefaults();
 
         RespondWorkflowTaskCompletedRequest request =
-            taskCompleted
-                .toBuilder()
-                .setIdentity(options.getIdentity())
-                .setNamespace(namespace)
-                .setBinaryChecksum(options.getBinaryChecksum())
-                .setTaskToken(taskToken)
-                .build();
-        Map<String, String> tags =
-            new ImmutableMap.Builder<String, String>(4)
-                .put(MetricsTag.WORKFLOW_TYPE, response.getWorkflowType())
-                .build();
+            payloadCodec.encodeBlocking(
+                taskCompleted
+                    .toBuilder()
+                    .setIdentity(options.getIdentity())
+                    .setNamespace(namespace)
+                    .setBinaryChecksum(options.getBinaryChecksum())
+                    .setTaskToken(taskToken)
+                    .build());
         AtomicReference<RespondWorkflowTaskCompletedResponse> nextTask = new AtomicReference<>();
-        GrpcRetryer.retry(
+        GrpcRetryer.retryHedged(
             ro,
             () ->
                 nextTask.set(
                     service
                         .blockingStub()
-                        .withOption(METRICS_TAGS_CALL_OPTIONS_KEY, metricsScope.tagged(tags))
+                        .withOption(METRICS_TAGS_CALL_OPTIONS_KEY, metricsScope)
                         .respondWorkflowTaskCompleted(request)));
         if (nextTask.get().hasWorkflowTask()) {
           return Optional.of(nextTask.get().getWorkflowTask());
@@ -390,12 +422,13 @@ public final class WorkflowWorker
           ro = RpcRetryOptions.newBuilder().buildWithDefaultsFrom(ro);
 
           RespondWorkflowTaskFailedRequest request =
-              taskFailed
-                  .toBuilder()
-                  .setIdentity(options.getIdentity())
-                  .setNamespace(namespace)
-                  .setTaskToken(taskToken)
-                  .build();
+              payloadCodec.encodeBlocking(
+                  taskFailed
+                      .toBuilder()
+                      .setIdentity(options.getIdentity())
+                      .setNamespace(namespace)
+                      .setTaskToken(taskToken)
+                      .build());
           GrpcRetryer.retry(
               ro,
               () ->
@@ -407,7 +440,12 @@ public final class WorkflowWorker
           RespondQueryTaskCompletedRequest queryCompleted = response.getQueryCompleted();
           if (queryCompleted != null) {
             queryCompleted =
-                queryCompleted.toBuilder().setTaskToken(taskToken).setNamespace(namespace).build();
+                payloadCodec.encodeBlocking(
+                    queryCompleted
+                        .toBuilder()
+                        .setTaskToken(taskToken)
+                        .setNamespace(namespace)
+                        .build());
             // Do not retry query response.
             service
                 .blockingStub()
@@ -39,8 +39,11 @@ import io.temporal.internal.worker.SingleWorkerOptions;
 import io.temporal.internal.worker.Suspendable;
 import io.temporal.serviceclient.MetricsTag;
 import io.temporal.serviceclient.WorkflowServiceStubs;
+import io.temporal.worker.introspection.PollerSnapshot;
+import io.temporal.worker.introspection.WorkerSnapshot;
 import io.temporal.workflow.Functions.Func;
 import io.temporal.workflow.WorkflowMethod;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -159,6 +162,8 @@ public final class Worker implements Suspendable {
       Scope metricsScope) {
     return SingleWorkerOptions.newBuilder()
         .setDataConverter(clientOptions.getDataConverter())
+        .setPayloadCodec(clientOptions.getPayloadCodec())
+        .setFailureStackTraceMaxDepth(clientOptions.getFailureStackTraceMaxDepth())
         .setIdentity(clientOptions.getIdentity())
         .setBinaryChecksum(clientOptions.getBinaryChecksum())
         .setPollerOptions(
@@ -169,6 +174,7 @@ public final class Worker implements Suspendable {
         .setTaskExecutorThreadPoolSize(options.getMaxConcurrentActivityExecutionSize())
         .setMetricsScope(metricsScope)
         .setEnableLoggingInReplay(factoryOptions.isEnableLoggingInReplay())
+        .setDisableLoggingContext(factoryOptions.isDisableLoggingContext())
         .setContextPropagators(contextPropagators)
         .build();
   }
@@ -184,6 +190,8 @@ public final class Worker implements Suspendable {
         new ImmutableMap.Builder<String, String>(1).put(MetricsTag.TASK_QUEUE, taskQueue).build();
     return SingleWorkerOptions.newBuilder()
         .setDataConverter(clientOptions.getDataConverter())
+        .setPayloadCodec(clientOptions.getPayloadCodec())
+        .setFailureStackTraceMaxDepth(clientOptions.getFailureStackTraceMaxDepth())
         .setIdentity(clientOptions.getIdentity())
         .setBinaryChecksum(clientOptions.getBinaryChecksum())
         .setPollerOptions(
@@ -194,6 +202,7 @@ public final class Worker implements Suspendable {
         .setTaskExecutorThreadPoolSize(options.getMaxConcurrentWorkflowTaskExecutionSize())
         .setMetricsScope(metricsScope.tagged(tags))
         .setEnableLoggingInReplay(factoryOptions.isEnableLoggingInReplay())
+        .setDisableLoggingContext(factoryOptions.isDisableLoggingContext())
         .setContextPropagators(contextPropagators)
         .build();
   }
@@ -206,12 +215,15 @@ public final class Worker implements Suspendable {
       Scope metricsScope) {
     return SingleWorkerOptions.newBuilder()
         .setDataConverter(clientOptions.getDataConverter())
+        .setPayloadCodec(clientOptions.getPayloadCodec())
+        .setFailureStackTraceMaxDepth(clientOptions.getFailureStackTraceMaxDepth())
         .setIdentity(clientOptions.getIdentity())
         .setBinaryChecksum(clientOptions.getBinaryChecksum())
         .setPollerOptions(PollerOptions.newBuilder().build())
         .setTaskExecutorThreadPoolSize(options.getMaxConcurrentLocalActivityExecutionSize())
         .setMetricsScope(metricsScope)
         .setEnableLoggingInReplay(factoryOptions.isEnableLoggingInReplay())
+        .setDisableLoggingContext(factoryOptions.isDisableLoggingContext())
         .setContextPropagators(contextPropagators)
         .build();
   }
@@ -435,6 +447,14 @@ public final class Worker implements Suspendable {
     return isSuspended;
   }
 
+  WorkerSnapshot snapshot() {
+    List<PollerSnapshot> pollers = new ArrayList<>(workflowWorker.getPollerSnapshots());
+    if (activityWorker != null) {
+      pollers.add(activityWorker.getSnapshot());
+    }
+    return new WorkerSnapshot(taskQueue, pollers);
+  }
+
   /**
    * Name of the workflow type the interface defines. It is either the interface short name or value
    * of {@link WorkflowMethod#name()} parameter.
@@ -32,9 +32,15 @@ import io.temporal.internal.replay.WorkflowExecutorCache;
 import io.temporal.internal.worker.PollWorkflowTaskDispatcher;
 import io.temporal.internal.worker.Poller;
 import io.temporal.internal.worker.PollerOptions;
+import io.temporal.internal.worker.PollerSnapshots;
 import io.temporal.internal.worker.WorkflowPollTaskFactory;
 import io.temporal.serviceclient.MetricsTag;
+import io.temporal.worker.introspection.PollerSnapshot;
+import io.temporal.worker.introspection.WorkerFactorySnapshot;
+import io.temporal.worker.introspection.WorkerSnapshot;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
@@ -119,7 +125,8 @@ public final class WorkerFactory {
         new PollWorkflowTaskDispatcher(
             workflowClient.getWorkflowServiceStubs(),
             workflowClient.getOptions().getNamespace(),
-            metricsScope);
+            metricsScope,
+            workflowClient.getOptions().getFailureStackTraceMaxDepth());
     stickyPoller =
         new Poller<>(
             id.toString(),
@@ -209,6 +216,19 @@ public final class WorkerFactory {
     }
     state = State.Started;
 
+    // Connection establishment of the stubs created by WorkflowServiceStubs.newInstanceLazy
+    // overlaps with the workers startup. Polls issued before the connection is ready are buffered
+    // by gRPC.
+    workflowClient
+        .getWorkflowServiceStubs()
+        .connectAsync()
+        .whenComplete(
+            (r, e) -> {
+              if (e != null) {
+                log.warn("Failure while connecting to the Temporal service", e);
+              }
+            });
+
     for (Worker worker : workers.values()) {
       worker.start();
       if (worker.workflowWorker.isStarted()) {
@@ -318,6 +338,29 @@ public final class WorkerFactory {
     log.info("awaitTermination done");
   }
 
+  /**
+   * Returns a point in time view of the pollers of this factory and its workers and of the
+   * workflow runs held in the sticky cache. It doesn't block the workers and is cheap enough to be
+   * called periodically. Threads of a run that is in the middle of processing a workflow task are
+   * not reported.
+   *
+   * @see io.temporal.worker.introspection.WorkerIntrospectionServer
+   */
+  public WorkerFactorySnapshot getSnapshot() {
+    String state;
+    List<WorkerSnapshot> workerSnapshots = new ArrayList<>();
+    synchronized (this) {
+      state = this.state.name();
+      for (Worker worker : workers.values()) {
+        workerSnapshots.add(worker.snapshot());
+      }
+    }
+    PollerSnapshot stickyPollerSnapshot =
+        stickyPoller == null ? null : PollerSnapshots.of("StickyWorkflowPoller", stickyPoller);
+    return new WorkerFactorySnapshot(
+        state, stickyPollerSnapshot, workerSnapshots, cache.snapshot());
+  }
+
   @VisibleForTesting
   WorkflowExecutorCache getCache() {
     return this.cache;
@@ -46,6 +46,7 @@ public final class WorkflowImplementationOptions {
     private Class<? extends Throwable>[] failWorkflowExceptionTypes;
     private Map<String, ActivityOptions> activityOptions;
     private ActivityOptions defaultActivityOptions;
+    private int payloadCacheMaximumSize;
 
     private Builder() {}
 
@@ -96,25 +97,56 @@ public final class WorkflowImplementationOptions {
       return this;
     }
 
+    /**
+     * Optional: Enables caching of the serialized activity and local activity arguments for the
+     * duration of a workflow run. A workflow that passes the same object instance to many
+     * activities serializes it only once and all the resulting commands share the same payload.
+     * Identical payloads produced from different instances are deduplicated in memory as well.
+     *
+     * <p>The cache is keyed by the object identity, so the objects passed as activity arguments
+     * must not be modified after they were passed the first time. Default is 0 which disables the
+     * cache.
+     *
+     * @param payloadCacheMaximumSize maximum number of the cached payloads per workflow run
+     */
+    public Builder setPayloadCacheMaximumSize(int payloadCacheMaximumSize) {
+      if (payloadCacheMaximumSize < 0) {
+        throw new IllegalArgumentException("negative payloadCacheMaximumSize");
+      }
+      this.payloadCacheMaximumSize = payloadCacheMaximumSize;
+      return this;
+    }
+
     public WorkflowImplementationOptions build() {
       return new WorkflowImplementationOptions(
           failWorkflowExceptionTypes == null ? new Class[0] : failWorkflowExceptionTypes,
           activityOptions == null ? new HashMap<>() : activityOptions,
-          defaultActivityOptions);
+          defaultActivityOptions,
+          payloadCacheMaximumSize);
     }
   }
 
   private final Class<? extends Throwable>[] failWorkflowExceptionTypes;
   private final Map<String, ActivityOptions> activityOptions;
   private final ActivityOptions defaultActivityOptions;
+  private final int payloadCacheMaximumSize;
 
   public WorkflowImplementationOptions(
       Class<? extends Throwable>[] failWorkflowExceptionTypes,
       Map<String, ActivityOptions> activityOptions,
       ActivityOptions defaultActivityOptions) {
+    this(failWorkflowExceptionTypes, activityOptions, defaultActivityOptions, 0);
+  }
+
+  public WorkflowImplementationOptions(
+      Class<? extends Throwable>[] failWorkflowExceptionTypes,
+      Map<String, ActivityOptions> activityOptions,
+      ActivityOptions defaultActivityOptions,
+      int payloadCacheMaximumSize) {
     this.failWorkflowExceptionTypes = failWorkflowExceptionTypes;
     this.activityOptions = activityOptions;
     this.defaultActivityOptions = defaultActivityOptions;
+    this.payloadCacheMaximumSize = payloadCacheMaximumSize;
   }
 
   public Class<? extends Throwable>[] getFailWorkflowExceptionTypes() {
@@ -129,6 +161,10 @@ public final class WorkflowImplementationOptions {
     return defaultActivityOptions;
   }
 
+  public int getPayloadCacheMaximumSize() {
+    return payloadCacheMaximumSize;
+  }
+
   @Override
   public String toString() {
     return "WorkflowImplementationOptions{"
@@ -138,6 +174,8 @@ public final class WorkflowImplementationOptions {
         + activityOptions
         + ", defaultActivityOptions="
         + defaultActivityOptions
+        + ", payloadCacheMaximumSize="
+        + payloadCacheMaximumSize
         + '}';
   }
 
@@ -146,14 +184,15 @@ public final class WorkflowImplementationOptions {
     if (this == o) return true;
     if (o == null || getClass() != o.getClass()) return false;
     WorkflowImplementationOptions that = (WorkflowImplementationOptions) o;
-    return Arrays.equals(failWorkflowExceptionTypes, that.failWorkflowExceptionTypes)
+    return payloadCacheMaximumSize == that.payloadCacheMaximumSize
+        && Arrays.equals(failWorkflowExceptionTypes, that.failWorkflowExceptionTypes)
         && Objects.equals(activityOptions, that.activityOptions)
         && Objects.equals(defaultActivityOptions, that.defaultActivityOptions);
   }
 
   @Override
   public int hashCode() {
-    int result = Objects.hash(activityOptions, defaultActivityOptions);
+    int result = Objects.hash(activityOptions, defaultActivityOptions, payloadCacheMaximumSize);
     result = 31 * result + Arrays.hashCode(failWorkflowExceptionTypes);
     return result;
   }
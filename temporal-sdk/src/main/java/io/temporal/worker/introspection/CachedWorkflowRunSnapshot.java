@@ -0,0 +1,119 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+package io.temporal.worker.introspection;
+
+import java.util.List;
+import javax.annotation.Nullable;
+
+/** State of a workflow run kept in the workflow cache of a worker factory. */
+public final class CachedWorkflowRunSnapshot {
+  private final String workflowId;
+  private final String runId;
+  private final String workflowType;
+  private final long ageMillis;
+  private final long eventCount;
+  private final boolean inProcessing;
+  private final int outstandingLocalActivities;
+  private final List<WorkflowThreadSnapshot> threads;
+
+  public CachedWorkflowRunSnapshot(
+      String workflowId,
+      String runId,
+      String workflowType,
+      long ageMillis,
+      long eventCount,
+      boolean inProcessing,
+      int outstandingLocalActivities,
+      @Nullable List<WorkflowThreadSnapshot> threads) {
+    this.workflowId = workflowId;
+    this.runId = runId;
+    this.workflowType = workflowType;
+    this.ageMillis = ageMillis;
+    this.eventCount = eventCount;
+    this.inProcessing = inProcessing;
+    this.outstandingLocalActivities = outstandingLocalActivities;
+    this.threads = threads;
+  }
+
+  public String getWorkflowId() {
+    return workflowId;
+  }
+
+  public String getRunId() {
+    return runId;
+  }
+
+  public String getWorkflowType() {
+    return workflowType;
+  }
+
+  /** @return time since the run was loaded into the cache */
+  public long getAgeMillis() {
+    return ageMillis;
+  }
+
+  /** @return number of history events applied to the run */
+  public long getEventCount() {
+    return eventCount;
+  }
+
+  /** @return true if a workflow task of the run is being processed */
+  public boolean isInProcessing() {
+    return inProcessing;
+  }
+
+  /** @return local activities scheduled by the run that haven't completed yet */
+  public int getOutstandingLocalActivities() {
+    return outstandingLocalActivities;
+  }
+
+  /**
+   * @return workflow threads of the run, null if the threads were running when the snapshot was
+   *     taken
+   */
+  @Nullable
+  public List<WorkflowThreadSnapshot> getThreads() {
+    return threads;
+  }
+
+  @Override
+  public String toString() {
+    return "CachedWorkflowRunSnapshot{"
+        + "workflowId='"
+        + workflowId
+        + '\''
+        + ", runId='"
+        + runId
+        + '\''
+        + ", workflowType='"
+        + workflowType
+        + '\''
+        + ", ageMillis="
+        + ageMillis
+        + ", eventCount="
+        + eventCount
+        + ", inProcessing="
+        + inProcessing
+        + ", outstandingLocalActivities="
+        + outstandingLocalActivities
+        + ", threads="
+        + threads
+        + '}';
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+package io.temporal.worker.introspection;
+
+/** State of a poller and of the executor processing the tasks it polls. */
+public final class PollerSnapshot {
+  private final String workerType;
+  private final String state;
+  private final int executorSlots;
+  private final int executorSlotsUsed;
+  private final TaskLatencySnapshot recentTaskLatency;
+
+  public PollerSnapshot(
+      String workerType,
+      String state,
+      int executorSlots,
+      int executorSlotsUsed,
+      TaskLatencySnapshot recentTaskLatency) {
+    this.workerType = workerType;
+    this.state = state;
+    this.executorSlots = executorSlots;
+    this.executorSlotsUsed = executorSlotsUsed;
+    this.recentTaskLatency = recentTaskLatency;
+  }
+
+  /** @return WorkflowWorker, ActivityWorker, LocalActivityWorker or StickyWorkflowPoller */
+  public String getWorkerType() {
+    return workerType;
+  }
+
+  /** @return one of NotStarted, Started, Suspended or Shutdown */
+  public String getState() {
+    return state;
+  }
+
+  public int getExecutorSlots() {
+    return executorSlots;
+  }
+
+  public int getExecutorSlotsUsed() {
+    return executorSlotsUsed;
+  }
+
+  public TaskLatencySnapshot getRecentTaskLatency() {
+    return recentTaskLatency;
+  }
+
+  @Override
+  public String toString() {
+    return "PollerSnapshot{"
+        + "workerType='"
+        + workerType
+        + '\''
+        + ", state='"
+        + state
+        + '\''
+        + ", executorSlots="
+        + executorSlots
+        + ", executorSlotsUsed="
+        + executorSlotsUsed
+        + ", recentTaskLatency="
+        + recentTaskLatency
+        + '}';
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+package io.temporal.worker.introspection;
+
+/** Percentiles of the processing time of the most recent tasks of a poller. */
+public final class TaskLatencySnapshot {
+  public static final TaskLatencySnapshot EMPTY = new TaskLatencySnapshot(0, 0, 0, 0, 0);
+
+  private final int count;
+  private final double p50Millis;
+  private final double p90Millis;
+  private final double p99Millis;
+  private final double maxMillis;
+
+  public TaskLatencySnapshot(
+      int count, double p50Millis, double p90Millis, double p99Millis, double maxMillis) {
+    this.count = count;
+    this.p50Millis = p50Millis;
+    this.p90Millis = p90Millis;
+    this.p99Millis = p99Millis;
+    this.maxMillis = maxMillis;
+  }
+
+  /** @return number of recent tasks the percentiles are computed from */
+  public int getCount() {
+    return count;
+  }
+
+  public double getP50Millis() {
+    return p50Millis;
+  }
+
+  public double getP90Millis() {
+    return p90Millis;
+  }
+
+  public double getP99Millis() {
+    return p99Millis;
+  }
+
+  public double getMaxMillis() {
+    return maxMillis;
+  }
+
+  @Override
+  public String toString() {
+    return "TaskLatencySnapshot{"
+        + "count="
+        + count
+        + ", p50Millis="
+        + p50Millis
+        + ", p90Millis="
+        + p90Millis
+        + ", p99Millis="
+        + p99Millis
+        + ", maxMillis="
+        + maxMillis
+        + '}';
+  }
+}
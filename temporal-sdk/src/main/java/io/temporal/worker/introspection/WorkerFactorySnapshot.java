@@ -0,0 +1,76 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+package io.temporal.worker.introspection;
+
+import java.util.List;
+
+/**
+ * Live state of a {@link io.temporal.worker.WorkerFactory} returned by {@link
+ * io.temporal.worker.WorkerFactory#getSnapshot()}.
+ */
+public final class WorkerFactorySnapshot {
+  private final String state;
+  private final PollerSnapshot stickyPoller;
+  private final List<WorkerSnapshot> workers;
+  private final List<CachedWorkflowRunSnapshot> cachedWorkflowRuns;
+
+  public WorkerFactorySnapshot(
+      String state,
+      PollerSnapshot stickyPoller,
+      List<WorkerSnapshot> workers,
+      List<CachedWorkflowRunSnapshot> cachedWorkflowRuns) {
+    this.state = state;
+    this.stickyPoller = stickyPoller;
+    this.workers = workers;
+    this.cachedWorkflowRuns = cachedWorkflowRuns;
+  }
+
+  /** @return one of Initial, Started, Suspended or Shutdown */
+  public String getState() {
+    return state;
+  }
+
+  /** @return poller of the host local task queue used by the cached workflow runs */
+  public PollerSnapshot getStickyPoller() {
+    return stickyPoller;
+  }
+
+  public List<WorkerSnapshot> getWorkers() {
+    return workers;
+  }
+
+  public List<CachedWorkflowRunSnapshot> getCachedWorkflowRuns() {
+    return cachedWorkflowRuns;
+  }
+
+  @Override
+  public String toString() {
+    return "WorkerFactorySnapshot{"
+        + "state='"
+        + state
+        + '\''
+        + ", stickyPoller="
+        + stickyPoller
+        + ", workers="
+        + workers
+        + ", cachedWorkflowRuns="
+        + cachedWorkflowRuns
+        + '}';
+  }
+}
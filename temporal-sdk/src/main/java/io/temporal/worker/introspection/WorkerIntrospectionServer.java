@@ -0,0 +1,113 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+package io.temporal.worker.introspection;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.temporal.worker.WorkerFactory;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Objects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Serves {@link WorkerFactory#getSnapshot()} as JSON over HTTP. Not started unless requested
+ * explicitly:
+ *
+ * <pre><code>
+ * WorkerIntrospectionServer server = WorkerIntrospectionServer.start(factory, 9090);
+ * ...
+ * server.close();
+ * </code></pre>
+ *
+ * <p>A snapshot is taken per request, so the server costs nothing while nobody polls it. The
+ * endpoint exposes workflow ids and has no authentication, so {@link #start(WorkerFactory, int)}
+ * binds to the loopback address only.
+ */
+public final class WorkerIntrospectionServer implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(WorkerIntrospectionServer.class);
+
+  public static final String PATH = "/temporal/worker";
+
+  private static final ObjectMapper MAPPER =
+      new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+  private final WorkerFactory factory;
+  private final HttpServer server;
+
+  /**
+   * Starts a server on the loopback address.
+   *
+   * @param port port to listen on, 0 to pick an ephemeral one
+   */
+  public static WorkerIntrospectionServer start(WorkerFactory factory, int port)
+      throws IOException {
+    return start(factory, new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+  }
+
+  public static WorkerIntrospectionServer start(WorkerFactory factory, InetSocketAddress address)
+      throws IOException {
+    return new WorkerIntrospectionServer(factory, address);
+  }
+
+  private WorkerIntrospectionServer(WorkerFactory factory, InetSocketAddress address)
+      throws IOException {
+    this.factory = Objects.requireNonNull(factory);
+    this.server = HttpServer.create(address, 0);
+    server.createContext(PATH, this::handle);
+    server.start();
+    log.info("Worker introspection is available at http://{}{}", getAddress(), PATH);
+  }
+
+  public InetSocketAddress getAddress() {
+    return server.getAddress();
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try {
+      if (!"GET".equals(exchange.getRequestMethod())) {
+        exchange.sendResponseHeaders(405, -1);
+        return;
+      }
+      byte[] body = MAPPER.writeValueAsBytes(factory.getSnapshot());
+      exchange.getResponseHeaders().set("Content-Type", "application/json");
+      exchange.sendResponseHeaders(200, body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    } catch (RuntimeException e) {
+      log.warn("Failure while taking worker snapshot", e);
+      exchange.sendResponseHeaders(500, -1);
+    } finally {
+      exchange.close();
+    }
+  }
+
+  /** Stops the server without waiting for in flight requests. */
+  @Override
+  public void close() {
+    server.stop(0);
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+package io.temporal.worker.introspection;
+
+import java.util.List;
+
+/** State of the pollers of a worker. */
+public final class WorkerSnapshot {
+  private final String taskQueue;
+  private final List<PollerSnapshot> pollers;
+
+  public WorkerSnapshot(String taskQueue, List<PollerSnapshot> pollers) {
+    this.taskQueue = taskQueue;
+    this.pollers = pollers;
+  }
+
+  public String getTaskQueue() {
+    return taskQueue;
+  }
+
+  public List<PollerSnapshot> getPollers() {
+    return pollers;
+  }
+
+  @Override
+  public String toString() {
+    return "WorkerSnapshot{" + "taskQueue='" + taskQueue + '\'' + ", pollers=" + pollers + '}';
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.converter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.protobuf.ByteString;
+import io.temporal.api.common.v1.Payload;
+import io.temporal.api.common.v1.Payloads;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ClaimCheckDataConverterTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private FileSystemBlobStore blobStore;
+  private DataConverter converter;
+
+  @Before
+  public void setUp() throws IOException {
+    blobStore = new FileSystemBlobStore(folder.getRoot().toPath());
+    converter =
+        new ClaimCheckDataConverter(DataConverter.getDefaultInstance(), blobStore, 1024, 0);
+  }
+
+  @Test
+  public void testSmallPayloadIsInlined() {
+    Payload payload = converter.toPayload("small").get();
+    assertEquals("small", converter.fromPayload(payload, String.class, String.class));
+    assertEquals(0, folder.getRoot().list().length);
+  }
+
+  @Test
+  public void testLargePayloadIsStored() throws IOException {
+    String value = new String(new char[4096]).replace('\0', 'a');
+    Payload payload = converter.toPayload(value).get();
+    assertTrue(payload.getSerializedSize() < 1024);
+    assertEquals(
+        EncodingKeys.METADATA_ENCODING_CLAIM_CHECK,
+        payload.getMetadataOrThrow(EncodingKeys.METADATA_ENCODING_KEY));
+    assertEquals(1, folder.getRoot().list().length);
+    assertTrue(Files.exists(folder.getRoot().toPath().resolve(payload.getData().toStringUtf8())));
+
+    assertEquals(value, converter.fromPayload(payload, String.class, String.class));
+  }
+
+  @Test
+  public void testPayloads() {
+    String large = new String(new char[4096]).replace('\0', 'b');
+    Optional<Payloads> payloads = converter.toPayloads("small", large, large);
+    assertEquals(1, folder.getRoot().list().length);
+    assertEquals("small", converter.fromPayloads(0, payloads, String.class, String.class));
+    assertEquals(large, converter.fromPayloads(1, payloads, String.class, String.class));
+    assertEquals(large, converter.fromPayloads(2, payloads, String.class, String.class));
+  }
+
+  @Test
+  public void testRawValuePassesReferenceThrough() {
+    String large = new String(new char[4096]).replace('\0', 'c');
+    Payload reference = converter.toPayload(large).get();
+    RawValue raw = converter.fromPayload(reference, RawValue.class, RawValue.class);
+    assertEquals(reference, raw.getPayload());
+    assertEquals(reference, converter.toPayload(raw).get());
+  }
+
+  @Test
+  public void testCachedPayloadIsNotStoredAgain() throws IOException {
+    AtomicInteger puts = new AtomicInteger();
+    BlobStore countingStore =
+        new BlobStore() {
+          @Override
+          public void put(String key, ByteString blob) throws IOException {
+            puts.incrementAndGet();
+            blobStore.put(key, blob);
+          }
+
+          @Override
+          public ByteString get(String key) throws IOException {
+            return blobStore.get(key);
+          }
+        };
+    DataConverter cachingConverter =
+        new ClaimCheckDataConverter(
+            DataConverter.getDefaultInstance(), countingStore, 1024, 1024 * 1024);
+    String large = new String(new char[4096]).replace('\0', 'd');
+
+    Payload first = cachingConverter.toPayload(large).get();
+    Payload second = cachingConverter.toPayload(large).get();
+    assertEquals(first, second);
+    assertEquals(1, puts.get());
+    assertEquals(large, cachingConverter.fromPayload(second, String.class, String.class));
+  }
+}
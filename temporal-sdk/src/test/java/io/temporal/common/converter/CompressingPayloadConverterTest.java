@@ -0,0 +1,69 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.converter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Strings;
+import io.temporal.api.common.v1.Payload;
+import io.temporal.api.common.v1.Payloads;
+import java.util.Optional;
+import org.junit.Test;
+
+public class CompressingPayloadConverterTest {
+
+  private final DataConverter converter =
+      DefaultDataConverter.newDefaultInstance()
+          .withPayloadConverterOverrides(
+              new CompressingPayloadConverter(new JacksonJsonPayloadConverter(), 1024));
+
+  @Test
+  public void testLargePayloadIsCompressed() {
+    String value = Strings.repeat("large compressible value ", 1000);
+    Optional<Payloads> data = converter.toPayloads(value);
+    Payload payload = data.get().getPayloads(0);
+    assertEquals(
+        EncodingKeys.METADATA_COMPRESSION_GZIP,
+        payload.getMetadataOrThrow(EncodingKeys.METADATA_COMPRESSION_KEY));
+    assertEquals(
+        EncodingKeys.METADATA_ENCODING_JSON,
+        payload.getMetadataOrThrow(EncodingKeys.METADATA_ENCODING_KEY));
+    assertTrue(payload.getData().size() < value.length());
+    assertEquals(value, converter.fromPayloads(0, data, String.class, String.class));
+  }
+
+  @Test
+  public void testSmallPayloadIsNotCompressed() {
+    String value = "small value";
+    Optional<Payloads> data = converter.toPayloads(value);
+    assertFalse(
+        data.get().getPayloads(0).containsMetadata(EncodingKeys.METADATA_COMPRESSION_KEY));
+    assertEquals(value, converter.fromPayloads(0, data, String.class, String.class));
+  }
+
+  @Test
+  public void testUncompressedPayloadsAreDecoded() {
+    String value = Strings.repeat("value written without compression ", 1000);
+    Optional<Payloads> data = DataConverter.getDefaultInstance().toPayloads(value);
+    assertEquals(value, converter.fromPayloads(0, data, String.class, String.class));
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+package io.temporal.common.converter;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import com.google.protobuf.ByteString;
+import io.temporal.api.common.v1.Payload;
+import java.lang.reflect.Type;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class DefaultDataConverterTest {
+
+  /** Takes over the binary/plain encoding and accepts any value. */
+  private static class CatchAllBinaryConverter implements PayloadConverter {
+    final AtomicInteger decoded = new AtomicInteger();
+
+    @Override
+    public String getEncodingType() {
+      return EncodingKeys.METADATA_ENCODING_RAW_NAME;
+    }
+
+    @Override
+    public Optional<Payload> toData(Object value) throws DataConverterException {
+      return Optional.of(
+          Payload.newBuilder()
+              .putMetadata(EncodingKeys.METADATA_ENCODING_KEY, EncodingKeys.METADATA_ENCODING_RAW)
+              .setData(ByteString.copyFromUtf8(String.valueOf(value)))
+              .build());
+    }
+
+    @Override
+    public <T> T fromData(Payload content, Class<T> valueClass, Type valueType)
+        throws DataConverterException {
+      decoded.incrementAndGet();
+      return valueClass.cast(content.getData().toStringUtf8());
+    }
+  }
+
+  @Test
+  public void testValuesAreDispatchedByClass() {
+    DefaultDataConverter converter = DefaultDataConverter.newDefaultInstance();
+    // Repeated to go through both the full converter scan and the cached converter index
+    for (int i = 0; i < 2; i++) {
+      assertEquals(EncodingKeys.METADATA_ENCODING_JSON_NAME, encoding(converter.toPayload("s")));
+      assertEquals(
+          EncodingKeys.METADATA_ENCODING_RAW_NAME, encoding(converter.toPayload(new byte[] {1})));
+      assertEquals(EncodingKeys.METADATA_ENCODING_NULL_NAME, encoding(converter.toPayload(null)));
+    }
+    Payload payload = converter.toPayload(new byte[] {1, 2}).get();
+    assertArrayEquals(
+        new byte[] {1, 2}, converter.fromPayload(payload, byte[].class, byte[].class));
+  }
+
+  @Test
+  public void testOverrideOfStandardEncoding() {
+    DefaultDataConverter converter = DefaultDataConverter.newDefaultInstance();
+    // Populates the converter index of String with the json converter
+    assertEquals(EncodingKeys.METADATA_ENCODING_JSON_NAME, encoding(converter.toPayload("s")));
+
+    CatchAllBinaryConverter override = new CatchAllBinaryConverter();
+    converter.withPayloadConverterOverrides(override);
+
+    // The override comes before the json converter and is not type based, so the cached index of
+    // String must be dropped.
+    Payload payload = converter.toPayload("s").get();
+    assertEquals(EncodingKeys.METADATA_ENCODING_RAW_NAME, encoding(Optional.of(payload)));
+    assertEquals("s", converter.fromPayload(payload, String.class, String.class));
+    assertEquals(1, override.decoded.get());
+
+    Payload json = DefaultDataConverter.newDefaultInstance().toPayload("j").get();
+    assertEquals("j", converter.fromPayload(json, String.class, String.class));
+    assertEquals(1, override.decoded.get());
+  }
+
+  @Test
+  public void testUnknownEncoding() {
+    Payload payload =
+        Payload.newBuilder()
+            .putMetadata(EncodingKeys.METADATA_ENCODING_KEY, ByteString.copyFrom("unknown", UTF_8))
+            .build();
+    try {
+      DefaultDataConverter.newDefaultInstance().fromPayload(payload, String.class, String.class);
+      fail("unreachable");
+    } catch (DataConverterException e) {
+      assertEquals(IllegalArgumentException.class, e.getCause().getClass());
+    }
+  }
+
+  private static String encoding(Optional<Payload> payload) {
+    return payload.get().getMetadataOrThrow(EncodingKeys.METADATA_ENCODING_KEY).toStringUtf8();
+  }
+}
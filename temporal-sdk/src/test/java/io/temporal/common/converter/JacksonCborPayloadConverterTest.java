@@ -0,0 +1,51 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+package io.temporal.common.converter;
+
+import static org.junit.Assert.assertEquals;
+
+import io.temporal.api.common.v1.Payloads;
+import io.temporal.common.converter.ProtoPayloadConverterTest.TestPayload;
+import java.time.Instant;
+import java.util.Optional;
+import org.junit.Test;
+
+public class JacksonCborPayloadConverterTest {
+
+  @Test
+  public void testCbor() {
+    DataConverter converter =
+        new DefaultDataConverter(
+            new NullPayloadConverter(),
+            new ByteArrayPayloadConverter(),
+            new ProtobufJsonPayloadConverter(),
+            new JacksonCborPayloadConverter(),
+            new JacksonJsonPayloadConverter());
+    TestPayload payload = new TestPayload(1L, Instant.now(), "myPayload");
+    Optional<Payloads> data = converter.toPayloads(payload);
+    assertEquals(
+        EncodingKeys.METADATA_ENCODING_CBOR,
+        data.get().getPayloads(0).getMetadataOrThrow(EncodingKeys.METADATA_ENCODING_KEY));
+    assertEquals(payload, converter.fromPayloads(0, data, TestPayload.class, TestPayload.class));
+
+    Optional<Payloads> jsonData = DataConverter.getDefaultInstance().toPayloads(payload);
+    assertEquals(
+        payload, converter.fromPayloads(0, jsonData, TestPayload.class, TestPayload.class));
+  }
+}
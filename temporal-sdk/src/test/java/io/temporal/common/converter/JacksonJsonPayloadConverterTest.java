@@ -0,0 +1,112 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+package io.temporal.common.converter;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.base.Strings;
+import io.temporal.api.common.v1.Payload;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.junit.Test;
+
+public class JacksonJsonPayloadConverterTest {
+
+  private final JacksonJsonPayloadConverter converter = new JacksonJsonPayloadConverter();
+
+  public static class Point {
+    private int x;
+    private int y;
+
+    public Point() {}
+
+    public Point(int x, int y) {
+      this.x = x;
+      this.y = y;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Point point = (Point) o;
+      return x == point.x && y == point.y;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(x, y);
+    }
+  }
+
+  public static void generic(
+      List<Map<String, Point>> points, List<Integer> integers, List<String> strings) {}
+
+  @Test
+  public void testGenericRoundTrip() throws NoSuchMethodException {
+    Type[] types = genericParameterTypes();
+    List<Map<String, Point>> value =
+        Arrays.asList(
+            Collections.singletonMap("a", new Point(1, 2)),
+            Collections.singletonMap("b", new Point(3, 4)));
+    Payload payload = converter.toData(value).get();
+
+    // Decoded twice to go through both the reader creation and the cached reader
+    for (int i = 0; i < 2; i++) {
+      assertEquals(value, converter.fromData(payload, List.class, types[0]));
+    }
+  }
+
+  @Test
+  public void testReadersAreCachedPerGenericType() throws NoSuchMethodException {
+    Type[] types = genericParameterTypes();
+    Payload payload = converter.toData(Arrays.asList(1, 2)).get();
+
+    assertEquals(Arrays.asList(1, 2), converter.fromData(payload, List.class, types[1]));
+    // Same raw class, different type arguments must not reuse the reader of List<Integer>
+    assertEquals(Arrays.asList("1", "2"), converter.fromData(payload, List.class, types[2]));
+    assertEquals(Arrays.asList(1, 2), converter.fromData(payload, List.class, types[1]));
+  }
+
+  @Test
+  public void testLargeValueStreaming() {
+    // Larger than the initial chunk of ByteString.Output, so the output spans several chunks
+    String value = Strings.repeat("0123456789", 100_000);
+    Payload payload = converter.toData(value).get();
+
+    assertEquals(value.length() + 2, payload.getData().size());
+    assertEquals(value, converter.fromData(payload, String.class, String.class));
+  }
+
+  private static Type[] genericParameterTypes() throws NoSuchMethodException {
+    Method m =
+        JacksonJsonPayloadConverterTest.class.getDeclaredMethod(
+            "generic", List.class, List.class, List.class);
+    return m.getGenericParameterTypes();
+  }
+}
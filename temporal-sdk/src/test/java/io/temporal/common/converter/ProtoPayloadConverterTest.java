@@ -78,6 +78,28 @@ public class ProtoPayloadConverterTest {
     assertEquals(execution, converted);
   }
 
+  @Test
+  public void testProtoBinaryInstance() {
+    DataConverter converter = DefaultDataConverter.newProtobufBinaryInstance();
+    WorkflowExecution execution =
+        WorkflowExecution.newBuilder()
+            .setWorkflowId(UUID.randomUUID().toString())
+            .setRunId(UUID.randomUUID().toString())
+            .build();
+    Optional<Payloads> data = converter.toPayloads(execution);
+    assertEquals(
+        EncodingKeys.METADATA_ENCODING_PROTOBUF,
+        data.get().getPayloads(0).getMetadataOrThrow(EncodingKeys.METADATA_ENCODING_KEY));
+    WorkflowExecution converted =
+        converter.fromPayloads(0, data, WorkflowExecution.class, WorkflowExecution.class);
+    assertEquals(execution, converted);
+
+    Optional<Payloads> jsonData = DataConverter.getDefaultInstance().toPayloads(execution);
+    assertEquals(
+        execution,
+        converter.fromPayloads(0, jsonData, WorkflowExecution.class, WorkflowExecution.class));
+  }
+
   @Test
   public void testCustomProto() {
     DataConverter converter =
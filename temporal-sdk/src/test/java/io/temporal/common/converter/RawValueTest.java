@@ -0,0 +1,50 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.converter;
+
+import static org.junit.Assert.assertEquals;
+
+import io.temporal.api.common.v1.Payload;
+import io.temporal.api.common.v1.Payloads;
+import java.util.Optional;
+import org.junit.Test;
+
+public class RawValueTest {
+
+  private final DataConverter converter = DataConverter.getDefaultInstance();
+
+  @Test
+  public void testRawValueIsNotDecoded() {
+    Optional<Payloads> data = converter.toPayloads("value", 10);
+    RawValue raw = converter.fromPayloads(0, data, RawValue.class, RawValue.class);
+    assertEquals(data.get().getPayloads(0), raw.getPayload());
+    assertEquals("value", converter.fromPayload(raw.getPayload(), String.class, String.class));
+  }
+
+  @Test
+  public void testRawValueIsNotReencoded() {
+    Payload payload = converter.toPayload("value").get();
+    Optional<Payloads> data = converter.toPayloads(new RawValue(payload), 10);
+    assertEquals(payload, data.get().getPayloads(0));
+    assertEquals("value", converter.fromPayloads(0, data, String.class, String.class));
+    assertEquals(
+        Integer.valueOf(10), converter.fromPayloads(1, data, Integer.class, Integer.class));
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.reporter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.uber.m3.tally.Scope;
+import com.uber.m3.tally.Stopwatch;
+import com.uber.m3.util.Duration;
+import com.uber.m3.util.ImmutableMap;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.temporal.internal.metrics.MetricsType;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class MicrometerScopeTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  @Test
+  public void testCounterIsRegisteredOnce() {
+    Scope scope =
+        new MicrometerScope(registry)
+            .tagged(ImmutableMap.of("Namespace", "namespace_name", "TaskQueue", "task_queue"));
+    scope.counter(MetricsType.WORKFLOW_COMPLETED_COUNTER).inc(2);
+    scope.counter(MetricsType.WORKFLOW_COMPLETED_COUNTER).inc(3);
+
+    assertSame(
+        scope.counter(MetricsType.WORKFLOW_COMPLETED_COUNTER),
+        scope.counter(MetricsType.WORKFLOW_COMPLETED_COUNTER));
+    assertEquals(
+        Arrays.asList(Tag.of("Namespace", "namespace_name"), Tag.of("TaskQueue", "task_queue")),
+        registry.get(MetricsType.WORKFLOW_COMPLETED_COUNTER).counter().getId().getTags());
+    assertEquals(5, registry.get(MetricsType.WORKFLOW_COMPLETED_COUNTER).counter().count(), 0);
+  }
+
+  @Test
+  public void testTaggedScopesAreShared() {
+    MicrometerScope scope = new MicrometerScope(registry);
+    Scope tagged1 = scope.tagged(ImmutableMap.of("a", "1")).tagged(ImmutableMap.of("b", "2"));
+    Scope tagged2 = scope.tagged(ImmutableMap.of("b", "2", "a", "1"));
+    assertSame(tagged1, tagged2);
+
+    tagged1.gauge("gauge").update(1);
+    tagged2.gauge("gauge").update(7);
+    assertEquals(7, registry.get("gauge").gauge().value(), 0);
+  }
+
+  @Test
+  public void testTimer() {
+    MicrometerScope scope =
+        MicrometerScope.newBuilder(registry)
+            .setTimerConfiguration(
+                MetricsType.ACTIVITY_EXEC_LATENCY, builder -> builder.publishPercentiles(0.99))
+            .build();
+    scope.timer(MetricsType.ACTIVITY_EXEC_LATENCY).record(Duration.ofSeconds(10));
+    Stopwatch sw = scope.timer(MetricsType.ACTIVITY_EXEC_LATENCY).start();
+    sw.stop();
+
+    Timer timer = registry.get(MetricsType.ACTIVITY_EXEC_LATENCY).timer();
+    assertEquals(2, timer.count());
+    assertTrue(timer.totalTime(TimeUnit.SECONDS) >= 10);
+    assertEquals(1, timer.takeSnapshot().percentileValues().length);
+  }
+
+  @Test
+  public void testTimerMaximumExpectedValue() {
+    MicrometerScope scope =
+        new MicrometerScope(
+            registry,
+            Collections.singletonMap(
+                MetricsType.ACTIVITY_EXEC_LATENCY, java.time.Duration.ofSeconds(1)));
+    scope.timer(MetricsType.ACTIVITY_EXEC_LATENCY).record(Duration.ofMillis(10));
+
+    CountAtBucket[] buckets =
+        registry.get(MetricsType.ACTIVITY_EXEC_LATENCY).timer().takeSnapshot().histogramCounts();
+    assertTrue(buckets.length > 0);
+    assertTrue(buckets[buckets.length - 1].bucket(TimeUnit.SECONDS) <= 1);
+  }
+
+  @Test
+  public void testGaugeIsSharedBetweenRoots() {
+    Scope scope1 = new MicrometerScope(registry).tagged(ImmutableMap.of("a", "1"));
+    Scope scope2 = new MicrometerScope(registry).tagged(ImmutableMap.of("a", "1"));
+    scope1.gauge("gauge").update(1);
+    scope2.gauge("gauge").update(7);
+    assertEquals(7, registry.get("gauge").gauge().value(), 0);
+  }
+
+  @Test
+  public void testSubScope() {
+    Scope scope = new MicrometerScope(registry).subScope("parent").subScope("child");
+    scope.counter("counter").inc(1);
+    assertEquals(1, registry.get("parent.child.counter").counter().count(), 0);
+  }
+}
@@ -35,6 +35,7 @@ public final class TestStatsReporter implements StatsReporter {
   private final Map<String, AtomicLong> counters = new HashMap<>();
   private final Map<String, Double> gauges = new HashMap<>();
   private final Map<String, StatsAccumulator> timers = new HashMap<>();
+  private final Map<String, AtomicLong> histogramSamples = new HashMap<>();
 
   public void assertCounter(String name, Map<String, String> tags) {
     String metricName = getMetricName(name, tags);
@@ -110,6 +111,17 @@ public final class TestStatsReporter implements StatsReporter {
         value.min() >= minDuration.toMillis());
   }
 
+  public void assertHistogram(String name, Map<String, String> tags) {
+    String metricName = getMetricName(name, tags);
+    if (!histogramSamples.containsKey(metricName)) {
+      fail(
+          "No metric '"
+              + metricName
+              + "', reported metrics: \n "
+              + String.join("\n ", histogramSamples.keySet()));
+    }
+  }
+
   @Override
   public synchronized void reportCounter(String name, Map<String, String> tags, long value) {
     String metricName = getMetricName(name, tags);
@@ -148,7 +160,7 @@ public final class TestStatsReporter implements StatsReporter {
       double bucketLowerBound,
       double bucketUpperBound,
       long samples) {
-    throw new UnsupportedOperationException();
+    reportHistogramSamples(name, tags, samples);
   }
 
   @SuppressWarnings("deprecation")
@@ -160,7 +172,14 @@ public final class TestStatsReporter implements StatsReporter {
       com.uber.m3.util.Duration bucketLowerBound,
       com.uber.m3.util.Duration bucketUpperBound,
       long samples) {
-    throw new UnsupportedOperationException();
+    reportHistogramSamples(name, tags, samples);
+  }
+
+  private synchronized void reportHistogramSamples(
+      String name, Map<String, String> tags, long samples) {
+    histogramSamples
+        .computeIfAbsent(getMetricName(name, tags), k -> new AtomicLong())
+        .addAndGet(samples);
   }
 
   @Override
@@ -0,0 +1,82 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.failure;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import io.temporal.api.failure.v1.Failure;
+import io.temporal.client.WorkflowClientOptions;
+import org.junit.Test;
+
+public class FailureConverterTest {
+
+  @Test
+  public void testStackTraceRoundTrip() {
+    StackTraceElement[] trace =
+        new StackTraceElement[] {
+          new StackTraceElement("com.foo.Bar", "method", "Bar.java", 10),
+          new StackTraceElement("com.foo.Bar$Inner", "lambda$run$0", "Bar.java", 20),
+          new StackTraceElement("com.foo.Native", "call", null, -2),
+          new StackTraceElement("com.foo.Unknown", "<init>", null, -1)
+        };
+    Exception e = new IllegalStateException("message");
+    e.setStackTrace(trace);
+    StackTraceElement[] parsed =
+        FailureConverter.parseStackTrace(FailureConverter.serializeStackTrace(e));
+    assertEquals(trace.length, parsed.length);
+    for (int i = 0; i < trace.length; i++) {
+      assertEquals(trace[i].getClassName(), parsed[i].getClassName());
+      assertEquals(trace[i].getMethodName(), parsed[i].getMethodName());
+    }
+    assertEquals(trace[0], parsed[0]);
+    assertEquals(trace[1], parsed[1]);
+    assertEquals("Native Method", parsed[2].getFileName());
+    assertEquals("Unknown Source", parsed[3].getFileName());
+  }
+
+  @Test
+  public void testParsedStackTraceIsNotShared() {
+    String stackTrace = FailureConverter.serializeStackTrace(new RuntimeException());
+    StackTraceElement[] first = FailureConverter.parseStackTrace(stackTrace);
+    StackTraceElement[] second = FailureConverter.parseStackTrace(new String(stackTrace));
+    assertNotSame(first, second);
+    assertArrayEquals(first, second);
+  }
+
+  @Test
+  public void testStackTraceMaxDepth() {
+    Exception e = new RuntimeException("outer", new RuntimeException("inner"));
+    Failure failure = FailureConverter.exceptionToFailure(e, 2);
+    assertEquals(2, FailureConverter.parseStackTrace(failure.getStackTrace()).length);
+    assertEquals(2, FailureConverter.parseStackTrace(failure.getCause().getStackTrace()).length);
+
+    failure = FailureConverter.exceptionToFailure(e, 0);
+    assertEquals("", failure.getStackTrace());
+    assertEquals("outer", failure.getMessage());
+
+    // Clients and workers serialize full stack traces unless configured otherwise
+    int defaultMaxDepth = WorkflowClientOptions.getDefaultInstance().getFailureStackTraceMaxDepth();
+    failure = FailureConverter.exceptionToFailure(e, defaultMaxDepth);
+    assertEquals(
+        e.getStackTrace().length, FailureConverter.parseStackTrace(failure.getStackTrace()).length);
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.protobuf.ByteString;
+import io.temporal.api.common.v1.Memo;
+import io.temporal.api.common.v1.Payload;
+import io.temporal.api.common.v1.Payloads;
+import io.temporal.api.common.v1.SearchAttributes;
+import io.temporal.api.history.v1.ActivityTaskCompletedEventAttributes;
+import io.temporal.api.history.v1.History;
+import io.temporal.api.history.v1.HistoryEvent;
+import io.temporal.api.workflowservice.v1.StartWorkflowExecutionRequest;
+import io.temporal.common.converter.DataConverter;
+import io.temporal.common.converter.PayloadCodec;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+public class MessagePayloadCodecTest {
+
+  private static final String ENCODED = "encoded";
+
+  private static class MarkingCodec implements PayloadCodec {
+    private final Set<String> decodingThreads = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public CompletableFuture<List<Payload>> encode(List<Payload> payloads) {
+      return CompletableFuture.completedFuture(
+          payloads.stream()
+              .map(p -> p.toBuilder().putMetadata(ENCODED, ByteString.EMPTY).build())
+              .collect(Collectors.toList()));
+    }
+
+    @Override
+    public CompletableFuture<List<Payload>> decode(List<Payload> payloads) {
+      decodingThreads.add(Thread.currentThread().getName());
+      return CompletableFuture.completedFuture(
+          payloads.stream()
+              .map(p -> p.toBuilder().removeMetadata(ENCODED).build())
+              .collect(Collectors.toList()));
+    }
+  }
+
+  private final DataConverter converter = DataConverter.getDefaultInstance();
+  private final MessagePayloadCodec codec = MessagePayloadCodec.newInstance(new MarkingCodec());
+
+  @Test
+  public void testRoundTrip() {
+    Payloads input = converter.toPayloads("arg1", 2).get();
+    Payload memo = converter.toPayload("memo").get();
+    Payload searchAttribute = converter.toPayload("attribute").get();
+    StartWorkflowExecutionRequest request =
+        StartWorkflowExecutionRequest.newBuilder()
+            .setWorkflowId("workflow1")
+            .setInput(input)
+            .setMemo(Memo.newBuilder().putFields("memo", memo))
+            .setSearchAttributes(
+                SearchAttributes.newBuilder().putIndexedFields("attribute", searchAttribute))
+            .build();
+
+    StartWorkflowExecutionRequest encoded = codec.encodeBlocking(request);
+    assertEquals("workflow1", encoded.getWorkflowId());
+    for (Payload payload : encoded.getInput().getPayloadsList()) {
+      assertTrue(payload.containsMetadata(ENCODED));
+    }
+    assertTrue(encoded.getMemo().getFieldsOrThrow("memo").containsMetadata(ENCODED));
+    assertEquals(
+        searchAttribute, encoded.getSearchAttributes().getIndexedFieldsOrThrow("attribute"));
+
+    assertEquals(request, codec.decodeBlocking(encoded));
+  }
+
+  @Test
+  public void testHistoryDecodedOnReplayPool() {
+    MarkingCodec markingCodec = new MarkingCodec();
+    MessagePayloadCodec replayCodec = MessagePayloadCodec.newReplayInstance(markingCodec);
+    History.Builder history = History.newBuilder();
+    for (int i = 0; i < 100; i++) {
+      history.addEvents(
+          HistoryEvent.newBuilder()
+              .setEventId(i + 1)
+              .setActivityTaskCompletedEventAttributes(
+                  ActivityTaskCompletedEventAttributes.newBuilder()
+                      .setResult(converter.toPayloads("result" + i).get())));
+    }
+    History decoded = history.build();
+    History encoded = codec.encodeBlocking(decoded);
+    assertTrue(
+        encoded
+            .getEvents(99)
+            .getActivityTaskCompletedEventAttributes()
+            .getResult()
+            .getPayloads(0)
+            .containsMetadata(ENCODED));
+    assertEquals(decoded, replayCodec.decodeBlocking(encoded));
+    assertFalse(markingCodec.decodingThreads.isEmpty());
+    for (String thread : markingCodec.decodingThreads) {
+      assertTrue(thread, thread.startsWith("Payload Codec Replay: "));
+    }
+  }
+
+  @Test
+  public void testNoop() {
+    Payloads input = converter.toPayloads("arg1").get();
+    MessagePayloadCodec noop = MessagePayloadCodec.newInstance(null);
+    assertSame(input, noop.encodeBlocking(input));
+    assertSame(input, noop.decodeBlocking(input));
+  }
+
+  @Test
+  public void testContainsPayloads() {
+    assertTrue(MessagePayloadCodec.containsPayloads(StartWorkflowExecutionRequest.getDescriptor()));
+    assertFalse(MessagePayloadCodec.containsPayloads(SearchAttributes.getDescriptor()));
+  }
+}
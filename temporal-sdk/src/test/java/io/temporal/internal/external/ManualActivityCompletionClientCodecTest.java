@@ -0,0 +1,166 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.external;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.protobuf.ByteString;
+import com.uber.m3.tally.NoopScope;
+import io.grpc.stub.StreamObserver;
+import io.temporal.activity.ManualActivityCompletionClient;
+import io.temporal.api.common.v1.Payload;
+import io.temporal.api.common.v1.WorkflowExecution;
+import io.temporal.api.workflowservice.v1.RecordActivityTaskHeartbeatByIdRequest;
+import io.temporal.api.workflowservice.v1.RecordActivityTaskHeartbeatByIdResponse;
+import io.temporal.api.workflowservice.v1.RecordActivityTaskHeartbeatRequest;
+import io.temporal.api.workflowservice.v1.RecordActivityTaskHeartbeatResponse;
+import io.temporal.api.workflowservice.v1.RespondActivityTaskCompletedRequest;
+import io.temporal.api.workflowservice.v1.RespondActivityTaskCompletedResponse;
+import io.temporal.api.workflowservice.v1.WorkflowServiceGrpc;
+import io.temporal.common.converter.DataConverter;
+import io.temporal.common.converter.PayloadCodec;
+import io.temporal.internal.common.MessagePayloadCodec;
+import io.temporal.serviceclient.WorkflowServiceStubs;
+import io.temporal.serviceclient.WorkflowServiceStubsOptions;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Verifies that the payloads sent by the manual completion client go through the codec. */
+public class ManualActivityCompletionClientCodecTest {
+
+  private static final String ENCODED = "encoded";
+
+  private static class MarkingCodec implements PayloadCodec {
+    @Override
+    public CompletableFuture<List<Payload>> encode(List<Payload> payloads) {
+      return CompletableFuture.completedFuture(
+          payloads.stream()
+              .map(p -> p.toBuilder().putMetadata(ENCODED, ByteString.EMPTY).build())
+              .collect(Collectors.toList()));
+    }
+
+    @Override
+    public CompletableFuture<List<Payload>> decode(List<Payload> payloads) {
+      return CompletableFuture.completedFuture(
+          payloads.stream()
+              .map(p -> p.toBuilder().removeMetadata(ENCODED).build())
+              .collect(Collectors.toList()));
+    }
+  }
+
+  private static class RecordingService extends WorkflowServiceGrpc.WorkflowServiceImplBase {
+    private final AtomicReference<RecordActivityTaskHeartbeatRequest> heartbeat =
+        new AtomicReference<>();
+    private final AtomicReference<RecordActivityTaskHeartbeatByIdRequest> heartbeatById =
+        new AtomicReference<>();
+    private final AtomicReference<RespondActivityTaskCompletedRequest> completed =
+        new AtomicReference<>();
+
+    @Override
+    public void recordActivityTaskHeartbeat(
+        RecordActivityTaskHeartbeatRequest request,
+        StreamObserver<RecordActivityTaskHeartbeatResponse> responseObserver) {
+      heartbeat.set(request);
+      responseObserver.onNext(RecordActivityTaskHeartbeatResponse.getDefaultInstance());
+      responseObserver.onCompleted();
+    }
+
+    @Override
+    public void recordActivityTaskHeartbeatById(
+        RecordActivityTaskHeartbeatByIdRequest request,
+        StreamObserver<RecordActivityTaskHeartbeatByIdResponse> responseObserver) {
+      heartbeatById.set(request);
+      responseObserver.onNext(RecordActivityTaskHeartbeatByIdResponse.getDefaultInstance());
+      responseObserver.onCompleted();
+    }
+
+    @Override
+    public void respondActivityTaskCompleted(
+        RespondActivityTaskCompletedRequest request,
+        StreamObserver<RespondActivityTaskCompletedResponse> responseObserver) {
+      completed.set(request);
+      responseObserver.onNext(RespondActivityTaskCompletedResponse.getDefaultInstance());
+      responseObserver.onCompleted();
+    }
+  }
+
+  private final RecordingService service = new RecordingService();
+  private WorkflowServiceStubs stubs;
+  private ManualActivityCompletionClientFactory factory;
+
+  @Before
+  public void setUp() {
+    stubs =
+        WorkflowServiceStubs.newInstance(
+            service, WorkflowServiceStubsOptions.newBuilder().setDisableHealthCheck(true).build());
+    factory =
+        new ManualActivityCompletionClientFactoryImpl(
+            stubs,
+            "namespace",
+            "identity",
+            DataConverter.getDefaultInstance(),
+            MessagePayloadCodec.newInstance(new MarkingCodec()),
+            Integer.MAX_VALUE,
+            new NoopScope());
+  }
+
+  @After
+  public void tearDown() {
+    stubs.shutdownNow();
+  }
+
+  @Test
+  public void testHeartbeatDetailsAreEncoded() {
+    ManualActivityCompletionClient client =
+        factory.getClient("token".getBytes(StandardCharsets.UTF_8));
+    client.recordHeartbeat("details");
+    assertEncoded(service.heartbeat.get().getDetails().getPayloadsList());
+  }
+
+  @Test
+  public void testHeartbeatByIdDetailsAreEncoded() {
+    ManualActivityCompletionClient client =
+        factory.getClient(
+            WorkflowExecution.newBuilder().setWorkflowId("workflow").setRunId("run").build(),
+            "activity");
+    client.recordHeartbeat("details");
+    assertEncoded(service.heartbeatById.get().getDetails().getPayloadsList());
+  }
+
+  @Test
+  public void testResultIsEncoded() {
+    ManualActivityCompletionClient client =
+        factory.getClient("token".getBytes(StandardCharsets.UTF_8));
+    client.complete("result");
+    assertEncoded(service.completed.get().getResult().getPayloadsList());
+  }
+
+  private static void assertEncoded(List<Payload> payloads) {
+    assertEquals(1, payloads.size());
+    assertTrue(payloads.get(0).containsMetadata(ENCODED));
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.metrics;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.uber.m3.tally.Scope;
+import com.uber.m3.util.ImmutableMap;
+import io.temporal.serviceclient.MetricsTag;
+import org.junit.Test;
+
+public class MetricsHandleRegistryTest {
+
+  @Test
+  public void testHandlesAreCachedPerTags() {
+    Scope scope = mock(Scope.class);
+    when(scope.tagged(any())).thenAnswer((invocation) -> mock(Scope.class));
+    MetricsHandleRegistry<ActivityMetricsHandles> registry =
+        new MetricsHandleRegistry<>(
+            scope, MetricsTag.ACTIVITY_TYPE, MetricsTag.WORKFLOW_TYPE, ActivityMetricsHandles::new);
+
+    ActivityMetricsHandles handles = registry.get("activity1", "workflow1");
+    assertSame(handles, registry.get("activity1", "workflow1"));
+    assertNotSame(handles, registry.get("activity1", "workflow2"));
+    assertNotSame(handles, registry.get("activity2", "workflow1"));
+
+    verify(scope, times(1))
+        .tagged(
+            ImmutableMap.of(
+                MetricsTag.ACTIVITY_TYPE, "activity1", MetricsTag.WORKFLOW_TYPE, "workflow1"));
+    verify(scope, times(3)).tagged(any());
+  }
+
+  @Test
+  public void testSingleTag() {
+    Scope scope = mock(Scope.class);
+    Scope tagged = mock(Scope.class);
+    when(scope.tagged(ImmutableMap.of(MetricsTag.WORKFLOW_TYPE, "workflow1"))).thenReturn(tagged);
+    MetricsHandleRegistry<WorkflowTaskMetricsHandles> registry =
+        new MetricsHandleRegistry<>(
+            scope, MetricsTag.WORKFLOW_TYPE, WorkflowTaskMetricsHandles::new);
+
+    WorkflowTaskMetricsHandles handles = registry.get("workflow1");
+    assertSame(tagged, handles.getScope());
+    assertSame(handles, registry.get("workflow1"));
+    verify(tagged).timer(MetricsType.WORKFLOW_TASK_EXECUTION_LATENCY);
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.uber.m3.tally.Timer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+public class TaskLatencyBreakdownTest {
+
+  private final LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+  private final Logger logger = context.getLogger(TaskLatencyBreakdown.class);
+  private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+  private Level level;
+
+  @Before
+  public void setUp() {
+    level = logger.getLevel();
+    appender.setContext(context);
+    appender.start();
+    logger.addAppender(appender);
+  }
+
+  @After
+  public void tearDown() {
+    logger.detachAppender(appender);
+    logger.setLevel(level);
+  }
+
+  @Test
+  public void testBreakdownIsLoggedAtDebug() {
+    logger.setLevel(Level.DEBUG);
+    Timer timer = mock(Timer.class);
+
+    TaskLatencyBreakdown.begin();
+    TaskLatencyBreakdown.record(timer, MetricsType.WORKER_TASK_DISPATCH_LATENCY, 2_000);
+    TaskLatencyBreakdown.record(timer, MetricsType.WORKFLOW_TASK_REPLAY_LATENCY, 3_000);
+    TaskLatencyBreakdown.record(timer, MetricsType.WORKFLOW_TASK_REPLAY_LATENCY, 4_000);
+    TaskLatencyBreakdown.end("Workflow task");
+    // The breakdown is logged only once per task
+    TaskLatencyBreakdown.end("WorkflowWorker task");
+
+    verify(timer, times(3)).record(any());
+    assertEquals(1, appender.list.size());
+    ILoggingEvent event = appender.list.get(0);
+    assertEquals(Level.DEBUG, event.getLevel());
+    assertEquals(
+        "Workflow task latency breakdown: worker_task_dispatch_latency=2us"
+            + " workflow_task_replay_latency=7us",
+        event.getFormattedMessage());
+  }
+
+  @Test
+  public void testBreakdownIsNotCollectedAboveDebug() {
+    logger.setLevel(Level.INFO);
+    Timer timer = mock(Timer.class);
+
+    TaskLatencyBreakdown.begin();
+    TaskLatencyBreakdown.record(timer, MetricsType.WORKER_TASK_DISPATCH_LATENCY, 2_000);
+    TaskLatencyBreakdown.end("Workflow task");
+
+    verify(timer).record(any());
+    assertTrue(appender.list.isEmpty());
+  }
+}
@@ -26,7 +26,11 @@ import static junit.framework.TestCase.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import com.uber.m3.tally.Gauge;
 import com.uber.m3.tally.NoopScope;
 import com.uber.m3.tally.RootScopeBuilder;
 import com.uber.m3.tally.Scope;
@@ -46,12 +50,17 @@ import io.temporal.serviceclient.MetricsTag;
 import io.temporal.serviceclient.WorkflowServiceStubs;
 import io.temporal.testUtils.HistoryUtils;
 import io.temporal.worker.WorkflowImplementationOptions;
+import io.temporal.worker.introspection.CachedWorkflowRunSnapshot;
+import io.temporal.worker.introspection.WorkflowThreadSnapshot;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import junit.framework.TestCase;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
 
 public class ReplayWorkflowRunTaskHandlerCacheTests {
 
@@ -275,6 +284,47 @@ public class ReplayWorkflowRunTaskHandlerCacheTests {
     return null;
   }
 
+  @Test
+  public void snapshotReportsCachedRuns() throws Exception {
+    WorkflowExecutorCache cache = new WorkflowExecutorCache(10, new NoopScope());
+    PollWorkflowTaskQueueResponse workflowTask =
+        HistoryUtils.generateWorkflowTaskWithInitialHistory();
+    WorkflowExecution execution = workflowTask.getWorkflowExecution();
+    WorkflowRunTaskHandler workflowRunTaskHandler =
+        cache.getOrCreate(workflowTask, metricsScope, () -> createFakeExecutor(workflowTask));
+    cache.addToCache(execution.getRunId(), workflowRunTaskHandler);
+
+    List<CachedWorkflowRunSnapshot> snapshot = cache.snapshot();
+    assertEquals(1, snapshot.size());
+    CachedWorkflowRunSnapshot run = snapshot.get(0);
+    assertEquals(execution.getWorkflowId(), run.getWorkflowId());
+    assertEquals(execution.getRunId(), run.getRunId());
+    assertEquals(WORKFLOW_TYPE, run.getWorkflowType());
+    assertEquals(0, run.getOutstandingLocalActivities());
+    assertEquals(Collections.emptyList(), run.getThreads());
+  }
+
+  @Test
+  public void activeWorkflowThreadsAreCountedPerCache() {
+    Scope scope = mock(Scope.class);
+    Gauge gauge = mock(Gauge.class);
+    when(scope.gauge(MetricsType.WORKFLOW_ACTIVE_THREAD_COUNT)).thenReturn(gauge);
+    WorkflowExecutorCache cache = new WorkflowExecutorCache(10, scope);
+    WorkflowExecutorCache otherCache = new WorkflowExecutorCache(10, new NoopScope());
+
+    cache.workflowThreadStarted();
+    cache.workflowThreadStarted();
+    otherCache.workflowThreadStarted();
+    cache.workflowThreadFinished();
+
+    assertEquals(1, cache.getActiveWorkflowThreadCount());
+    assertEquals(1, otherCache.getActiveWorkflowThreadCount());
+    InOrder inOrder = inOrder(gauge);
+    inOrder.verify(gauge).update(1);
+    inOrder.verify(gauge).update(2);
+    inOrder.verify(gauge).update(1);
+  }
+
   private ReplayWorkflowRunTaskHandler createFakeExecutor(PollWorkflowTaskQueueResponse response) {
     return new ReplayWorkflowRunTaskHandler(
         null,
@@ -316,6 +366,11 @@ public class ReplayWorkflowRunTaskHandlerCacheTests {
           public WorkflowImplementationOptions getWorkflowImplementationOptions() {
             return WorkflowImplementationOptions.newBuilder().build();
           }
+
+          @Override
+          public List<WorkflowThreadSnapshot> getThreadSnapshots() {
+            return Collections.emptyList();
+          }
         },
         response,
         SingleWorkerOptions.newBuilder().build(),
@@ -19,14 +19,37 @@
 
 package io.temporal.internal.replay;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
 import com.google.protobuf.ByteString;
+import com.uber.m3.tally.NoopScope;
+import com.uber.m3.tally.Scope;
+import com.uber.m3.tally.Timer;
+import io.temporal.api.common.v1.Payload;
+import io.temporal.api.common.v1.Payloads;
+import io.temporal.api.history.v1.ActivityTaskCompletedEventAttributes;
 import io.temporal.api.history.v1.History;
+import io.temporal.api.history.v1.HistoryEvent;
 import io.temporal.api.workflowservice.v1.GetWorkflowExecutionHistoryResponse;
 import io.temporal.api.workflowservice.v1.PollWorkflowTaskQueueResponse;
+import io.temporal.common.converter.DataConverter;
+import io.temporal.common.converter.PayloadCodec;
+import io.temporal.internal.common.MessagePayloadCodec;
+import io.temporal.internal.metrics.MetricsType;
 import io.temporal.testUtils.HistoryUtils;
 import java.nio.charset.Charset;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Assert;
 import org.junit.Test;
@@ -84,4 +107,121 @@ public class WorkflowHistoryIteratorTest {
     Assert.assertThrows(NoSuchElementException.class, iterator::next);
     Assert.assertEquals(2, timesCalledServer.get());
   }
+
+  /*
+     Verifies that the time spent loading a page from the service is reported.
+  */
+  @Test
+  public void verifyHistoryFetchIsTimed() {
+    Scope metricsScope = mock(Scope.class);
+    Timer timer = mock(Timer.class);
+    when(metricsScope.timer(MetricsType.WORKFLOW_TASK_HISTORY_FETCH_LATENCY)).thenReturn(timer);
+    PollWorkflowTaskQueueResponse workflowTask =
+        PollWorkflowTaskQueueResponse.newBuilder().setNextPageToken(NEXT_PAGE_TOKEN).build();
+
+    WorkflowHistoryIterator iterator =
+        new WorkflowHistoryIterator(
+            null, "default", workflowTask, Duration.ofSeconds(10), metricsScope) {
+          GetWorkflowExecutionHistoryResponse queryWorkflowExecutionHistory() {
+            return GetWorkflowExecutionHistoryResponse.newBuilder().build();
+          }
+        };
+    Assert.assertFalse(iterator.hasNext());
+    verify(timer).record(any());
+  }
+
+  /*
+     Verifies that the events of a loaded page are decoded on the replay codec pool ahead of the
+     replay: the first event of the page is returned while the decoding of the last one is still
+     blocked.
+  */
+  @Test
+  public void verifyPageIsDecodedAheadOfReplay() {
+    DataConverter converter = DataConverter.getDefaultInstance();
+    History.Builder page = History.newBuilder();
+    for (int i = 1; i <= 3; i++) {
+      Payload result =
+          converter
+              .toPayload("result" + i)
+              .get()
+              .toBuilder()
+              .putMetadata(BlockingCodec.ENCODED, ByteString.copyFromUtf8(String.valueOf(i)))
+              .build();
+      page.addEvents(
+          HistoryEvent.newBuilder()
+              .setEventId(i)
+              .setActivityTaskCompletedEventAttributes(
+                  ActivityTaskCompletedEventAttributes.newBuilder()
+                      .setResult(Payloads.newBuilder().addPayloads(result))));
+    }
+    BlockingCodec codec = new BlockingCodec("3");
+    PollWorkflowTaskQueueResponse workflowTask =
+        PollWorkflowTaskQueueResponse.newBuilder().setNextPageToken(NEXT_PAGE_TOKEN).build();
+    WorkflowHistoryIterator iterator =
+        new WorkflowHistoryIterator(
+            null,
+            "default",
+            workflowTask,
+            Duration.ofSeconds(10),
+            new NoopScope(),
+            MessagePayloadCodec.newReplayInstance(codec)) {
+          @Override
+          GetWorkflowExecutionHistoryResponse queryWorkflowExecutionHistory() {
+            return GetWorkflowExecutionHistoryResponse.newBuilder().setHistory(page).build();
+          }
+        };
+
+    HistoryEvent first = iterator.next();
+    Assert.assertEquals(1, first.getEventId());
+    Assert.assertEquals(
+        converter.toPayload("result1").get(),
+        first.getActivityTaskCompletedEventAttributes().getResult().getPayloads(0));
+    codec.blocked.countDown();
+    Assert.assertEquals(2, iterator.next().getEventId());
+    HistoryEvent last = iterator.next();
+    Assert.assertEquals(
+        converter.toPayload("result3").get(),
+        last.getActivityTaskCompletedEventAttributes().getResult().getPayloads(0));
+    Assert.assertFalse(iterator.hasNext());
+    for (String thread : codec.decodingThreads) {
+      Assert.assertTrue(thread, thread.startsWith("Payload Codec Replay: "));
+    }
+  }
+
+  /** Removes the marker metadata, blocking on the payload with the given marker value. */
+  private static class BlockingCodec implements PayloadCodec {
+    static final String ENCODED = "encoded";
+
+    private final ByteString blockOn;
+    private final CountDownLatch blocked = new CountDownLatch(1);
+    private final Set<String> decodingThreads = ConcurrentHashMap.newKeySet();
+
+    BlockingCodec(String blockOn) {
+      this.blockOn = ByteString.copyFromUtf8(blockOn);
+    }
+
+    @Override
+    public CompletableFuture<List<Payload>> encode(List<Payload> payloads) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public CompletableFuture<List<Payload>> decode(List<Payload> payloads) {
+      decodingThreads.add(Thread.currentThread().getName());
+      List<Payload> result = new ArrayList<>(payloads.size());
+      for (Payload payload : payloads) {
+        if (blockOn.equals(payload.getMetadataOrDefault(ENCODED, null))) {
+          try {
+            if (!blocked.await(10, TimeUnit.SECONDS)) {
+              throw new IllegalStateException("not released");
+            }
+          } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+          }
+        }
+        result.add(payload.toBuilder().removeMetadata(ENCODED).build());
+      }
+      return CompletableFuture.completedFuture(result);
+    }
+  }
 }
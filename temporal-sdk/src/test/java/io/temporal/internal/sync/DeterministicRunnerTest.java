@@ -37,6 +37,7 @@ import io.temporal.api.workflowservice.v1.PollWorkflowTaskQueueResponseOrBuilder
 import io.temporal.common.RetryOptions;
 import io.temporal.common.converter.DataConverter;
 import io.temporal.failure.CanceledFailure;
+import io.temporal.internal.logging.LoggerTag;
 import io.temporal.internal.metrics.MetricsType;
 import io.temporal.internal.replay.ReplayWorkflowContext;
 import io.temporal.internal.replay.WorkflowExecutorCache;
@@ -44,6 +45,8 @@ import io.temporal.internal.replay.WorkflowRunTaskHandler;
 import io.temporal.internal.replay.WorkflowTaskResult;
 import io.temporal.serviceclient.MetricsTag;
 import io.temporal.testUtils.HistoryUtils;
+import io.temporal.worker.introspection.CachedWorkflowRunSnapshot;
+import io.temporal.worker.introspection.WorkflowThreadSnapshot;
 import io.temporal.workflow.Async;
 import io.temporal.workflow.CancellationScope;
 import io.temporal.workflow.CompletablePromise;
@@ -62,6 +65,7 @@ import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import org.junit.*;
+import org.slf4j.MDC;
 
 public class DeterministicRunnerTest {
 
@@ -121,6 +125,21 @@ public class DeterministicRunnerTest {
     assertTrue(d.isDone());
   }
 
+  @Test
+  public void testThreadSnapshots() {
+    DeterministicRunner d =
+        new DeterministicRunnerImpl(
+            threadPool,
+            DummySyncWorkflowContext.newDummySyncWorkflowContext(),
+            () -> WorkflowThread.await("reason1", () -> unblock1));
+    d.runUntilAllBlocked(DeterministicRunner.DEFAULT_DEADLOCK_DETECTION_TIMEOUT_MS);
+    List<WorkflowThreadSnapshot> threads = d.threadSnapshots();
+    assertEquals(1, threads.size());
+    assertEquals("reason1", threads.get(0).getYieldReason());
+    assertFalse(threads.get(0).isDone());
+    d.close();
+  }
+
   /**
    * Async retry cannot be tested here as it relies on timer that is implemented outside of
    * Dispatcher.
@@ -663,6 +682,7 @@ public class DeterministicRunnerTest {
     WorkflowExecutorCache cache = new WorkflowExecutorCache(3, scope);
     ReplayWorkflowContext replayWorkflowContext = mock(ReplayWorkflowContext.class);
     when(replayWorkflowContext.getMetricsScope()).thenReturn(scope);
+    when(replayWorkflowContext.getWorkerMetricsScope()).thenReturn(scope);
     when(replayWorkflowContext.getWorkflowExecution())
         .thenReturn(WorkflowExecution.newBuilder().setWorkflowId("id1").setRunId("run1").build());
     when(replayWorkflowContext.getNamespace()).thenReturn("namespace");
@@ -722,6 +742,72 @@ public class DeterministicRunnerTest {
         .reportCounter(eq(MetricsType.STICKY_CACHE_THREAD_FORCED_EVICTION), eq(tags), anyLong());
   }
 
+  @Test
+  public void testNearDeadlockIsReported() throws InterruptedException {
+    StatsReporter reporter = mock(StatsReporter.class);
+    Scope scope =
+        new RootScopeBuilder()
+            .reporter(reporter)
+            .reportEvery(com.uber.m3.util.Duration.ofMillis(100));
+    ReplayWorkflowContext replayWorkflowContext = mock(ReplayWorkflowContext.class);
+    when(replayWorkflowContext.getMetricsScope()).thenReturn(scope);
+    when(replayWorkflowContext.getWorkerMetricsScope()).thenReturn(scope);
+    when(replayWorkflowContext.getWorkflowType()).thenReturn(WorkflowType.getDefaultInstance());
+
+    DeterministicRunner d =
+        new DeterministicRunnerImpl(
+            threadPool,
+            new SyncWorkflowContext(
+                replayWorkflowContext, DataConverter.getDefaultInstance(), null, null, null),
+            () -> {
+              try {
+                Thread.sleep(DeterministicRunner.DEFAULT_DEADLOCK_DETECTION_TIMEOUT_MS * 3 / 4);
+              } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+              }
+            });
+    d.runUntilAllBlocked(DeterministicRunner.DEFAULT_DEADLOCK_DETECTION_TIMEOUT_MS);
+    assertTrue(d.isDone());
+    // Wait for reporter
+    Thread.sleep(300);
+    verify(reporter, atLeastOnce())
+        .reportCounter(eq(MetricsType.WORKFLOW_RUNNER_NEAR_DEADLOCK_COUNTER), any(), eq(1L));
+  }
+
+  @Test
+  public void testLoggingContext() {
+    Map<String, String> mdc = captureLoggingContext(false);
+    assertEquals("id1", mdc.get(LoggerTag.WORKFLOW_ID));
+    assertEquals("namespace", mdc.get(LoggerTag.NAMESPACE));
+  }
+
+  @Test
+  public void testLoggingContextDisabled() {
+    assertNull(captureLoggingContext(true));
+  }
+
+  /** @return MDC seen by the root workflow thread */
+  private Map<String, String> captureLoggingContext(boolean disableLoggingContext) {
+    ReplayWorkflowContext replayWorkflowContext = mock(ReplayWorkflowContext.class);
+    when(replayWorkflowContext.getMetricsScope()).thenReturn(new NoopScope());
+    when(replayWorkflowContext.getWorkerMetricsScope()).thenReturn(new NoopScope());
+    when(replayWorkflowContext.getWorkflowId()).thenReturn("id1");
+    when(replayWorkflowContext.getNamespace()).thenReturn("namespace");
+    when(replayWorkflowContext.getWorkflowType()).thenReturn(WorkflowType.getDefaultInstance());
+    when(replayWorkflowContext.getDisableLoggingContext()).thenReturn(disableLoggingContext);
+    AtomicReference<Map<String, String>> mdc = new AtomicReference<>();
+
+    DeterministicRunner d =
+        new DeterministicRunnerImpl(
+            threadPool,
+            new SyncWorkflowContext(
+                replayWorkflowContext, DataConverter.getDefaultInstance(), null, null, null),
+            () -> mdc.set(MDC.getCopyOfContextMap()));
+    d.runUntilAllBlocked(DeterministicRunner.DEFAULT_DEADLOCK_DETECTION_TIMEOUT_MS);
+    assertTrue(d.isDone());
+    return mdc.get();
+  }
+
   @Test
   public void workflowThreadsWillNotEvictCacheWhenMaxThreadCountIsHit() throws Throwable {
     // Arrange
@@ -800,6 +886,12 @@ public class DeterministicRunnerTest {
       return Optional.empty();
     }
 
+    @Override
+    public CachedWorkflowRunSnapshot getSnapshot(boolean inProcessing) {
+      return new CachedWorkflowRunSnapshot(
+          "workflowId", "runId", "workflowType", 0, 0, inProcessing, 0, runner.threadSnapshots());
+    }
+
     @Override
     public void close() {
       runner.close();
@@ -0,0 +1,136 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.sync;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.uber.m3.tally.Counter;
+import com.uber.m3.tally.Scope;
+import com.google.protobuf.ByteString;
+import io.temporal.api.common.v1.Payload;
+import io.temporal.api.common.v1.Payloads;
+import io.temporal.common.converter.DataConverter;
+import io.temporal.common.converter.DataConverterException;
+import io.temporal.internal.metrics.MetricsType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PayloadCacheTest {
+
+  private final DataConverter converter = DataConverter.getDefaultInstance();
+  private Scope scope;
+  private Counter hits;
+  private Counter bytesSaved;
+  private PayloadCache cache;
+
+  @Before
+  public void setUp() {
+    scope = mock(Scope.class);
+    hits = mock(Counter.class);
+    bytesSaved = mock(Counter.class);
+    when(scope.counter(MetricsType.PAYLOAD_CACHE_HIT_COUNTER)).thenReturn(hits);
+    when(scope.counter(MetricsType.PAYLOAD_CACHE_BYTES_SAVED_COUNTER)).thenReturn(bytesSaved);
+    cache = new PayloadCache(converter, 2, () -> scope);
+  }
+
+  @Test
+  public void testSameInstanceIsSerializedOnce() {
+    List<String> config = Arrays.asList("a", "b", "c");
+    Payloads first = cache.toPayloads(config, 1).get();
+    verifyNoInteractions(hits, bytesSaved);
+
+    Payloads second = cache.toPayloads(config, 2).get();
+    assertSame(first.getPayloads(0), second.getPayloads(0));
+    assertEquals(converter.toPayloads(config, 2).get(), second);
+    verify(hits).inc(1);
+    verify(bytesSaved).inc(first.getPayloads(0).getSerializedSize());
+  }
+
+  @Test
+  public void testEqualPayloadsAreInterned() {
+    Payloads first = cache.toPayloads(Arrays.asList("a", "b")).get();
+    Payloads second = cache.toPayloads(Arrays.asList("a", "b")).get();
+    assertSame(first.getPayloads(0), second.getPayloads(0));
+    verifyNoInteractions(hits, bytesSaved);
+  }
+
+  @Test
+  public void testEviction() {
+    List<String> config = Arrays.asList("a", "b", "c");
+    cache.toPayloads(config);
+    cache.toPayloads("x", "y");
+    cache.toPayloads(config);
+    verifyNoInteractions(hits, bytesSaved);
+  }
+
+  @Test
+  public void testConvertsThroughToPayloads() {
+    DataConverter marking = new MarkingDataConverter();
+    cache = new PayloadCache(marking, 2, () -> scope);
+    List<String> config = Arrays.asList("a", "b");
+    Payloads cached = cache.toPayloads(config, null).get();
+    assertEquals(marking.toPayloads(config, null).get(), cached);
+  }
+
+  /** Marks payloads only in toPayloads, like converters that post-process whole argument lists. */
+  private static final class MarkingDataConverter implements DataConverter {
+    private final DataConverter delegate = DataConverter.getDefaultInstance();
+
+    @Override
+    public <T> Optional<Payload> toPayload(T value) {
+      return delegate.toPayload(value);
+    }
+
+    @Override
+    public <T> T fromPayload(Payload payload, Class<T> valueClass, Type valueType) {
+      return delegate.fromPayload(payload, valueClass, valueType);
+    }
+
+    @Override
+    public Optional<Payloads> toPayloads(Object... values) throws DataConverterException {
+      Optional<Payloads> payloads = delegate.toPayloads(values);
+      if (!payloads.isPresent()) {
+        return payloads;
+      }
+      Payloads.Builder result = Payloads.newBuilder();
+      for (Payload payload : payloads.get().getPayloadsList()) {
+        result.addPayloads(
+            payload.toBuilder().putMetadata("marked", ByteString.copyFromUtf8("true")).build());
+      }
+      return Optional.of(result.build());
+    }
+
+    @Override
+    public <T> T fromPayloads(
+        int index, Optional<Payloads> content, Class<T> valueType, Type valueGenericType)
+        throws DataConverterException {
+      return delegate.fromPayloads(index, content, valueType, valueGenericType);
+    }
+  }
+}
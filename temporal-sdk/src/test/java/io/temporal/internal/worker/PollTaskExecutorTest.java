@@ -0,0 +1,204 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.worker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.temporal.common.context.ContextPropagator;
+import io.temporal.common.reporter.MicrometerScope;
+import io.temporal.internal.logging.LoggerTag;
+import io.temporal.internal.metrics.MetricsType;
+import io.temporal.serviceclient.MetricsTag;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+public class PollTaskExecutorTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  @Test
+  public void testSlotGauges() throws InterruptedException {
+    SingleWorkerOptions options =
+        SingleWorkerOptions.newBuilder()
+            .setTaskExecutorThreadPoolSize(2)
+            .setMetricsScope(new MicrometerScope(registry))
+            .setPollerOptions(
+                PollerOptions.newBuilder().setPollThreadNamePrefix("Test Poller").build())
+            .build();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    PollTaskExecutor<String> executor =
+        new PollTaskExecutor<>(
+            "namespace",
+            "taskQueue",
+            "TestWorker",
+            options,
+            new PollTaskExecutor.TaskHandler<String>() {
+              @Override
+              public void handle(String task) throws Exception {
+                started.countDown();
+                release.await();
+              }
+
+              @Override
+              public Throwable wrapFailure(String task, Throwable failure) {
+                return failure;
+              }
+            });
+    assertEquals(2, gauge(MetricsType.WORKER_TASK_SLOTS_AVAILABLE), 0);
+
+    executor.process("task");
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+    assertEquals(1, gauge(MetricsType.WORKER_TASK_SLOTS_AVAILABLE), 0);
+    assertEquals(1, gauge(MetricsType.WORKER_TASK_SLOTS_USED), 0);
+
+    executor.process("marker");
+    release.countDown();
+    executor.shutdown();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+    assertEquals(2, gauge(MetricsType.WORKER_TASK_SLOTS_AVAILABLE), 0);
+    assertEquals(0, gauge(MetricsType.WORKER_TASK_SLOTS_USED), 0);
+  }
+
+  @Test
+  public void testDispatchLatency() {
+    SingleWorkerOptions options =
+        SingleWorkerOptions.newBuilder()
+            .setTaskExecutorThreadPoolSize(1)
+            .setMetricsScope(new MicrometerScope(registry))
+            .setPollerOptions(
+                PollerOptions.newBuilder().setPollThreadNamePrefix("Test Poller").build())
+            .build();
+    PollTaskExecutor<String> executor =
+        new PollTaskExecutor<>(
+            "namespace",
+            "taskQueue",
+            "TestWorker",
+            options,
+            new PollTaskExecutor.TaskHandler<String>() {
+              @Override
+              public void handle(String task) {}
+
+              @Override
+              public Throwable wrapFailure(String task, Throwable failure) {
+                return failure;
+              }
+            });
+    executor.process("task1");
+    executor.process("task2");
+    executor.shutdown();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+    assertEquals(
+        2,
+        registry
+            .get(MetricsType.WORKER_TASK_DISPATCH_LATENCY)
+            .tag(MetricsTag.WORKER_TYPE, "TestWorker")
+            .timer()
+            .count());
+  }
+
+  @Test
+  public void testLoggingContext() {
+    Map<String, String> task2 = new HashMap<>();
+    task2.put(LoggerTag.NAMESPACE, "namespace");
+    task2.put(LoggerTag.TASK_QUEUE, "taskQueue");
+    Map<String, String> task1 = new HashMap<>(task2);
+    task1.put(LoggerTag.WORKFLOW_ID, "task1");
+    assertEquals(
+        Arrays.asList(task1, task2), captureLoggingContext(false, Collections.emptyList()));
+  }
+
+  @Test
+  public void testLoggingContextDisabled() {
+    assertEquals(Arrays.asList(null, null), captureLoggingContext(true, Collections.emptyList()));
+  }
+
+  @Test
+  public void testPropagatedContextIsClearedWithLoggingContextDisabled() {
+    List<ContextPropagator> contextPropagators =
+        Collections.singletonList(mock(ContextPropagator.class));
+    assertEquals(Arrays.asList(null, null), captureLoggingContext(true, contextPropagators));
+  }
+
+  /**
+   * @param contextPropagators if not empty, the handler puts an entry into the MDC after the
+   *     capture the way a propagator restoring an MDC based context would
+   * @return MDC seen by the handler while handling each of two tasks
+   */
+  private List<Map<String, String>> captureLoggingContext(
+      boolean disableLoggingContext, List<ContextPropagator> contextPropagators) {
+    SingleWorkerOptions options =
+        SingleWorkerOptions.newBuilder()
+            .setTaskExecutorThreadPoolSize(1)
+            .setDisableLoggingContext(disableLoggingContext)
+            .setContextPropagators(contextPropagators)
+            .setPollerOptions(
+                PollerOptions.newBuilder().setPollThreadNamePrefix("Test Poller").build())
+            .build();
+    List<Map<String, String>> contexts = Collections.synchronizedList(new ArrayList<>());
+    PollTaskExecutor<String> executor =
+        new PollTaskExecutor<>(
+            "namespace",
+            "taskQueue",
+            "TestWorker",
+            options,
+            new PollTaskExecutor.TaskHandler<String>() {
+              @Override
+              public void handle(String task) {
+                contexts.add(MDC.getCopyOfContextMap());
+                if (!contextPropagators.isEmpty()) {
+                  MDC.put("propagated", task);
+                }
+              }
+
+              @Override
+              public Throwable wrapFailure(String task, Throwable failure) {
+                return failure;
+              }
+
+              @Override
+              public void putLoggingContext(String task, Map<String, String> context) {
+                if (task.equals("task1")) {
+                  context.put(LoggerTag.WORKFLOW_ID, task);
+                }
+              }
+            });
+    executor.process("task1");
+    executor.process("task2");
+    executor.shutdown();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+    return contexts;
+  }
+
+  private double gauge(String name) {
+    return registry.get(name).tag(MetricsTag.WORKER_TYPE, "TestWorker").gauge().value();
+  }
+}
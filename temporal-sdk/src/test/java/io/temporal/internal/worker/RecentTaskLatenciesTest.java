@@ -0,0 +1,80 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.worker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import io.temporal.worker.introspection.TaskLatencySnapshot;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class RecentTaskLatenciesTest {
+
+  private static final double DELTA = 1e-9;
+
+  @Test
+  public void testEmpty() {
+    assertSame(TaskLatencySnapshot.EMPTY, new RecentTaskLatencies(10).snapshot());
+  }
+
+  @Test
+  public void testPercentiles() {
+    RecentTaskLatencies latencies = new RecentTaskLatencies(100);
+    // Recorded out of order to check that the snapshot sorts them
+    for (int i = 100; i >= 1; i--) {
+      latencies.record(TimeUnit.MILLISECONDS.toNanos(i));
+    }
+
+    TaskLatencySnapshot snapshot = latencies.snapshot();
+    assertEquals(100, snapshot.getCount());
+    assertEquals(50, snapshot.getP50Millis(), DELTA);
+    assertEquals(90, snapshot.getP90Millis(), DELTA);
+    assertEquals(99, snapshot.getP99Millis(), DELTA);
+    assertEquals(100, snapshot.getMaxMillis(), DELTA);
+  }
+
+  @Test
+  public void testSingleValue() {
+    RecentTaskLatencies latencies = new RecentTaskLatencies(10);
+    latencies.record(TimeUnit.MICROSECONDS.toNanos(1500));
+
+    TaskLatencySnapshot snapshot = latencies.snapshot();
+    assertEquals(1, snapshot.getCount());
+    assertEquals(1.5, snapshot.getP50Millis(), DELTA);
+    assertEquals(1.5, snapshot.getP99Millis(), DELTA);
+    assertEquals(1.5, snapshot.getMaxMillis(), DELTA);
+  }
+
+  @Test
+  public void testRingWrapKeepsLastValues() {
+    RecentTaskLatencies latencies = new RecentTaskLatencies(4);
+    for (int i = 1; i <= 10; i++) {
+      latencies.record(TimeUnit.MILLISECONDS.toNanos(i * 100));
+    }
+
+    // Only the last 4 values, 700 to 1000 ms, are kept
+    TaskLatencySnapshot snapshot = latencies.snapshot();
+    assertEquals(4, snapshot.getCount());
+    assertEquals(800, snapshot.getP50Millis(), DELTA);
+    assertEquals(1000, snapshot.getP90Millis(), DELTA);
+    assertEquals(1000, snapshot.getMaxMillis(), DELTA);
+  }
+}
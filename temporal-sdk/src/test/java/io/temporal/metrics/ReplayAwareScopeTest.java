@@ -19,6 +19,9 @@
 
 package io.temporal.metrics;
 
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -35,6 +38,9 @@ import com.uber.m3.tally.ValueBuckets;
 import com.uber.m3.util.Duration;
 import io.temporal.internal.metrics.ReplayAwareScope;
 import io.temporal.internal.replay.ReplayAware;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.function.Supplier;
 import org.junit.Test;
 
@@ -115,6 +121,48 @@ public class ReplayAwareScopeTest {
     verify(histogram, times(1)).recordDuration(Duration.ofHours(1));
   }
 
+  @Test
+  public void testInstrumentsAreCached() {
+    Scope scope = mock(Scope.class);
+    Counter counter = mock(Counter.class);
+    when(scope.counter("test-counter")).thenReturn(counter);
+
+    TestContext context = new TestContext(true);
+    Scope replayAwareScope = new ReplayAwareScope(scope, context, System::currentTimeMillis);
+
+    Counter replayAwareCounter = replayAwareScope.counter("test-counter");
+    replayAwareCounter.inc(1);
+    context.isReplaying = false;
+    assertSame(replayAwareCounter, replayAwareScope.counter("test-counter"));
+    replayAwareScope.counter("test-counter").inc(2);
+
+    verify(scope, times(1)).counter("test-counter");
+    verify(counter, never()).inc(1);
+    verify(counter, times(1)).inc(2);
+  }
+
+  @Test
+  public void testChildScopesAreCached() {
+    Scope scope = mock(Scope.class);
+    when(scope.tagged(any())).thenAnswer((invocation) -> mock(Scope.class));
+    when(scope.subScope(any())).thenAnswer((invocation) -> mock(Scope.class));
+
+    Scope replayAwareScope =
+        new ReplayAwareScope(scope, new TestContext(false), System::currentTimeMillis);
+
+    Map<String, String> tags = new HashMap<>();
+    tags.put("key", "value1");
+    Scope tagged = replayAwareScope.tagged(tags);
+    assertSame(tagged, replayAwareScope.tagged(Collections.singletonMap("key", "value1")));
+    tags.put("key", "value2");
+    assertNotSame(tagged, replayAwareScope.tagged(tags));
+    assertSame(tagged, replayAwareScope.tagged(Collections.singletonMap("key", "value1")));
+    assertSame(replayAwareScope.subScope("sub"), replayAwareScope.subScope("sub"));
+
+    verify(scope, times(2)).tagged(any());
+    verify(scope, times(1)).subScope("sub");
+  }
+
   static class TestClock implements Supplier<Long> {
     private long currTime;
 
@@ -0,0 +1,76 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.worker;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import io.temporal.client.WorkflowClient;
+import io.temporal.serviceclient.WorkflowServiceStubs;
+import io.temporal.serviceclient.WorkflowServiceStubsOptions;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.Test;
+
+public class WorkerFactoryLazyConnectTest {
+
+  @Test
+  public void testStartDoesNotWaitForConnection() throws InterruptedException {
+    WorkflowServiceStubs lazyStubs =
+        WorkflowServiceStubs.newInstanceLazy(
+            WorkflowServiceStubsOptions.newBuilder()
+                .setTarget("127.0.0.1:1")
+                .setHealthCheckTimeout(Duration.ofSeconds(2))
+                .setHealthCheckAttemptTimeout(Duration.ofSeconds(1))
+                .build());
+    WorkflowServiceStubs stubs = mock(WorkflowServiceStubs.class, delegatesTo(lazyStubs));
+    WorkerFactory factory = WorkerFactory.newInstance(WorkflowClient.newInstance(stubs));
+    try {
+      Worker worker = factory.newWorker("lazy-connect");
+      worker.registerActivitiesImplementations(new LocalActivityWorkerOnlyTest.TestActivityImpl());
+
+      factory.start();
+      assertTrue(factory.isStarted());
+      verify(stubs).connectAsync();
+      // Returns the connection attempt initiated by the factory as it's still in progress.
+      CompletableFuture<Void> connect = lazyStubs.connectAsync();
+      assertFalse("Workers should start before the connection is ready", connect.isDone());
+
+      try {
+        connect.get(30, TimeUnit.SECONDS);
+        fail("Connection to an unreachable server should fail");
+      } catch (ExecutionException e) {
+        // expected
+      } catch (TimeoutException e) {
+        fail("Connection attempt didn't complete");
+      }
+    } finally {
+      factory.shutdownNow();
+      lazyStubs.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.worker.introspection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.temporal.testing.TestWorkflowEnvironment;
+import io.temporal.worker.Worker;
+import io.temporal.workflow.shared.TestWorkflows.NoArgsWorkflow;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WorkerIntrospectionServerTest {
+
+  private static final String TASK_QUEUE = "introspection_test";
+
+  private TestWorkflowEnvironment testEnvironment;
+  private WorkerIntrospectionServer server;
+
+  @Before
+  public void setUp() throws IOException {
+    testEnvironment = TestWorkflowEnvironment.newInstance();
+    Worker worker = testEnvironment.newWorker(TASK_QUEUE);
+    worker.registerWorkflowImplementationTypes(TestWorkflowImpl.class);
+    testEnvironment.start();
+    server = WorkerIntrospectionServer.start(testEnvironment.getWorkerFactory(), 0);
+  }
+
+  @After
+  public void tearDown() {
+    server.close();
+    testEnvironment.close();
+  }
+
+  @Test
+  public void testSnapshotIsServedAsJson() throws IOException {
+    HttpURLConnection connection = open();
+    assertEquals(200, connection.getResponseCode());
+    assertEquals("application/json", connection.getHeaderField("Content-Type"));
+    JsonNode snapshot;
+    try (InputStream in = connection.getInputStream()) {
+      snapshot = new ObjectMapper().readTree(in);
+    }
+
+    assertEquals("Started", snapshot.get("state").asText());
+    assertEquals("StickyWorkflowPoller", snapshot.get("stickyPoller").get("workerType").asText());
+    assertTrue(snapshot.get("cachedWorkflowRuns").isArray());
+
+    JsonNode workers = snapshot.get("workers");
+    assertEquals(1, workers.size());
+    JsonNode worker = workers.get(0);
+    assertEquals(TASK_QUEUE, worker.get("taskQueue").asText());
+    JsonNode pollers = worker.get("pollers");
+    assertTrue(pollers.size() > 0);
+    for (JsonNode poller : pollers) {
+      assertTrue(poller.get("workerType").isTextual());
+      assertTrue(poller.get("state").isTextual());
+      assertTrue(poller.get("executorSlots").isInt());
+      assertTrue(poller.get("executorSlotsUsed").isInt());
+      JsonNode latency = poller.get("recentTaskLatency");
+      assertTrue(latency.get("count").isInt());
+      assertTrue(latency.get("p50Millis").isNumber());
+      assertTrue(latency.get("p90Millis").isNumber());
+      assertTrue(latency.get("p99Millis").isNumber());
+      assertTrue(latency.get("maxMillis").isNumber());
+    }
+  }
+
+  @Test
+  public void testNonGetRequestIsRejected() throws IOException {
+    HttpURLConnection connection = open();
+    connection.setRequestMethod("POST");
+    assertEquals(405, connection.getResponseCode());
+  }
+
+  private HttpURLConnection open() throws IOException {
+    InetSocketAddress address = server.getAddress();
+    URL url =
+        new URL("http", address.getHostString(), address.getPort(), WorkerIntrospectionServer.PATH);
+    return (HttpURLConnection) url.openConnection();
+  }
+
+  public static class TestWorkflowImpl implements NoArgsWorkflow {
+    @Override
+    public void execute() {}
+  }
+}
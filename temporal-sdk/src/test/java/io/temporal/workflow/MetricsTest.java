@@ -20,8 +20,16 @@
 package io.temporal.workflow;
 
 import static io.temporal.internal.metrics.MetricsType.ACTIVITY_EXEC_FAILED_COUNTER;
+import static io.temporal.internal.metrics.MetricsType.ACTIVITY_RESPOND_LATENCY;
+import static io.temporal.internal.metrics.MetricsType.ACTIVITY_RESULT_SERIALIZATION_LATENCY;
 import static io.temporal.internal.metrics.MetricsType.CORRUPTED_SIGNALS_COUNTER;
 import static io.temporal.internal.metrics.MetricsType.LOCAL_ACTIVITY_FAILED_COUNTER;
+import static io.temporal.internal.metrics.MetricsType.WORKER_TASK_DISPATCH_LATENCY;
+import static io.temporal.internal.metrics.MetricsType.WORKFLOW_RUNNER_THREADS;
+import static io.temporal.internal.metrics.MetricsType.WORKFLOW_TASK_LOCAL_ACTIVITY_WAIT_LATENCY;
+import static io.temporal.internal.metrics.MetricsType.WORKFLOW_TASK_NEW_EVENTS_LATENCY;
+import static io.temporal.internal.metrics.MetricsType.WORKFLOW_TASK_REPLAY_LATENCY;
+import static io.temporal.internal.metrics.MetricsType.WORKFLOW_TASK_RESPOND_LATENCY;
 import static io.temporal.serviceclient.MetricsType.TEMPORAL_LONG_REQUEST;
 import static io.temporal.serviceclient.MetricsType.TEMPORAL_REQUEST;
 import static io.temporal.serviceclient.MetricsType.TEMPORAL_REQUEST_FAILURE;
@@ -202,6 +210,44 @@ public class MetricsTest {
           }
         };
     reporter.assertCounter(TEMPORAL_REQUEST, workflowTaskCompletionTags, 4);
+
+    Map<String, String> workflowTypeTags =
+        new LinkedHashMap<String, String>() {
+          {
+            putAll(MetricsTag.defaultTags(NAMESPACE));
+            put(MetricsTag.TASK_QUEUE, TASK_QUEUE);
+            put(MetricsTag.WORKFLOW_TYPE, "NoArgsWorkflow");
+          }
+        };
+    reporter.assertHistogram(WORKFLOW_RUNNER_THREADS, workflowTypeTags);
+    // Replay latency stops once the replay caught up, the rest of the task is new events latency
+    reporter.assertTimer(WORKFLOW_TASK_REPLAY_LATENCY, workflowTypeTags);
+    reporter.assertTimer(WORKFLOW_TASK_NEW_EVENTS_LATENCY, workflowTypeTags);
+    reporter.assertTimer(WORKFLOW_TASK_RESPOND_LATENCY, workflowTypeTags);
+
+    Map<String, String> activityTypeTags =
+        new LinkedHashMap<String, String>() {
+          {
+            putAll(MetricsTag.defaultTags(NAMESPACE));
+            put(MetricsTag.TASK_QUEUE, TASK_QUEUE);
+            put(MetricsTag.ACTIVITY_TYPE, "Execute");
+            put(MetricsTag.WORKFLOW_TYPE, "NoArgsWorkflow");
+          }
+        };
+    reporter.assertTimer(ACTIVITY_RESULT_SERIALIZATION_LATENCY, activityTypeTags);
+    reporter.assertTimer(ACTIVITY_RESPOND_LATENCY, activityTypeTags);
+
+    Map<String, String> workerTypeTags =
+        new LinkedHashMap<String, String>() {
+          {
+            putAll(MetricsTag.defaultTags(NAMESPACE));
+            put(MetricsTag.TASK_QUEUE, TASK_QUEUE);
+            put(MetricsTag.WORKER_TYPE, "WorkflowWorker");
+          }
+        };
+    reporter.assertTimer(WORKER_TASK_DISPATCH_LATENCY, workerTypeTags);
+    workerTypeTags.put(MetricsTag.WORKER_TYPE, "ActivityWorker");
+    reporter.assertTimer(WORKER_TASK_DISPATCH_LATENCY, workerTypeTags);
   }
 
   @Test
@@ -339,6 +385,10 @@ public class MetricsTest {
         };
     reporter.assertCounter(ACTIVITY_EXEC_FAILED_COUNTER, tags, 2);
     reporter.assertCounter(LOCAL_ACTIVITY_FAILED_COUNTER, tags, 3);
+
+    tags.remove(MetricsTag.ACTIVITY_TYPE);
+    tags.remove(MetricsTag.EXCEPTION);
+    reporter.assertTimer(WORKFLOW_TASK_LOCAL_ACTIVITY_WAIT_LATENCY, tags);
   }
 
   @Test
@@ -0,0 +1,113 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+package io.temporal.workflow.failure;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.temporal.api.common.v1.Payload;
+import io.temporal.client.WorkflowClientOptions;
+import io.temporal.client.WorkflowException;
+import io.temporal.common.converter.EncodingKeys;
+import io.temporal.common.converter.PayloadCodec;
+import io.temporal.failure.ApplicationFailure;
+import io.temporal.testing.internal.SDKTestWorkflowRule;
+import io.temporal.workflow.shared.TestWorkflows.TestWorkflow1;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+
+/** Verifies that the failure of a failed workflow is decoded by the client payload codec. */
+public class WorkflowFailurePayloadCodecTest {
+
+  @Rule
+  public SDKTestWorkflowRule testWorkflowRule =
+      SDKTestWorkflowRule.newBuilder()
+          .setWorkflowTypes(TestWorkflowFailingWithDetails.class)
+          .setWorkflowClientOptions(
+              WorkflowClientOptions.newBuilder().setPayloadCodec(new WrappingCodec()).build())
+          .build();
+
+  @Test
+  public void failureDetailsAreDecoded() {
+    TestWorkflow1 workflowStub = testWorkflowRule.newWorkflowStub(TestWorkflow1.class);
+    try {
+      workflowStub.execute("input");
+      Assert.fail("unreachable");
+    } catch (WorkflowException e) {
+      ApplicationFailure failure = (ApplicationFailure) e.getCause();
+      Assert.assertEquals("outer", failure.getType());
+      Assert.assertEquals("outer details", failure.getDetails().get(String.class));
+      ApplicationFailure cause = (ApplicationFailure) failure.getCause();
+      Assert.assertEquals("inner", cause.getType());
+      Assert.assertEquals(Integer.valueOf(123), cause.getDetails().get(Integer.class));
+    }
+  }
+
+  public static class TestWorkflowFailingWithDetails implements TestWorkflow1 {
+
+    @Override
+    public String execute(String input) {
+      ApplicationFailure cause = ApplicationFailure.newFailure("inner failure", "inner", 123);
+      throw ApplicationFailure.newNonRetryableFailureWithCause(
+          "outer failure", "outer", cause, "outer details");
+    }
+  }
+
+  /** Serializes each payload into a payload with an encoding no payload converter accepts. */
+  private static class WrappingCodec implements PayloadCodec {
+    private static final ByteString ENCODING = ByteString.copyFromUtf8("binary/test-wrapped");
+
+    @Override
+    public CompletableFuture<List<Payload>> encode(List<Payload> payloads) {
+      List<Payload> result = new ArrayList<>(payloads.size());
+      for (Payload payload : payloads) {
+        result.add(
+            Payload.newBuilder()
+                .putMetadata(EncodingKeys.METADATA_ENCODING_KEY, ENCODING)
+                .setData(payload.toByteString())
+                .build());
+      }
+      return CompletableFuture.completedFuture(result);
+    }
+
+    @Override
+    public CompletableFuture<List<Payload>> decode(List<Payload> payloads) {
+      List<Payload> result = new ArrayList<>(payloads.size());
+      for (Payload payload : payloads) {
+        ByteString encoding =
+            payload.getMetadataOrDefault(EncodingKeys.METADATA_ENCODING_KEY, null);
+        if (!ENCODING.equals(encoding)) {
+          result.add(payload);
+          continue;
+        }
+        try {
+          result.add(Payload.parseFrom(payload.getData()));
+        } catch (InvalidProtocolBufferException e) {
+          CompletableFuture<List<Payload>> failed = new CompletableFuture<>();
+          failed.completeExceptionally(e);
+          return failed;
+        }
+      }
+      return CompletableFuture.completedFuture(result);
+    }
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.jfr;
+
+/**
+ * Java Flight Recorder event that covers one step of a task lifecycle. Created by {@link
+ * TaskEvents}. The event starts when it is created and is recorded on {@link #commit()}.
+ */
+public interface TaskEvent {
+
+  /** Event returned when Java Flight Recorder is not available or the event is disabled. */
+  TaskEvent NOOP =
+      new TaskEvent() {
+        @Override
+        public TaskEvent setStatus(String status) {
+          return this;
+        }
+
+        @Override
+        public void commit() {}
+      };
+
+  /**
+   * Sets the outcome of the step, like the gRPC status code or whether a poll returned a task.
+   *
+   * @return this event
+   */
+  TaskEvent setStatus(String status);
+
+  /** Ends the event and records it if it passes the recording thresholds. */
+  void commit();
+}
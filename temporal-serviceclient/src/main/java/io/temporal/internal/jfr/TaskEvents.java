@@ -0,0 +1,73 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.jfr;
+
+/**
+ * Creates Java Flight Recorder events for the task lifecycle. JFR is available from Java 11, so
+ * this version returns {@link TaskEvent#NOOP} from every method. On Java 11 and later it is
+ * replaced by the version from the multi-release part of the jar that emits real events.
+ */
+public final class TaskEvents {
+
+  /** Long poll of a task queue by a poller thread. */
+  public static TaskEvent poll(String identity) {
+    return TaskEvent.NOOP;
+  }
+
+  /** Handoff of a polled task to the task executor, including the time spent waiting for a slot. */
+  public static TaskEvent dispatch(String namespace, String taskQueue) {
+    return TaskEvent.NOOP;
+  }
+
+  /** Processing of a workflow task including the history replay. */
+  public static TaskEvent workflowTask(
+      String namespace, String workflowType, String workflowId, String runId) {
+    return TaskEvent.NOOP;
+  }
+
+  /** Single pass of the workflow threads by the deterministic runner. */
+  public static TaskEvent workflowRunnerPass(String workflowType, String workflowId, String runId) {
+    return TaskEvent.NOOP;
+  }
+
+  /** Execution of an activity or a local activity. */
+  public static TaskEvent activityTask(
+      String namespace,
+      String activityType,
+      String activityId,
+      String workflowId,
+      String runId,
+      boolean local) {
+    return TaskEvent.NOOP;
+  }
+
+  /** Time a local activity waits in the worker queue before it is picked up for execution. */
+  public static TaskEvent localActivityQueueWait(
+      String activityType, String activityId, String workflowId, String runId) {
+    return TaskEvent.NOOP;
+  }
+
+  /** Outgoing gRPC call to the service. */
+  public static TaskEvent rpc(String method) {
+    return TaskEvent.NOOP;
+  }
+
+  private TaskEvents() {}
+}
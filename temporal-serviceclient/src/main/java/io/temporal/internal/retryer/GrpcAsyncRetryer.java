@@ -68,10 +68,22 @@ class GrpcAsyncRetryer {
             (ignore) -> {
               // try-catch is because get() call might throw.
               CompletableFuture<R> result;
+              Throwable functionException = null;
 
+              Context.CancellableContext attemptContext =
+                  GrpcRetryerUtils.newAttemptContext(
+                      GrpcRetryerUtils.attemptDeadline(options, startTime, clock.millis()));
+              Context previous = attemptContext.attach();
               try {
                 result = function.get();
               } catch (Throwable e) {
+                result = null;
+                functionException = e;
+              } finally {
+                attemptContext.detach(previous);
+              }
+              if (functionException != null) {
+                attemptContext.cancel(null);
                 throttler.failure();
                 // function isn't supposed to throw exceptions, it should always return a
                 // CompletableFuture even if it's a failed one.
@@ -85,17 +97,19 @@ class GrpcAsyncRetryer {
                     startTime,
                     throttler,
                     previousException,
-                    e,
+                    functionException,
                     resultCF);
                 return;
               }
               if (result == null) {
+                attemptContext.cancel(null);
                 resultCF.complete(null);
                 return;
               }
 
               result.whenComplete(
                   (r, e) -> {
+                    attemptContext.cancel(null);
                     if (e == null) {
                       throttler.success();
                       resultCF.complete(r);
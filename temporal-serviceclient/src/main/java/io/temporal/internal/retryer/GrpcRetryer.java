@@ -51,6 +51,21 @@ public final class GrpcRetryer {
     return SYNC.retry(options, r);
   }
 
+  /**
+   * Same as {@link #retry(RpcRetryOptions, RetryableProc)}, but each attempt is hedged according
+   * to {@link RpcRetryOptions#getHedgingDelay()}. Should be used only for idempotent operations as
+   * the same request may reach the server more than once.
+   */
+  public static <T extends Throwable> void retryHedged(RpcRetryOptions options, RetryableProc<T> r)
+      throws T {
+    SYNC.retryHedged(
+        options,
+        () -> {
+          r.apply();
+          return null;
+        });
+  }
+
   public static <R> CompletableFuture<R> retryWithResultAsync(
       RpcRetryOptions options, Supplier<CompletableFuture<R>> function) {
     return ASYNC.retry(options, function);
@@ -19,6 +19,8 @@
 
 package io.temporal.internal.retryer;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.grpc.Context;
 import io.grpc.Deadline;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
@@ -26,10 +28,41 @@ import io.temporal.serviceclient.RpcRetryOptions;
 import io.temporal.serviceclient.StatusUtils;
 import java.time.Duration;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 class GrpcRetryerUtils {
+  /**
+   * Fires deadlines of the attempt contexts and starts hedged attempts. Most of the attempts
+   * complete before their deadlines, so the cancelled tasks are removed from the queue right away
+   * instead of being retained until their delay expires.
+   */
+  static final ScheduledExecutorService DEADLINE_SCHEDULER = newDeadlineScheduler();
+
+  private static final int MAX_HEDGING_THREADS = 32;
+
+  /**
+   * Runs hedged attempts of the blocking calls. The primary attempt runs on the calling thread. A
+   * hedge is skipped if all the threads are busy.
+   */
+  static final ExecutorService HEDGING_EXECUTOR =
+      new ThreadPoolExecutor(
+          0,
+          MAX_HEDGING_THREADS,
+          60,
+          TimeUnit.SECONDS,
+          new SynchronousQueue<>(),
+          new ThreadFactoryBuilder()
+              .setDaemon(true)
+              .setNameFormat("grpc-retryer-hedging-thread-%d")
+              .build());
+
   /**
    * This method encapsulates the logic if {@code StatusRuntimeException exception} is retryable or
    * not.
@@ -101,4 +134,54 @@ class GrpcRetryerUtils {
         || (expirationDuration != null && currentTimeMillis - startTimeMs >= expirationInterval)
         || (grpcContextDeadline != null && grpcContextDeadline.isExpired());
   }
+
+  /**
+   * @param options retry options
+   * @param startTimeMs timestamp when attempts started
+   * @param currentTimeMillis current timestamp
+   * @return deadline of the next attempt limited by the remaining retry budget or null if {@code
+   *     options} don't specify expiration.
+   */
+  static @Nullable Deadline attemptDeadline(
+      RpcRetryOptions options, long startTimeMs, long currentTimeMillis) {
+    Duration expiration = options.getExpiration();
+    if (expiration == null) {
+      return null;
+    }
+    long remaining = startTimeMs + expiration.toMillis() - currentTimeMillis;
+    return Deadline.after(Math.max(remaining, 0), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Creates a context for a single attempt. gRPC uses the earliest of the call and the context
+   * deadlines, so calls made inside this context never outlive the retry budget.
+   *
+   * <p>If the current context already has a deadline that is not later than {@code
+   * attemptDeadline}, the retry budget doesn't limit the attempt any further and no deadline task
+   * is scheduled.
+   *
+   * @param attemptDeadline deadline of the attempt, null if the attempt is not limited
+   * @return context that has to be cancelled by the caller when the attempt is finished
+   */
+  static Context.CancellableContext newAttemptContext(@Nullable Deadline attemptDeadline) {
+    Context current = Context.current();
+    Deadline currentDeadline = current.getDeadline();
+    if (attemptDeadline == null
+        || (currentDeadline != null && !attemptDeadline.isBefore(currentDeadline))) {
+      return current.withCancellation();
+    }
+    return current.withDeadline(attemptDeadline, DEADLINE_SCHEDULER);
+  }
+
+  private static ScheduledExecutorService newDeadlineScheduler() {
+    ScheduledThreadPoolExecutor scheduler =
+        new ScheduledThreadPoolExecutor(
+            1,
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("grpc-retryer-deadline-thread-%d")
+                .build());
+    scheduler.setRemoveOnCancelPolicy(true);
+    return scheduler;
+  }
 }
@@ -25,9 +25,20 @@ import io.grpc.StatusRuntimeException;
 import io.temporal.internal.BackoffThrottler;
 import io.temporal.serviceclient.RpcRetryOptions;
 import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 
 class GrpcSyncRetryer {
   private static final Logger log = LoggerFactory.getLogger(GrpcSyncRetryer.class);
@@ -40,6 +51,21 @@ class GrpcSyncRetryer {
 
   public <R, T extends Throwable> R retry(
       RpcRetryOptions options, GrpcRetryer.RetryableFunc<R, T> r) throws T {
+    return retry(options, r, false);
+  }
+
+  /**
+   * Same as {@link #retry(RpcRetryOptions, GrpcRetryer.RetryableFunc)}, but hedges each attempt if
+   * {@link RpcRetryOptions#getHedgingDelay()} is set. {@code r} must be safe to be called
+   * concurrently.
+   */
+  public <R, T extends Throwable> R retryHedged(
+      RpcRetryOptions options, GrpcRetryer.RetryableFunc<R, T> r) throws T {
+    return retry(options, r, options.getHedgingDelay() != null);
+  }
+
+  private <R, T extends Throwable> R retry(
+      RpcRetryOptions options, GrpcRetryer.RetryableFunc<R, T> r, boolean hedge) throws T {
     int attempt = 0;
     long startTime = clock.millis();
     BackoffThrottler throttler =
@@ -58,7 +84,12 @@ class GrpcSyncRetryer {
 
       try {
         throttler.throttle();
-        R result = r.apply();
+        Deadline attemptDeadline =
+            GrpcRetryerUtils.attemptDeadline(options, startTime, clock.millis());
+        R result =
+            hedge
+                ? attemptHedged(r, options.getHedgingDelay(), attemptDeadline)
+                : attempt(r, attemptDeadline);
         throttler.success();
         return result;
       } catch (InterruptedException e) {
@@ -84,9 +115,134 @@ class GrpcSyncRetryer {
     throw new IllegalStateException("unreachable");
   }
 
-  private static <T extends Throwable> void rethrow(Exception e) throws T {
+  private static <R, T extends Throwable> R attempt(
+      GrpcRetryer.RetryableFunc<R, T> r, @Nullable Deadline attemptDeadline) throws T {
+    if (attemptDeadline == null) {
+      return r.apply();
+    }
+    Context.CancellableContext attemptContext =
+        GrpcRetryerUtils.newAttemptContext(attemptDeadline);
+    Context previous = attemptContext.attach();
+    try {
+      return r.apply();
+    } finally {
+      attemptContext.detach(previous);
+      attemptContext.cancel(null);
+    }
+  }
+
+  /**
+   * Executes {@code r} on the calling thread and, if it doesn't complete in {@code hedgingDelay},
+   * executes it once more on {@link GrpcRetryerUtils#HEDGING_EXECUTOR}. Returns the first
+   * successful result, or throws the failure of the attempt that completed last if both failed.
+   * The attempt that lost the race is cancelled through its context.
+   */
+  private static <R, T extends Throwable> R attemptHedged(
+      GrpcRetryer.RetryableFunc<R, T> r, Duration hedgingDelay, @Nullable Deadline attemptDeadline)
+      throws T, InterruptedException {
+    HedgedAttempts<R> attempts = new HedgedAttempts<>();
+    Context.CancellableContext primary = GrpcRetryerUtils.newAttemptContext(attemptDeadline);
+    Context.CancellableContext hedged = GrpcRetryerUtils.newAttemptContext(attemptDeadline);
+    attempts.result.whenComplete(
+        (result, failure) -> {
+          primary.cancel(null);
+          hedged.cancel(null);
+        });
+    Map<String, String> mdc = MDC.getCopyOfContextMap();
+    ScheduledFuture<?> hedgeTimer =
+        GrpcRetryerUtils.DEADLINE_SCHEDULER.schedule(
+            () -> startHedge(r, attempts, hedged, mdc),
+            hedgingDelay.toMillis(),
+            TimeUnit.MILLISECONDS);
+    try {
+      Context previous = primary.attach();
+      try {
+        attempts.run(r);
+      } finally {
+        primary.detach(previous);
+      }
+      hedgeTimer.cancel(false);
+      return attempts.result.get();
+    } catch (ExecutionException e) {
+      rethrow(e.getCause());
+      throw new IllegalStateException("unreachable");
+    } finally {
+      hedgeTimer.cancel(false);
+      primary.cancel(null);
+      hedged.cancel(null);
+    }
+  }
+
+  private static <R, T extends Throwable> void startHedge(
+      GrpcRetryer.RetryableFunc<R, T> r,
+      HedgedAttempts<R> attempts,
+      Context hedged,
+      @Nullable Map<String, String> mdc) {
+    if (!attempts.tryStart()) {
+      return;
+    }
+    log.debug("Sending hedged request");
+    try {
+      GrpcRetryerUtils.HEDGING_EXECUTOR.execute(
+          hedged.wrap(
+              () -> {
+                if (mdc != null) {
+                  MDC.setContextMap(mdc);
+                }
+                try {
+                  attempts.run(r);
+                } finally {
+                  MDC.clear();
+                }
+              }));
+    } catch (RejectedExecutionException e) {
+      log.debug("Skipping hedged request as all the hedging threads are busy");
+      attempts.failed(null);
+    }
+  }
+
+  /** Result of the primary and the hedged attempt, whichever succeeds first. */
+  private static final class HedgedAttempts<R> {
+    final CompletableFuture<R> result = new CompletableFuture<>();
+    private final AtomicInteger running = new AtomicInteger(1);
+    private final AtomicReference<Throwable> lastFailure = new AtomicReference<>();
+
+    /** @return false if the result is known and there is no point in starting another attempt */
+    boolean tryStart() {
+      int current;
+      do {
+        current = running.get();
+        if (current == 0 || result.isDone()) {
+          return false;
+        }
+      } while (!running.compareAndSet(current, current + 1));
+      return true;
+    }
+
+    <T extends Throwable> void run(GrpcRetryer.RetryableFunc<R, T> r) {
+      try {
+        result.complete(r.apply());
+      } catch (Throwable e) {
+        failed(e);
+      }
+    }
+
+    /** @param failure null if the attempt wasn't started */
+    void failed(@Nullable Throwable failure) {
+      if (failure != null) {
+        lastFailure.set(failure);
+      }
+      if (running.decrementAndGet() == 0) {
+        result.completeExceptionally(lastFailure.get());
+      }
+    }
+  }
+
+  private static <T extends Throwable> void rethrow(Throwable e) throws T {
     if (e instanceof RuntimeException) {
       throw (RuntimeException) e;
+    } else if (e instanceof Error) {
+      throw (Error) e;
     } else {
       @SuppressWarnings("unchecked")
       T toRethrow = (T) e;
@@ -22,8 +22,12 @@ package io.temporal.serviceclient;
 import static io.temporal.serviceclient.MetricsTag.OPERATION_NAME;
 import static io.temporal.serviceclient.MetricsTag.STATUS_CODE;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.uber.m3.tally.Counter;
 import com.uber.m3.tally.Scope;
 import com.uber.m3.tally.Stopwatch;
+import com.uber.m3.tally.Timer;
 import com.uber.m3.util.ImmutableMap;
 import io.grpc.CallOptions;
 import io.grpc.Channel;
@@ -36,15 +40,31 @@ import io.grpc.MethodDescriptor;
 import io.grpc.ServiceDescriptor;
 import io.grpc.Status;
 import io.temporal.api.workflowservice.v1.WorkflowServiceGrpc;
+import io.temporal.internal.jfr.TaskEvent;
+import io.temporal.internal.jfr.TaskEvents;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
-/** Reports metrics on GRPC service calls */
+/**
+ * Reports request counts, latencies and failures of the outgoing gRPC calls.
+ *
+ * <p>Tagged scopes and the metrics resolved from them are cached per (scope, method) pair, so the
+ * per-call cost doesn't include tags merging and sub-scope registry lookups. Scopes passed through
+ * {@link MetricsTag#METRICS_TAGS_CALL_OPTIONS_KEY} are referenced weakly, so the cache doesn't
+ * retain scopes that are no longer used by the callers.
+ */
 class GrpcMetricsInterceptor implements ClientInterceptor {
 
+  private static final Status.Code[] STATUS_CODES = Status.Code.values();
+
   private final Scope defaultScope;
   private final Map<MethodDescriptor<?, ?>, Map<String, String>> methodTags = new HashMap<>();
+  private final Cache<Scope, ConcurrentMap<MethodDescriptor<?, ?>, MethodMetrics>> metricsByScope =
+      CacheBuilder.newBuilder().weakKeys().build();
 
   GrpcMetricsInterceptor(Scope scope) {
     this.defaultScope = scope.tagged(MetricsTag.defaultTags(MetricsTag.DEFAULT_VALUE));
@@ -67,31 +87,93 @@ class GrpcMetricsInterceptor implements ClientInterceptor {
     if (scope == null) {
       scope = defaultScope;
     }
-    Map<String, String> tags = methodTags.get(method);
-    scope = scope.tagged(tags);
-    return new MetricsClientCall<>(next, method, callOptions, scope);
+    return new MetricsClientCall<>(next, method, callOptions, getMethodMetrics(scope, method));
+  }
+
+  private MethodMetrics getMethodMetrics(Scope scope, MethodDescriptor<?, ?> method) {
+    ConcurrentMap<MethodDescriptor<?, ?>, MethodMetrics> byMethod =
+        metricsByScope.getIfPresent(scope);
+    if (byMethod == null) {
+      byMethod = metricsByScope.asMap().computeIfAbsent(scope, s -> new ConcurrentHashMap<>());
+    }
+    MethodMetrics result = byMethod.get(method);
+    if (result == null) {
+      result =
+          byMethod.computeIfAbsent(
+              method,
+              m -> {
+                Map<String, String> tags = methodTags.get(m);
+                return new MethodMetrics(tags == null ? scope : scope.tagged(tags));
+              });
+    }
+    return result;
+  }
+
+  /** Metrics of a single method resolved from the scope tagged with the method name. */
+  private static final class MethodMetrics {
+    private final Scope scope;
+    private final Counter requestCounter;
+    private final Timer requestLatency;
+    private final Counter longRequestCounter;
+    private final Timer longRequestLatency;
+    private final AtomicReferenceArray<Counter> requestFailureCounters =
+        new AtomicReferenceArray<>(STATUS_CODES.length);
+    private final AtomicReferenceArray<Counter> longRequestFailureCounters =
+        new AtomicReferenceArray<>(STATUS_CODES.length);
+
+    MethodMetrics(Scope scope) {
+      this.scope = scope;
+      this.requestCounter = scope.counter(MetricsType.TEMPORAL_REQUEST);
+      this.requestLatency = scope.timer(MetricsType.TEMPORAL_REQUEST_LATENCY);
+      this.longRequestCounter = scope.counter(MetricsType.TEMPORAL_LONG_REQUEST);
+      this.longRequestLatency = scope.timer(MetricsType.TEMPORAL_LONG_REQUEST_LATENCY);
+    }
+
+    Counter failureCounter(Status.Code code, boolean longPoll) {
+      AtomicReferenceArray<Counter> counters =
+          longPoll ? longRequestFailureCounters : requestFailureCounters;
+      int index = code.ordinal();
+      Counter result = counters.get(index);
+      if (result == null) {
+        // Racing threads resolve the same counter instance from the Tally registry.
+        result =
+            scope
+                .tagged(
+                    new ImmutableMap.Builder<String, String>(1)
+                        .put(STATUS_CODE, String.valueOf(code))
+                        .build())
+                .counter(
+                    longPoll
+                        ? MetricsType.TEMPORAL_LONG_REQUEST_FAILURE
+                        : MetricsType.TEMPORAL_REQUEST_FAILURE);
+        counters.set(index, result);
+      }
+      return result;
+    }
   }
 
   private static class MetricsClientCall<ReqT, RespT>
       extends ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT> {
-    private final Scope metricsScope;
+    private final MethodMetrics metrics;
     private final Stopwatch sw;
     private final boolean longPoll;
+    private final TaskEvent rpcEvent;
 
     public MetricsClientCall(
         Channel next,
         MethodDescriptor<ReqT, RespT> method,
         CallOptions callOptions,
-        Scope metricsScope) {
+        MethodMetrics metrics) {
       super(next.newCall(method, callOptions));
-      this.metricsScope = metricsScope;
+      this.metrics = metrics;
+      this.rpcEvent = TaskEvents.rpc(method.getFullMethodName());
       longPoll = LongPollUtil.isLongPoll(method, callOptions);
       if (longPoll) {
-        metricsScope.counter(MetricsType.TEMPORAL_LONG_REQUEST).inc(1);
-        sw = metricsScope.timer(MetricsType.TEMPORAL_LONG_REQUEST_LATENCY).start();
+        metrics.longRequestCounter.inc(1);
+        sw = metrics.longRequestLatency.start();
       } else {
-        metricsScope.counter(MetricsType.TEMPORAL_REQUEST).inc(1);
-        sw = metricsScope.timer(MetricsType.TEMPORAL_REQUEST_LATENCY).start();
+        metrics.requestCounter.inc(1);
+        sw = metrics.requestLatency.start();
       }
     }
 
@@ -108,20 +190,11 @@ class GrpcMetricsInterceptor implements ClientInterceptor {
             @Override
             public void onClose(Status status, Metadata trailers) {
               if (!status.isOk()) {
-                Status.Code code = status.getCode();
-                Scope scope =
-                    metricsScope.tagged(
-                        new ImmutableMap.Builder<String, String>(1)
-                            .put(STATUS_CODE, String.valueOf(code))
-                            .build());
-                if (longPoll) {
-                  scope.counter(MetricsType.TEMPORAL_LONG_REQUEST_FAILURE).inc(1);
-                } else {
-                  scope.counter(MetricsType.TEMPORAL_REQUEST_FAILURE).inc(1);
-                }
+                metrics.failureCounter(status.getCode(), longPoll).inc(1);
               }
               super.onClose(status, trailers);
               sw.stop();
+              rpcEvent.setStatus(status.getCode().name()).commit();
             }
           };
 
@@ -28,4 +28,7 @@ public class MetricsType {
   public static final String TEMPORAL_LONG_REQUEST = TEMPORAL_METRICS_PREFIX + "long_request";
   public static final String TEMPORAL_LONG_REQUEST_FAILURE = TEMPORAL_LONG_REQUEST + "_failure";
   public static final String TEMPORAL_LONG_REQUEST_LATENCY = TEMPORAL_LONG_REQUEST + "_latency";
+  /** Time from the stubs creation till the server passed the health check. */
+  public static final String TEMPORAL_CONNECTION_READY_LATENCY =
+      TEMPORAL_METRICS_PREFIX + "connection_ready_latency";
 }
@@ -95,6 +95,8 @@ public final class RpcRetryOptions {
 
     private List<DoNotRetryItem> doNotRetry = new ArrayList<>();
 
+    private Duration hedgingDelay;
+
     private Builder() {}
 
     private Builder(RpcRetryOptions options) {
@@ -107,6 +109,7 @@ public final class RpcRetryOptions {
       this.initialInterval = options.getInitialInterval();
       this.maximumInterval = options.getMaximumInterval();
       this.doNotRetry = options.getDoNotRetry();
+      this.hedgingDelay = options.getHedgingDelay();
     }
 
     /**
@@ -171,6 +174,25 @@ public final class RpcRetryOptions {
       return this;
     }
 
+    /**
+     * Enables hedging of the attempts. If an attempt doesn't complete during this delay, a
+     * duplicate request is sent without cancelling the first one. The first successful response
+     * wins and the other attempt gets cancelled. A good value is around the p99 latency of the
+     * operation, which allows to cut the tail latency at the price of a few percent of additional
+     * requests.
+     *
+     * <p>Hedging is applied only to the operations that SDK knows to be idempotent, currently
+     * RespondActivityTaskCompleted and RespondWorkflowTaskCompleted issued by workers. For all
+     * other calls this option is ignored. Default is null, which means no hedging.
+     */
+    public Builder setHedgingDelay(Duration hedgingDelay) {
+      if (hedgingDelay != null && (hedgingDelay.isNegative() || hedgingDelay.isZero())) {
+        throw new IllegalArgumentException("Invalid hedgingDelay: " + hedgingDelay);
+      }
+      this.hedgingDelay = hedgingDelay;
+      return this;
+    }
+
     /**
      * Add <code>Status.Code</code> with associated details class to not retry. If <code>
      * detailsClass</code> is null all failures with the code are non retryable.
@@ -212,6 +234,7 @@ public final class RpcRetryOptions {
       setBackoffCoefficient(merge(backoffCoefficient, o.getBackoffCoefficient(), double.class));
       setMaximumAttempts(merge(maximumAttempts, o.getMaximumAttempts(), int.class));
       setDoNotRetry(merge(doNotRetry, o.getDoNotRetry()));
+      setHedgingDelay(o.getHedgingDelay() != null ? o.getHedgingDelay() : hedgingDelay);
       validateBuildWithDefaults();
       return this;
     }
@@ -244,7 +267,8 @@ public final class RpcRetryOptions {
           expiration,
           maximumAttempts,
           maximumInterval,
-          doNotRetry);
+          doNotRetry,
+          hedgingDelay);
     }
 
     public RpcRetryOptions buildWithDefaultsFrom(RpcRetryOptions rpcRetryOptions) {
@@ -273,7 +297,13 @@ public final class RpcRetryOptions {
       }
       RpcRetryOptions result =
           new RpcRetryOptions(
-              initialInterval, backoff, expiration, maximumAttempts, maximumInterval, doNotRetry);
+              initialInterval,
+              backoff,
+              expiration,
+              maximumAttempts,
+              maximumInterval,
+              doNotRetry,
+              hedgingDelay);
       result.validate();
       return result;
     }
@@ -291,19 +321,23 @@ public final class RpcRetryOptions {
 
   private final List<DoNotRetryItem> doNotRetry;
 
+  private final Duration hedgingDelay;
+
   private RpcRetryOptions(
       Duration initialInterval,
       double backoffCoefficient,
       Duration expiration,
       int maximumAttempts,
       Duration maximumInterval,
-      List<DoNotRetryItem> doNotRetry) {
+      List<DoNotRetryItem> doNotRetry,
+      Duration hedgingDelay) {
     this.initialInterval = initialInterval;
     this.backoffCoefficient = backoffCoefficient;
     this.expiration = expiration;
     this.maximumAttempts = maximumAttempts;
     this.maximumInterval = maximumInterval;
     this.doNotRetry = doNotRetry != null ? Collections.unmodifiableList(doNotRetry) : null;
+    this.hedgingDelay = hedgingDelay;
   }
 
   public Duration getInitialInterval() {
@@ -326,6 +360,14 @@ public final class RpcRetryOptions {
     return maximumInterval;
   }
 
+  /**
+   * @return delay after which a duplicate request is sent for idempotent operations, null if
+   *     hedging is disabled.
+   */
+  public Duration getHedgingDelay() {
+    return hedgingDelay;
+  }
+
   public void validate() {
     if (initialInterval == null) {
       throw new IllegalStateException("required property initialInterval not set");
@@ -368,6 +410,8 @@ public final class RpcRetryOptions {
         + maximumInterval
         + ", doNotRetry="
         + doNotRetry
+        + ", hedgingDelay="
+        + hedgingDelay
         + '}';
   }
 
@@ -381,7 +425,8 @@ public final class RpcRetryOptions {
         && Objects.equals(initialInterval, that.initialInterval)
         && Objects.equals(expiration, that.expiration)
         && Objects.equals(maximumInterval, that.maximumInterval)
-        && Objects.equals(doNotRetry, that.doNotRetry);
+        && Objects.equals(doNotRetry, that.doNotRetry)
+        && Objects.equals(hedgingDelay, that.hedgingDelay);
   }
 
   @Override
@@ -392,6 +437,7 @@ public final class RpcRetryOptions {
         expiration,
         maximumAttempts,
         maximumInterval,
-        doNotRetry);
+        doNotRetry,
+        hedgingDelay);
   }
 }
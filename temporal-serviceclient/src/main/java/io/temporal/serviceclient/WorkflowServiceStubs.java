@@ -23,6 +23,7 @@ import static io.temporal.internal.WorkflowThreadMarker.enforceNonWorkflowThread
 
 import io.temporal.api.workflowservice.v1.WorkflowServiceGrpc;
 import io.temporal.internal.WorkflowThreadMarker;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 /** Initializes and holds gRPC blocking and future stubs. */
@@ -52,6 +53,61 @@ public interface WorkflowServiceStubs {
         new WorkflowServiceStubsImpl(service, options), WorkflowServiceStubs.class);
   }
 
+  /**
+   * Create gRPC connection stubs using provided options without connecting to the server. The
+   * connection is established and the health check is performed in background after {@link
+   * #connectAsync()} call, or by the first request made through the stubs. {@code
+   * WorkerFactory.start()} calls {@link #connectAsync()}, so the connection establishment overlaps
+   * with the startup of the workers.
+   */
+  static WorkflowServiceStubs newInstanceLazy(WorkflowServiceStubsOptions options) {
+    enforceNonWorkflowThread();
+    return WorkflowThreadMarker.protectFromWorkflowThread(
+        new WorkflowServiceStubsImpl(null, options, true), WorkflowServiceStubs.class);
+  }
+
+  /**
+   * Create gRPC connection stubs using provided options without blocking the calling thread on the
+   * connection establishment and the health check. Name resolution, connection to all the resolved
+   * server addresses and the health check are performed in background, which allows the caller to
+   * overlap its own initialization with them.
+   *
+   * @return future that is completed with the stubs when the server passes the health check (or
+   *     right after the connection is initiated if the health check is disabled), or completed
+   *     exceptionally if the server is not available during {@link
+   *     WorkflowServiceStubsOptions#getHealthCheckTimeout()}.
+   */
+  static CompletableFuture<WorkflowServiceStubs> newInstanceAsync(
+      WorkflowServiceStubsOptions options) {
+    enforceNonWorkflowThread();
+    WorkflowServiceStubsImpl stubs = new WorkflowServiceStubsImpl(null, options, true);
+    WorkflowServiceStubs result =
+        WorkflowThreadMarker.protectFromWorkflowThread(stubs, WorkflowServiceStubs.class);
+    return stubs
+        .connectAsync()
+        .whenComplete(
+            (r, e) -> {
+              if (e != null) {
+                stubs.shutdownNow();
+              }
+            })
+        .thenApply(ignore -> result);
+  }
+
+  /**
+   * Initiates connection to the server if it's not established yet. Calls made through the stubs
+   * before the connection is ready are buffered by gRPC, so this method is an optimization that
+   * allows to warm up the connection in parallel with the other initialization of the caller.
+   *
+   * <p>The default implementation returns a completed future.
+   *
+   * @return future that is completed when the server passes the health check. The same future is
+   *     returned by all the calls until a connection attempt fails.
+   */
+  default CompletableFuture<Void> connectAsync() {
+    return CompletableFuture.completedFuture(null);
+  }
+
   /** @return Blocking (synchronous) stub that allows direct calls to service. */
   WorkflowServiceGrpc.WorkflowServiceBlockingStub blockingStub();
 
@@ -19,6 +19,7 @@
 
 package io.temporal.serviceclient;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.grpc.Channel;
 import io.grpc.ClientInterceptor;
@@ -37,8 +38,12 @@ import io.grpc.stub.MetadataUtils;
 import io.temporal.api.workflowservice.v1.WorkflowServiceGrpc;
 import io.temporal.internal.retryer.GrpcRetryer;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -77,6 +82,9 @@ public final class WorkflowServiceStubsImpl implements WorkflowServiceStubs {
   private final WorkflowServiceGrpc.WorkflowServiceFutureStub futureStub;
   private final Server inProcessServer;
   private final ScheduledExecutorService grpcConnectionManager;
+  private final Channel interceptedChannel;
+  private final long creationTimeNanos = System.nanoTime();
+  private CompletableFuture<Void> connectFuture;
 
   /**
    * Creates a factory that connects to the Temporal according to the specified options. When
@@ -86,6 +94,17 @@ public final class WorkflowServiceStubsImpl implements WorkflowServiceStubs {
   public WorkflowServiceStubsImpl(
       WorkflowServiceGrpc.WorkflowServiceImplBase serviceImpl,
       WorkflowServiceStubsOptions options) {
+    this(serviceImpl, options, false);
+  }
+
+  /**
+   * @param lazyConnect if true the constructor doesn't block on the health check and the
+   *     connection is established only after {@link #connectAsync()} call or on the first request.
+   */
+  WorkflowServiceStubsImpl(
+      WorkflowServiceGrpc.WorkflowServiceImplBase serviceImpl,
+      WorkflowServiceStubsOptions options,
+      boolean lazyConnect) {
     if (serviceImpl != null) {
       if (options.getChannel() != null) {
         throw new IllegalArgumentException("both channel and serviceImpl present");
@@ -130,6 +149,18 @@ public final class WorkflowServiceStubsImpl implements WorkflowServiceStubs {
             .keepAliveTimeout(options.getKeepAliveTimeout().toMillis(), TimeUnit.MILLISECONDS)
             .keepAliveWithoutCalls(options.getKeepAlivePermitWithoutStream());
       }
+      if (options.getEventLoopGroup() != null) {
+        builder.eventLoopGroup(options.getEventLoopGroup()).channelType(options.getChannelType());
+      }
+      if (options.getChannelExecutor() != null) {
+        builder.executor(options.getChannelExecutor());
+      }
+      if (options.getFlowControlWindow() > 0) {
+        builder.initialFlowControlWindow(options.getFlowControlWindow());
+      }
+      if (options.getMaxInboundMetadataSize() > 0) {
+        builder.maxInboundMetadataSize(options.getMaxInboundMetadataSize());
+      }
 
       if (options.getSslContext() == null && !options.getEnableHttps()) {
         builder.usePlaintext();
@@ -167,14 +198,64 @@ public final class WorkflowServiceStubsImpl implements WorkflowServiceStubs {
     interceptedChannel = applyCustomInterceptors(interceptedChannel);
     interceptedChannel = applyStandardInterceptors(interceptedChannel);
 
+    this.interceptedChannel = interceptedChannel;
     this.blockingStub = WorkflowServiceGrpc.newBlockingStub(interceptedChannel);
     this.futureStub = WorkflowServiceGrpc.newFutureStub(interceptedChannel);
-    if (!options.getDisableHealthCheck()) {
+    if (!lazyConnect && !options.getDisableHealthCheck()) {
       checkHealth(interceptedChannel);
+      recordConnectionReady();
+      connectFuture = CompletableFuture.completedFuture(null);
     }
     log.info(String.format("Created GRPC client for channel: %s", channel));
   }
 
+  @Override
+  public synchronized CompletableFuture<Void> connectAsync() {
+    if (connectFuture != null) {
+      return connectFuture;
+    }
+    CompletableFuture<Void> result = doConnectAsync();
+    connectFuture = result;
+    // Allow the next call to retry if this attempt fails
+    result.whenComplete(
+        (r, e) -> {
+          if (e != null) {
+            resetConnectFuture(result);
+          }
+        });
+    return result;
+  }
+
+  private synchronized void resetConnectFuture(CompletableFuture<Void> failed) {
+    if (connectFuture == failed) {
+      connectFuture = null;
+    }
+  }
+
+  private CompletableFuture<Void> doConnectAsync() {
+    try {
+      // Resolves the target and starts connecting. The channels created by the stubs use
+      // round_robin load balancing policy that connects to all the resolved addresses in parallel.
+      // Channels passed through the options use their own policy, pick_first by default, which
+      // connects to the first reachable address only.
+      channel.getState(true);
+    } catch (UnsupportedOperationException e) {
+      // Channel passed from outside may not support state querying. The connection is going to
+      // be established by the first call then.
+    }
+    if (options.getDisableHealthCheck()) {
+      return CompletableFuture.completedFuture(null);
+    }
+    return checkHealthAsync(interceptedChannel).thenRun(this::recordConnectionReady);
+  }
+
+  private void recordConnectionReady() {
+    options
+        .getMetricsScope()
+        .timer(MetricsType.TEMPORAL_CONNECTION_READY_LATENCY)
+        .record(Duration.ofNanos(System.nanoTime() - creationTimeNanos));
+  }
+
   private Channel applyStandardInterceptors(Channel channel) {
     GrpcMetricsInterceptor metricsInterceptor =
         new GrpcMetricsInterceptor(options.getMetricsScope());
@@ -194,6 +275,11 @@ public final class WorkflowServiceStubsImpl implements WorkflowServiceStubs {
     if (tracingInterceptor.isEnabled()) {
       interceptedChannel = ClientInterceptors.intercept(interceptedChannel, tracingInterceptor);
     }
+    if (options.getGrpcCompression() != null) {
+      interceptedChannel =
+          ClientInterceptors.intercept(
+              interceptedChannel, new GrpcCompressionInterceptor(options.getGrpcCompression()));
+    }
     interceptedChannel = applyGrpcMetadataProviderInterceptors(interceptedChannel);
     return interceptedChannel;
   }
@@ -280,6 +366,49 @@ public final class WorkflowServiceStubsImpl implements WorkflowServiceStubs {
     }
   }
 
+  /** Asynchronous version of {@link #checkHealth(Channel)}. */
+  private CompletableFuture<Void> checkHealthAsync(Channel channel) {
+    RpcRetryOptions retryOptions =
+        RpcRetryOptions.newBuilder()
+            .setExpiration(getOptions().getHealthCheckTimeout())
+            .validateBuildWithDefaults();
+    HealthGrpc.HealthFutureStub healthFutureStub = HealthGrpc.newFutureStub(channel);
+    return GrpcRetryer.retryWithResultAsync(
+            retryOptions,
+            () -> {
+              CompletableFuture<HealthCheckResponse> result = new CompletableFuture<>();
+              ListenableFuture<HealthCheckResponse> responseFuture =
+                  healthFutureStub
+                      .withDeadline(
+                          Deadline.after(
+                              options.getHealthCheckAttemptTimeout().getSeconds(),
+                              TimeUnit.SECONDS))
+                      .check(
+                          HealthCheckRequest.newBuilder()
+                              .setService(WorkflowServiceStubsImpl.HEALTH_CHECK_SERVICE_NAME)
+                              .build());
+              responseFuture.addListener(
+                  () -> {
+                    try {
+                      result.complete(responseFuture.get());
+                    } catch (ExecutionException e) {
+                      result.completeExceptionally(e.getCause());
+                    } catch (Exception e) {
+                      result.completeExceptionally(e);
+                    }
+                  },
+                  ForkJoinPool.commonPool());
+              return result;
+            })
+        .thenAccept(
+            response -> {
+              if (!HealthCheckResponse.ServingStatus.SERVING.equals(response.getStatus())) {
+                throw new RuntimeException(
+                    "Health check returned unhealthy status: " + response.getStatus());
+              }
+            });
+  }
+
   /** @return Blocking (synchronous) stub that allows direct calls to service. */
   public WorkflowServiceGrpc.WorkflowServiceBlockingStub blockingStub() {
     return blockingStub;
@@ -23,6 +23,7 @@ import com.google.common.base.Preconditions;
 import com.uber.m3.tally.NoopScope;
 import com.uber.m3.tally.Scope;
 import io.grpc.*;
+import io.grpc.netty.shaded.io.netty.channel.EventLoopGroup;
 import io.grpc.netty.shaded.io.netty.handler.ssl.SslContext;
 import io.temporal.serviceclient.rpcretry.DefaultStubServiceOperationRpcRetryOptions;
 import java.time.Duration;
@@ -30,6 +31,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 
 public class WorkflowServiceStubsOptions {
 
@@ -116,6 +118,24 @@ public class WorkflowServiceStubsOptions {
   /** If true, keep alive ping will be allowed when there are no active RPCs. */
   private final boolean keepAlivePermitWithoutStream;
 
+  /** Netty event loop group to be used by the gRPC channel transport. */
+  private final EventLoopGroup eventLoopGroup;
+
+  /** Netty channel type, must be compatible with {@link #eventLoopGroup}. */
+  private final Class<? extends io.grpc.netty.shaded.io.netty.channel.Channel> channelType;
+
+  /** Executor to be used by gRPC for application callbacks. */
+  private final Executor channelExecutor;
+
+  /** Initial HTTP/2 flow control window size in bytes. 0 means gRPC default. */
+  private final int flowControlWindow;
+
+  /** Maximum size of the metadata allowed to be received in bytes. 0 means gRPC default. */
+  private final int maxInboundMetadataSize;
+
+  /** Name of the gRPC compressor used for outgoing messages, null if compression is disabled. */
+  private final String grpcCompression;
+
   /** The gRPC timeout */
   private final Duration rpcTimeout;
 
@@ -172,6 +192,12 @@ public class WorkflowServiceStubsOptions {
     this.keepAliveTime = builder.keepAliveTime;
     this.keepAliveTimeout = builder.keepAliveTimeout;
     this.keepAlivePermitWithoutStream = builder.keepAlivePermitWithoutStream;
+    this.eventLoopGroup = builder.eventLoopGroup;
+    this.channelType = builder.channelType;
+    this.channelExecutor = builder.channelExecutor;
+    this.flowControlWindow = builder.flowControlWindow;
+    this.maxInboundMetadataSize = builder.maxInboundMetadataSize;
+    this.grpcCompression = builder.grpcCompression;
   }
 
   private WorkflowServiceStubsOptions(Builder builder, boolean ignore) {
@@ -190,6 +216,28 @@ public class WorkflowServiceStubsOptions {
           "Only one of the enableHttps and channel options can be set at a time");
     }
 
+    if (builder.channel != null
+        && (builder.eventLoopGroup != null
+            || builder.channelType != null
+            || builder.channelExecutor != null
+            || builder.flowControlWindow != 0
+            || builder.maxInboundMetadataSize != 0)) {
+      throw new IllegalStateException(
+          "Transport options can't be set together with the channel option");
+    }
+
+    if ((builder.eventLoopGroup == null) != (builder.channelType == null)) {
+      throw new IllegalStateException(
+          "Both eventLoopGroup and channelType should be provided or neither should be");
+    }
+
+    if (builder.grpcCompression != null
+        && CompressorRegistry.getDefaultInstance().lookupCompressor(builder.grpcCompression)
+            == null) {
+      throw new IllegalStateException(
+          "Compressor \"" + builder.grpcCompression + "\" is not registered in CompressorRegistry");
+    }
+
     this.target =
         builder.target == null && builder.channel == null
             ? DEFAULT_LOCAL_DOCKER_TARGET
@@ -229,6 +277,12 @@ public class WorkflowServiceStubsOptions {
     this.keepAliveTime = builder.keepAliveTime;
     this.keepAliveTimeout = builder.keepAliveTimeout;
     this.keepAlivePermitWithoutStream = builder.keepAlivePermitWithoutStream;
+    this.eventLoopGroup = builder.eventLoopGroup;
+    this.channelType = builder.channelType;
+    this.channelExecutor = builder.channelExecutor;
+    this.flowControlWindow = builder.flowControlWindow;
+    this.maxInboundMetadataSize = builder.maxInboundMetadataSize;
+    this.grpcCompression = builder.grpcCompression;
   }
 
   public ManagedChannel getChannel() {
@@ -293,6 +347,36 @@ public class WorkflowServiceStubsOptions {
     return keepAlivePermitWithoutStream;
   }
 
+  /** @return Netty event loop group to be used by the channel transport or null for default. */
+  public EventLoopGroup getEventLoopGroup() {
+    return eventLoopGroup;
+  }
+
+  /** @return Netty channel type to be used by the channel transport or null for default. */
+  public Class<? extends io.grpc.netty.shaded.io.netty.channel.Channel> getChannelType() {
+    return channelType;
+  }
+
+  /** @return executor for gRPC application callbacks or null for gRPC default. */
+  public Executor getChannelExecutor() {
+    return channelExecutor;
+  }
+
+  /** @return initial HTTP/2 flow control window in bytes or 0 for gRPC default. */
+  public int getFlowControlWindow() {
+    return flowControlWindow;
+  }
+
+  /** @return maximum size of the inbound metadata in bytes or 0 for gRPC default. */
+  public int getMaxInboundMetadataSize() {
+    return maxInboundMetadataSize;
+  }
+
+  /** @return name of the compressor used for outgoing messages or null if disabled. */
+  public String getGrpcCompression() {
+    return grpcCompression;
+  }
+
   /** @return Returns the rpc timeout value. */
   public Duration getRpcTimeout() {
     return rpcTimeout;
@@ -370,6 +454,12 @@ public class WorkflowServiceStubsOptions {
     private Duration keepAliveTime;
     private Duration keepAliveTimeout;
     private boolean keepAlivePermitWithoutStream;
+    private EventLoopGroup eventLoopGroup;
+    private Class<? extends io.grpc.netty.shaded.io.netty.channel.Channel> channelType;
+    private Executor channelExecutor;
+    private int flowControlWindow;
+    private int maxInboundMetadataSize;
+    private String grpcCompression;
 
     private Duration rpcTimeout = DEFAULT_RPC_TIMEOUT;
     private Duration rpcLongPollTimeout = DEFAULT_POLL_RPC_TIMEOUT;
@@ -406,6 +496,12 @@ public class WorkflowServiceStubsOptions {
       this.keepAliveTime = options.keepAliveTime;
       this.keepAliveTimeout = options.keepAliveTimeout;
       this.keepAlivePermitWithoutStream = options.keepAlivePermitWithoutStream;
+      this.eventLoopGroup = options.eventLoopGroup;
+      this.channelType = options.channelType;
+      this.channelExecutor = options.channelExecutor;
+      this.flowControlWindow = options.flowControlWindow;
+      this.maxInboundMetadataSize = options.maxInboundMetadataSize;
+      this.grpcCompression = options.grpcCompression;
     }
 
     /**
@@ -648,6 +744,76 @@ public class WorkflowServiceStubsOptions {
       return this;
     }
 
+    /**
+     * Sets Netty event loop group and a compatible channel type to be used by the gRPC channel
+     * transport. For example, {@code EpollEventLoopGroup} with {@code EpollSocketChannel.class}
+     * from {@code io.grpc.netty.shaded.io.netty.channel.epoll} allows to use native epoll transport
+     * on Linux and to control the number of event loop threads. Lifecycle of the passed group is
+     * owned by the caller, it's not shut down together with the stubs.
+     *
+     * <p>Both parameters should be provided or neither should be. Exclusive with {@link
+     * #setChannel(ManagedChannel)}. Default is gRPC shared NIO event loop group.
+     */
+    public Builder setEventLoopGroup(
+        EventLoopGroup eventLoopGroup,
+        Class<? extends io.grpc.netty.shaded.io.netty.channel.Channel> channelType) {
+      this.eventLoopGroup = eventLoopGroup;
+      this.channelType = channelType;
+      return this;
+    }
+
+    /**
+     * Sets an executor that gRPC uses to execute application callbacks, like response listeners.
+     * Lifecycle of the passed executor is owned by the caller.
+     *
+     * <p>Exclusive with {@link #setChannel(ManagedChannel)}. Default is gRPC shared cached thread
+     * pool.
+     */
+    public Builder setChannelExecutor(Executor channelExecutor) {
+      this.channelExecutor = channelExecutor;
+      return this;
+    }
+
+    /**
+     * Sets the initial HTTP/2 flow control window in bytes. Larger windows can improve throughput
+     * of big responses like workflow history pages on high latency links.
+     *
+     * <p>Exclusive with {@link #setChannel(ManagedChannel)}. Default is gRPC default (1MiB).
+     */
+    public Builder setFlowControlWindow(int flowControlWindow) {
+      Preconditions.checkArgument(flowControlWindow > 0, "flowControlWindow must be positive");
+      this.flowControlWindow = flowControlWindow;
+      return this;
+    }
+
+    /**
+     * Sets the maximum size of metadata allowed to be received in bytes.
+     *
+     * <p>Exclusive with {@link #setChannel(ManagedChannel)}. Default is gRPC default (8KiB).
+     */
+    public Builder setMaxInboundMetadataSize(int maxInboundMetadataSize) {
+      Preconditions.checkArgument(
+          maxInboundMetadataSize > 0, "maxInboundMetadataSize must be positive");
+      this.maxInboundMetadataSize = maxInboundMetadataSize;
+      return this;
+    }
+
+    /**
+     * Enables compression of the outgoing gRPC messages with the compressor of the given name,
+     * for example {@code "gzip"}. The compressor has to be registered in {@link
+     * CompressorRegistry#getDefaultInstance()}. gRPC Java provides only gzip out of the box, other
+     * algorithms like zstd can be used after registering a {@link Compressor} implementation with
+     * the same name as a decompressor supported by the server.
+     *
+     * <p>Compression trades CPU for network bandwidth and pays off for large payloads. Consider
+     * {@code io.temporal.common.converter.CompressingPayloadConverter} to also reduce the size of
+     * the payloads stored in the workflow history. Default is null, which means no compression.
+     */
+    public Builder setGrpcCompression(String grpcCompression) {
+      this.grpcCompression = grpcCompression;
+      return this;
+    }
+
     /**
      * Builds and returns a ClientOptions object.
      *
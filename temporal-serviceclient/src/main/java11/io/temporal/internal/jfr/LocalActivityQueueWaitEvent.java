@@ -0,0 +1,42 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("io.temporal.LocalActivityQueueWait")
+@Label("Local Activity Queue Wait")
+@Description("Time a local activity waits in the worker queue before it is picked up")
+final class LocalActivityQueueWaitEvent extends AbstractTaskEvent {
+
+  @Label("Activity Type")
+  String activityType;
+
+  @Label("Activity Id")
+  String activityId;
+
+  @Label("Workflow Id")
+  String workflowId;
+
+  @Label("Run Id")
+  String runId;
+}
@@ -0,0 +1,122 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.jfr;
+
+/**
+ * Creates Java Flight Recorder events for the task lifecycle. Replaces the no-op version of this
+ * class on Java 11 and later. An event that is disabled in the recording settings is not started
+ * and {@link TaskEvent#NOOP} is returned instead.
+ */
+public final class TaskEvents {
+
+  public static TaskEvent poll(String identity) {
+    PollEvent event = new PollEvent();
+    if (!event.isEnabled()) {
+      return TaskEvent.NOOP;
+    }
+    event.identity = identity;
+    event.begin();
+    return event;
+  }
+
+  public static TaskEvent dispatch(String namespace, String taskQueue) {
+    DispatchEvent event = new DispatchEvent();
+    if (!event.isEnabled()) {
+      return TaskEvent.NOOP;
+    }
+    event.namespace = namespace;
+    event.taskQueue = taskQueue;
+    event.begin();
+    return event;
+  }
+
+  public static TaskEvent workflowTask(
+      String namespace, String workflowType, String workflowId, String runId) {
+    WorkflowTaskEvent event = new WorkflowTaskEvent();
+    if (!event.isEnabled()) {
+      return TaskEvent.NOOP;
+    }
+    event.namespace = namespace;
+    event.workflowType = workflowType;
+    event.workflowId = workflowId;
+    event.runId = runId;
+    event.begin();
+    return event;
+  }
+
+  public static TaskEvent workflowRunnerPass(String workflowType, String workflowId, String runId) {
+    WorkflowRunnerPassEvent event = new WorkflowRunnerPassEvent();
+    if (!event.isEnabled()) {
+      return TaskEvent.NOOP;
+    }
+    event.workflowType = workflowType;
+    event.workflowId = workflowId;
+    event.runId = runId;
+    event.begin();
+    return event;
+  }
+
+  public static TaskEvent activityTask(
+      String namespace,
+      String activityType,
+      String activityId,
+      String workflowId,
+      String runId,
+      boolean local) {
+    ActivityTaskEvent event = new ActivityTaskEvent();
+    if (!event.isEnabled()) {
+      return TaskEvent.NOOP;
+    }
+    event.namespace = namespace;
+    event.activityType = activityType;
+    event.activityId = activityId;
+    event.workflowId = workflowId;
+    event.runId = runId;
+    event.local = local;
+    event.begin();
+    return event;
+  }
+
+  public static TaskEvent localActivityQueueWait(
+      String activityType, String activityId, String workflowId, String runId) {
+    LocalActivityQueueWaitEvent event = new LocalActivityQueueWaitEvent();
+    if (!event.isEnabled()) {
+      return TaskEvent.NOOP;
+    }
+    event.activityType = activityType;
+    event.activityId = activityId;
+    event.workflowId = workflowId;
+    event.runId = runId;
+    event.begin();
+    return event;
+  }
+
+  public static TaskEvent rpc(String method) {
+    RpcEvent event = new RpcEvent();
+    if (!event.isEnabled()) {
+      return TaskEvent.NOOP;
+    }
+    event.method = method;
+    event.begin();
+    return event;
+  }
+
+  private TaskEvents() {}
+}
@@ -0,0 +1,75 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.retryer;
+
+import static org.junit.Assert.*;
+
+import io.grpc.Context;
+import io.grpc.Deadline;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class GrpcRetryerUtilsTest {
+
+  private static BlockingQueue<Runnable> deadlineQueue() {
+    return ((ScheduledThreadPoolExecutor) GrpcRetryerUtils.DEADLINE_SCHEDULER).getQueue();
+  }
+
+  @Test
+  public void testCancelledAttemptDeadlineIsRemovedFromScheduler() {
+    int queued = deadlineQueue().size();
+    Context.CancellableContext attemptContext =
+        GrpcRetryerUtils.newAttemptContext(Deadline.after(1, TimeUnit.HOURS));
+    assertEquals(queued + 1, deadlineQueue().size());
+
+    attemptContext.cancel(null);
+    assertEquals(queued, deadlineQueue().size());
+  }
+
+  @Test
+  public void testAttemptDeadlineIsNotScheduledIfContextDeadlineIsTighter() {
+    Context.CancellableContext callContext =
+        Context.current()
+            .withDeadlineAfter(1, TimeUnit.MINUTES, GrpcRetryerUtils.DEADLINE_SCHEDULER);
+    int queued = deadlineQueue().size();
+    Context previous = callContext.attach();
+    try {
+      Context.CancellableContext attemptContext =
+          GrpcRetryerUtils.newAttemptContext(Deadline.after(1, TimeUnit.HOURS));
+      assertEquals(queued, deadlineQueue().size());
+      assertSame(callContext.getDeadline(), attemptContext.getDeadline());
+      attemptContext.cancel(null);
+      assertFalse("Attempt cancellation shouldn't cancel the caller", callContext.isCancelled());
+    } finally {
+      callContext.detach(previous);
+      callContext.cancel(null);
+    }
+  }
+
+  @Test
+  public void testAttemptWithoutDeadlineIsCancellable() {
+    Context.CancellableContext attemptContext = GrpcRetryerUtils.newAttemptContext(null);
+    assertNull(attemptContext.getDeadline());
+    attemptContext.cancel(null);
+    assertTrue(attemptContext.isCancelled());
+  }
+}
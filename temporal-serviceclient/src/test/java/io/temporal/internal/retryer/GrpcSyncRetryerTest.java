@@ -22,6 +22,7 @@ package io.temporal.internal.retryer;
 import static org.junit.Assert.*;
 
 import io.grpc.Context;
+import io.grpc.Deadline;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import io.temporal.serviceclient.RpcRetryOptions;
@@ -261,4 +262,68 @@ public class GrpcSyncRetryerTest {
         Status.Code.DATA_LOSS,
         exception.get().getStatus().getCode());
   }
+
+  @Test
+  public void testAttemptDeadlineIsLimitedByExpiration() {
+    RpcRetryOptions options =
+        RpcRetryOptions.newBuilder()
+            .setInitialInterval(Duration.ofMillis(100))
+            .setMaximumInterval(Duration.ofMillis(100))
+            .setExpiration(Duration.ofMillis(500))
+            .validateBuildWithDefaults();
+    final AtomicReference<Deadline> attemptDeadline = new AtomicReference<>();
+
+    DEFAULT_SYNC_RETRYER.retry(
+        options,
+        () -> {
+          attemptDeadline.set(Context.current().getDeadline());
+          return null;
+        });
+
+    assertNotNull("Attempt should run in a context with a deadline", attemptDeadline.get());
+    assertTrue(
+        "Attempt deadline shouldn't exceed the remaining retry budget",
+        attemptDeadline.get().timeRemaining(TimeUnit.MILLISECONDS) <= 500);
+  }
+
+  @Test
+  public void testHedging() throws InterruptedException {
+    RpcRetryOptions options =
+        RpcRetryOptions.newBuilder()
+            .setInitialInterval(Duration.ofMillis(10))
+            .setMaximumInterval(Duration.ofMillis(100))
+            .setHedgingDelay(Duration.ofMillis(100))
+            .validateBuildWithDefaults();
+    final AtomicInteger attempts = new AtomicInteger();
+    final AtomicReference<Context> slowAttemptContext = new AtomicReference<>();
+    final AtomicReference<Thread> slowAttemptThread = new AtomicReference<>();
+    long start = System.currentTimeMillis();
+
+    String result =
+        DEFAULT_SYNC_RETRYER.retryHedged(
+            options,
+            () -> {
+              if (attempts.incrementAndGet() == 1) {
+                slowAttemptContext.set(Context.current());
+                slowAttemptThread.set(Thread.currentThread());
+                // Blocking stubs return as soon as the context is cancelled
+                long deadline = System.currentTimeMillis() + 10_000;
+                while (!Context.current().isCancelled() && System.currentTimeMillis() < deadline) {
+                  Thread.sleep(10);
+                }
+                throw new StatusRuntimeException(Status.CANCELLED);
+              }
+              return "hedged";
+            });
+
+    assertEquals("hedged", result);
+    assertEquals(2, attempts.get());
+    assertSame(
+        "Primary attempt should run on the calling thread",
+        Thread.currentThread(),
+        slowAttemptThread.get());
+    assertTrue(
+        "Hedged attempt should win over the slow one", System.currentTimeMillis() - start < 5_000);
+    assertTrue("Slow attempt should be cancelled", slowAttemptContext.get().isCancelled());
+  }
 }
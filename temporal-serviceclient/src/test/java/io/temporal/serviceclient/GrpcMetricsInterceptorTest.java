@@ -0,0 +1,151 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.serviceclient;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.uber.m3.tally.Counter;
+import com.uber.m3.tally.NoopScope;
+import com.uber.m3.tally.Scope;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.temporal.api.workflowservice.v1.WorkflowServiceGrpc;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatcher;
+
+public class GrpcMetricsInterceptorTest {
+
+  private final Channel channel = mock(Channel.class);
+  private final ClientCall<Object, Object> delegate = mock(ClientCall.class);
+  private final Scope methodScope = mock(Scope.class);
+  private final Counter requestCounter = mock(Counter.class);
+  private GrpcMetricsInterceptor interceptor;
+
+  @Before
+  public void setUp() {
+    doReturn(delegate).when(channel).newCall(any(), any());
+    when(methodScope.counter(anyString())).thenReturn(mock(Counter.class));
+    when(methodScope.counter(MetricsType.TEMPORAL_REQUEST)).thenReturn(requestCounter);
+    when(methodScope.timer(anyString())).thenReturn(new NoopScope().timer("latency"));
+    Scope rootScope = mock(Scope.class);
+    Scope defaultScope = mock(Scope.class);
+    when(rootScope.tagged(anyMap())).thenReturn(defaultScope);
+    when(defaultScope.tagged(anyMap())).thenReturn(methodScope);
+    interceptor = new GrpcMetricsInterceptor(rootScope);
+  }
+
+  @Test
+  public void testMethodMetricsAreCachedPerScopeAndMethod() {
+    Scope callScope = mock(Scope.class);
+    when(callScope.tagged(anyMap())).thenReturn(methodScope);
+    CallOptions callOptions =
+        CallOptions.DEFAULT.withOption(MetricsTag.METRICS_TAGS_CALL_OPTIONS_KEY, callScope);
+
+    interceptor.interceptCall(
+        WorkflowServiceGrpc.getStartWorkflowExecutionMethod(), callOptions, channel);
+    interceptor.interceptCall(
+        WorkflowServiceGrpc.getStartWorkflowExecutionMethod(), callOptions, channel);
+    verify(callScope, times(1)).tagged(anyMap());
+    verify(requestCounter, times(2)).inc(1);
+
+    interceptor.interceptCall(
+        WorkflowServiceGrpc.getSignalWorkflowExecutionMethod(), callOptions, channel);
+    verify(callScope, times(2)).tagged(anyMap());
+    verify(requestCounter, times(3)).inc(1);
+  }
+
+  @Test
+  public void testFailuresAreCountedPerStatusCode() {
+    Counter unavailableCounter = mock(Counter.class);
+    Scope unavailableScope = statusScope(Status.Code.UNAVAILABLE);
+    when(unavailableScope.counter(MetricsType.TEMPORAL_REQUEST_FAILURE))
+        .thenReturn(unavailableCounter);
+    Counter notFoundCounter = mock(Counter.class);
+    Scope notFoundScope = statusScope(Status.Code.NOT_FOUND);
+    when(notFoundScope.counter(MetricsType.TEMPORAL_REQUEST_FAILURE)).thenReturn(notFoundCounter);
+
+    MethodDescriptor<?, ?> method = WorkflowServiceGrpc.getStartWorkflowExecutionMethod();
+    completeCall(method, Status.UNAVAILABLE);
+    completeCall(method, Status.UNAVAILABLE);
+    completeCall(method, Status.NOT_FOUND);
+    completeCall(method, Status.OK);
+
+    verify(unavailableCounter, times(2)).inc(1);
+    verify(notFoundCounter, times(1)).inc(1);
+    // Status tagged scopes are resolved once per method and status code.
+    verify(methodScope, times(1)).tagged(argThat(hasStatusCode(Status.Code.UNAVAILABLE)));
+    verify(methodScope, times(1)).tagged(argThat(hasStatusCode(Status.Code.NOT_FOUND)));
+  }
+
+  @Test
+  public void testLongPollFailuresAreCountedSeparately() {
+    Counter failureCounter = mock(Counter.class);
+    Counter longPollFailureCounter = mock(Counter.class);
+    Scope unavailableScope = statusScope(Status.Code.UNAVAILABLE);
+    when(unavailableScope.counter(MetricsType.TEMPORAL_REQUEST_FAILURE)).thenReturn(failureCounter);
+    when(unavailableScope.counter(MetricsType.TEMPORAL_LONG_REQUEST_FAILURE))
+        .thenReturn(longPollFailureCounter);
+
+    completeCall(WorkflowServiceGrpc.getPollWorkflowTaskQueueMethod(), Status.UNAVAILABLE);
+    completeCall(WorkflowServiceGrpc.getPollWorkflowTaskQueueMethod(), Status.UNAVAILABLE);
+
+    verify(longPollFailureCounter, times(2)).inc(1);
+    verify(failureCounter, times(0)).inc(1);
+  }
+
+  private Scope statusScope(Status.Code code) {
+    Scope scope = mock(Scope.class);
+    when(methodScope.tagged(argThat(hasStatusCode(code)))).thenReturn(scope);
+    return scope;
+  }
+
+  private static ArgumentMatcher<Map<String, String>> hasStatusCode(Status.Code code) {
+    return tags -> tags != null && code.name().equals(tags.get(MetricsTag.STATUS_CODE));
+  }
+
+  @SuppressWarnings("unchecked")
+  private void completeCall(MethodDescriptor<?, ?> method, Status status) {
+    ClientCall<Object, Object> call =
+        interceptor.interceptCall(
+            (MethodDescriptor<Object, Object>) method, CallOptions.DEFAULT, channel);
+    call.start(mock(ClientCall.Listener.class), new Metadata());
+    ArgumentCaptor<ClientCall.Listener<Object>> listener =
+        ArgumentCaptor.forClass(ClientCall.Listener.class);
+    verify(delegate, times(1)).start(listener.capture(), any());
+    listener.getValue().onClose(status, new Metadata());
+    reset(delegate);
+  }
+}
@@ -19,6 +19,11 @@
 
 package io.temporal.serviceclient;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -57,4 +62,67 @@ public class HealthCheckTest {
       }
     }
   }
+
+  @Test
+  public void testAsyncHealthCheck() {
+    if (!useDockerService) {
+      return;
+    }
+    WorkflowServiceStubs workflowServiceStubs = null;
+    try {
+      WorkflowServiceStubsOptions stubsOptions = WorkflowServiceStubsOptions.getDefaultInstance();
+      if (temporalServiceAddress != null) {
+        stubsOptions =
+            WorkflowServiceStubsOptions.newBuilder(stubsOptions)
+                .setTarget(temporalServiceAddress)
+                .build();
+      }
+      workflowServiceStubs = WorkflowServiceStubs.newInstanceAsync(stubsOptions).get();
+      Assert.assertTrue(workflowServiceStubs.connectAsync().isDone());
+    } catch (Exception e) {
+      Assert.fail("Health check failed");
+    } finally {
+      if (workflowServiceStubs != null) {
+        workflowServiceStubs.shutdown();
+      }
+    }
+  }
+
+  @Test
+  public void testFailedConnectAsyncCanBeRetried() throws InterruptedException {
+    WorkflowServiceStubsImpl stubs = new WorkflowServiceStubsImpl(null, unreachableOptions(), true);
+    try {
+      CompletableFuture<Void> first = stubs.connectAsync();
+      assertFailed(first);
+      CompletableFuture<Void> second = stubs.connectAsync();
+      Assert.assertNotSame(first, second);
+      assertFailed(second);
+    } finally {
+      stubs.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testNewInstanceAsyncFailsIfServerIsUnreachable() throws InterruptedException {
+    assertFailed(WorkflowServiceStubs.newInstanceAsync(unreachableOptions()));
+  }
+
+  private static WorkflowServiceStubsOptions unreachableOptions() {
+    return WorkflowServiceStubsOptions.newBuilder()
+        .setTarget("127.0.0.1:1")
+        .setHealthCheckTimeout(Duration.ofSeconds(1))
+        .setHealthCheckAttemptTimeout(Duration.ofSeconds(1))
+        .build();
+  }
+
+  private static void assertFailed(CompletableFuture<?> future) throws InterruptedException {
+    try {
+      future.get(30, TimeUnit.SECONDS);
+      Assert.fail("Connection to an unreachable server should fail");
+    } catch (ExecutionException e) {
+      // expected
+    } catch (TimeoutException e) {
+      Assert.fail("Connection attempt didn't complete");
+    }
+  }
 }
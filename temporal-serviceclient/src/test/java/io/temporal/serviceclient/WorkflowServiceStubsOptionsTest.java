@@ -0,0 +1,122 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.serviceclient;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+import io.grpc.ManagedChannel;
+import io.grpc.netty.shaded.io.netty.channel.EventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.socket.nio.NioSocketChannel;
+import java.util.concurrent.Executor;
+import org.junit.Test;
+
+public class WorkflowServiceStubsOptionsTest {
+
+  @Test
+  public void testTransportOptionsAreRetained() {
+    EventLoopGroup eventLoopGroup = mock(EventLoopGroup.class);
+    Executor executor = mock(Executor.class);
+    WorkflowServiceStubsOptions options =
+        WorkflowServiceStubsOptions.newBuilder()
+            .setEventLoopGroup(eventLoopGroup, NioSocketChannel.class)
+            .setChannelExecutor(executor)
+            .setFlowControlWindow(4 * 1024 * 1024)
+            .setMaxInboundMetadataSize(16 * 1024)
+            .validateAndBuildWithDefaults();
+    assertSame(eventLoopGroup, options.getEventLoopGroup());
+    assertEquals(NioSocketChannel.class, options.getChannelType());
+    assertSame(executor, options.getChannelExecutor());
+    assertEquals(4 * 1024 * 1024, options.getFlowControlWindow());
+    assertEquals(16 * 1024, options.getMaxInboundMetadataSize());
+  }
+
+  @Test
+  public void testTransportOptionsDefaults() {
+    WorkflowServiceStubsOptions options =
+        WorkflowServiceStubsOptions.newBuilder().validateAndBuildWithDefaults();
+    assertNull(options.getEventLoopGroup());
+    assertNull(options.getChannelType());
+    assertNull(options.getChannelExecutor());
+    assertEquals(0, options.getFlowControlWindow());
+    assertEquals(0, options.getMaxInboundMetadataSize());
+  }
+
+  @Test
+  public void testChannelTypeWithoutEventLoopGroupIsRejected() {
+    assertBuildFails(
+        WorkflowServiceStubsOptions.newBuilder().setEventLoopGroup(null, NioSocketChannel.class),
+        "Both eventLoopGroup and channelType should be provided or neither should be");
+  }
+
+  @Test
+  public void testEventLoopGroupWithoutChannelTypeIsRejected() {
+    assertBuildFails(
+        WorkflowServiceStubsOptions.newBuilder()
+            .setEventLoopGroup(mock(EventLoopGroup.class), null),
+        "Both eventLoopGroup and channelType should be provided or neither should be");
+  }
+
+  @Test
+  public void testTransportOptionsWithChannelAreRejected() {
+    ManagedChannel channel = mock(ManagedChannel.class);
+    assertBuildFails(
+        WorkflowServiceStubsOptions.newBuilder()
+            .setChannel(channel)
+            .setEventLoopGroup(mock(EventLoopGroup.class), NioSocketChannel.class),
+        "Transport options can't be set together with the channel option");
+    assertBuildFails(
+        WorkflowServiceStubsOptions.newBuilder()
+            .setChannel(channel)
+            .setChannelExecutor(mock(Executor.class)),
+        "Transport options can't be set together with the channel option");
+    assertBuildFails(
+        WorkflowServiceStubsOptions.newBuilder().setChannel(channel).setFlowControlWindow(1024),
+        "Transport options can't be set together with the channel option");
+    assertBuildFails(
+        WorkflowServiceStubsOptions.newBuilder()
+            .setChannel(channel)
+            .setMaxInboundMetadataSize(1024),
+        "Transport options can't be set together with the channel option");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNonPositiveFlowControlWindowIsRejected() {
+    WorkflowServiceStubsOptions.newBuilder().setFlowControlWindow(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNonPositiveMaxInboundMetadataSizeIsRejected() {
+    WorkflowServiceStubsOptions.newBuilder().setMaxInboundMetadataSize(-1);
+  }
+
+  private static void assertBuildFails(
+      WorkflowServiceStubsOptions.Builder builder, String expectedMessage) {
+    try {
+      builder.validateAndBuildWithDefaults();
+      fail("IllegalStateException is expected");
+    } catch (IllegalStateException e) {
+      assertEquals(expectedMessage, e.getMessage());
+    }
+  }
+}
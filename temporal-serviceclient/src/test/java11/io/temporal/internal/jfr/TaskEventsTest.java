@@ -0,0 +1,85 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+package io.temporal.internal.jfr;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+public class TaskEventsTest {
+
+  @Test
+  public void testEventIsNotStartedWithoutRecording() {
+    assertSame(TaskEvent.NOOP, TaskEvents.poll("identity1"));
+  }
+
+  @Test
+  public void testPollEventIsRecorded() throws IOException {
+    List<RecordedEvent> events;
+    try (Recording recording = new Recording()) {
+      recording.enable("io.temporal.Poll");
+      recording.start();
+      TaskEvent event = TaskEvents.poll("identity1");
+      assertNotSame(TaskEvent.NOOP, event);
+      event.setStatus("task").commit();
+      recording.stop();
+      events = readEvents(recording, "io.temporal.Poll");
+    }
+    assertEquals(1, events.size());
+    assertEquals("identity1", events.get(0).getString("identity"));
+    assertEquals("task", events.get(0).getString("status"));
+  }
+
+  @Test
+  public void testDisabledEventIsNotRecorded() throws IOException {
+    List<RecordedEvent> events;
+    try (Recording recording = new Recording()) {
+      recording.enable("io.temporal.Rpc");
+      recording.start();
+      assertSame(TaskEvent.NOOP, TaskEvents.poll("identity1"));
+      TaskEvents.rpc("PollWorkflowTaskQueue").setStatus("OK").commit();
+      recording.stop();
+      events = readEvents(recording, "io.temporal.Poll");
+    }
+    assertEquals(0, events.size());
+  }
+
+  private static List<RecordedEvent> readEvents(Recording recording, String name)
+      throws IOException {
+    Path file = Files.createTempFile("temporal", ".jfr");
+    try {
+      recording.dump(file);
+      return RecordingFile.readAllEvents(file).stream()
+          .filter(e -> e.getEventType().getName().equals(name))
+          .collect(Collectors.toList());
+    } finally {
+      Files.delete(file);
+    }
+  }
+}
@@ -248,11 +248,21 @@ public class DummySyncWorkflowContext {
       return new NoopScope();
     }
 
+    @Override
+    public Scope getWorkerMetricsScope() {
+      return new NoopScope();
+    }
+
     @Override
     public boolean getEnableLoggingInReplay() {
       return false;
     }
 
+    @Override
+    public boolean getDisableLoggingContext() {
+      return false;
+    }
+
     @Override
     public UUID randomUUID() {
       return UUID.randomUUID();
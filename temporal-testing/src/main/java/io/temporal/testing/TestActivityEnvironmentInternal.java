@@ -46,6 +46,7 @@ import io.temporal.common.interceptors.WorkflowOutboundCallsInterceptor;
 import io.temporal.failure.ActivityFailure;
 import io.temporal.failure.CanceledFailure;
 import io.temporal.failure.FailureConverter;
+import io.temporal.internal.common.MessagePayloadCodec;
 import io.temporal.internal.common.ProtobufTimeUtils;
 import io.temporal.internal.sync.*;
 import io.temporal.internal.worker.ActivityTask;
@@ -131,6 +132,9 @@ public final class TestActivityEnvironmentInternal implements TestActivityEnviro
             testEnvironmentOptions.getWorkflowClientOptions().getIdentity(),
             testEnvironmentOptions.getWorkflowClientOptions().getNamespace(),
             testEnvironmentOptions.getWorkflowClientOptions().getDataConverter(),
+            // Activities are invoked in-process, so the payloads don't leave it and aren't encoded.
+            MessagePayloadCodec.newInstance(null),
+            testEnvironmentOptions.getWorkflowClientOptions().getFailureStackTraceMaxDepth(),
             heartbeatExecutor,
             testEnvironmentOptions.getWorkerFactoryOptions().getWorkerInterceptors());
   }